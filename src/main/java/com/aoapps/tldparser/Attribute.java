@@ -1,6 +1,6 @@
 /*
  * ao-tld-parser - Parses JSP tag library *.tld files.
- * Copyright (C) 2017, 2019, 2020, 2021, 2022, 2024  AO Industries, Inc.
+ * Copyright (C) 2017, 2019, 2020, 2021, 2022, 2024, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -25,6 +25,7 @@ package com.aoapps.tldparser;
 
 import com.aoapps.collections.AoCollections;
 import com.aoapps.lang.xml.XmlUtils;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Pattern;
@@ -50,12 +51,15 @@ public class Attribute {
   private final boolean rtexprvalue;
   private final boolean fragment;
   private final String type;
+  private volatile TypeSignature parsedType;
   private final DeferredMethod deferredMethod;
   private final DeferredValue deferredValue;
 
   private final String descriptionSummary;
 
-  private static final Pattern TYPE_PATTERN = Pattern.compile(XmlHelper.PATTERN_PRE + "type" + XmlHelper.PATTERN_POST);
+  private final Fingerprint fingerprint;
+
+  static final Pattern TYPE_PATTERN = Pattern.compile(XmlHelper.PATTERN_PRE + "type" + XmlHelper.PATTERN_POST);
 
   /**
    * Creates a new attribute.
@@ -67,13 +71,15 @@ public class Attribute {
   ) throws XPathExpressionException {
     this.tag = tag;
 
+    this.name = XmlUtils.getChildTextContent(attributeElem, "name");
+    Attribute previousAttribute = tag.getPreviousAttribute(name);
+
     List<String> newDescriptions = new ArrayList<>();
     for (Element descriptionElem : XmlUtils.iterableChildElementsByTagName(attributeElem, "description")) {
       newDescriptions.add(descriptionElem.getTextContent());
     }
-    this.descriptions = AoCollections.optimalUnmodifiableList(newDescriptions);
+    this.descriptions = Reuse.ifEqual(previousAttribute == null ? null : previousAttribute.descriptions, AoCollections.optimalUnmodifiableList(newDescriptions));
 
-    this.name = XmlUtils.getChildTextContent(attributeElem, "name");
     this.required = Boolean.parseBoolean(XmlUtils.getChildTextContent(attributeElem, "required"));
     this.rtexprvalue = Boolean.parseBoolean(XmlUtils.getChildTextContent(attributeElem, "rtexprvalue"));
     this.fragment = Boolean.parseBoolean(XmlUtils.getChildTextContent(attributeElem, "fragment"));
@@ -86,12 +92,51 @@ public class Attribute {
     this.deferredValue = deferredValueElem == null ? null : new DeferredValue(this, deferredValueElem);
 
     try {
-      this.descriptionSummary = descriptions.isEmpty() ? null : HtmlSnippet.getSummary(summaryClass, descriptions.get(0));
+      if (descriptions.isEmpty()) {
+        this.descriptionSummary = null;
+      } else if (previousAttribute != null && previousAttribute.descriptions == descriptions && tag.getTaglib().canReuseSummaries()) {
+        this.descriptionSummary = previousAttribute.descriptionSummary;
+      } else {
+        this.descriptionSummary = tag.getTaglib().getSummary(summaryClass, descriptions.get(0));
+      }
     } catch (XPathExpressionException e) {
       XPathExpressionException wrapped = new XPathExpressionException(tag.getTaglib().getTldPath() + "/" + tag.getName() + "/" + name + "/description: " + e.getMessage());
       wrapped.initCause(e);
       throw wrapped;
     }
+
+    this.fingerprint = new Fingerprint.Builder("attribute")
+        .add(descriptions)
+        .add(name)
+        .add(required)
+        .add(rtexprvalue)
+        .add(fragment)
+        .add(type)
+        .add(deferredMethod != null)
+        .add(deferredMethod == null ? null : deferredMethod.getMethodSignature())
+        .add(deferredValue != null)
+        .add(deferredValue == null ? null : deferredValue.getType())
+        .add(descriptionSummary)
+        .build();
+  }
+
+  /**
+   * Creates an attribute from a store, without any XML processing.
+   *
+   * @see  PrecompiledTaglibs
+   */
+  Attribute(Tag tag, MappedTaglibStore.MappedAttribute mapped) {
+    this.tag = tag;
+    this.descriptions = AoCollections.optimalUnmodifiableList(new ArrayList<>(mapped.getDescriptions()));
+    this.name = mapped.getName();
+    this.required = mapped.getRequired();
+    this.rtexprvalue = mapped.getRtexprvalue();
+    this.fragment = mapped.getFragment();
+    this.type = mapped.getType();
+    this.deferredMethod = mapped.hasDeferredMethod() ? new DeferredMethod(this, mapped.getDeferredMethodSignature()) : null;
+    this.deferredValue = mapped.hasDeferredValue() ? new DeferredValue(this, mapped.getDeferredValueType()) : null;
+    this.descriptionSummary = mapped.getDescriptionSummary();
+    this.fingerprint = mapped.getFingerprint();
   }
 
   public Tag getTag() {
@@ -123,6 +168,25 @@ public class Attribute {
     return type;
   }
 
+  /**
+   * Gets the parsed type, including any generics.
+   * This is parsed once on first access.
+   *
+   * @return  the parsed type or {@code null} when there is no type
+   *
+   * @throws IllegalArgumentException when unable to parse
+   *
+   * @see  #getType()
+   */
+  public TypeSignature getParsedType() throws IllegalArgumentException {
+    TypeSignature parsed = this.parsedType;
+    if (parsed == null && type != null) {
+      parsed = TypeSignature.valueOf(type);
+      this.parsedType = parsed;
+    }
+    return parsed;
+  }
+
   public DeferredMethod getDeferredMethod() {
     return deferredMethod;
   }
@@ -141,4 +205,26 @@ public class Attribute {
   public String getDescriptionSummary() {
     return descriptionSummary;
   }
+
+  /**
+   * Writes the summary of the description.
+   * If there is more than once description, only the first is used in generating the summary.
+   * If there are no descriptions, writes nothing.
+   *
+   * @see  #getDescriptionSummary()
+   */
+  public void writeDescriptionSummary(Appendable out) throws IOException {
+    if (descriptionSummary != null) {
+      out.append(descriptionSummary);
+    }
+  }
+
+  /**
+   * Gets the content fingerprint of this attribute.
+   *
+   * @see  Fingerprint
+   */
+  public Fingerprint getFingerprint() {
+    return fingerprint;
+  }
 }
@@ -0,0 +1,268 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import com.aoapps.collections.AoCollections;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * A columnar index of the boolean properties of all attributes across any number of taglibs.
+ * Each attribute is assigned an ID in the order of the taglibs, then tags, then attributes given.
+ * Each tag is likewise assigned an ID.  IDs are stable for the same taglibs in the same order.
+ *
+ * <p>Each {@link Flag} is stored as one {@link BitSet} by attribute ID, so queries are bitwise
+ * operations instead of walking the object graph.  Queries return new sets that the caller may
+ * combine further.</p>
+ *
+ * <p>This index is immutable and thread-safe.</p>
+ */
+public final class AttributeFlagIndex {
+
+  /**
+   * The boolean properties of an attribute that are indexed.
+   */
+  public enum Flag {
+    /**
+     * @see  Attribute#getRequired()
+     */
+    REQUIRED,
+
+    /**
+     * @see  Attribute#getRtexprvalue()
+     */
+    RTEXPRVALUE,
+
+    /**
+     * @see  Attribute#getFragment()
+     */
+    FRAGMENT,
+
+    /**
+     * @see  Attribute#getDeferredValue()
+     */
+    DEFERRED_VALUE,
+
+    /**
+     * @see  Attribute#getDeferredMethod()
+     */
+    DEFERRED_METHOD,
+
+    /**
+     * The tag of the attribute allows dynamic attributes.
+     *
+     * @see  Tag#getDynamicAttributes()
+     */
+    TAG_DYNAMIC_ATTRIBUTES
+  }
+
+  private static final Flag[] FLAGS = Flag.values();
+
+  private final List<Tag> tags;
+  private final List<Attribute> attributes;
+  private final int[] attributeTagIds;
+  private final BitSet[] columns;
+  private final BitSet dynamicAttributesTags;
+
+  /**
+   * Builds the index of all attributes of all tags of the given taglibs.
+   */
+  public AttributeFlagIndex(Iterable<? extends Taglib> taglibs) {
+    List<Tag> newTags = new ArrayList<>();
+    List<Attribute> newAttributes = new ArrayList<>();
+    int[] newAttributeTagIds = new int[16];
+    BitSet[] newColumns = new BitSet[FLAGS.length];
+    for (int i = 0; i < newColumns.length; i++) {
+      newColumns[i] = new BitSet();
+    }
+    BitSet newDynamicAttributesTags = new BitSet();
+    for (Taglib taglib : taglibs) {
+      for (Tag tag : taglib.getTags()) {
+        int tagId = newTags.size();
+        newTags.add(tag);
+        boolean dynamicAttributes = tag.getDynamicAttributes();
+        if (dynamicAttributes) {
+          newDynamicAttributesTags.set(tagId);
+        }
+        for (Attribute attribute : tag.getAttributes()) {
+          int id = newAttributes.size();
+          newAttributes.add(attribute);
+          if (id == newAttributeTagIds.length) {
+            newAttributeTagIds = Arrays.copyOf(newAttributeTagIds, id << 1);
+          }
+          newAttributeTagIds[id] = tagId;
+          if (attribute.getRequired()) {
+            newColumns[Flag.REQUIRED.ordinal()].set(id);
+          }
+          if (attribute.getRtexprvalue()) {
+            newColumns[Flag.RTEXPRVALUE.ordinal()].set(id);
+          }
+          if (attribute.getFragment()) {
+            newColumns[Flag.FRAGMENT.ordinal()].set(id);
+          }
+          if (attribute.getDeferredValue() != null) {
+            newColumns[Flag.DEFERRED_VALUE.ordinal()].set(id);
+          }
+          if (attribute.getDeferredMethod() != null) {
+            newColumns[Flag.DEFERRED_METHOD.ordinal()].set(id);
+          }
+          if (dynamicAttributes) {
+            newColumns[Flag.TAG_DYNAMIC_ATTRIBUTES.ordinal()].set(id);
+          }
+        }
+      }
+    }
+    this.tags = AoCollections.optimalUnmodifiableList(newTags);
+    this.attributes = AoCollections.optimalUnmodifiableList(newAttributes);
+    this.attributeTagIds = Arrays.copyOf(newAttributeTagIds, newAttributes.size());
+    this.columns = newColumns;
+    this.dynamicAttributesTags = newDynamicAttributesTags;
+  }
+
+  /**
+   * Gets the number of attributes indexed.
+   */
+  public int size() {
+    return attributes.size();
+  }
+
+  /**
+   * Gets all attributes, indexed by ID.
+   */
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+  public List<Attribute> getAttributes() {
+    return attributes;
+  }
+
+  /**
+   * Gets all tags, indexed by ID.
+   */
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+  public List<Tag> getTags() {
+    return tags;
+  }
+
+  /**
+   * Gets an attribute by ID.
+   */
+  public Attribute getAttribute(int id) {
+    return attributes.get(id);
+  }
+
+  /**
+   * Gets the ID of the tag of an attribute.
+   */
+  public int getTagId(int attributeId) {
+    return attributeTagIds[attributeId];
+  }
+
+  /**
+   * Gets the IDs of all attributes with the given flag set.
+   */
+  public BitSet get(Flag flag) {
+    return (BitSet) columns[flag.ordinal()].clone();
+  }
+
+  /**
+   * Gets the IDs of all attributes with all the given flags set and none of the excluded flags set.
+   * For example, all required attributes without rtexprvalue is
+   * {@code query(EnumSet.of(Flag.REQUIRED), EnumSet.of(Flag.RTEXPRVALUE))}.
+   *
+   * @param  included  The flags that must all be set, or all attributes when empty
+   * @param  excluded  The flags that must all be clear
+   */
+  public BitSet query(Iterable<Flag> included, Iterable<Flag> excluded) {
+    BitSet result = null;
+    for (Flag flag : included) {
+      if (result == null) {
+        result = get(flag);
+      } else {
+        result.and(columns[flag.ordinal()]);
+      }
+    }
+    if (result == null) {
+      result = new BitSet(size());
+      result.set(0, size());
+    }
+    for (Flag flag : excluded) {
+      result.andNot(columns[flag.ordinal()]);
+    }
+    return result;
+  }
+
+  /**
+   * Gets the IDs of all attributes with all the given flags set.
+   *
+   * @return  All attributes when no flags given
+   */
+  public BitSet all(Flag ... flags) {
+    return query(List.of(flags), List.of());
+  }
+
+  /**
+   * Gets the IDs of all attributes with any of the given flags set.
+   *
+   * @return  No attributes when no flags given
+   */
+  public BitSet any(Flag ... flags) {
+    BitSet result = new BitSet(size());
+    for (Flag flag : flags) {
+      result.or(columns[flag.ordinal()]);
+    }
+    return result;
+  }
+
+  /**
+   * Gets the IDs of all tags that allow dynamic attributes, including tags without any attributes.
+   *
+   * @see  Tag#getDynamicAttributes()
+   */
+  public BitSet getDynamicAttributesTags() {
+    return (BitSet) dynamicAttributesTags.clone();
+  }
+
+  /**
+   * Gets the attributes for the given IDs, in ID order.
+   */
+  public List<Attribute> getAttributes(BitSet ids) {
+    List<Attribute> result = new ArrayList<>(ids.cardinality());
+    for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+      result.add(attributes.get(id));
+    }
+    return result;
+  }
+
+  /**
+   * Gets the tags for the given IDs, in ID order.
+   */
+  public List<Tag> getTags(BitSet ids) {
+    List<Tag> result = new ArrayList<>(ids.cardinality());
+    for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+      result.add(tags.get(id));
+    }
+    return result;
+  }
+}
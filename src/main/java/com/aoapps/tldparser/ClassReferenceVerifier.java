@@ -0,0 +1,609 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import com.aoapps.collections.AoCollections;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Verifies that the classes referenced by taglibs exist, by reading the names of class files in jar files and
+ * directories, without loading any classes.
+ *
+ * <p>Checked are {@link Tag#getTagClass()}, {@link Tag#getTeiClass()}, {@link Function#getFunctionClass()},
+ * and every class named in {@link Attribute#getType()}, {@link DeferredValue#getType()},
+ * {@link DeferredMethod#getMethodSignature()}, and {@link Function#getFunctionSignature()}, including generics.
+ * Classes of the Java platform are found as resources of the
+ * {@linkplain ClassLoader#getPlatformClassLoader() platform class loader}.</p>
+ *
+ * <p>Optionally, the class file of each function class is read to check that it has a <code>public static</code>
+ * method matching the function signature, either declared or inherited from a superclass.</p>
+ *
+ * <p>Instances are immutable and thread-safe.</p>
+ */
+public final class ClassReferenceVerifier {
+
+  private static final String CLASS_EXTENSION = ".class";
+  private static final String META_INF = "META-INF/";
+  private static final String MODULE_INFO = "module-info.class";
+  private static final String PACKAGE_INFO = "package-info.class";
+
+  /**
+   * The location of one class file, by its root and its path within the root using <code>/</code> separators.
+   */
+  private static final class Location {
+
+    private final Path root;
+    private final String entryName;
+
+    private Location(Path root, String entryName) {
+      this.root = root;
+      this.entryName = entryName;
+    }
+  }
+
+  /**
+   * Finds the class files in a single jar file or directory, by binary name.
+   * A root that does not exist is skipped.
+   */
+  private static Map<String, Location> index(Path root) throws IOException {
+    Map<String, Location> found = new HashMap<>();
+    if (Files.isDirectory(root)) {
+      try (Stream<Path> walk = Files.walk(root)) {
+        for (Path classFile : (Iterable<Path>) walk.filter(p -> p.getFileName().toString().endsWith(CLASS_EXTENSION))::iterator) {
+          StringBuilder entryName = new StringBuilder();
+          for (Path element : root.relativize(classFile)) {
+            if (entryName.length() > 0) {
+              entryName.append('/');
+            }
+            entryName.append(element);
+          }
+          add(found, root, entryName.toString());
+        }
+      }
+    } else if (Files.isRegularFile(root)) {
+      try (ZipFile zipFile = new ZipFile(root.toFile())) {
+        Enumeration<? extends ZipEntry> entries = zipFile.entries();
+        while (entries.hasMoreElements()) {
+          ZipEntry entry = entries.nextElement();
+          if (!entry.isDirectory()) {
+            add(found, root, entry.getName());
+          }
+        }
+      }
+    }
+    return found;
+  }
+
+  private static void add(Map<String, Location> found, Path root, String entryName) {
+    if (
+        entryName.endsWith(CLASS_EXTENSION)
+            && !entryName.startsWith(META_INF)
+            && !entryName.endsWith(MODULE_INFO)
+            && !entryName.endsWith(PACKAGE_INFO)
+    ) {
+      String binaryName = entryName.substring(0, entryName.length() - CLASS_EXTENSION.length()).replace('/', '.');
+      found.putIfAbsent(binaryName, new Location(root, entryName));
+    }
+  }
+
+  /**
+   * Indexes the class files in the given jar files and directories, searching each in parallel.
+   * Roots that do not exist are skipped.  When a class is in more than one root, the first root is used.
+   */
+  public static ClassReferenceVerifier index(Iterable<? extends Path> roots, ExecutorService executor) throws IOException, InterruptedException {
+    List<Callable<Map<String, Location>>> tasks = new ArrayList<>();
+    for (Path root : roots) {
+      tasks.add(() -> index(root));
+    }
+    Map<String, Location> classes = new HashMap<>();
+    for (Future<Map<String, Location>> future : executor.invokeAll(tasks)) {
+      try {
+        for (Map.Entry<String, Location> entry : future.get().entrySet()) {
+          classes.putIfAbsent(entry.getKey(), entry.getValue());
+        }
+      } catch (ExecutionException e) {
+        TldParser.throwCause(e, IOException.class, IOException.class);
+      }
+    }
+    return new ClassReferenceVerifier(classes);
+  }
+
+  /**
+   * Indexes the class files in the given jar files and directories, searching up to
+   * {@link TaglibLoader#DEFAULT_MAX_CONCURRENT_READS} at once on threads created for this call.
+   * Roots that do not exist are skipped.  When a class is in more than one root, the first root is used.
+   */
+  public static ClassReferenceVerifier index(Iterable<? extends Path> roots) throws IOException, InterruptedException {
+    List<Path> rootList = new ArrayList<>();
+    for (Path root : roots) {
+      rootList.add(root);
+    }
+    int reads = Math.max(1, Math.min(TaglibLoader.DEFAULT_MAX_CONCURRENT_READS, rootList.size()));
+    ExecutorService executor = Executors.newFixedThreadPool(reads, TaglibLoader::newDaemonThread);
+    try {
+      return index(rootList, executor);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private final Map<String, Location> classes;
+
+  private ClassReferenceVerifier(Map<String, Location> classes) {
+    this.classes = classes;
+  }
+
+  /**
+   * Gets the number of classes indexed, not including the Java platform.
+   */
+  public int size() {
+    return classes.size();
+  }
+
+  /**
+   * One verification in progress, caching the resolution of each class name across all taglibs.
+   * Each jar file is opened once, on first read, and kept open until the sweep is closed.
+   */
+  private final class Sweep implements Closeable {
+
+    private final boolean checkMethods;
+    private final List<TaglibLinter.Diagnostic> diagnostics = new ArrayList<>();
+
+    /**
+     * Binary names by the name as written, with {@code ""} for not found.
+     */
+    private final Map<String, String> resolved = new HashMap<>();
+
+    /**
+     * The <code>public static</code> methods of each class by binary name, as <code>name + descriptor</code>,
+     * including those inherited from superclasses.
+     */
+    private final Map<String, Set<String>> staticMethods = new HashMap<>();
+
+    private final Map<Path, ZipFile> zipFiles = new HashMap<>();
+
+    private Sweep(boolean checkMethods) {
+      this.checkMethods = checkMethods;
+    }
+
+    @Override
+    public void close() throws IOException {
+      IOException closeException = null;
+      for (ZipFile zipFile : zipFiles.values()) {
+        try {
+          zipFile.close();
+        } catch (IOException e) {
+          if (closeException == null) {
+            closeException = e;
+          } else {
+            closeException.addSuppressed(e);
+          }
+        }
+      }
+      zipFiles.clear();
+      if (closeException != null) {
+        throw closeException;
+      }
+    }
+
+    /**
+     * Resolves a class name, which may use <code>.</code> between nested classes, to its binary name.
+     *
+     * @return  The binary name or {@code null} when not found
+     */
+    private String resolve(String name) {
+      String binaryName = resolved.get(name);
+      if (binaryName == null) {
+        binaryName = "";
+        String candidate = name;
+        while (true) {
+          if (classes.containsKey(candidate) || isPlatformClass(candidate)) {
+            binaryName = candidate;
+            break;
+          }
+          int lastDot = candidate.lastIndexOf('.');
+          if (lastDot == -1) {
+            break;
+          }
+          candidate = candidate.substring(0, lastDot) + '$' + candidate.substring(lastDot + 1);
+        }
+        resolved.put(name, binaryName);
+      }
+      return binaryName.isEmpty() ? null : binaryName;
+    }
+
+    private void checkClass(String location, String what, String name) {
+      if (name != null && resolve(name) == null) {
+        diagnostics.add(new TaglibLinter.Diagnostic(location, what + " not found: " + name));
+      }
+    }
+
+    /**
+     * Checks all the classes named in a type, including type arguments and bounds.
+     *
+     * @param typeVariables  The names of type variables in scope
+     */
+    private void checkType(String location, TypeSignature type, Set<String> typeVariables) {
+      if (!type.isPrimitive() && !type.isWildcard() && !typeVariables.contains(type.getName())) {
+        String name = type.getName();
+        switch (name) {
+          case "boolean":
+          case "byte":
+          case "char":
+          case "short":
+          case "int":
+          case "long":
+          case "float":
+          case "double":
+            // Array of primitives
+            break;
+          default:
+            checkClass(location, "Class", name);
+        }
+      }
+      for (TypeSignature typeArgument : type.getTypeArguments()) {
+        checkType(location, typeArgument, typeVariables);
+      }
+      for (TypeSignature bound : type.getBounds()) {
+        checkType(location, bound, typeVariables);
+      }
+    }
+
+    private void checkMethod(String location, MethodSignature method) {
+      Set<String> typeVariables;
+      List<TypeSignature> typeParameters = method.getTypeParameters();
+      if (typeParameters.isEmpty()) {
+        typeVariables = Collections.emptySet();
+      } else {
+        typeVariables = new HashSet<>();
+        for (TypeSignature typeParameter : typeParameters) {
+          typeVariables.add(typeParameter.getName());
+        }
+      }
+      for (TypeSignature typeParameter : typeParameters) {
+        for (TypeSignature bound : typeParameter.getBounds()) {
+          checkType(location, bound, typeVariables);
+        }
+      }
+      checkType(location, method.getReturnType(), typeVariables);
+      for (TypeSignature parameterType : method.getParameterTypes()) {
+        checkType(location, parameterType, typeVariables);
+      }
+    }
+
+    private void verify(Taglib taglib) throws IOException {
+      String tldPath = taglib.getTldPath();
+      for (Tag tag : taglib.getTags()) {
+        String tagPath = tldPath + "/" + tag.getName();
+        checkClass(tagPath, "Tag class", tag.getTagClass());
+        checkClass(tagPath, "TEI class", tag.getTeiClass());
+        for (Attribute attribute : tag.getAttributes()) {
+          String attributePath = tagPath + "/" + attribute.getName();
+          try {
+            TypeSignature type = attribute.getParsedType();
+            if (type != null) {
+              checkType(attributePath, type, Collections.emptySet());
+            }
+            DeferredValue deferredValue = attribute.getDeferredValue();
+            if (deferredValue != null) {
+              TypeSignature deferredType = deferredValue.getParsedType();
+              if (deferredType != null) {
+                checkType(attributePath + "/deferred-value", deferredType, Collections.emptySet());
+              }
+            }
+            DeferredMethod deferredMethod = attribute.getDeferredMethod();
+            if (deferredMethod != null) {
+              MethodSignature methodSignature = deferredMethod.getParsedMethodSignature();
+              if (methodSignature != null) {
+                checkMethod(attributePath + "/deferred-method", methodSignature);
+              }
+            }
+          } catch (IllegalArgumentException e) {
+            diagnostics.add(new TaglibLinter.Diagnostic(attributePath, e.getMessage()));
+          }
+        }
+      }
+      for (Function function : taglib.getFunctions()) {
+        String functionPath = tldPath + "/" + function.getName();
+        String functionClass = function.getFunctionClass();
+        checkClass(functionPath, "Function class", functionClass);
+        MethodSignature functionSignature;
+        try {
+          functionSignature = function.getParsedFunctionSignature();
+        } catch (IllegalArgumentException e) {
+          diagnostics.add(new TaglibLinter.Diagnostic(functionPath, e.getMessage()));
+          continue;
+        }
+        if (functionSignature != null) {
+          checkMethod(functionPath, functionSignature);
+          if (checkMethods && functionClass != null) {
+            String binaryName = resolve(functionClass);
+            if (binaryName != null) {
+              String descriptor = getDescriptor(functionSignature);
+              if (descriptor != null && !getStaticMethods(binaryName).contains(functionSignature.getName() + descriptor)) {
+                diagnostics.add(new TaglibLinter.Diagnostic(functionPath, "Method not found: public static "
+                    + functionSignature + " in " + functionClass));
+              }
+            }
+          }
+        }
+      }
+    }
+
+    /**
+     * Gets the descriptor of a method after erasure.
+     *
+     * @return  The descriptor or {@code null} when a type cannot be resolved, which is already reported
+     */
+    private String getDescriptor(MethodSignature method) {
+      StringBuilder descriptor = new StringBuilder().append('(');
+      for (TypeSignature parameterType : method.getParameterTypes()) {
+        if (!appendDescriptor(descriptor, parameterType, method)) {
+          return null;
+        }
+      }
+      descriptor.append(')');
+      if (!appendDescriptor(descriptor, method.getReturnType(), method)) {
+        return null;
+      }
+      return descriptor.toString();
+    }
+
+    private boolean appendDescriptor(StringBuilder descriptor, TypeSignature type, MethodSignature method) {
+      for (int i = 0; i < type.getArrayDimensions(); i++) {
+        descriptor.append('[');
+      }
+      String name = type.getName();
+      // Type variables are erased to their first bound
+      for (TypeSignature typeParameter : method.getTypeParameters()) {
+        if (typeParameter.getName().equals(name)) {
+          List<TypeSignature> bounds = typeParameter.getBounds();
+          name = bounds.isEmpty() ? "java.lang.Object" : bounds.get(0).getName();
+          break;
+        }
+      }
+      switch (name) {
+        case "boolean":
+          descriptor.append('Z');
+          return true;
+        case "byte":
+          descriptor.append('B');
+          return true;
+        case "char":
+          descriptor.append('C');
+          return true;
+        case "short":
+          descriptor.append('S');
+          return true;
+        case "int":
+          descriptor.append('I');
+          return true;
+        case "long":
+          descriptor.append('J');
+          return true;
+        case "float":
+          descriptor.append('F');
+          return true;
+        case "double":
+          descriptor.append('D');
+          return true;
+        case "void":
+          descriptor.append('V');
+          return true;
+        default:
+          String binaryName = resolve(name);
+          if (binaryName == null) {
+            return false;
+          }
+          descriptor.append('L').append(binaryName.replace('.', '/')).append(';');
+          return true;
+      }
+    }
+
+    private Set<String> getStaticMethods(String binaryName) throws IOException {
+      Set<String> methods = staticMethods.get(binaryName);
+      if (methods == null) {
+        methods = new HashSet<>();
+        // Placeholder guards against cycles in malformed class files
+        staticMethods.put(binaryName, methods);
+        try (InputStream in = openClass(binaryName)) {
+          if (in != null) {
+            String superName = readStaticMethods(new DataInputStream(new BufferedInputStream(in)), methods);
+            if (superName != null) {
+              methods.addAll(getStaticMethods(superName));
+            }
+          }
+        }
+      }
+      return methods;
+    }
+
+    /**
+     * Opens the class file of a class.
+     *
+     * @return  The stream or {@code null} when not found
+     */
+    private InputStream openClass(String binaryName) throws IOException {
+      Location location = classes.get(binaryName);
+      if (location == null) {
+        return ClassLoader.getPlatformClassLoader().getResourceAsStream(binaryName.replace('.', '/') + CLASS_EXTENSION);
+      }
+      if (Files.isDirectory(location.root)) {
+        return Files.newInputStream(location.root.resolve(location.entryName));
+      }
+      ZipFile zipFile = zipFiles.get(location.root);
+      if (zipFile == null) {
+        zipFile = new ZipFile(location.root.toFile());
+        zipFiles.put(location.root, zipFile);
+      }
+      ZipEntry entry = zipFile.getEntry(location.entryName);
+      return (entry == null) ? null : zipFile.getInputStream(entry);
+    }
+  }
+
+  private static boolean isPlatformClass(String binaryName) {
+    return ClassLoader.getPlatformClassLoader().getResource(binaryName.replace('.', '/') + CLASS_EXTENSION) != null;
+  }
+
+  private static final int MAGIC = 0xcafebabe;
+
+  /**
+   * Reads the <code>public static</code> methods from a class file, as <code>name + descriptor</code>.
+   *
+   * @return  The binary name of the superclass or {@code null} when none
+   */
+  private static String readStaticMethods(DataInputStream in, Set<String> methods) throws IOException {
+    if (in.readInt() != MAGIC) {
+      throw new IOException("Not a class file");
+    }
+    in.readUnsignedShort(); // minor_version
+    in.readUnsignedShort(); // major_version
+    int constantPoolCount = in.readUnsignedShort();
+    String[] utf8 = new String[constantPoolCount];
+    int[] classNameIndex = new int[constantPoolCount];
+    for (int i = 1; i < constantPoolCount; i++) {
+      int tag = in.readUnsignedByte();
+      switch (tag) {
+        case 1: // Utf8
+          utf8[i] = in.readUTF();
+          break;
+        case 7: // Class
+          classNameIndex[i] = in.readUnsignedShort();
+          break;
+        case 8: // String
+        case 16: // MethodType
+        case 19: // Module
+        case 20: // Package
+          skip(in, 2);
+          break;
+        case 15: // MethodHandle
+          skip(in, 3);
+          break;
+        case 3: // Integer
+        case 4: // Float
+        case 9: // Fieldref
+        case 10: // Methodref
+        case 11: // InterfaceMethodref
+        case 12: // NameAndType
+        case 17: // Dynamic
+        case 18: // InvokeDynamic
+          skip(in, 4);
+          break;
+        case 5: // Long
+        case 6: // Double
+          skip(in, 8);
+          // Takes two entries
+          i++;
+          break;
+        default:
+          throw new IOException("Unexpected constant pool tag: " + tag);
+      }
+    }
+    in.readUnsignedShort(); // access_flags
+    in.readUnsignedShort(); // this_class
+    int superClass = in.readUnsignedShort();
+    skip(in, 2L * in.readUnsignedShort()); // interfaces
+    skipMembers(in); // fields
+    int methodsCount = in.readUnsignedShort();
+    for (int i = 0; i < methodsCount; i++) {
+      int accessFlags = in.readUnsignedShort();
+      String name = utf8[in.readUnsignedShort()];
+      String descriptor = utf8[in.readUnsignedShort()];
+      skipAttributes(in);
+      if (Modifier.isPublic(accessFlags) && Modifier.isStatic(accessFlags)) {
+        methods.add(name + descriptor);
+      }
+    }
+    return (superClass == 0) ? null : utf8[classNameIndex[superClass]].replace('/', '.');
+  }
+
+  private static void skip(DataInputStream in, long count) throws IOException {
+    while (count > 0) {
+      long skipped = in.skip(count);
+      if (skipped <= 0) {
+        if (in.read() == -1) {
+          throw new EOFException();
+        }
+        skipped = 1;
+      }
+      count -= skipped;
+    }
+  }
+
+  private static void skipMembers(DataInputStream in) throws IOException {
+    int count = in.readUnsignedShort();
+    for (int i = 0; i < count; i++) {
+      skip(in, 6); // access_flags, name_index, descriptor_index
+      skipAttributes(in);
+    }
+  }
+
+  private static void skipAttributes(DataInputStream in) throws IOException {
+    int count = in.readUnsignedShort();
+    for (int i = 0; i < count; i++) {
+      skip(in, 2); // attribute_name_index
+      skip(in, in.readInt() & 0xffffffffL);
+    }
+  }
+
+  /**
+   * Verifies all the class references of the given taglibs in one sweep, resolving each distinct class name once.
+   *
+   * @param checkMethods  Read the class file of each function class to check its method exists
+   *
+   * @return  The diagnostics, in the order of the taglibs then document order, or an empty list when all found
+   */
+  public List<TaglibLinter.Diagnostic> verify(Iterable<? extends Taglib> taglibs, boolean checkMethods) throws IOException {
+    try (Sweep sweep = new Sweep(checkMethods)) {
+      for (Taglib taglib : taglibs) {
+        sweep.verify(taglib);
+      }
+      return AoCollections.optimalUnmodifiableList(sweep.diagnostics);
+    }
+  }
+}
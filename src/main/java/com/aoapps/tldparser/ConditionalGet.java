@@ -0,0 +1,220 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Answers HTTP conditional GET requests for taglib documentation without rendering, as defined by
+ * <a href="https://www.rfc-editor.org/rfc/rfc9110.html#name-conditional-requests">RFC 9110</a>.
+ *
+ * <p>The strong <code>ETag</code> of each page combines the {@linkplain Taglib#getFingerprint() fingerprint} of its
+ * component, which for tags, attributes, and functions is computed at parse time, with the summary class and, for tags
+ * and functions, the title and effective robots setting of their taglib.  It matches the fingerprint
+ * {@link HtmlDocRenderer} records for the page, not including templates.  The <code>Last-Modified</code> is the modified date,
+ * or the published date when not modified, or the created date when not published.  The taglib uses
+ * {@link Taglib#getTaglibEffectiveDates()}, since its page includes its tags and functions.</p>
+ *
+ * <p>This is independent of any servlet container: headers are passed as strings.</p>
+ */
+public final class ConditionalGet {
+
+  /** Make no instances. */
+  private ConditionalGet() {
+    throw new AssertionError();
+  }
+
+  /**
+   * The <code>ETag</code> and <code>Last-Modified</code> of one component, formatted once for reuse across requests.
+   */
+  public static final class Validators {
+
+    private final String eTag;
+    private final ZonedDateTime lastModified;
+    private final String lastModifiedHeader;
+
+    /**
+     * @param lastModified  The last modified time, truncated to whole seconds, or {@code null} when none known
+     */
+    Validators(String eTag, ZonedDateTime lastModified) {
+      this.eTag = eTag;
+      if (lastModified == null) {
+        this.lastModified = null;
+        this.lastModifiedHeader = null;
+      } else {
+        this.lastModified = lastModified.withZoneSameInstant(ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS);
+        this.lastModifiedHeader = DateTimeFormatter.RFC_1123_DATE_TIME.format(this.lastModified);
+      }
+    }
+
+    /**
+     * Gets the value of the <code>ETag</code> header, including quotes.
+     */
+    public String getETag() {
+      return eTag;
+    }
+
+    /**
+     * Gets the last modified time in UTC, truncated to whole seconds.
+     *
+     * @return  The last modified time or {@code null} when none known
+     */
+    public ZonedDateTime getLastModified() {
+      return lastModified;
+    }
+
+    /**
+     * Gets the value of the <code>Last-Modified</code> header.
+     *
+     * @return  The header or {@code null} when none known
+     */
+    public String getLastModifiedHeader() {
+      return lastModifiedHeader;
+    }
+
+    /**
+     * Determines if a request may be answered with <code>304 Not Modified</code>.
+     *
+     * <p>Only <code>GET</code> and <code>HEAD</code> requests are answered.  When <code>If-None-Match</code> is
+     * present, <code>If-Modified-Since</code> is ignored.  An <code>If-Modified-Since</code> that is not a valid
+     * HTTP date is ignored.</p>
+     *
+     * @param method  The request method
+     * @param ifNoneMatch  The value of the <code>If-None-Match</code> header or {@code null} when absent
+     * @param ifModifiedSince  The value of the <code>If-Modified-Since</code> header or {@code null} when absent
+     */
+    public boolean isNotModified(String method, String ifNoneMatch, String ifModifiedSince) {
+      if (!"GET".equals(method) && !"HEAD".equals(method)) {
+        return false;
+      }
+      if (ifNoneMatch != null) {
+        return matches(ifNoneMatch);
+      }
+      if (ifModifiedSince != null && lastModified != null) {
+        ZonedDateTime since;
+        try {
+          since = ZonedDateTime.parse(ifModifiedSince.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+        } catch (DateTimeParseException e) {
+          return false;
+        }
+        return !lastModified.isAfter(since);
+      }
+      return false;
+    }
+
+    /**
+     * Compares each entity-tag of <code>If-None-Match</code> by weak comparison.
+     */
+    private boolean matches(String ifNoneMatch) {
+      int pos = 0;
+      int len = ifNoneMatch.length();
+      while (pos < len) {
+        int comma = ifNoneMatch.indexOf(',', pos);
+        if (comma == -1) {
+          comma = len;
+        }
+        String tag = ifNoneMatch.substring(pos, comma).trim();
+        if (tag.equals("*")) {
+          return true;
+        }
+        if (tag.startsWith("W/")) {
+          tag = tag.substring(2);
+        }
+        if (tag.equals(eTag)) {
+          return true;
+        }
+        pos = comma + 1;
+      }
+      return false;
+    }
+  }
+
+  private static String getETag(Fingerprint fingerprint) {
+    return '"' + fingerprint.toString() + '"';
+  }
+
+  /**
+   * Gets the validators of the page of a taglib, which includes its tags and functions.
+   * They are computed once per taglib and reused thereafter.
+   */
+  public static Validators getValidators(Taglib taglib) {
+    return taglib.getValidators();
+  }
+
+  /**
+   * Computes the validators of the page of a taglib, which includes its tags and functions.
+   *
+   * @see  Taglib#getValidators()
+   */
+  static Validators computeValidators(Taglib taglib) {
+    return new Validators(
+        getETag(HtmlDocRenderer.getContentFingerprint(taglib)),
+        SitemapWriter.getLastModified(taglib.getTaglibEffectiveDates())
+    );
+  }
+
+  /**
+   * Gets the validators of the page of a tag.
+   * They are computed once per tag and reused thereafter.
+   */
+  public static Validators getValidators(Tag tag) {
+    return tag.getValidators();
+  }
+
+  /**
+   * Computes the validators of the page of a tag.
+   *
+   * @see  Tag#getValidators()
+   */
+  static Validators computeValidators(Tag tag) {
+    return new Validators(
+        getETag(HtmlDocRenderer.getContentFingerprint(tag.getTaglib(), tag.getFingerprint())),
+        SitemapWriter.getLastModified(tag.getDates())
+    );
+  }
+
+  /**
+   * Gets the validators of the page of a function.
+   * They are computed once per function and reused thereafter.
+   */
+  public static Validators getValidators(Function function) {
+    return function.getValidators();
+  }
+
+  /**
+   * Computes the validators of the page of a function.
+   *
+   * @see  Function#getValidators()
+   */
+  static Validators computeValidators(Function function) {
+    return new Validators(
+        getETag(HtmlDocRenderer.getContentFingerprint(function.getTaglib(), function.getFingerprint())),
+        SitemapWriter.getLastModified(function.getDates())
+    );
+  }
+}
@@ -0,0 +1,314 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * A sorted index of the {@link Dates} of every taglib, tag, and function, for "recently changed" and
+ * "not reviewed since" queries in logarithmic time.
+ *
+ * <p>Each taglib, tag, and function is indexed by its own dates, which for tags and functions default to the dates
+ * of the taglib.  Components without a date for a given field are kept separately, available from
+ * {@link #getUndated(com.aoapps.tldparser.DateIndex.Field)}.</p>
+ *
+ * <p>Reads are lock-free and weakly consistent.  During a concurrent update of a taglib, a reader might see entries of
+ * both the previous and new versions, but never neither.  Updates are serialized.</p>
+ */
+public final class DateIndex {
+
+  /**
+   * The date fields that are indexed.
+   */
+  public enum Field {
+    CREATED {
+      @Override
+      ZonedDateTime get(Dates dates) {
+        return dates.getCreated();
+      }
+    },
+    PUBLISHED {
+      @Override
+      ZonedDateTime get(Dates dates) {
+        return dates.getPublished();
+      }
+    },
+    MODIFIED {
+      @Override
+      ZonedDateTime get(Dates dates) {
+        return dates.getModified();
+      }
+    },
+    REVIEWED {
+      @Override
+      ZonedDateTime get(Dates dates) {
+        return dates.getReviewed();
+      }
+    };
+
+    abstract ZonedDateTime get(Dates dates);
+  }
+
+  /**
+   * One date of one taglib, tag, or function.
+   */
+  public static final class Entry {
+
+    private final Field field;
+    private final ZonedDateTime date;
+    private final Instant instant;
+    private final Taglib taglib;
+    private final Tag tag;
+    private final Function function;
+    private final long version;
+
+    private Entry(Field field, ZonedDateTime date, Taglib taglib, Tag tag, Function function, long version) {
+      this.field = field;
+      this.date = date;
+      this.instant = (date == null) ? null : date.toInstant();
+      this.taglib = taglib;
+      this.tag = tag;
+      this.function = function;
+      this.version = version;
+    }
+
+    public Field getField() {
+      return field;
+    }
+
+    /**
+     * @return  The date or {@code null} for entries from {@link DateIndex#getUndated(com.aoapps.tldparser.DateIndex.Field)}
+     */
+    public ZonedDateTime getDate() {
+      return date;
+    }
+
+    /**
+     * Gets the taglib, or the taglib containing the tag or function.
+     */
+    public Taglib getTaglib() {
+      return taglib;
+    }
+
+    /**
+     * @return  The tag or {@code null} when not a tag
+     */
+    public Tag getTag() {
+      return tag;
+    }
+
+    /**
+     * @return  The function or {@code null} when not a function
+     */
+    public Function getFunction() {
+      return function;
+    }
+
+    /**
+     * Gets the kind of component, with bounds used for searching before all components.
+     */
+    private int getKind() {
+      if (taglib == null) {
+        return -1;
+      }
+      if (tag != null) {
+        return 1;
+      }
+      return (function != null) ? 2 : 0;
+    }
+
+    private String getName() {
+      if (tag != null) {
+        return tag.getName();
+      }
+      return (function != null) ? function.getName() : null;
+    }
+
+    @Override
+    public String toString() {
+      String name = getName();
+      if (taglib == null) {
+        // A bound used for searching
+        return field + " " + date;
+      }
+      return field + " " + date + " " + taglib.getTldPath() + (name == null ? "" : ("/" + name));
+    }
+  }
+
+  /**
+   * Orders by instant, then by component.  Each component is unique by kind, path, and name.
+   * The version keeps the entries of a new version of a taglib distinct from the previous version.
+   * Bounds used for searching have no taglib, and are before all components of the same instant.
+   */
+  private static final Comparator<Entry> ORDER =
+      Comparator.comparing((Entry e) -> e.instant, Comparator.nullsFirst(Comparator.naturalOrder()))
+          .thenComparingInt(Entry::getKind)
+          .thenComparing(e -> e.taglib == null ? null : e.taglib.getTldPath(), Comparator.nullsFirst(Comparator.naturalOrder()))
+          .thenComparing(Entry::getName, Comparator.nullsFirst(Comparator.naturalOrder()))
+          .thenComparingLong(e -> e.version);
+
+  private final Map<Field, ConcurrentSkipListSet<Entry>> dated = new EnumMap<>(Field.class);
+  private final Map<Field, ConcurrentSkipListSet<Entry>> undated = new EnumMap<>(Field.class);
+  private final Map<String, List<Entry>> entriesByTldPath = new ConcurrentHashMap<>();
+  private long version;
+
+  /**
+   * Creates an empty index.
+   */
+  public DateIndex() {
+    for (Field field : Field.values()) {
+      dated.put(field, new ConcurrentSkipListSet<>(ORDER));
+      undated.put(field, new ConcurrentSkipListSet<>(ORDER));
+    }
+  }
+
+  /**
+   * Creates an index of the given taglibs.
+   */
+  public DateIndex(Iterable<? extends Taglib> taglibs) {
+    this();
+    for (Taglib taglib : taglibs) {
+      put(taglib);
+    }
+  }
+
+  private static void addEntries(List<Entry> entries, Dates dates, Taglib taglib, Tag tag, Function function, long version) {
+    for (Field field : Field.values()) {
+      entries.add(new Entry(field, field.get(dates), taglib, tag, function, version));
+    }
+  }
+
+  /**
+   * Adds a taglib, replacing the entries of any previous version of the same path.
+   * Only the entries of this taglib are updated.
+   */
+  public synchronized void put(Taglib taglib) {
+    long newVersion = ++version;
+    List<Entry> entries = new ArrayList<>();
+    addEntries(entries, taglib.getDates(), taglib, null, null, newVersion);
+    for (Tag tag : taglib.getTags()) {
+      addEntries(entries, tag.getDates(), taglib, tag, null, newVersion);
+    }
+    for (Function function : taglib.getFunctions()) {
+      addEntries(entries, function.getDates(), taglib, null, function, newVersion);
+    }
+    // Add before removing, so readers always see one version or the other
+    List<Entry> previous = entriesByTldPath.put(taglib.getTldPath(), entries);
+    for (Entry entry : entries) {
+      (entry.date == null ? undated : dated).get(entry.field).add(entry);
+    }
+    if (previous != null) {
+      removeEntries(previous);
+    }
+  }
+
+  private void removeEntries(List<Entry> previous) {
+    for (Entry entry : previous) {
+      (entry.date == null ? undated : dated).get(entry.field).remove(entry);
+    }
+  }
+
+  /**
+   * Removes a taglib by its path.
+   *
+   * @return  {@code true} when removed or {@code false} when not found
+   */
+  public synchronized boolean remove(String tldPath) {
+    List<Entry> previous = entriesByTldPath.remove(tldPath);
+    if (previous == null) {
+      return false;
+    }
+    removeEntries(previous);
+    return true;
+  }
+
+  /**
+   * Gets the entries with dates in the given range, in ascending order.
+   *
+   * @param from  The inclusive lower bound or {@code null} for no lower bound
+   * @param to  The exclusive upper bound or {@code null} for no upper bound
+   *
+   * @return  An unmodifiable, live view, which is empty when <code>from</code> is not before <code>to</code>
+   */
+  public NavigableSet<Entry> getRange(Field field, ZonedDateTime from, ZonedDateTime to) {
+    if (from != null && to != null && !from.toInstant().isBefore(to.toInstant())) {
+      return Collections.emptyNavigableSet();
+    }
+    NavigableSet<Entry> set = dated.get(field);
+    if (from != null) {
+      set = set.tailSet(new Entry(field, from, null, null, null, 0), true);
+    }
+    if (to != null) {
+      set = set.headSet(new Entry(field, to, null, null, null, 0), false);
+    }
+    return Collections.unmodifiableNavigableSet(set);
+  }
+
+  /**
+   * Gets up to the given number of entries with the most recent dates, most recent first.
+   */
+  public List<Entry> getNewest(Field field, int limit) {
+    return take(dated.get(field).descendingIterator(), limit);
+  }
+
+  /**
+   * Gets up to the given number of entries with the oldest dates, oldest first.
+   */
+  public List<Entry> getOldest(Field field, int limit) {
+    return take(dated.get(field).iterator(), limit);
+  }
+
+  private static List<Entry> take(Iterator<Entry> iter, int limit) {
+    if (limit < 0) {
+      throw new IllegalArgumentException("limit < 0: " + limit);
+    }
+    List<Entry> entries = new ArrayList<>(Math.min(limit, 16));
+    while (entries.size() < limit && iter.hasNext()) {
+      entries.add(iter.next());
+    }
+    return entries;
+  }
+
+  /**
+   * Gets the entries without any date for the given field, in order by component.
+   * For "not reviewed since" queries, combine with {@link #getRange(com.aoapps.tldparser.DateIndex.Field, java.time.ZonedDateTime, java.time.ZonedDateTime)}
+   * with no lower bound.
+   *
+   * @return  An unmodifiable, live view
+   */
+  public NavigableSet<Entry> getUndated(Field field) {
+    return Collections.unmodifiableNavigableSet(undated.get(field));
+  }
+}
@@ -1,6 +1,6 @@
 /*
  * ao-tld-parser - Parses JSP tag library *.tld files.
- * Copyright (C) 2017, 2019, 2020, 2021, 2022, 2024  AO Industries, Inc.
+ * Copyright (C) 2017, 2019, 2020, 2021, 2022, 2024, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -38,8 +38,9 @@ public class DeferredMethod {
 
   private final Attribute attribute;
   private final String methodSignature;
+  private volatile MethodSignature parsedMethodSignature;
 
-  private static final Pattern METHOD_SIGNATURE_PATTERN = Pattern.compile(XmlHelper.PATTERN_PRE + "methodSignature" + XmlHelper.PATTERN_POST);
+  static final Pattern METHOD_SIGNATURE_PATTERN = Pattern.compile(XmlHelper.PATTERN_PRE + "methodSignature" + XmlHelper.PATTERN_POST);
 
   /**
    * Creates a new {@link DeferredMethod}.
@@ -52,6 +53,16 @@ public class DeferredMethod {
     this.methodSignature = XmlHelper.getChildWithGenerics(deferredMethodElem, "method-signature", METHOD_SIGNATURE_PATTERN, "methodSignature");
   }
 
+  /**
+   * Creates a {@link DeferredMethod} from already-parsed values.
+   *
+   * @see  PrecompiledTaglibs
+   */
+  DeferredMethod(Attribute attribute, String methodSignature) {
+    this.attribute = attribute;
+    this.methodSignature = methodSignature;
+  }
+
   public Attribute getAttribute() {
     return attribute;
   }
@@ -59,4 +70,23 @@ public class DeferredMethod {
   public String getMethodSignature() {
     return methodSignature;
   }
+
+  /**
+   * Gets the parsed method signature, including any generics.
+   * This is parsed once on first access.
+   *
+   * @return  the parsed method signature or {@code null} when there is no method signature
+   *
+   * @throws IllegalArgumentException when unable to parse
+   *
+   * @see  #getMethodSignature()
+   */
+  public MethodSignature getParsedMethodSignature() throws IllegalArgumentException {
+    MethodSignature parsed = this.parsedMethodSignature;
+    if (parsed == null && methodSignature != null) {
+      parsed = MethodSignature.valueOf(methodSignature);
+      this.parsedMethodSignature = parsed;
+    }
+    return parsed;
+  }
 }
@@ -1,6 +1,6 @@
 /*
  * ao-tld-parser - Parses JSP tag library *.tld files.
- * Copyright (C) 2017, 2019, 2020, 2021, 2022, 2024  AO Industries, Inc.
+ * Copyright (C) 2017, 2019, 2020, 2021, 2022, 2024, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -38,8 +38,9 @@ public class DeferredValue {
 
   private final Attribute attribute;
   private final String type;
+  private volatile TypeSignature parsedType;
 
-  private static final Pattern TYPE_PATTERN = Pattern.compile(XmlHelper.PATTERN_PRE + "type" + XmlHelper.PATTERN_POST);
+  static final Pattern TYPE_PATTERN = Pattern.compile(XmlHelper.PATTERN_PRE + "type" + XmlHelper.PATTERN_POST);
 
   /**
    * Creates a new {@link DeferredValue}.
@@ -52,6 +53,16 @@ public class DeferredValue {
     this.type = XmlHelper.getChildWithGenerics(deferredValueElem, "type", TYPE_PATTERN, "type");
   }
 
+  /**
+   * Creates a {@link DeferredValue} from already-parsed values.
+   *
+   * @see  PrecompiledTaglibs
+   */
+  DeferredValue(Attribute attribute, String type) {
+    this.attribute = attribute;
+    this.type = type;
+  }
+
   public Attribute getAttribute() {
     return attribute;
   }
@@ -59,4 +70,23 @@ public class DeferredValue {
   public String getType() {
     return type;
   }
+
+  /**
+   * Gets the parsed type, including any generics.
+   * This is parsed once on first access.
+   *
+   * @return  the parsed type or {@code null} when there is no type
+   *
+   * @throws IllegalArgumentException when unable to parse
+   *
+   * @see  #getType()
+   */
+  public TypeSignature getParsedType() throws IllegalArgumentException {
+    TypeSignature parsed = this.parsedType;
+    if (parsed == null && type != null) {
+      parsed = TypeSignature.valueOf(type);
+      this.parsedType = parsed;
+    }
+    return parsed;
+  }
 }
@@ -0,0 +1,226 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * A 128-bit content fingerprint of a component of a *.tld file.
+ * Fingerprints are computed bottom-up: the fingerprint of a {@link Tag} includes the fingerprints
+ * of its {@link Attribute attributes}, and the fingerprint of a {@link Taglib} includes the fingerprints
+ * of its tags and {@link Function functions}.  Equal fingerprints mean equal content, so anything generated
+ * from an unchanged component may be reused.
+ *
+ * <p>Fingerprints are the first 128 bits of a SHA-256 hash, and are stable across runs and platforms.</p>
+ *
+ * @see  TaglibDiff
+ */
+public final class Fingerprint implements Comparable<Fingerprint> {
+
+  /**
+   * Accumulates the values of one component into its fingerprint.
+   */
+  static final class Builder {
+
+    private static final byte NULL = 0;
+    private static final byte NON_NULL = 1;
+
+    private final MessageDigest digest;
+    private final ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * 2);
+
+    /**
+     * @param  type  distinguishes the type of component, so different types with the same values do not match
+     */
+    Builder(String type) {
+      try {
+        digest = MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException e) {
+        throw new AssertionError("SHA-256 is required on all Java platforms", e);
+      }
+      add(type);
+    }
+
+    Builder add(String value) {
+      if (value == null) {
+        digest.update(NULL);
+      } else {
+        digest.update(NON_NULL);
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        add(bytes.length);
+        digest.update(bytes);
+      }
+      return this;
+    }
+
+    Builder add(int value) {
+      buffer.clear();
+      buffer.putInt(value);
+      digest.update(buffer.array(), 0, Integer.BYTES);
+      return this;
+    }
+
+    Builder add(boolean value) {
+      digest.update(value ? NON_NULL : NULL);
+      return this;
+    }
+
+    Builder add(Boolean value) {
+      digest.update(value == null ? (byte) 2 : value ? NON_NULL : NULL);
+      return this;
+    }
+
+    Builder add(List<String> values) {
+      add(values.size());
+      for (String value : values) {
+        add(value);
+      }
+      return this;
+    }
+
+    Builder add(ZonedDateTime value) {
+      return add(value == null ? null : value.toString());
+    }
+
+    Builder add(Dates dates) {
+      if (dates == null) {
+        digest.update(NULL);
+      } else {
+        digest.update(NON_NULL);
+        add(dates.getCreated());
+        add(dates.getPublished());
+        add(dates.getModified());
+        add(dates.getReviewed());
+      }
+      return this;
+    }
+
+    Builder add(Fingerprint fingerprint) {
+      buffer.clear();
+      buffer.putLong(fingerprint.high).putLong(fingerprint.low);
+      digest.update(buffer.array());
+      return this;
+    }
+
+    Fingerprint build() {
+      ByteBuffer hash = ByteBuffer.wrap(digest.digest());
+      return new Fingerprint(hash.getLong(), hash.getLong());
+    }
+  }
+
+  private final long high;
+  private final long low;
+
+  /**
+   * Creates a fingerprint from its two halves, such as when restored from storage.
+   *
+   * @see  #getHigh()
+   * @see  #getLow()
+   */
+  public Fingerprint(long high, long low) {
+    this.high = high;
+    this.low = low;
+  }
+
+  /**
+   * Parses a fingerprint from its 32-digit hexadecimal form.
+   *
+   * @throws IllegalArgumentException when not a valid fingerprint
+   *
+   * @see  #toString()
+   */
+  public static Fingerprint valueOf(String hex) throws IllegalArgumentException {
+    if (hex == null) {
+      return null;
+    }
+    if (hex.length() != 32) {
+      throw new IllegalArgumentException("Fingerprint must be 32 hexadecimal digits: " + hex);
+    }
+    try {
+      return new Fingerprint(
+          Long.parseUnsignedLong(hex.substring(0, 16), 16),
+          Long.parseUnsignedLong(hex.substring(16), 16)
+      );
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Fingerprint must be 32 hexadecimal digits: " + hex, e);
+    }
+  }
+
+  /**
+   * Gets the high 64 bits.
+   */
+  public long getHigh() {
+    return high;
+  }
+
+  /**
+   * Gets the low 64 bits.
+   */
+  public long getLow() {
+    return low;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (!(obj instanceof Fingerprint)) {
+      return false;
+    }
+    Fingerprint other = (Fingerprint) obj;
+    return high == other.high && low == other.low;
+  }
+
+  @Override
+  public int hashCode() {
+    // Already well distributed
+    return (int) low;
+  }
+
+  @Override
+  public int compareTo(Fingerprint other) {
+    int diff = Long.compareUnsigned(high, other.high);
+    return (diff != 0) ? diff : Long.compareUnsigned(low, other.low);
+  }
+
+  /**
+   * Gets the fingerprint as 32 lower-case hexadecimal digits.
+   */
+  @Override
+  public String toString() {
+    StringBuilder hex = new StringBuilder(32);
+    String highHex = Long.toHexString(high);
+    for (int i = highHex.length(); i < 16; i++) {
+      hex.append('0');
+    }
+    hex.append(highHex);
+    String lowHex = Long.toHexString(low);
+    for (int i = lowHex.length(); i < 16; i++) {
+      hex.append('0');
+    }
+    return hex.append(lowHex).toString();
+  }
+}
@@ -1,6 +1,6 @@
 /*
  * ao-tld-parser - Parses JSP tag library *.tld files.
- * Copyright (C) 2017, 2019, 2020, 2021, 2022, 2024  AO Industries, Inc.
+ * Copyright (C) 2017, 2019, 2020, 2021, 2022, 2024, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -48,16 +48,27 @@ public class Function {
   private final Taglib taglib;
   private final Dates dates;
   private final Boolean allowRobots;
+  private final boolean effectiveAllowRobots;
   private final List<String> descriptions;
   private final List<String> displayNames;
   private final String name;
   private final String functionClass;
   private final String functionSignature;
+  private volatile MethodSignature parsedFunctionSignature;
   private final String example;
 
   private final String descriptionSummary;
 
-  private static final Pattern FUNCTION_SIGNATURE_PATTERN = Pattern.compile(XmlHelper.PATTERN_PRE + "functionSignature" + XmlHelper.PATTERN_POST);
+  private final Fingerprint fingerprint;
+
+  /**
+   * The HTTP validators of the page of this function, computed on first access.
+   *
+   * @see  #getValidators()
+   */
+  private volatile ConditionalGet.Validators validators;
+
+  static final Pattern FUNCTION_SIGNATURE_PATTERN = Pattern.compile(XmlHelper.PATTERN_PRE + "functionSignature" + XmlHelper.PATTERN_POST);
 
   /**
    * Creates a new function.
@@ -70,35 +81,55 @@ public class Function {
     this.taglib = taglib;
 
     this.name = XmlUtils.getChildTextContent(functionElem, "name");
+    Function previousFunction = taglib.getPreviousFunction(name);
 
-    this.dates = Dates.fromComments(functionElem, taglib.getDates());
+    this.dates = Reuse.ifEqual(previousFunction == null ? null : previousFunction.dates, Dates.fromComments(functionElem, taglib.getDates()));
     this.dates.checkNotBefore(taglib.getTldPath() + "/" + name, taglib.getTldPath(), taglib.getDates());
 
     this.allowRobots = XmlHelper.parseAllowRobots(functionElem);
+    this.effectiveAllowRobots = (allowRobots != null) ? allowRobots : taglib.getEffectiveAllowRobots();
 
     List<String> newDescriptions = new ArrayList<>();
     for (Element descriptionElem : XmlUtils.iterableChildElementsByTagName(functionElem, "description")) {
       newDescriptions.add(descriptionElem.getTextContent());
     }
-    this.descriptions = AoCollections.optimalUnmodifiableList(newDescriptions);
+    this.descriptions = Reuse.ifEqual(previousFunction == null ? null : previousFunction.descriptions, AoCollections.optimalUnmodifiableList(newDescriptions));
 
     List<String> newDisplayNames = new ArrayList<>();
     for (Element displayNameElem : XmlUtils.iterableChildElementsByTagName(functionElem, "display-name")) {
       newDisplayNames.add(displayNameElem.getTextContent());
     }
-    this.displayNames = AoCollections.optimalUnmodifiableList(newDisplayNames);
+    this.displayNames = Reuse.ifEqual(previousFunction == null ? null : previousFunction.displayNames, AoCollections.optimalUnmodifiableList(newDisplayNames));
 
     this.functionClass = XmlUtils.getChildTextContent(functionElem, "function-class");
     this.functionSignature = XmlHelper.getChildWithGenerics(functionElem, "function-signature", FUNCTION_SIGNATURE_PATTERN, "functionSignature");
-    this.example = XmlUtils.getChildTextContent(functionElem, "example");
+    this.example = Reuse.ifEqual(previousFunction == null ? null : previousFunction.example, XmlUtils.getChildTextContent(functionElem, "example"));
 
     try {
-      this.descriptionSummary = descriptions.isEmpty() ? null : HtmlSnippet.getSummary(summaryClass, descriptions.get(0));
+      if (descriptions.isEmpty()) {
+        this.descriptionSummary = null;
+      } else if (previousFunction != null && previousFunction.descriptions == descriptions && taglib.canReuseSummaries()) {
+        this.descriptionSummary = previousFunction.descriptionSummary;
+      } else {
+        this.descriptionSummary = taglib.getSummary(summaryClass, descriptions.get(0));
+      }
     } catch (XPathExpressionException e) {
       XPathExpressionException wrapped = new XPathExpressionException(taglib.getTldPath() + "/" + name + "/description: " + e.getMessage());
       wrapped.initCause(e);
       throw wrapped;
     }
+
+    this.fingerprint = new Fingerprint.Builder("function")
+        .add(dates)
+        .add(allowRobots)
+        .add(descriptions)
+        .add(displayNames)
+        .add(name)
+        .add(functionClass)
+        .add(functionSignature)
+        .add(example)
+        .add(descriptionSummary)
+        .build();
   }
 
   /**
@@ -116,6 +147,26 @@ public class Function {
     this(summaryClass, taglib, functionElem);
   }
 
+  /**
+   * Creates a function from a store, without any XML processing.
+   *
+   * @see  PrecompiledTaglibs
+   */
+  Function(Taglib taglib, MappedTaglibStore.MappedFunction mapped) {
+    this.taglib = taglib;
+    this.dates = Reuse.ifEqual(taglib.getDates(), mapped.getDates());
+    this.allowRobots = mapped.getAllowRobots();
+    this.effectiveAllowRobots = (allowRobots != null) ? allowRobots : taglib.getEffectiveAllowRobots();
+    this.descriptions = AoCollections.optimalUnmodifiableList(new ArrayList<>(mapped.getDescriptions()));
+    this.displayNames = AoCollections.optimalUnmodifiableList(new ArrayList<>(mapped.getDisplayNames()));
+    this.name = mapped.getName();
+    this.functionClass = mapped.getFunctionClass();
+    this.functionSignature = mapped.getFunctionSignature();
+    this.example = mapped.getExample();
+    this.descriptionSummary = mapped.getDescriptionSummary();
+    this.fingerprint = mapped.getFingerprint();
+  }
+
   public Taglib getTaglib() {
     return taglib;
   }
@@ -128,6 +179,16 @@ public class Function {
     return allowRobots;
   }
 
+  /**
+   * Gets the effective allowRobots, which is inherited from the taglib when not specified.
+   *
+   * @see  #getAllowRobots()
+   * @see  Taglib#getEffectiveAllowRobots()
+   */
+  public boolean getEffectiveAllowRobots() {
+    return effectiveAllowRobots;
+  }
+
   @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
   public List<String> getDescriptions() {
     return descriptions;
@@ -150,6 +211,25 @@ public class Function {
     return functionSignature;
   }
 
+  /**
+   * Gets the parsed function signature, including any generics.
+   * This is parsed once on first access.
+   *
+   * @return  the parsed function signature or {@code null} when there is no function signature
+   *
+   * @throws IllegalArgumentException when unable to parse
+   *
+   * @see  #getFunctionSignature()
+   */
+  public MethodSignature getParsedFunctionSignature() throws IllegalArgumentException {
+    MethodSignature parsed = this.parsedFunctionSignature;
+    if (parsed == null && functionSignature != null) {
+      parsed = MethodSignature.valueOf(functionSignature);
+      this.parsedFunctionSignature = parsed;
+    }
+    return parsed;
+  }
+
   public String getExample() {
     return example;
   }
@@ -164,4 +244,40 @@ public class Function {
   public String getDescriptionSummary() {
     return descriptionSummary;
   }
+
+  /**
+   * Writes the summary of the description.
+   * If there is more than once description, only the first is used in generating the summary.
+   * If there are no descriptions, writes nothing.
+   *
+   * @see  #getDescriptionSummary()
+   */
+  public void writeDescriptionSummary(Appendable out) throws IOException {
+    if (descriptionSummary != null) {
+      out.append(descriptionSummary);
+    }
+  }
+
+  /**
+   * Gets the content fingerprint of this function.
+   *
+   * @see  Fingerprint
+   */
+  public Fingerprint getFingerprint() {
+    return fingerprint;
+  }
+
+  /**
+   * Gets the HTTP validators of the page of this function, computing them on first access.
+   *
+   * @see  ConditionalGet#getValidators(com.aoapps.tldparser.Function)
+   */
+  ConditionalGet.Validators getValidators() {
+    ConditionalGet.Validators computed = this.validators;
+    if (computed == null) {
+      computed = ConditionalGet.computeValidators(this);
+      this.validators = computed;
+    }
+    return computed;
+  }
 }
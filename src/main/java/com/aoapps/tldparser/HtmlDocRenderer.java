@@ -0,0 +1,691 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import com.aoapps.collections.AoCollections;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Renders static HTML documentation for taglibs, without a servlet container.
+ *
+ * <p>Each taglib is rendered into its own directory, named by its short name, containing
+ * <code>index.html</code>, <code>tags/<var>name</var>.html</code>, and <code>functions/<var>name</var>.html</code>.
+ * Pages are streamed directly to their files from {@linkplain Template templates} compiled once when the renderer
+ * is created.</p>
+ *
+ * <p>The fingerprint of each page is recorded in a <code>.fingerprints</code> file in the directory of its taglib.
+ * A page is only rendered again when its fingerprint changes, which happens when its component, its templates, or
+ * the summary class changes.  Pages of tags and functions no longer in the taglib are deleted.</p>
+ *
+ * <p>Instances are immutable and thread-safe.</p>
+ */
+public final class HtmlDocRenderer {
+
+  /**
+   * The templates used to render each page and each row within a page.
+   * Each <code>${<var>name</var>}</code> in a template is replaced by the HTML of the variable of that name.
+   * Text values are escaped, while descriptions and summaries are included as-is since they are already HTML.
+   */
+  public enum Template {
+    /**
+     * The page of a taglib.
+     */
+    TAGLIB(
+        "<!DOCTYPE html>\n"
+            + "<html lang=\"en\">\n"
+            + "<head>\n"
+            + "<meta charset=\"UTF-8\">\n"
+            + "<meta name=\"robots\" content=\"${robots}\">\n"
+            + "<title>${title}</title>\n"
+            + "</head>\n"
+            + "<body>\n"
+            + "<h1>${title}</h1>\n"
+            + "<dl>\n"
+            + "<dt>Short Name</dt><dd>${shortName}</dd>\n"
+            + "<dt>URI</dt><dd>${uri}</dd>\n"
+            + "<dt>Version</dt><dd>${tlibVersion}</dd>\n"
+            + "<dt>Last Modified</dt><dd>${lastModified}</dd>\n"
+            + "</dl>\n"
+            + "${description}\n"
+            + "<h2>Tags</h2>\n"
+            + "<table>\n"
+            + "<tbody>\n"
+            + "${tags}"
+            + "</tbody>\n"
+            + "</table>\n"
+            + "<h2>Functions</h2>\n"
+            + "<table>\n"
+            + "<tbody>\n"
+            + "${functions}"
+            + "</tbody>\n"
+            + "</table>\n"
+            + "</body>\n"
+            + "</html>\n",
+        "robots", "title", "shortName", "uri", "tlibVersion", "lastModified", "description", "tags", "functions"
+    ),
+
+    /**
+     * One row in the list of tags on the page of a taglib.
+     */
+    TAG_ROW(
+        "<tr><td><a href=\"${href}\">${name}</a></td><td>${summary}</td></tr>\n",
+        "href", "name", "summary"
+    ),
+
+    /**
+     * One row in the list of functions on the page of a taglib.
+     */
+    FUNCTION_ROW(
+        "<tr><td><a href=\"${href}\">${name}</a></td><td><code>${functionSignature}</code></td><td>${summary}</td></tr>\n",
+        "href", "name", "functionSignature", "summary"
+    ),
+
+    /**
+     * The page of a tag.
+     */
+    TAG(
+        "<!DOCTYPE html>\n"
+            + "<html lang=\"en\">\n"
+            + "<head>\n"
+            + "<meta charset=\"UTF-8\">\n"
+            + "<meta name=\"robots\" content=\"${robots}\">\n"
+            + "<title>${title}</title>\n"
+            + "</head>\n"
+            + "<body>\n"
+            + "<p><a href=\"${taglibHref}\">${taglibTitle}</a></p>\n"
+            + "<h1>${title}</h1>\n"
+            + "<dl>\n"
+            + "<dt>Tag Class</dt><dd><code>${tagClass}</code></dd>\n"
+            + "<dt>TEI Class</dt><dd><code>${teiClass}</code></dd>\n"
+            + "<dt>Body Content</dt><dd>${bodyContent}</dd>\n"
+            + "<dt>Dynamic Attributes</dt><dd>${dynamicAttributes}</dd>\n"
+            + "<dt>Last Modified</dt><dd>${lastModified}</dd>\n"
+            + "</dl>\n"
+            + "${description}\n"
+            + "<h2>Attributes</h2>\n"
+            + "<table>\n"
+            + "<thead>\n"
+            + "<tr><th>Name</th><th>Required</th><th>Runtime Expressions</th><th>Fragment</th><th>Type</th><th>Description</th></tr>\n"
+            + "</thead>\n"
+            + "<tbody>\n"
+            + "${attributes}"
+            + "</tbody>\n"
+            + "</table>\n"
+            + "${example}\n"
+            + "</body>\n"
+            + "</html>\n",
+        "robots", "title", "taglibHref", "taglibTitle", "name", "tagClass", "teiClass", "bodyContent",
+        "dynamicAttributes", "lastModified", "description", "attributes", "example"
+    ),
+
+    /**
+     * One row in the list of attributes on the page of a tag.
+     */
+    ATTRIBUTE_ROW(
+        "<tr><td>${name}</td><td>${required}</td><td>${rtexprvalue}</td><td>${fragment}</td><td><code>${type}</code></td><td>${summary}</td></tr>\n",
+        "name", "required", "rtexprvalue", "fragment", "type", "summary"
+    ),
+
+    /**
+     * The page of a function.
+     */
+    FUNCTION(
+        "<!DOCTYPE html>\n"
+            + "<html lang=\"en\">\n"
+            + "<head>\n"
+            + "<meta charset=\"UTF-8\">\n"
+            + "<meta name=\"robots\" content=\"${robots}\">\n"
+            + "<title>${title}</title>\n"
+            + "</head>\n"
+            + "<body>\n"
+            + "<p><a href=\"${taglibHref}\">${taglibTitle}</a></p>\n"
+            + "<h1>${title}</h1>\n"
+            + "<dl>\n"
+            + "<dt>Function Class</dt><dd><code>${functionClass}</code></dd>\n"
+            + "<dt>Function Signature</dt><dd><code>${functionSignature}</code></dd>\n"
+            + "<dt>Last Modified</dt><dd>${lastModified}</dd>\n"
+            + "</dl>\n"
+            + "${description}\n"
+            + "${example}\n"
+            + "</body>\n"
+            + "</html>\n",
+        "robots", "title", "taglibHref", "taglibTitle", "name", "functionClass", "functionSignature",
+        "lastModified", "description", "example"
+    );
+
+    private final String defaultSource;
+    private final Set<String> variables;
+
+    private Template(String defaultSource, String ... variables) {
+      this.defaultSource = defaultSource;
+      this.variables = AoCollections.optimalUnmodifiableSet(new HashSet<>(Arrays.asList(variables)));
+    }
+
+    /**
+     * Gets the template used when not overridden.
+     */
+    public String getDefaultSource() {
+      return defaultSource;
+    }
+
+    /**
+     * Gets the names of the variables that may be used in this template.
+     */
+    @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+    public Set<String> getVariables() {
+      return variables;
+    }
+  }
+
+  /**
+   * A template parsed once into its literal text and variables, alternating.
+   */
+  private static final class Compiled {
+
+    private static final String VARIABLE_START = "${";
+    private static final char VARIABLE_END = '}';
+
+    /**
+     * One more literal than names: literals[0], names[0], literals[1], ..., literals[names.length].
+     */
+    private final String[] literals;
+    private final String[] names;
+
+    private Compiled(Template template, String source) {
+      List<String> literalList = new ArrayList<>();
+      List<String> nameList = new ArrayList<>();
+      int pos = 0;
+      int start;
+      while ((start = source.indexOf(VARIABLE_START, pos)) != -1) {
+        int end = source.indexOf(VARIABLE_END, start + VARIABLE_START.length());
+        if (end == -1) {
+          throw new IllegalArgumentException(template + ": Unterminated variable at position " + start);
+        }
+        String name = source.substring(start + VARIABLE_START.length(), end);
+        if (!template.variables.contains(name)) {
+          throw new IllegalArgumentException(template + ": Unknown variable: " + name);
+        }
+        literalList.add(source.substring(pos, start));
+        nameList.add(name);
+        pos = end + 1;
+      }
+      literalList.add(source.substring(pos));
+      this.literals = literalList.toArray(new String[literalList.size()]);
+      this.names = nameList.toArray(new String[nameList.size()]);
+    }
+
+    private void render(Map<String, String> values, Writer out) throws IOException {
+      out.write(literals[0]);
+      for (int i = 0; i < names.length; i++) {
+        String value = values.get(names[i]);
+        if (value != null) {
+          out.write(value);
+        }
+        out.write(literals[i + 1]);
+      }
+    }
+  }
+
+  private static final String INDEX = "index.html";
+  private static final String TAGS = "tags";
+  private static final String FUNCTIONS = "functions";
+  private static final String HTML_EXTENSION = ".html";
+  private static final String FINGERPRINTS = ".fingerprints";
+
+  private final Map<Template, Compiled> compiled;
+  private final Fingerprint templatesFingerprint;
+
+  /**
+   * Creates a renderer with the given templates replacing the defaults.
+   *
+   * @param templates  The templates to use in place of the defaults, may be empty
+   *
+   * @throws  IllegalArgumentException  when a template uses an unknown or unterminated variable
+   */
+  public HtmlDocRenderer(Map<Template, String> templates) throws IllegalArgumentException {
+    Map<Template, Compiled> newCompiled = new EnumMap<>(Template.class);
+    Fingerprint.Builder fingerprint = new Fingerprint.Builder("templates");
+    for (Template template : Template.values()) {
+      String source = templates.get(template);
+      if (source == null) {
+        source = template.defaultSource;
+      }
+      newCompiled.put(template, new Compiled(template, source));
+      fingerprint.add(source);
+    }
+    this.compiled = newCompiled;
+    this.templatesFingerprint = fingerprint.build();
+  }
+
+  /**
+   * Creates a renderer with the default templates.
+   */
+  public HtmlDocRenderer() {
+    this(Collections.emptyMap());
+  }
+
+  /**
+   * Renders all taglibs, each in parallel.
+   *
+   * @param outDir  The directory containing the directory of each taglib
+   *
+   * @return  The number of pages rendered, not including unchanged pages
+   *
+   * @throws  IllegalArgumentException  when more than one taglib has the same short name
+   */
+  public int render(Iterable<? extends Taglib> taglibs, Path outDir, ExecutorService executor)
+      throws IllegalArgumentException, IOException, InterruptedException {
+    Set<String> shortNames = new HashSet<>();
+    List<Callable<Integer>> tasks = new ArrayList<>();
+    for (Taglib taglib : taglibs) {
+      if (!shortNames.add(taglib.getShortName())) {
+        throw new IllegalArgumentException("Duplicate taglib short name: " + taglib.getShortName());
+      }
+      tasks.add(() -> render(taglib, outDir));
+    }
+    int rendered = 0;
+    for (Future<Integer> future : executor.invokeAll(tasks)) {
+      try {
+        rendered += future.get();
+      } catch (ExecutionException e) {
+        TldParser.throwCause(e, IOException.class, IOException.class);
+      }
+    }
+    return rendered;
+  }
+
+  /**
+   * Renders all taglibs, each in parallel on the {@linkplain ForkJoinPool#commonPool() common pool}.
+   *
+   * @param outDir  The directory containing the directory of each taglib
+   *
+   * @return  The number of pages rendered, not including unchanged pages
+   *
+   * @throws  IllegalArgumentException  when more than one taglib has the same short name
+   */
+  public int render(Iterable<? extends Taglib> taglibs, Path outDir)
+      throws IllegalArgumentException, IOException, InterruptedException {
+    return render(taglibs, outDir, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Renders one taglib into its own directory, skipping unchanged pages.
+   *
+   * @param outDir  The directory containing the directory of each taglib
+   *
+   * @return  The number of pages rendered, not including unchanged pages
+   */
+  public int render(Taglib taglib, Path outDir) throws IOException {
+    Path taglibDir = outDir.resolve(checkFileName(taglib.getShortName()));
+    Path fingerprintsFile = taglibDir.resolve(FINGERPRINTS);
+    Properties previous = new Properties();
+    try (Reader in = Files.newBufferedReader(fingerprintsFile, StandardCharsets.UTF_8)) {
+      previous.load(in);
+    } catch (NoSuchFileException e) {
+      // First render
+    }
+    Properties current = new Properties();
+    int rendered = 0;
+    // Taglib page
+    String page = INDEX;
+    if (renderIfChanged(taglibDir, page, getPageFingerprint(taglib).toString(), previous, current)) {
+      try (Writer out = Files.newBufferedWriter(taglibDir.resolve(page), StandardCharsets.UTF_8)) {
+        writeTaglib(taglib, out);
+      }
+      rendered++;
+    }
+    // Tag pages
+    for (Tag tag : taglib.getTags()) {
+      page = TAGS + '/' + checkFileName(tag.getName()) + HTML_EXTENSION;
+      if (renderIfChanged(taglibDir, page, getPageFingerprint(taglib, tag.getFingerprint()).toString(), previous, current)) {
+        try (Writer out = Files.newBufferedWriter(taglibDir.resolve(page), StandardCharsets.UTF_8)) {
+          writeTag(tag, out);
+        }
+        rendered++;
+      }
+    }
+    // Function pages
+    for (Function function : taglib.getFunctions()) {
+      page = FUNCTIONS + '/' + checkFileName(function.getName()) + HTML_EXTENSION;
+      if (renderIfChanged(taglibDir, page, getPageFingerprint(taglib, function.getFingerprint()).toString(), previous, current)) {
+        try (Writer out = Files.newBufferedWriter(taglibDir.resolve(page), StandardCharsets.UTF_8)) {
+          writeFunction(function, out);
+        }
+        rendered++;
+      }
+    }
+    // Delete pages no longer in the taglib
+    for (String oldPage : previous.stringPropertyNames()) {
+      if (!current.containsKey(oldPage)) {
+        Path oldFile = resolveOldPage(taglibDir, oldPage);
+        if (oldFile != null) {
+          Files.deleteIfExists(oldFile);
+        }
+      }
+    }
+    // Record fingerprints last, so an interrupted render is repeated
+    try (Writer out = Files.newBufferedWriter(fingerprintsFile, StandardCharsets.UTF_8)) {
+      current.store(out, null);
+    }
+    return rendered;
+  }
+
+  /**
+   * Resolves a page recorded in the fingerprints file, which might have been edited.
+   *
+   * @return  The file or {@code null} when the page is not a file within the taglib directory
+   */
+  private static Path resolveOldPage(Path taglibDir, String page) {
+    Path dir = taglibDir.toAbsolutePath().normalize();
+    Path file;
+    try {
+      file = dir.resolve(page).normalize();
+    } catch (InvalidPathException e) {
+      return null;
+    }
+    if (
+        !file.startsWith(dir)
+            || file.equals(dir)
+            || file.equals(dir.resolve(FINGERPRINTS))
+    ) {
+      return null;
+    }
+    return file;
+  }
+
+  /**
+   * Records the fingerprint of a page and determines if it needs to be rendered.
+   * Creates the directory of the page when rendering.
+   */
+  private static boolean renderIfChanged(Path taglibDir, String page, String fingerprint, Properties previous,
+      Properties current) throws IOException {
+    current.setProperty(page, fingerprint);
+    Path file = taglibDir.resolve(page);
+    if (fingerprint.equals(previous.getProperty(page)) && Files.isRegularFile(file)) {
+      return false;
+    }
+    Files.createDirectories(file.getParent());
+    return true;
+  }
+
+  /**
+   * The page of a taglib includes all its tags and functions.
+   */
+  private Fingerprint getPageFingerprint(Taglib taglib) {
+    return new Fingerprint.Builder("taglib-page")
+        .add(templatesFingerprint)
+        .add(getContentFingerprint(taglib))
+        .build();
+  }
+
+  /**
+   * The page of a tag or function includes the parts of its taglib used in links and for robots.
+   */
+  private Fingerprint getPageFingerprint(Taglib taglib, Fingerprint component) {
+    return new Fingerprint.Builder("component-page")
+        .add(templatesFingerprint)
+        .add(getContentFingerprint(taglib, component))
+        .build();
+  }
+
+  /**
+   * Gets the fingerprint of everything on the page of a taglib other than the templates.
+   * This is also the <code>ETag</code> of the page used by {@link ConditionalGet}.
+   */
+  static Fingerprint getContentFingerprint(Taglib taglib) {
+    return new Fingerprint.Builder("taglib-content")
+        .add(taglib.getSummaryClass())
+        .add(taglib.getFingerprint())
+        .build();
+  }
+
+  /**
+   * Gets the fingerprint of everything on the page of a tag or function other than the templates.
+   * This is also the <code>ETag</code> of the page used by {@link ConditionalGet}.
+   */
+  static Fingerprint getContentFingerprint(Taglib taglib, Fingerprint component) {
+    return new Fingerprint.Builder("component-content")
+        .add(taglib.getSummaryClass())
+        .add(getTitle(taglib))
+        .add(taglib.getEffectiveAllowRobots())
+        .add(component)
+        .build();
+  }
+
+  /**
+   * Checks that a name may be used as a file name within the output directory.
+   */
+  private static String checkFileName(String name) throws IllegalArgumentException {
+    if (
+        name == null
+            || name.isEmpty()
+            || name.equals(".")
+            || name.equals("..")
+            || name.indexOf('/') != -1
+            || name.indexOf('\\') != -1
+    ) {
+      throw new IllegalArgumentException("Name may not be used as a file name: " + name);
+    }
+    return name;
+  }
+
+  private static String getTitle(Taglib taglib) {
+    List<String> displayNames = taglib.getDisplayNames();
+    return displayNames.isEmpty() ? taglib.getShortName() : displayNames.get(0);
+  }
+
+  private static String getHref(String dir, String name) {
+    return dir + '/' + URLEncoder.encode(name, StandardCharsets.UTF_8) + HTML_EXTENSION;
+  }
+
+  /**
+   * Writes the page of a taglib.
+   */
+  public void writeTaglib(Taglib taglib, Writer out) throws IOException {
+    Compiled tagRow = compiled.get(Template.TAG_ROW);
+    StringWriter tags = new StringWriter();
+    Map<String, String> row = new HashMap<>();
+    for (Tag tag : taglib.getTags()) {
+      row.put("href", escape(getHref(TAGS, tag.getName())));
+      row.put("name", escape(tag.getName()));
+      row.put("summary", tag.getDescriptionSummary());
+      tagRow.render(row, tags);
+    }
+    Compiled functionRow = compiled.get(Template.FUNCTION_ROW);
+    StringWriter functions = new StringWriter();
+    row.clear();
+    for (Function function : taglib.getFunctions()) {
+      row.put("href", escape(getHref(FUNCTIONS, function.getName())));
+      row.put("name", escape(function.getName()));
+      row.put("functionSignature", escape(function.getFunctionSignature()));
+      row.put("summary", function.getDescriptionSummary());
+      functionRow.render(row, functions);
+    }
+    Map<String, String> values = new HashMap<>();
+    values.put("robots", getRobots(taglib.getEffectiveAllowRobots()));
+    values.put("title", escape(getTitle(taglib)));
+    values.put("shortName", escape(taglib.getShortName()));
+    values.put("uri", escape(taglib.getUri()));
+    values.put("tlibVersion", escape(taglib.getTlibVersion()));
+    values.put("lastModified", getLastModified(taglib.getTaglibEffectiveDates()));
+    values.put("description", getDescription(taglib.getDescriptions()));
+    values.put("tags", tags.toString());
+    values.put("functions", functions.toString());
+    compiled.get(Template.TAGLIB).render(values, out);
+  }
+
+  /**
+   * Writes the page of a tag.
+   */
+  public void writeTag(Tag tag, Writer out) throws IOException {
+    Compiled attributeRow = compiled.get(Template.ATTRIBUTE_ROW);
+    StringWriter attributes = new StringWriter();
+    Map<String, String> row = new HashMap<>();
+    for (Attribute attribute : tag.getAttributes()) {
+      row.put("name", escape(attribute.getName()));
+      row.put("required", Boolean.toString(attribute.getRequired()));
+      row.put("rtexprvalue", Boolean.toString(attribute.getRtexprvalue()));
+      row.put("fragment", Boolean.toString(attribute.getFragment()));
+      String type = attribute.getType();
+      if (type == null) {
+        DeferredValue deferredValue = attribute.getDeferredValue();
+        if (deferredValue != null) {
+          type = deferredValue.getType();
+        } else {
+          DeferredMethod deferredMethod = attribute.getDeferredMethod();
+          if (deferredMethod != null) {
+            type = deferredMethod.getMethodSignature();
+          }
+        }
+      }
+      row.put("type", escape(type));
+      row.put("summary", attribute.getDescriptionSummary());
+      attributeRow.render(row, attributes);
+    }
+    Taglib taglib = tag.getTaglib();
+    Map<String, String> values = new HashMap<>();
+    values.put("robots", getRobots(tag.getEffectiveAllowRobots()));
+    values.put("title", escape(tag.getName()));
+    values.put("taglibHref", "../" + INDEX);
+    values.put("taglibTitle", escape(getTitle(taglib)));
+    values.put("name", escape(tag.getName()));
+    values.put("tagClass", escape(tag.getTagClass()));
+    values.put("teiClass", escape(tag.getTeiClass()));
+    values.put("bodyContent", escape(tag.getBodyContent()));
+    values.put("dynamicAttributes", Boolean.toString(tag.getDynamicAttributes()));
+    values.put("lastModified", getLastModified(tag.getDates()));
+    values.put("description", getDescription(tag.getDescriptions()));
+    values.put("attributes", attributes.toString());
+    values.put("example", getExample(tag.getExample()));
+    compiled.get(Template.TAG).render(values, out);
+  }
+
+  /**
+   * Writes the page of a function.
+   */
+  public void writeFunction(Function function, Writer out) throws IOException {
+    Taglib taglib = function.getTaglib();
+    Map<String, String> values = new HashMap<>();
+    values.put("robots", getRobots(function.getEffectiveAllowRobots()));
+    values.put("title", escape(function.getName()));
+    values.put("taglibHref", "../" + INDEX);
+    values.put("taglibTitle", escape(getTitle(taglib)));
+    values.put("name", escape(function.getName()));
+    values.put("functionClass", escape(function.getFunctionClass()));
+    values.put("functionSignature", escape(function.getFunctionSignature()));
+    values.put("lastModified", getLastModified(function.getDates()));
+    values.put("description", getDescription(function.getDescriptions()));
+    values.put("example", getExample(function.getExample()));
+    compiled.get(Template.FUNCTION).render(values, out);
+  }
+
+  private static String getRobots(boolean allowRobots) {
+    return allowRobots ? "index, follow" : "noindex, nofollow";
+  }
+
+  private static String getLastModified(Dates dates) {
+    ZonedDateTime lastModified = SitemapWriter.getLastModified(dates);
+    return (lastModified == null) ? null : DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(lastModified);
+  }
+
+  /**
+   * Descriptions are already HTML.
+   */
+  private static String getDescription(List<String> descriptions) {
+    switch (descriptions.size()) {
+      case 0:
+        return null;
+      case 1:
+        return descriptions.get(0);
+      default:
+        return String.join("\n", descriptions);
+    }
+  }
+
+  private static String getExample(String example) {
+    return (example == null) ? null : ("<pre>" + escape(example) + "</pre>");
+  }
+
+  private static String escape(String value) {
+    if (value == null) {
+      return null;
+    }
+    StringBuilder escaped = null;
+    int start = 0;
+    for (int i = 0, len = value.length(); i < len; i++) {
+      String entity;
+      switch (value.charAt(i)) {
+        case '&':
+          entity = "&amp;";
+          break;
+        case '<':
+          entity = "&lt;";
+          break;
+        case '>':
+          entity = "&gt;";
+          break;
+        case '"':
+          entity = "&quot;";
+          break;
+        case '\'':
+          entity = "&#39;";
+          break;
+        default:
+          continue;
+      }
+      if (escaped == null) {
+        escaped = new StringBuilder(len + 16);
+      }
+      escaped.append(value, start, i).append(entity);
+      start = i + 1;
+    }
+    return (escaped == null) ? value : escaped.append(value, start, value.length()).toString();
+  }
+}
@@ -1,6 +1,6 @@
 /*
  * ao-tld-parser - Parses JSP tag library *.tld files.
- * Copyright (C) 2017, 2019, 2021, 2022, 2024  AO Industries, Inc.
+ * Copyright (C) 2017, 2019, 2021, 2022, 2024, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -24,7 +24,9 @@
 package com.aoapps.tldparser;
 
 import com.aoapps.lang.Coercion;
+import java.io.IOException;
 import java.io.StringReader;
+import java.io.Writer;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
@@ -44,16 +46,11 @@ public final class HtmlSnippet {
   }
 
   /**
-   * Displays all elements with class="<var>summaryClass</var>" of the provided HTML snippet.
-   * If there is no elements with this class, the entire snippet is displayed.
+   * Finds all elements with class="<var>summaryClass</var>" of the provided HTML snippet.
    *
-   * <p>This parses the HTML snippet into a DOM each invocation.
-   * For higher performance, use another mechanism to compute once and use repeatedly.
-   * This is for convenience, not performance.</p>
-   *
-   * @param summaryClass  The CSS class that marks elements to be included in summaries
+   * @return  the matching nodes or {@code null} when there are no elements with this class
    */
-  public static String getSummary(String summaryClass, String htmlSnippet) throws XPathExpressionException {
+  private static NodeList getSummaryNodes(String summaryClass, String htmlSnippet) throws XPathExpressionException {
     // TODO: New XML Processing Limits (JDK-8270504 (not public)), see https://www.oracle.com/java/technologies/javase/8all-relnotes.html
     XPathFactory xpathFactory = XPathFactory.newInstance();
     XPath xpath = xpathFactory.newXPath();
@@ -70,7 +67,24 @@ public final class HtmlSnippet {
         ),
         XPathConstants.NODESET
     );
-    if (summaryNodes != null && summaryNodes.getLength() > 0) {
+    return (summaryNodes != null && summaryNodes.getLength() > 0) ? summaryNodes : null;
+  }
+
+  /**
+   * Displays all elements with class="<var>summaryClass</var>" of the provided HTML snippet.
+   * If there is no elements with this class, the entire snippet is displayed.
+   *
+   * <p>This parses the HTML snippet into a DOM each invocation.
+   * For higher performance, use another mechanism to compute once and use repeatedly.
+   * This is for convenience, not performance.</p>
+   *
+   * @param summaryClass  The CSS class that marks elements to be included in summaries
+   *
+   * @see  HtmlSnippet#writeSummary(java.lang.String, java.lang.String, java.lang.Appendable)
+   */
+  public static String getSummary(String summaryClass, String htmlSnippet) throws XPathExpressionException {
+    NodeList summaryNodes = getSummaryNodes(summaryClass, htmlSnippet);
+    if (summaryNodes != null) {
       StringBuilder summary = new StringBuilder();
       for (int i = 0; i < summaryNodes.getLength(); i++) {
         summary.append(Coercion.toString(summaryNodes.item(i)));
@@ -80,4 +94,57 @@ public final class HtmlSnippet {
       return htmlSnippet;
     }
   }
+
+  /**
+   * Writes all elements with class="<var>summaryClass</var>" of the provided HTML snippet.
+   * If there is no elements with this class, the entire snippet is written.
+   *
+   * <p>Each element is written directly to the output without building the summary as an intermediate
+   * {@link String}.  When the output is a {@link Writer}, elements are serialized directly to the writer.</p>
+   *
+   * <p>This parses the HTML snippet into a DOM each invocation.
+   * For higher performance, use another mechanism to compute once and use repeatedly.
+   * This is for convenience, not performance.</p>
+   *
+   * @param summaryClass  The CSS class that marks elements to be included in summaries
+   *
+   * @see  HtmlSnippet#getSummary(java.lang.String, java.lang.String)
+   */
+  public static void writeSummary(String summaryClass, String htmlSnippet, Appendable out) throws XPathExpressionException, IOException {
+    if (out instanceof Writer) {
+      writeSummary(summaryClass, htmlSnippet, (Writer) out);
+    } else {
+      NodeList summaryNodes = getSummaryNodes(summaryClass, htmlSnippet);
+      if (summaryNodes != null) {
+        for (int i = 0; i < summaryNodes.getLength(); i++) {
+          out.append(Coercion.toString(summaryNodes.item(i)));
+        }
+      } else {
+        out.append(htmlSnippet);
+      }
+    }
+  }
+
+  /**
+   * Writes all elements with class="<var>summaryClass</var>" of the provided HTML snippet.
+   * If there is no elements with this class, the entire snippet is written.
+   *
+   * <p>This parses the HTML snippet into a DOM each invocation.
+   * For higher performance, use another mechanism to compute once and use repeatedly.
+   * This is for convenience, not performance.</p>
+   *
+   * @param summaryClass  The CSS class that marks elements to be included in summaries
+   *
+   * @see  HtmlSnippet#getSummary(java.lang.String, java.lang.String)
+   */
+  public static void writeSummary(String summaryClass, String htmlSnippet, Writer out) throws XPathExpressionException, IOException {
+    NodeList summaryNodes = getSummaryNodes(summaryClass, htmlSnippet);
+    if (summaryNodes != null) {
+      for (int i = 0; i < summaryNodes.getLength(); i++) {
+        Coercion.write(summaryNodes.item(i), out);
+      }
+    } else {
+      out.write(htmlSnippet);
+    }
+  }
 }
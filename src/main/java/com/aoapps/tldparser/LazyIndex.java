@@ -0,0 +1,211 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import com.aoapps.collections.AoCollections;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.xml.xpath.XPathExpressionException;
+import org.w3c.dom.Element;
+
+/**
+ * An index of elements by name, where each value is created from its element on first access.
+ * Values are created at most once, and are thereafter read without locking.
+ *
+ * <p>The DOM is not safe for concurrent reads, so all values are created while holding a lock
+ * shared by every index over the same document.  Each element is released once its value is created,
+ * so the document is no longer reachable from the index once all values have been created.</p>
+ *
+ * @param  <V>  The type of value created from each element
+ */
+final class LazyIndex<V> {
+
+  /**
+   * Creates a value from its element.
+   */
+  @FunctionalInterface
+  static interface Factory<V> {
+    V create(Element element) throws XPathExpressionException;
+  }
+
+  private final Object domLock;
+  private final String tldPath;
+
+  /**
+   * The elements not yet created, guarded by {@link #domLock}.
+   * Set to {@code null} once all values have been created.
+   */
+  private Map<String, Element> elements;
+
+  private final Set<String> nameSet;
+  private final List<String> names;
+  private final Factory<V> factory;
+  private final Map<String, V> values = new ConcurrentHashMap<>();
+  private final Map<String, V> map = new MapView();
+  private final List<V> list = new ListView();
+
+  /**
+   * Creates a new index.
+   *
+   * @param domLock  The lock held while accessing the DOM
+   * @param tldPath  The path to the taglib, used for error messages only
+   * @param elements  The elements by name, in document order, without any {@code null} name
+   */
+  LazyIndex(Object domLock, String tldPath, Map<String, Element> elements, Factory<V> factory) {
+    this.domLock = domLock;
+    this.tldPath = tldPath;
+    this.elements = elements.isEmpty() ? null : new HashMap<>(elements);
+    this.nameSet = AoCollections.optimalUnmodifiableSet(new LinkedHashSet<>(elements.keySet()));
+    this.names = AoCollections.optimalUnmodifiableList(new ArrayList<>(elements.keySet()));
+    this.factory = factory;
+  }
+
+  /**
+   * Gets the value for the given name, creating it on first access.
+   *
+   * @return  The value or {@code null} when no element has the given name, including a {@code null} name
+   *
+   * @throws IllegalStateException when unable to create the value, with the cause of the failure
+   */
+  V get(String name) throws IllegalStateException {
+    if (name == null) {
+      return null;
+    }
+    V value = values.get(name);
+    if (value == null) {
+      if (!nameSet.contains(name)) {
+        return null;
+      }
+      synchronized (domLock) {
+        value = values.get(name);
+        if (value == null) {
+          try {
+            value = factory.create(elements.get(name));
+          } catch (XPathExpressionException e) {
+            // Message already includes the location
+            throw new IllegalStateException(e.getMessage(), e);
+          } catch (RuntimeException e) {
+            throw new IllegalStateException(tldPath + "/" + name + ": " + e.getMessage(), e);
+          }
+          values.put(name, value);
+          elements.remove(name);
+          if (elements.isEmpty()) {
+            elements = null;
+          }
+        }
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Gets an unmodifiable view of the values by name.
+   */
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+  Map<String, V> asMap() {
+    return map;
+  }
+
+  /**
+   * Gets an unmodifiable view of the values in document order.
+   */
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+  List<V> asList() {
+    return list;
+  }
+
+  private final class MapView extends AbstractMap<String, V> {
+
+    private final Set<Map.Entry<String, V>> entrySet = new AbstractSet<Map.Entry<String, V>>() {
+      @Override
+      public Iterator<Map.Entry<String, V>> iterator() {
+        Iterator<String> iter = names.iterator();
+        return new Iterator<Map.Entry<String, V>>() {
+          @Override
+          public boolean hasNext() {
+            return iter.hasNext();
+          }
+
+          @Override
+          public Map.Entry<String, V> next() {
+            String name = iter.next();
+            return new AbstractMap.SimpleImmutableEntry<>(name, get(name));
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return names.size();
+      }
+    };
+
+    @Override
+    public Set<Map.Entry<String, V>> entrySet() {
+      return entrySet;
+    }
+
+    @Override
+    public Set<String> keySet() {
+      return nameSet;
+    }
+
+    @Override
+    public int size() {
+      return names.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return nameSet.contains(key);
+    }
+
+    @Override
+    public V get(Object key) {
+      return (key instanceof String) ? LazyIndex.this.get((String) key) : null;
+    }
+  }
+
+  private final class ListView extends AbstractList<V> {
+
+    @Override
+    public V get(int index) {
+      return LazyIndex.this.get(names.get(index));
+    }
+
+    @Override
+    public int size() {
+      return names.size();
+    }
+  }
+}
@@ -0,0 +1,1200 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.ZonedDateTime;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * A read-only store of {@link Taglib} models in a compact, offset-indexed file, accessed through
+ * a {@link java.nio.MappedByteBuffer}.  The store is written once by {@link #write(java.lang.Iterable, java.nio.file.Path)},
+ * then opened by any number of processes, which share the operating system page cache.
+ *
+ * <p>The mapped views have the same getters as the model, but every value is decoded from the mapped region on each call.
+ * Views are small and hold no decoded values, so heap use is independent of the size of the store.
+ * Callers should keep any decoded values they use repeatedly.</p>
+ *
+ * <p>Deferred methods and values are flattened into their attribute.  Example: {@link MappedAttribute#getDeferredMethodSignature()}
+ * in place of {@code getDeferredMethod().getMethodSignature()}.</p>
+ *
+ * <p>Lookups by path and by name are binary searches over indexes sorted by the UTF-8 bytes of the keys,
+ * without decoding any strings.</p>
+ *
+ * <p>The header records the length of the store and a CRC-32 checksum of everything after it, which are verified
+ * when opened, so a truncated or corrupt store is rejected instead of being read.</p>
+ *
+ * <p>Offsets are 32-bit, so a store is limited to 2 GiB.</p>
+ */
+public final class MappedTaglibStore {
+
+  private static final int MAGIC = 0x544c444d; // "TLDM"
+  private static final int VERSION = 2;
+
+  // Header
+  private static final int HEADER_MAGIC = 0;
+  private static final int HEADER_VERSION = HEADER_MAGIC + Integer.BYTES;
+  private static final int HEADER_LENGTH = HEADER_VERSION + Integer.BYTES;
+  private static final int HEADER_CHECKSUM = HEADER_LENGTH + Integer.BYTES;
+  /**
+   * The checksum covers everything from here to the end of the store.
+   */
+  private static final int HEADER_TAGLIBS = HEADER_CHECKSUM + Integer.BYTES;
+  private static final int HEADER_STRINGS = HEADER_TAGLIBS + Integer.BYTES;
+  private static final int HEADER_SIZE = HEADER_STRINGS + Integer.BYTES;
+
+  // Taglib record
+  private static final int TAGLIB_TLD_PATH = 0;
+  private static final int TAGLIB_TLIB_VERSION = TAGLIB_TLD_PATH + Integer.BYTES;
+  private static final int TAGLIB_SHORT_NAME = TAGLIB_TLIB_VERSION + Integer.BYTES;
+  private static final int TAGLIB_URI = TAGLIB_SHORT_NAME + Integer.BYTES;
+  private static final int TAGLIB_DATES = TAGLIB_URI + Integer.BYTES;
+  private static final int TAGLIB_TAGS_EFFECTIVE_DATES = TAGLIB_DATES + Integer.BYTES;
+  private static final int TAGLIB_FUNCTIONS_EFFECTIVE_DATES = TAGLIB_TAGS_EFFECTIVE_DATES + Integer.BYTES;
+  private static final int TAGLIB_TAGLIB_EFFECTIVE_DATES = TAGLIB_FUNCTIONS_EFFECTIVE_DATES + Integer.BYTES;
+  private static final int TAGLIB_DESCRIPTIONS = TAGLIB_TAGLIB_EFFECTIVE_DATES + Integer.BYTES;
+  private static final int TAGLIB_DISPLAY_NAMES = TAGLIB_DESCRIPTIONS + Integer.BYTES;
+  private static final int TAGLIB_TAGS = TAGLIB_DISPLAY_NAMES + Integer.BYTES;
+  private static final int TAGLIB_FUNCTIONS = TAGLIB_TAGS + Integer.BYTES;
+  private static final int TAGLIB_SUMMARY_CLASS = TAGLIB_FUNCTIONS + Integer.BYTES;
+  private static final int TAGLIB_FINGERPRINT = TAGLIB_SUMMARY_CLASS + Integer.BYTES;
+  private static final int TAGLIB_DOCUMENT_FINGERPRINT = TAGLIB_FINGERPRINT + Long.BYTES * 2;
+  private static final int TAGLIB_ALLOW_ROBOTS = TAGLIB_DOCUMENT_FINGERPRINT + Long.BYTES * 2;
+
+  // Tag record
+  private static final int TAG_NAME = 0;
+  private static final int TAG_TAG_CLASS = TAG_NAME + Integer.BYTES;
+  private static final int TAG_TEI_CLASS = TAG_TAG_CLASS + Integer.BYTES;
+  private static final int TAG_BODY_CONTENT = TAG_TEI_CLASS + Integer.BYTES;
+  private static final int TAG_EXAMPLE = TAG_BODY_CONTENT + Integer.BYTES;
+  private static final int TAG_DESCRIPTION_SUMMARY = TAG_EXAMPLE + Integer.BYTES;
+  private static final int TAG_DATES = TAG_DESCRIPTION_SUMMARY + Integer.BYTES;
+  private static final int TAG_DESCRIPTIONS = TAG_DATES + Integer.BYTES;
+  private static final int TAG_DISPLAY_NAMES = TAG_DESCRIPTIONS + Integer.BYTES;
+  private static final int TAG_ATTRIBUTES = TAG_DISPLAY_NAMES + Integer.BYTES;
+  private static final int TAG_FINGERPRINT = TAG_ATTRIBUTES + Integer.BYTES;
+  private static final int TAG_ALLOW_ROBOTS = TAG_FINGERPRINT + Long.BYTES * 2;
+  private static final int TAG_DYNAMIC_ATTRIBUTES = TAG_ALLOW_ROBOTS + 1;
+
+  // Attribute record
+  private static final int ATTRIBUTE_NAME = 0;
+  private static final int ATTRIBUTE_TYPE = ATTRIBUTE_NAME + Integer.BYTES;
+  private static final int ATTRIBUTE_DESCRIPTION_SUMMARY = ATTRIBUTE_TYPE + Integer.BYTES;
+  private static final int ATTRIBUTE_DEFERRED_METHOD_SIGNATURE = ATTRIBUTE_DESCRIPTION_SUMMARY + Integer.BYTES;
+  private static final int ATTRIBUTE_DEFERRED_VALUE_TYPE = ATTRIBUTE_DEFERRED_METHOD_SIGNATURE + Integer.BYTES;
+  private static final int ATTRIBUTE_DESCRIPTIONS = ATTRIBUTE_DEFERRED_VALUE_TYPE + Integer.BYTES;
+  private static final int ATTRIBUTE_FINGERPRINT = ATTRIBUTE_DESCRIPTIONS + Integer.BYTES;
+  private static final int ATTRIBUTE_FLAGS = ATTRIBUTE_FINGERPRINT + Long.BYTES * 2;
+
+  private static final int FLAG_REQUIRED = 1;
+  private static final int FLAG_RTEXPRVALUE = 1 << 1;
+  private static final int FLAG_FRAGMENT = 1 << 2;
+  private static final int FLAG_DEFERRED_METHOD = 1 << 3;
+  private static final int FLAG_DEFERRED_VALUE = 1 << 4;
+
+  // Function record
+  private static final int FUNCTION_NAME = 0;
+  private static final int FUNCTION_FUNCTION_CLASS = FUNCTION_NAME + Integer.BYTES;
+  private static final int FUNCTION_FUNCTION_SIGNATURE = FUNCTION_FUNCTION_CLASS + Integer.BYTES;
+  private static final int FUNCTION_EXAMPLE = FUNCTION_FUNCTION_SIGNATURE + Integer.BYTES;
+  private static final int FUNCTION_DESCRIPTION_SUMMARY = FUNCTION_EXAMPLE + Integer.BYTES;
+  private static final int FUNCTION_DATES = FUNCTION_DESCRIPTION_SUMMARY + Integer.BYTES;
+  private static final int FUNCTION_DESCRIPTIONS = FUNCTION_DATES + Integer.BYTES;
+  private static final int FUNCTION_DISPLAY_NAMES = FUNCTION_DESCRIPTIONS + Integer.BYTES;
+  private static final int FUNCTION_FINGERPRINT = FUNCTION_DISPLAY_NAMES + Integer.BYTES;
+  private static final int FUNCTION_ALLOW_ROBOTS = FUNCTION_FINGERPRINT + Long.BYTES * 2;
+
+  /**
+   * The reference used for {@code null} strings, lists, and dates.
+   */
+  private static final int NULL = -1;
+
+  private static final byte ALLOW_ROBOTS_NULL = 0;
+  private static final byte ALLOW_ROBOTS_FALSE = 1;
+  private static final byte ALLOW_ROBOTS_TRUE = 2;
+
+  /**
+   * Builds the records region and the strings region separately, so every record may be written
+   * after its children and no offsets need to be patched.
+   */
+  private static final class Writer {
+
+    private final ByteArrayOutputStream recordsBytes = new ByteArrayOutputStream();
+    private final DataOutputStream records = new DataOutputStream(recordsBytes);
+    private final ByteArrayOutputStream stringsBytes = new ByteArrayOutputStream();
+    private final DataOutputStream strings = new DataOutputStream(stringsBytes);
+
+    private final Map<String, Integer> stringRefs = new HashMap<>();
+    private final Map<Object, Integer> identityRefs = new IdentityHashMap<>();
+
+    /**
+     * Gets the offset within the file of the next record.
+     */
+    private int recordOffset() throws IOException {
+      long offset = (long) HEADER_SIZE + records.size();
+      if (offset > Integer.MAX_VALUE) {
+        throw new IOException("Store too large");
+      }
+      return (int) offset;
+    }
+
+    private int string(String value) throws IOException {
+      if (value == null) {
+        return NULL;
+      }
+      Integer ref = stringRefs.get(value);
+      if (ref == null) {
+        ref = strings.size();
+        if (ref < 0) {
+          throw new IOException("Store too large");
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        strings.writeInt(bytes.length);
+        strings.write(bytes);
+        stringRefs.put(value, ref);
+      }
+      return ref;
+    }
+
+    private int strings(List<String> values) throws IOException {
+      Integer ref = identityRefs.get(values);
+      if (ref == null) {
+        int[] refs = new int[values.size()];
+        for (int i = 0; i < refs.length; i++) {
+          refs[i] = string(values.get(i));
+        }
+        ref = recordOffset();
+        records.writeInt(refs.length);
+        for (int r : refs) {
+          records.writeInt(r);
+        }
+        identityRefs.put(values, ref);
+      }
+      return ref;
+    }
+
+    private int dates(Dates dates) throws IOException {
+      if (dates == null) {
+        return NULL;
+      }
+      Integer ref = identityRefs.get(dates);
+      if (ref == null) {
+        int created = string(toString(dates.getCreated()));
+        int published = string(toString(dates.getPublished()));
+        int modified = string(toString(dates.getModified()));
+        int reviewed = string(toString(dates.getReviewed()));
+        ref = recordOffset();
+        records.writeInt(created);
+        records.writeInt(published);
+        records.writeInt(modified);
+        records.writeInt(reviewed);
+        identityRefs.put(dates, ref);
+      }
+      return ref;
+    }
+
+    private static String toString(ZonedDateTime dateTime) {
+      return (dateTime == null) ? null : dateTime.toString();
+    }
+
+    private static byte allowRobots(Boolean allowRobots) {
+      if (allowRobots == null) {
+        return ALLOW_ROBOTS_NULL;
+      }
+      return allowRobots ? ALLOW_ROBOTS_TRUE : ALLOW_ROBOTS_FALSE;
+    }
+
+    private void fingerprint(Fingerprint fingerprint) throws IOException {
+      records.writeLong(fingerprint.getHigh());
+      records.writeLong(fingerprint.getLow());
+    }
+
+    /**
+     * Writes an index of records: the count, the offsets in the original order, then the offsets
+     * sorted by the UTF-8 bytes of their keys.
+     */
+    private int index(int[] offsets, List<String> keys) throws IOException {
+      int count = offsets.length;
+      byte[][] keyBytes = new byte[count][];
+      Integer[] sorted = new Integer[count];
+      for (int i = 0; i < count; i++) {
+        String key = keys.get(i);
+        keyBytes[i] = (key == null) ? null : key.getBytes(StandardCharsets.UTF_8);
+        sorted[i] = i;
+      }
+      Arrays.sort(sorted, (i1, i2) -> {
+        byte[] k1 = keyBytes[i1];
+        byte[] k2 = keyBytes[i2];
+        if (k1 == null) {
+          return (k2 == null) ? 0 : -1;
+        }
+        return (k2 == null) ? 1 : Arrays.compareUnsigned(k1, k2);
+      });
+      int ref = recordOffset();
+      records.writeInt(count);
+      for (int offset : offsets) {
+        records.writeInt(offset);
+      }
+      for (int i : sorted) {
+        records.writeInt(offsets[i]);
+      }
+      return ref;
+    }
+
+    private int attribute(Attribute attribute) throws IOException {
+      int name = string(attribute.getName());
+      int type = string(attribute.getType());
+      int descriptionSummary = string(attribute.getDescriptionSummary());
+      DeferredMethod deferredMethod = attribute.getDeferredMethod();
+      int deferredMethodSignature = string(deferredMethod == null ? null : deferredMethod.getMethodSignature());
+      DeferredValue deferredValue = attribute.getDeferredValue();
+      int deferredValueType = string(deferredValue == null ? null : deferredValue.getType());
+      int descriptions = strings(attribute.getDescriptions());
+      int flags = 0;
+      if (attribute.getRequired()) {
+        flags |= FLAG_REQUIRED;
+      }
+      if (attribute.getRtexprvalue()) {
+        flags |= FLAG_RTEXPRVALUE;
+      }
+      if (attribute.getFragment()) {
+        flags |= FLAG_FRAGMENT;
+      }
+      if (deferredMethod != null) {
+        flags |= FLAG_DEFERRED_METHOD;
+      }
+      if (deferredValue != null) {
+        flags |= FLAG_DEFERRED_VALUE;
+      }
+      int ref = recordOffset();
+      records.writeInt(name);
+      records.writeInt(type);
+      records.writeInt(descriptionSummary);
+      records.writeInt(deferredMethodSignature);
+      records.writeInt(deferredValueType);
+      records.writeInt(descriptions);
+      fingerprint(attribute.getFingerprint());
+      records.writeByte(flags);
+      return ref;
+    }
+
+    private int tag(Tag tag) throws IOException {
+      List<Attribute> attributes = tag.getAttributes();
+      int[] attributeOffsets = new int[attributes.size()];
+      List<String> attributeNames = new ArrayList<>(attributes.size());
+      for (int i = 0; i < attributeOffsets.length; i++) {
+        Attribute attribute = attributes.get(i);
+        attributeOffsets[i] = attribute(attribute);
+        attributeNames.add(attribute.getName());
+      }
+      int attributeIndex = index(attributeOffsets, attributeNames);
+      int name = string(tag.getName());
+      int tagClass = string(tag.getTagClass());
+      int teiClass = string(tag.getTeiClass());
+      int bodyContent = string(tag.getBodyContent());
+      int example = string(tag.getExample());
+      int descriptionSummary = string(tag.getDescriptionSummary());
+      int dates = dates(tag.getDates());
+      int descriptions = strings(tag.getDescriptions());
+      int displayNames = strings(tag.getDisplayNames());
+      int ref = recordOffset();
+      records.writeInt(name);
+      records.writeInt(tagClass);
+      records.writeInt(teiClass);
+      records.writeInt(bodyContent);
+      records.writeInt(example);
+      records.writeInt(descriptionSummary);
+      records.writeInt(dates);
+      records.writeInt(descriptions);
+      records.writeInt(displayNames);
+      records.writeInt(attributeIndex);
+      fingerprint(tag.getFingerprint());
+      records.writeByte(allowRobots(tag.getAllowRobots()));
+      records.writeBoolean(tag.getDynamicAttributes());
+      return ref;
+    }
+
+    private int function(Function function) throws IOException {
+      int name = string(function.getName());
+      int functionClass = string(function.getFunctionClass());
+      int functionSignature = string(function.getFunctionSignature());
+      int example = string(function.getExample());
+      int descriptionSummary = string(function.getDescriptionSummary());
+      int dates = dates(function.getDates());
+      int descriptions = strings(function.getDescriptions());
+      int displayNames = strings(function.getDisplayNames());
+      int ref = recordOffset();
+      records.writeInt(name);
+      records.writeInt(functionClass);
+      records.writeInt(functionSignature);
+      records.writeInt(example);
+      records.writeInt(descriptionSummary);
+      records.writeInt(dates);
+      records.writeInt(descriptions);
+      records.writeInt(displayNames);
+      fingerprint(function.getFingerprint());
+      records.writeByte(allowRobots(function.getAllowRobots()));
+      return ref;
+    }
+
+    private int taglib(Taglib taglib) throws IOException {
+      List<Tag> tags = taglib.getTags();
+      int[] tagOffsets = new int[tags.size()];
+      for (int i = 0; i < tagOffsets.length; i++) {
+        tagOffsets[i] = tag(tags.get(i));
+      }
+      int tagIndex = index(tagOffsets, new ArrayList<>(taglib.getTag().keySet()));
+      List<Function> functions = taglib.getFunctions();
+      int[] functionOffsets = new int[functions.size()];
+      for (int i = 0; i < functionOffsets.length; i++) {
+        functionOffsets[i] = function(functions.get(i));
+      }
+      int functionIndex = index(functionOffsets, new ArrayList<>(taglib.getFunction().keySet()));
+      int tldPath = string(taglib.getTldPath());
+      int tlibVersion = string(taglib.getTlibVersion());
+      int shortName = string(taglib.getShortName());
+      int uri = string(taglib.getUri());
+      int dates = dates(taglib.getDates());
+      int tagsEffectiveDates = dates(taglib.getTagsEffectiveDates());
+      int functionsEffectiveDates = dates(taglib.getFunctionsEffectiveDates());
+      int taglibEffectiveDates = dates(taglib.getTaglibEffectiveDates());
+      int descriptions = strings(taglib.getDescriptions());
+      int displayNames = strings(taglib.getDisplayNames());
+      int summaryClass = string(taglib.getSummaryClass());
+      int ref = recordOffset();
+      records.writeInt(tldPath);
+      records.writeInt(tlibVersion);
+      records.writeInt(shortName);
+      records.writeInt(uri);
+      records.writeInt(dates);
+      records.writeInt(tagsEffectiveDates);
+      records.writeInt(functionsEffectiveDates);
+      records.writeInt(taglibEffectiveDates);
+      records.writeInt(descriptions);
+      records.writeInt(displayNames);
+      records.writeInt(tagIndex);
+      records.writeInt(functionIndex);
+      records.writeInt(summaryClass);
+      fingerprint(taglib.getFingerprint());
+      Fingerprint documentFingerprint = taglib.getDocumentFingerprint();
+      // All zeros for none
+      records.writeLong(documentFingerprint == null ? 0 : documentFingerprint.getHigh());
+      records.writeLong(documentFingerprint == null ? 0 : documentFingerprint.getLow());
+      records.writeByte(allowRobots(taglib.getAllowRobots()));
+      return ref;
+    }
+
+    private void write(Iterable<? extends Taglib> taglibs, OutputStream out) throws IOException {
+      List<Integer> taglibOffsets = new ArrayList<>();
+      List<String> tldPaths = new ArrayList<>();
+      Set<String> seen = new HashSet<>();
+      for (Taglib taglib : taglibs) {
+        String tldPath = taglib.getTldPath();
+        if (!seen.add(tldPath)) {
+          throw new IllegalArgumentException("Duplicate tldPath: " + tldPath);
+        }
+        taglibOffsets.add(taglib(taglib));
+        tldPaths.add(tldPath);
+      }
+      int taglibIndex = index(taglibOffsets.stream().mapToInt(Integer::intValue).toArray(), tldPaths);
+      long stringsOffset = (long) HEADER_SIZE + records.size();
+      long length = stringsOffset + strings.size();
+      if (length > Integer.MAX_VALUE) {
+        throw new IOException("Store too large");
+      }
+      records.flush();
+      strings.flush();
+      ByteBuffer checked = ByteBuffer.allocate(HEADER_SIZE - HEADER_TAGLIBS);
+      checked.putInt(taglibIndex);
+      checked.putInt((int) stringsOffset);
+      CRC32 checksum = new CRC32();
+      checksum.update(checked.array());
+      checksum.update(recordsBytes.toByteArray());
+      checksum.update(stringsBytes.toByteArray());
+      DataOutputStream header = new DataOutputStream(out);
+      header.writeInt(MAGIC);
+      header.writeInt(VERSION);
+      header.writeInt((int) length);
+      header.writeInt((int) checksum.getValue());
+      header.write(checked.array());
+      header.flush();
+      recordsBytes.writeTo(out);
+      stringsBytes.writeTo(out);
+    }
+  }
+
+  /**
+   * Writes taglibs to a new store, replacing any existing file atomically where supported.
+   * Processes with the previous file open continue to use the previous file.
+   *
+   * @throws IllegalArgumentException when more than one taglib has the same path
+   */
+  public static void write(Iterable<? extends Taglib> taglibs, Path file) throws IOException, IllegalArgumentException {
+    Path dir = file.toAbsolutePath().getParent();
+    Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+    try {
+      try (OutputStream out = Files.newOutputStream(temp)) {
+        new Writer().write(taglibs, out);
+      }
+      try {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /**
+   * Opens a store for reading.  The file is mapped into memory and the file channel is closed.
+   *
+   * @throws IOException when unable to read the file or the file is not a store
+   */
+  public static MappedTaglibStore open(Path file) throws IOException {
+    ByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+        throw new IOException("Not a taglib store: " + file);
+      }
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+    return new MappedTaglibStore(checkHeader(buffer, file));
+  }
+
+  /**
+   * Reads a store fully onto the heap, such as from a resource that might not be a file.
+   *
+   * @throws IOException when unable to read the stream or the stream is not a store
+   */
+  public static MappedTaglibStore read(String source, InputStream in) throws IOException {
+    byte[] bytes = in.readAllBytes();
+    if (bytes.length < HEADER_SIZE) {
+      throw new IOException("Not a taglib store: " + source);
+    }
+    return new MappedTaglibStore(checkHeader(ByteBuffer.wrap(bytes).asReadOnlyBuffer(), source));
+  }
+
+  /**
+   * Verifies the header, length, and checksum of a store.
+   *
+   * @throws IOException when not a store, or the store is truncated or corrupt
+   */
+  private static ByteBuffer checkHeader(ByteBuffer buffer, Object source) throws IOException {
+    if (buffer.getInt(HEADER_MAGIC) != MAGIC) {
+      throw new IOException("Not a taglib store: " + source);
+    }
+    int version = buffer.getInt(HEADER_VERSION);
+    if (version != VERSION) {
+      throw new IOException("Unsupported taglib store version " + version + ": " + source);
+    }
+    int length = buffer.getInt(HEADER_LENGTH);
+    if (length != buffer.limit()) {
+      throw new IOException("Truncated taglib store, expected " + length + " bytes, got " + buffer.limit() + ": " + source);
+    }
+    ByteBuffer checked = buffer.duplicate();
+    checked.position(HEADER_TAGLIBS);
+    CRC32 checksum = new CRC32();
+    checksum.update(checked);
+    if ((int) checksum.getValue() != buffer.getInt(HEADER_CHECKSUM)) {
+      throw new IOException("Corrupt taglib store, checksum mismatch: " + source);
+    }
+    int stringsOffset = buffer.getInt(HEADER_STRINGS);
+    int taglibIndex = buffer.getInt(HEADER_TAGLIBS);
+    if (
+        stringsOffset < HEADER_SIZE
+            || stringsOffset > length
+            || taglibIndex < HEADER_SIZE
+            || taglibIndex > stringsOffset - Integer.BYTES
+    ) {
+      throw new IOException("Corrupt taglib store, offsets out of range: " + source);
+    }
+    return buffer;
+  }
+
+  private final ByteBuffer buffer;
+  private final int stringsOffset;
+  private final int taglibIndex;
+
+  private MappedTaglibStore(ByteBuffer buffer) {
+    this.buffer = buffer;
+    this.stringsOffset = buffer.getInt(HEADER_STRINGS);
+    this.taglibIndex = buffer.getInt(HEADER_TAGLIBS);
+  }
+
+  private String getString(int ref) {
+    if (ref == NULL) {
+      return null;
+    }
+    int offset = stringsOffset + ref;
+    byte[] bytes = new byte[buffer.getInt(offset)];
+    // Duplicate for thread-safe positioning
+    ByteBuffer dup = buffer.duplicate();
+    dup.position(offset + Integer.BYTES);
+    dup.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private String getString(int record, int field) {
+    return getString(buffer.getInt(record + field));
+  }
+
+  private List<String> getStrings(int record, int field) {
+    int list = buffer.getInt(record + field);
+    int size = buffer.getInt(list);
+    return new AbstractList<String>() {
+      @Override
+      public String get(int index) {
+        if (index < 0 || index >= size) {
+          throw new IndexOutOfBoundsException(Integer.toString(index));
+        }
+        return getString(buffer.getInt(list + Integer.BYTES * (1 + index)));
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  private ZonedDateTime getDateTime(int ref) {
+    String value = getString(ref);
+    return (value == null) ? null : ZonedDateTime.parse(value);
+  }
+
+  private Dates getDates(int record, int field) {
+    int dates = buffer.getInt(record + field);
+    if (dates == NULL) {
+      return null;
+    }
+    return Dates.valueOf(
+        getDateTime(buffer.getInt(dates)),
+        getDateTime(buffer.getInt(dates + Integer.BYTES)),
+        getDateTime(buffer.getInt(dates + Integer.BYTES * 2)),
+        getDateTime(buffer.getInt(dates + Integer.BYTES * 3))
+    );
+  }
+
+  private Boolean getAllowRobots(int record, int field) {
+    byte value = buffer.get(record + field);
+    if (value == ALLOW_ROBOTS_NULL) {
+      return null;
+    }
+    return value == ALLOW_ROBOTS_TRUE;
+  }
+
+  private Fingerprint getFingerprint(int record, int field) {
+    return new Fingerprint(buffer.getLong(record + field), buffer.getLong(record + field + Long.BYTES));
+  }
+
+  /**
+   * Compares a key to a stored string by their UTF-8 bytes, without decoding the stored string.
+   */
+  private int compare(byte[] key, int ref) {
+    if (ref == NULL) {
+      return 1;
+    }
+    int offset = stringsOffset + ref;
+    int len = buffer.getInt(offset);
+    offset += Integer.BYTES;
+    for (int i = 0, end = Math.min(key.length, len); i < end; i++) {
+      int diff = Byte.toUnsignedInt(key[i]) - Byte.toUnsignedInt(buffer.get(offset + i));
+      if (diff != 0) {
+        return diff;
+      }
+    }
+    return key.length - len;
+  }
+
+  /**
+   * Finds a record in an index by the key at the given field of each record.
+   *
+   * @return  The offset of the record or {@link #NULL} when not found
+   */
+  private int find(int index, int keyField, String key) {
+    if (key == null) {
+      return NULL;
+    }
+    byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+    int count = buffer.getInt(index);
+    int sorted = index + Integer.BYTES * (1 + count);
+    int low = 0;
+    int high = count - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int record = buffer.getInt(sorted + Integer.BYTES * mid);
+      int diff = compare(keyBytes, buffer.getInt(record + keyField));
+      if (diff > 0) {
+        low = mid + 1;
+      } else if (diff < 0) {
+        high = mid - 1;
+      } else {
+        return record;
+      }
+    }
+    return NULL;
+  }
+
+  /**
+   * A list view of the records of an index, in their original order.
+   */
+  private abstract class IndexList<V> extends AbstractList<V> {
+
+    private final int index;
+    private final int size;
+
+    private IndexList(int index) {
+      this.index = index;
+      this.size = buffer.getInt(index);
+    }
+
+    abstract V newView(int record);
+
+    @Override
+    public V get(int i) {
+      if (i < 0 || i >= size) {
+        throw new IndexOutOfBoundsException(Integer.toString(i));
+      }
+      return newView(buffer.getInt(index + Integer.BYTES * (1 + i)));
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+
+  /**
+   * A map view of the records of an index, by name in their original order.
+   * Lookups are binary searches.
+   */
+  private abstract class IndexMap<V> extends AbstractMap<String, V> {
+
+    private final int index;
+    private final int keyField;
+    private final IndexList<V> values;
+
+    private IndexMap(int index, int keyField) {
+      this.index = index;
+      this.keyField = keyField;
+      this.values = new IndexList<V>(index) {
+        @Override
+        V newView(int record) {
+          return IndexMap.this.newView(record);
+        }
+      };
+    }
+
+    abstract V newView(int record);
+
+    @Override
+    public V get(Object key) {
+      if (!(key instanceof String)) {
+        return null;
+      }
+      int record = find(index, keyField, (String) key);
+      return (record == NULL) ? null : newView(record);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return (key instanceof String) && find(index, keyField, (String) key) != NULL;
+    }
+
+    @Override
+    public int size() {
+      return values.size();
+    }
+
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+      return new AbstractSet<Entry<String, V>>() {
+        @Override
+        public Iterator<Entry<String, V>> iterator() {
+          Iterator<V> iter = values.iterator();
+          return new Iterator<Entry<String, V>>() {
+            @Override
+            public boolean hasNext() {
+              return iter.hasNext();
+            }
+
+            @Override
+            public Entry<String, V> next() {
+              V value = iter.next();
+              return new SimpleImmutableEntry<>(getKey(value), value);
+            }
+          };
+        }
+
+        @Override
+        public int size() {
+          return values.size();
+        }
+      };
+    }
+
+    abstract String getKey(V value);
+  }
+
+  /**
+   * Gets the number of taglibs.
+   */
+  public int size() {
+    return buffer.getInt(taglibIndex);
+  }
+
+  /**
+   * Gets all taglibs, in the order written.
+   */
+  public List<MappedTaglib> getTaglibs() {
+    return new IndexList<MappedTaglib>(taglibIndex) {
+      @Override
+      MappedTaglib newView(int record) {
+        return new MappedTaglib(record);
+      }
+    };
+  }
+
+  /**
+   * Gets a taglib by its path.
+   *
+   * @return  The taglib or {@code null} when not found
+   */
+  public MappedTaglib getTaglib(String tldPath) {
+    int record = find(taglibIndex, TAGLIB_TLD_PATH, tldPath);
+    return (record == NULL) ? null : new MappedTaglib(record);
+  }
+
+  /**
+   * A mapped view of a {@link Taglib}.
+   */
+  public final class MappedTaglib {
+
+    private final int record;
+
+    private MappedTaglib(int record) {
+      this.record = record;
+    }
+
+    public String getTldPath() {
+      return getString(record, TAGLIB_TLD_PATH);
+    }
+
+    public Dates getDates() {
+      return MappedTaglibStore.this.getDates(record, TAGLIB_DATES);
+    }
+
+    public Boolean getAllowRobots() {
+      return MappedTaglibStore.this.getAllowRobots(record, TAGLIB_ALLOW_ROBOTS);
+    }
+
+    public List<String> getDescriptions() {
+      return getStrings(record, TAGLIB_DESCRIPTIONS);
+    }
+
+    public List<String> getDisplayNames() {
+      return getStrings(record, TAGLIB_DISPLAY_NAMES);
+    }
+
+    public String getTlibVersion() {
+      return getString(record, TAGLIB_TLIB_VERSION);
+    }
+
+    public String getShortName() {
+      return getString(record, TAGLIB_SHORT_NAME);
+    }
+
+    public String getUri() {
+      return getString(record, TAGLIB_URI);
+    }
+
+    public Map<String, MappedTag> getTag() {
+      return new IndexMap<MappedTag>(buffer.getInt(record + TAGLIB_TAGS), TAG_NAME) {
+        @Override
+        MappedTag newView(int tagRecord) {
+          return new MappedTag(MappedTaglib.this, tagRecord);
+        }
+
+        @Override
+        String getKey(MappedTag tag) {
+          return tag.getName();
+        }
+      };
+    }
+
+    public List<MappedTag> getTags() {
+      return new IndexList<MappedTag>(buffer.getInt(record + TAGLIB_TAGS)) {
+        @Override
+        MappedTag newView(int tagRecord) {
+          return new MappedTag(MappedTaglib.this, tagRecord);
+        }
+      };
+    }
+
+    /**
+     * Gets the effective dates for the all tags.
+     *
+     * @return the effective dates or {@code null} when there are no tags
+     */
+    public Dates getTagsEffectiveDates() {
+      return MappedTaglibStore.this.getDates(record, TAGLIB_TAGS_EFFECTIVE_DATES);
+    }
+
+    public Map<String, MappedFunction> getFunction() {
+      return new IndexMap<MappedFunction>(buffer.getInt(record + TAGLIB_FUNCTIONS), FUNCTION_NAME) {
+        @Override
+        MappedFunction newView(int functionRecord) {
+          return new MappedFunction(MappedTaglib.this, functionRecord);
+        }
+
+        @Override
+        String getKey(MappedFunction function) {
+          return function.getName();
+        }
+      };
+    }
+
+    public List<MappedFunction> getFunctions() {
+      return new IndexList<MappedFunction>(buffer.getInt(record + TAGLIB_FUNCTIONS)) {
+        @Override
+        MappedFunction newView(int functionRecord) {
+          return new MappedFunction(MappedTaglib.this, functionRecord);
+        }
+      };
+    }
+
+    /**
+     * Gets the effective dates for the all functions.
+     *
+     * @return the effective dates or {@code null} when there are no functions
+     */
+    public Dates getFunctionsEffectiveDates() {
+      return MappedTaglibStore.this.getDates(record, TAGLIB_FUNCTIONS_EFFECTIVE_DATES);
+    }
+
+    /**
+     * Gets the effective dates for the taglib overall, including itself along with all tags and functions.
+     */
+    public Dates getTaglibEffectiveDates() {
+      return MappedTaglibStore.this.getDates(record, TAGLIB_TAGLIB_EFFECTIVE_DATES);
+    }
+
+    /**
+     * @see  Taglib#getFingerprint()
+     */
+    public Fingerprint getFingerprint() {
+      return MappedTaglibStore.this.getFingerprint(record, TAGLIB_FINGERPRINT);
+    }
+
+    /**
+     * @see  Taglib#getSummaryClass()
+     */
+    String getSummaryClass() {
+      return getString(record, TAGLIB_SUMMARY_CLASS);
+    }
+
+    /**
+     * @return  The fingerprint or {@code null} when none stored
+     *
+     * @see  Taglib#getDocumentFingerprint()
+     */
+    Fingerprint getDocumentFingerprint() {
+      Fingerprint documentFingerprint = MappedTaglibStore.this.getFingerprint(record, TAGLIB_DOCUMENT_FINGERPRINT);
+      return (documentFingerprint.getHigh() == 0 && documentFingerprint.getLow() == 0) ? null : documentFingerprint;
+    }
+  }
+
+  /**
+   * A mapped view of a {@link Tag}.
+   */
+  public final class MappedTag {
+
+    private final MappedTaglib taglib;
+    private final int record;
+
+    private MappedTag(MappedTaglib taglib, int record) {
+      this.taglib = taglib;
+      this.record = record;
+    }
+
+    public MappedTaglib getTaglib() {
+      return taglib;
+    }
+
+    public Dates getDates() {
+      return MappedTaglibStore.this.getDates(record, TAG_DATES);
+    }
+
+    public Boolean getAllowRobots() {
+      return MappedTaglibStore.this.getAllowRobots(record, TAG_ALLOW_ROBOTS);
+    }
+
+    public List<String> getDescriptions() {
+      return getStrings(record, TAG_DESCRIPTIONS);
+    }
+
+    public List<String> getDisplayNames() {
+      return getStrings(record, TAG_DISPLAY_NAMES);
+    }
+
+    public String getName() {
+      return getString(record, TAG_NAME);
+    }
+
+    public String getTagClass() {
+      return getString(record, TAG_TAG_CLASS);
+    }
+
+    public String getTeiClass() {
+      return getString(record, TAG_TEI_CLASS);
+    }
+
+    public String getBodyContent() {
+      return getString(record, TAG_BODY_CONTENT);
+    }
+
+    public Map<String, MappedAttribute> getAttribute() {
+      return new IndexMap<MappedAttribute>(buffer.getInt(record + TAG_ATTRIBUTES), ATTRIBUTE_NAME) {
+        @Override
+        MappedAttribute newView(int attributeRecord) {
+          return new MappedAttribute(MappedTag.this, attributeRecord);
+        }
+
+        @Override
+        String getKey(MappedAttribute attribute) {
+          return attribute.getName();
+        }
+      };
+    }
+
+    public List<MappedAttribute> getAttributes() {
+      return new IndexList<MappedAttribute>(buffer.getInt(record + TAG_ATTRIBUTES)) {
+        @Override
+        MappedAttribute newView(int attributeRecord) {
+          return new MappedAttribute(MappedTag.this, attributeRecord);
+        }
+      };
+    }
+
+    public boolean getDynamicAttributes() {
+      return buffer.get(record + TAG_DYNAMIC_ATTRIBUTES) != 0;
+    }
+
+    public String getExample() {
+      return getString(record, TAG_EXAMPLE);
+    }
+
+    /**
+     * @see  Tag#getDescriptionSummary()
+     */
+    public String getDescriptionSummary() {
+      return getString(record, TAG_DESCRIPTION_SUMMARY);
+    }
+
+    /**
+     * @see  Tag#getFingerprint()
+     */
+    public Fingerprint getFingerprint() {
+      return MappedTaglibStore.this.getFingerprint(record, TAG_FINGERPRINT);
+    }
+  }
+
+  /**
+   * A mapped view of an {@link Attribute}.
+   */
+  public final class MappedAttribute {
+
+    private final MappedTag tag;
+    private final int record;
+
+    private MappedAttribute(MappedTag tag, int record) {
+      this.tag = tag;
+      this.record = record;
+    }
+
+    public MappedTag getTag() {
+      return tag;
+    }
+
+    public List<String> getDescriptions() {
+      return getStrings(record, ATTRIBUTE_DESCRIPTIONS);
+    }
+
+    public String getName() {
+      return getString(record, ATTRIBUTE_NAME);
+    }
+
+    private boolean getFlag(int flag) {
+      return (buffer.get(record + ATTRIBUTE_FLAGS) & flag) != 0;
+    }
+
+    public boolean getRequired() {
+      return getFlag(FLAG_REQUIRED);
+    }
+
+    public boolean getRtexprvalue() {
+      return getFlag(FLAG_RTEXPRVALUE);
+    }
+
+    public boolean getFragment() {
+      return getFlag(FLAG_FRAGMENT);
+    }
+
+    public String getType() {
+      return getString(record, ATTRIBUTE_TYPE);
+    }
+
+    /**
+     * @see  Attribute#getDeferredMethod()
+     */
+    public boolean hasDeferredMethod() {
+      return getFlag(FLAG_DEFERRED_METHOD);
+    }
+
+    /**
+     * @see  DeferredMethod#getMethodSignature()
+     */
+    public String getDeferredMethodSignature() {
+      return getString(record, ATTRIBUTE_DEFERRED_METHOD_SIGNATURE);
+    }
+
+    /**
+     * @see  Attribute#getDeferredValue()
+     */
+    public boolean hasDeferredValue() {
+      return getFlag(FLAG_DEFERRED_VALUE);
+    }
+
+    /**
+     * @see  DeferredValue#getType()
+     */
+    public String getDeferredValueType() {
+      return getString(record, ATTRIBUTE_DEFERRED_VALUE_TYPE);
+    }
+
+    /**
+     * @see  Attribute#getDescriptionSummary()
+     */
+    public String getDescriptionSummary() {
+      return getString(record, ATTRIBUTE_DESCRIPTION_SUMMARY);
+    }
+
+    /**
+     * @see  Attribute#getFingerprint()
+     */
+    public Fingerprint getFingerprint() {
+      return MappedTaglibStore.this.getFingerprint(record, ATTRIBUTE_FINGERPRINT);
+    }
+  }
+
+  /**
+   * A mapped view of a {@link Function}.
+   */
+  public final class MappedFunction {
+
+    private final MappedTaglib taglib;
+    private final int record;
+
+    private MappedFunction(MappedTaglib taglib, int record) {
+      this.taglib = taglib;
+      this.record = record;
+    }
+
+    public MappedTaglib getTaglib() {
+      return taglib;
+    }
+
+    public Dates getDates() {
+      return MappedTaglibStore.this.getDates(record, FUNCTION_DATES);
+    }
+
+    public Boolean getAllowRobots() {
+      return MappedTaglibStore.this.getAllowRobots(record, FUNCTION_ALLOW_ROBOTS);
+    }
+
+    public List<String> getDescriptions() {
+      return getStrings(record, FUNCTION_DESCRIPTIONS);
+    }
+
+    public List<String> getDisplayNames() {
+      return getStrings(record, FUNCTION_DISPLAY_NAMES);
+    }
+
+    public String getName() {
+      return getString(record, FUNCTION_NAME);
+    }
+
+    public String getFunctionClass() {
+      return getString(record, FUNCTION_FUNCTION_CLASS);
+    }
+
+    public String getFunctionSignature() {
+      return getString(record, FUNCTION_FUNCTION_SIGNATURE);
+    }
+
+    public String getExample() {
+      return getString(record, FUNCTION_EXAMPLE);
+    }
+
+    /**
+     * @see  Function#getDescriptionSummary()
+     */
+    public String getDescriptionSummary() {
+      return getString(record, FUNCTION_DESCRIPTION_SUMMARY);
+    }
+
+    /**
+     * @see  Function#getFingerprint()
+     */
+    public Fingerprint getFingerprint() {
+      return MappedTaglibStore.this.getFingerprint(record, FUNCTION_FINGERPRINT);
+    }
+  }
+}
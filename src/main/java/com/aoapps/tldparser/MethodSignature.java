@@ -0,0 +1,161 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import com.aoapps.collections.AoCollections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A parsed method signature, such as from {@link Function#getFunctionSignature()} or
+ * {@link DeferredMethod#getMethodSignature()}, including any generics provided in the special comments.
+ *
+ * <p>Instances are canonical: parsing the same signature again returns the same instance, and
+ * all types are {@linkplain TypeSignature canonical}.</p>
+ */
+public final class MethodSignature {
+
+  private static final Map<String, MethodSignature> cache = new ConcurrentHashMap<>();
+
+  /**
+   * Parses a method signature, in the form
+   * <code>[&lt;<var>typeParameters</var>&gt;] <var>returnType</var> <var>name</var>(<var>parameterTypes</var>)</code>.
+   *
+   * @return  the parsed method signature or {@code null} when {@code methodSignature} is {@code null}
+   *
+   * @throws IllegalArgumentException when unable to parse
+   */
+  public static MethodSignature valueOf(String methodSignature) throws IllegalArgumentException {
+    if (methodSignature == null) {
+      return null;
+    }
+    MethodSignature existing = cache.get(methodSignature);
+    if (existing != null) {
+      return existing;
+    }
+    SignatureParser parser = new SignatureParser(methodSignature);
+    MethodSignature parsed = parser.parseMethod();
+    parser.expectEnd();
+    existing = cache.get(parsed.signature);
+    if (existing != null) {
+      return existing;
+    }
+    if (cache.size() >= TypeSignature.MAX_CACHE_SIZE) {
+      return parsed;
+    }
+    existing = cache.putIfAbsent(parsed.signature, parsed);
+    return (existing == null) ? parsed : existing;
+  }
+
+  private final List<TypeSignature> typeParameters;
+  private final TypeSignature returnType;
+  private final String name;
+  private final List<TypeSignature> parameterTypes;
+  private final String signature;
+
+  MethodSignature(
+      List<TypeSignature> typeParameters,
+      TypeSignature returnType,
+      String name,
+      List<TypeSignature> parameterTypes
+  ) {
+    this.typeParameters = AoCollections.optimalUnmodifiableList(typeParameters);
+    this.returnType = returnType;
+    this.name = name;
+    this.parameterTypes = AoCollections.optimalUnmodifiableList(parameterTypes);
+    StringBuilder sb = new StringBuilder();
+    if (!typeParameters.isEmpty()) {
+      sb.append('<');
+      for (int i = 0, size = typeParameters.size(); i < size; i++) {
+        if (i > 0) {
+          sb.append(", ");
+        }
+        sb.append(typeParameters.get(i));
+      }
+      sb.append("> ");
+    }
+    sb.append(returnType).append(' ').append(name).append('(');
+    for (int i = 0, size = parameterTypes.size(); i < size; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      sb.append(parameterTypes.get(i));
+    }
+    sb.append(')');
+    this.signature = sb.toString();
+  }
+
+  /**
+   * Gets the canonical form of this method signature, with a single space after each comma.
+   */
+  @Override
+  public String toString() {
+    return signature;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return
+        obj == this
+            || (
+            obj instanceof MethodSignature
+                && signature.equals(((MethodSignature) obj).signature)
+          );
+  }
+
+  @Override
+  public int hashCode() {
+    return signature.hashCode();
+  }
+
+  /**
+   * Gets the type parameters declared by the method, which will be empty for non-generic methods.
+   * Each is a type variable, with its bounds when given.
+   */
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+  public List<TypeSignature> getTypeParameters() {
+    return typeParameters;
+  }
+
+  public TypeSignature getReturnType() {
+    return returnType;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+  public List<TypeSignature> getParameterTypes() {
+    return parameterTypes;
+  }
+
+  /**
+   * Gets the number of parameters.
+   */
+  public int getArity() {
+    return parameterTypes.size();
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import com.aoapps.collections.AoCollections;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.xpath.XPathExpressionException;
+import org.xml.sax.SAXException;
+
+/**
+ * Parses taglibs at build time into a compact resource, from which the identical {@link Taglib} model is
+ * created at runtime without any XML parsing, XPath evaluation, or date parsing beyond the stored values.
+ *
+ * <p>The resource is in the format of {@link MappedTaglibStore}.  It may be generated from a build by running
+ * {@link #main(java.lang.String[])}, such as with the <code>exec-maven-plugin</code> in the
+ * <code>generate-resources</code> phase, then loaded with {@link #readResource(java.lang.Class, java.lang.String)}.</p>
+ */
+public final class PrecompiledTaglibs {
+
+  /** Make no instances. */
+  private PrecompiledTaglibs() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Writes taglibs to a resource file.
+   *
+   * @see  MappedTaglibStore#write(java.lang.Iterable, java.nio.file.Path)
+   */
+  public static void write(Iterable<? extends Taglib> taglibs, Path resourceFile) throws IOException {
+    MappedTaglibStore.write(taglibs, resourceFile);
+  }
+
+  /**
+   * Creates the taglibs of a store, in the order written.
+   */
+  public static List<Taglib> toTaglibs(MappedTaglibStore store) {
+    List<Taglib> taglibs = new ArrayList<>(store.size());
+    for (MappedTaglibStore.MappedTaglib mapped : store.getTaglibs()) {
+      taglibs.add(new Taglib(mapped));
+    }
+    return AoCollections.optimalUnmodifiableList(taglibs);
+  }
+
+  /**
+   * Reads taglibs written by {@link #write(java.lang.Iterable, java.nio.file.Path)}, in the order written.
+   *
+   * @param source  The source of the stream, used for error messages only
+   */
+  public static List<Taglib> read(String source, InputStream in) throws IOException {
+    return toTaglibs(MappedTaglibStore.read(source, in));
+  }
+
+  /**
+   * Reads taglibs from a resource, in the order written.
+   *
+   * @see  Class#getResourceAsStream(java.lang.String)
+   */
+  public static List<Taglib> readResource(Class<?> clazz, String name) throws IOException {
+    try (InputStream in = clazz.getResourceAsStream(name)) {
+      if (in == null) {
+        throw new IOException("Resource not found: " + name);
+      }
+      return read(name, in);
+    }
+  }
+
+  /**
+   * Parses *.tld files and writes them to a resource file.
+   * Each directory is searched for *.tld files, with the path of each taglib being
+   * its path relative to the directory, such as <code>/META-INF/example.tld</code>.
+   *
+   * <p>Usage: <code>PrecompiledTaglibs <var>resource-file</var> <var>summary-class</var> <var>file-or-directory</var>…</code></p>
+   */
+  public static void main(String[] args) throws ParserConfigurationException, SAXException, IOException, XPathExpressionException {
+    if (args.length < 3) {
+      System.err.println("usage: " + PrecompiledTaglibs.class.getName() + " resource-file summary-class file-or-directory...");
+      System.exit(1);
+      return;
+    }
+    Path resourceFile = Path.of(args[0]);
+    String summaryClass = args[1];
+    List<Taglib> taglibs = new ArrayList<>();
+    for (int i = 2; i < args.length; i++) {
+      Path path = Path.of(args[i]);
+      if (Files.isDirectory(path)) {
+        for (Path tldFile : TaglibLoader.findTldFiles(path)) {
+          StringBuilder tldPath = new StringBuilder();
+          for (Path element : path.relativize(tldFile)) {
+            tldPath.append('/').append(element);
+          }
+          taglibs.add(parse(tldPath.toString(), tldFile, summaryClass));
+        }
+      } else {
+        taglibs.add(parse(path.toString(), path, summaryClass));
+      }
+    }
+    write(taglibs, resourceFile);
+  }
+
+  private static Taglib parse(String tldPath, Path tldFile, String summaryClass)
+      throws ParserConfigurationException, SAXException, IOException, XPathExpressionException {
+    try (InputStream in = Files.newInputStream(tldFile)) {
+      return new Taglib(summaryClass, tldPath, null, TldParser.parse(tldPath, in));
+    }
+  }
+}
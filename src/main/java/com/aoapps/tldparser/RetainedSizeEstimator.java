@@ -0,0 +1,528 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estimates the heap retained by the taglib model, by category, for capacity planning.
+ *
+ * <p>The model is walked through its getters, counting each object once by identity.  The shallow size of each
+ * class is computed from its declared fields under a configurable {@link Layout}.  The internals of collections
+ * and strings are modeled from their sizes: lists and maps from {@link com.aoapps.collections.AoCollections}
+ * are assumed to wrap an {@link ArrayList} or {@link LinkedHashMap} of exactly their size, and strings are
+ * assumed compact when all their characters are Latin-1.</p>
+ *
+ * <p>Objects shared JVM-wide are not counted: empty collections, time zones, and the canonical {@link TypeSignature}
+ * and {@link MethodSignature} instances.  Nor is any {@link SummaryCache}, including its mapped file.  Lazily loaded
+ * taglibs are fully loaded by the walk, so this is the size of the fully loaded model: the document a lazy taglib
+ * retains until all its tags and functions are created is not counted.</p>
+ *
+ * <p>Instances are thread-safe.</p>
+ */
+public final class RetainedSizeEstimator {
+
+  /**
+   * The sizes used to compute the memory layout of objects.
+   */
+  public static final class Layout {
+
+    /**
+     * The layout of a 64-bit JVM with compressed references and class pointers, the default for heaps under 32 GiB.
+     */
+    public static final Layout COMPRESSED_OOPS = new Layout(12, 4, 16, 8);
+
+    /**
+     * The layout of a 64-bit JVM without compressed references or class pointers, such as for heaps of 32 GiB or more.
+     */
+    public static final Layout UNCOMPRESSED_OOPS = new Layout(16, 8, 24, 8);
+
+    private static final long COMPRESSED_OOPS_MAX_HEAP = 32L << 30;
+
+    /**
+     * Gets the layout most likely used by the current JVM, based on its maximum heap size.
+     */
+    public static Layout current() {
+      return (Runtime.getRuntime().maxMemory() < COMPRESSED_OOPS_MAX_HEAP) ? COMPRESSED_OOPS : UNCOMPRESSED_OOPS;
+    }
+
+    private final int objectHeaderSize;
+    private final int referenceSize;
+    private final int arrayHeaderSize;
+    private final int objectAlignment;
+
+    /**
+     * @param objectHeaderSize  The size of the header of each object, in bytes
+     * @param referenceSize  The size of each reference, in bytes
+     * @param arrayHeaderSize  The size of the header of each array, including its length, in bytes
+     * @param objectAlignment  The alignment of each object, in bytes
+     *
+     * @throws  IllegalArgumentException  when any size is not positive
+     */
+    public Layout(int objectHeaderSize, int referenceSize, int arrayHeaderSize, int objectAlignment) throws IllegalArgumentException {
+      if (objectHeaderSize <= 0 || referenceSize <= 0 || arrayHeaderSize <= 0 || objectAlignment <= 0) {
+        throw new IllegalArgumentException("Sizes must be positive");
+      }
+      this.objectHeaderSize = objectHeaderSize;
+      this.referenceSize = referenceSize;
+      this.arrayHeaderSize = arrayHeaderSize;
+      this.objectAlignment = objectAlignment;
+    }
+
+    @Override
+    public String toString() {
+      return "Layout(objectHeaderSize=" + objectHeaderSize + ", referenceSize=" + referenceSize
+          + ", arrayHeaderSize=" + arrayHeaderSize + ", objectAlignment=" + objectAlignment + ')';
+    }
+
+    public int getObjectHeaderSize() {
+      return objectHeaderSize;
+    }
+
+    public int getReferenceSize() {
+      return referenceSize;
+    }
+
+    public int getArrayHeaderSize() {
+      return arrayHeaderSize;
+    }
+
+    public int getObjectAlignment() {
+      return objectAlignment;
+    }
+
+    private long align(long size) {
+      long remainder = size % objectAlignment;
+      return (remainder == 0) ? size : (size + objectAlignment - remainder);
+    }
+
+    private long arraySize(int length, int elementSize) {
+      return align(arrayHeaderSize + (long) length * elementSize);
+    }
+  }
+
+  /**
+   * The categories of retained memory.
+   */
+  public enum Category {
+    /**
+     * The descriptions and display names, along with their lists.
+     */
+    DESCRIPTIONS,
+
+    /**
+     * The description summaries.
+     */
+    SUMMARIES,
+
+    /**
+     * The {@link Dates} and their times.
+     */
+    DATES,
+
+    /**
+     * The maps and lists holding tags, attributes, and functions.
+     */
+    COLLECTIONS,
+
+    /**
+     * The types and method signatures that include generics.
+     */
+    GENERICS,
+
+    /**
+     * All other strings, such as names, classes, and types without generics.
+     */
+    STRINGS,
+
+    /**
+     * The model objects themselves, including their fingerprints.
+     */
+    MODEL
+  }
+
+  /**
+   * The estimated bytes retained by one component or group of components.
+   */
+  public static final class Estimate {
+
+    private final Map<Category, Long> bytes;
+    private final long total;
+
+    private Estimate(long[] bytes) {
+      Map<Category, Long> map = new EnumMap<>(Category.class);
+      long sum = 0;
+      for (Category category : Category.values()) {
+        long value = bytes[category.ordinal()];
+        map.put(category, value);
+        sum += value;
+      }
+      this.bytes = Collections.unmodifiableMap(map);
+      this.total = sum;
+    }
+
+    @Override
+    public String toString() {
+      return total + " bytes " + bytes;
+    }
+
+    /**
+     * Gets the estimated total retained bytes.
+     */
+    public long getTotal() {
+      return total;
+    }
+
+    /**
+     * Gets the estimated retained bytes of one category.
+     */
+    public long get(Category category) {
+      return bytes.get(category);
+    }
+
+    /**
+     * Gets the estimated retained bytes of every category.
+     */
+    @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+    public Map<Category, Long> getBytes() {
+      return bytes;
+    }
+  }
+
+  /**
+   * The class of the entries of {@link LinkedHashMap}, which is not public.
+   */
+  private static final Class<?> LINKED_HASH_MAP_ENTRY;
+
+  static {
+    Class<?> entryClass;
+    try {
+      entryClass = Class.forName("java.util.LinkedHashMap$Entry");
+    } catch (ClassNotFoundException e) {
+      // Use the public entry type with nearly the same fields as an approximation
+      entryClass = AbstractMap.SimpleEntry.class;
+    }
+    LINKED_HASH_MAP_ENTRY = entryClass;
+  }
+
+  private final Layout layout;
+  private final Map<Class<?>, Long> shallowSizes = new ConcurrentHashMap<>();
+
+  public RetainedSizeEstimator(Layout layout) {
+    this.layout = layout;
+  }
+
+  /**
+   * Creates an estimator for the {@linkplain Layout#current() current layout}.
+   */
+  public RetainedSizeEstimator() {
+    this(Layout.current());
+  }
+
+  public Layout getLayout() {
+    return layout;
+  }
+
+  /**
+   * Gets the shallow size of an instance of a class, from the fields declared by it and its superclasses.
+   */
+  private long getShallowSize(Class<?> clazz) {
+    Long size = shallowSizes.get(clazz);
+    if (size == null) {
+      long fields = 0;
+      for (Class<?> c = clazz; c != null; c = c.getSuperclass()) {
+        for (Field field : c.getDeclaredFields()) {
+          if (!Modifier.isStatic(field.getModifiers())) {
+            Class<?> type = field.getType();
+            if (type == long.class || type == double.class) {
+              fields += 8;
+            } else if (type == int.class || type == float.class) {
+              fields += 4;
+            } else if (type == short.class || type == char.class) {
+              fields += 2;
+            } else if (type == byte.class || type == boolean.class) {
+              fields += 1;
+            } else {
+              fields += layout.referenceSize;
+            }
+          }
+        }
+      }
+      size = layout.align(layout.objectHeaderSize + fields);
+      shallowSizes.put(clazz, size);
+    }
+    return size;
+  }
+
+  /**
+   * One walk of the model, counting each object once.
+   */
+  private final class Walk {
+
+    private final Map<Object, Boolean> visited = new IdentityHashMap<>();
+    private final long[] bytes = new long[Category.values().length];
+
+    private boolean visit(Object obj) {
+      return obj != null && visited.put(obj, Boolean.TRUE) == null;
+    }
+
+    private void add(Category category, long size) {
+      bytes[category.ordinal()] += size;
+    }
+
+    private void addObject(Category category, Object obj) {
+      if (visit(obj)) {
+        add(category, getShallowSize(obj.getClass()));
+      }
+    }
+
+    private void addString(Category category, String value) {
+      if (visit(value)) {
+        boolean latin1 = true;
+        for (int i = 0, len = value.length(); i < len; i++) {
+          if (value.charAt(i) > 0xff) {
+            latin1 = false;
+            break;
+          }
+        }
+        add(category, getShallowSize(String.class) + layout.arraySize(value.length(), latin1 ? 1 : 2));
+      }
+    }
+
+    /**
+     * Types and method signatures are {@link Category#GENERICS} when they include generics.
+     */
+    private void addSignature(String value) {
+      if (value != null) {
+        addString(value.indexOf('<') != -1 ? Category.GENERICS : Category.STRINGS, value);
+      }
+    }
+
+    private void addStrings(Category category, List<String> values) {
+      addList(category, values);
+      for (String value : values) {
+        addString(category, value);
+      }
+    }
+
+    private void addList(Category category, List<?> list) {
+      if (!list.isEmpty() && visit(list)) {
+        long size = getShallowSize(list.getClass());
+        if (list.size() > 1) {
+          if (list.getClass().getName().startsWith("java.util.Collections$Unmodifiable")) {
+            size += getShallowSize(ArrayList.class);
+          }
+          size += layout.arraySize(list.size(), layout.referenceSize);
+        }
+        add(category, size);
+      }
+    }
+
+    private void addMap(Category category, Map<?, ?> map) {
+      if (!map.isEmpty() && visit(map)) {
+        long size = getShallowSize(map.getClass());
+        if (map.size() > 1) {
+          int capacity = 16;
+          while (map.size() > capacity * 3L / 4) {
+            capacity <<= 1;
+          }
+          size += getShallowSize(LinkedHashMap.class)
+              + layout.arraySize(capacity, layout.referenceSize)
+              + map.size() * getShallowSize(LINKED_HASH_MAP_ENTRY);
+        }
+        add(category, size);
+      }
+    }
+
+    private void addTime(ZonedDateTime time) {
+      if (visit(time)) {
+        // Time zones are shared
+        add(Category.DATES, getShallowSize(ZonedDateTime.class));
+        add(Category.DATES, getShallowSize(LocalDateTime.class) + getShallowSize(LocalDate.class)
+            + getShallowSize(LocalTime.class));
+      }
+    }
+
+    private void addDates(Dates dates) {
+      if (dates != Dates.UNKNOWN && visit(dates)) {
+        add(Category.DATES, getShallowSize(Dates.class));
+        addTime(dates.getCreated());
+        addTime(dates.getPublished());
+        addTime(dates.getModified());
+        addTime(dates.getReviewed());
+      }
+    }
+
+    private void addTaglib(Taglib taglib) {
+      if (visit(taglib)) {
+        add(Category.MODEL, getShallowSize(Taglib.class));
+        addObject(Category.MODEL, taglib.getFingerprint());
+        addString(Category.STRINGS, taglib.getTldPath());
+        addDates(taglib.getDates());
+        addStrings(Category.DESCRIPTIONS, taglib.getDescriptions());
+        addStrings(Category.DESCRIPTIONS, taglib.getDisplayNames());
+        addString(Category.STRINGS, taglib.getTlibVersion());
+        addString(Category.STRINGS, taglib.getShortName());
+        addString(Category.STRINGS, taglib.getUri());
+        addMap(Category.COLLECTIONS, taglib.getTag());
+        addList(Category.COLLECTIONS, taglib.getTags());
+        for (Tag tag : taglib.getTags()) {
+          addTag(tag);
+        }
+        addDates(taglib.getTagsEffectiveDates());
+        addMap(Category.COLLECTIONS, taglib.getFunction());
+        addList(Category.COLLECTIONS, taglib.getFunctions());
+        for (Function function : taglib.getFunctions()) {
+          addFunction(function);
+        }
+        addDates(taglib.getFunctionsEffectiveDates());
+        addDates(taglib.getTaglibEffectiveDates());
+      }
+    }
+
+    private void addTag(Tag tag) {
+      if (visit(tag)) {
+        add(Category.MODEL, getShallowSize(Tag.class));
+        addObject(Category.MODEL, tag.getFingerprint());
+        addDates(tag.getDates());
+        addStrings(Category.DESCRIPTIONS, tag.getDescriptions());
+        addStrings(Category.DESCRIPTIONS, tag.getDisplayNames());
+        addString(Category.STRINGS, tag.getName());
+        addString(Category.STRINGS, tag.getTagClass());
+        addString(Category.STRINGS, tag.getTeiClass());
+        addString(Category.STRINGS, tag.getBodyContent());
+        addMap(Category.COLLECTIONS, tag.getAttribute());
+        addList(Category.COLLECTIONS, tag.getAttributes());
+        for (Attribute attribute : tag.getAttributes()) {
+          addAttribute(attribute);
+        }
+        addString(Category.DESCRIPTIONS, tag.getExample());
+        addString(Category.SUMMARIES, tag.getDescriptionSummary());
+      }
+    }
+
+    private void addAttribute(Attribute attribute) {
+      if (visit(attribute)) {
+        add(Category.MODEL, getShallowSize(Attribute.class));
+        addObject(Category.MODEL, attribute.getFingerprint());
+        addStrings(Category.DESCRIPTIONS, attribute.getDescriptions());
+        addString(Category.STRINGS, attribute.getName());
+        addSignature(attribute.getType());
+        DeferredMethod deferredMethod = attribute.getDeferredMethod();
+        if (visit(deferredMethod)) {
+          add(Category.MODEL, getShallowSize(DeferredMethod.class));
+          addSignature(deferredMethod.getMethodSignature());
+        }
+        DeferredValue deferredValue = attribute.getDeferredValue();
+        if (visit(deferredValue)) {
+          add(Category.MODEL, getShallowSize(DeferredValue.class));
+          addSignature(deferredValue.getType());
+        }
+        addString(Category.SUMMARIES, attribute.getDescriptionSummary());
+      }
+    }
+
+    private void addFunction(Function function) {
+      if (visit(function)) {
+        add(Category.MODEL, getShallowSize(Function.class));
+        addObject(Category.MODEL, function.getFingerprint());
+        addDates(function.getDates());
+        addStrings(Category.DESCRIPTIONS, function.getDescriptions());
+        addStrings(Category.DESCRIPTIONS, function.getDisplayNames());
+        addString(Category.STRINGS, function.getName());
+        addString(Category.STRINGS, function.getFunctionClass());
+        addSignature(function.getFunctionSignature());
+        addString(Category.DESCRIPTIONS, function.getExample());
+        addString(Category.SUMMARIES, function.getDescriptionSummary());
+      }
+    }
+
+    /**
+     * Marks the objects a child may share with its taglib as already visited, so they are not retained by the child.
+     */
+    private void excludeShared(Taglib taglib) {
+      visit(taglib.getDates());
+    }
+
+    private Estimate toEstimate() {
+      return new Estimate(bytes);
+    }
+  }
+
+  /**
+   * Estimates the bytes retained by a taglib, including all its tags and functions.
+   */
+  public Estimate estimate(Taglib taglib) {
+    Walk walk = new Walk();
+    walk.addTaglib(taglib);
+    return walk.toEstimate();
+  }
+
+  /**
+   * Estimates the bytes retained by all the given taglibs, counting objects shared between them once.
+   */
+  public Estimate estimate(Iterable<? extends Taglib> taglibs) {
+    Walk walk = new Walk();
+    for (Taglib taglib : taglibs) {
+      walk.addTaglib(taglib);
+    }
+    return walk.toEstimate();
+  }
+
+  /**
+   * Estimates the bytes retained by a tag, including its attributes.
+   * Dates inherited from the taglib are not included.
+   */
+  public Estimate estimate(Tag tag) {
+    Walk walk = new Walk();
+    walk.excludeShared(tag.getTaglib());
+    walk.addTag(tag);
+    return walk.toEstimate();
+  }
+
+  /**
+   * Estimates the bytes retained by a function.
+   * Dates inherited from the taglib are not included.
+   */
+  public Estimate estimate(Function function) {
+    Walk walk = new Walk();
+    walk.excludeShared(function.getTaglib());
+    walk.addFunction(function);
+    return walk.toEstimate();
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import java.util.Objects;
+
+/**
+ * Reuses the immutable values of a previous version when a *.tld file is reloaded,
+ * so unchanged values are shared between versions instead of retained twice.
+ *
+ * @see  Taglib#reload(com.aoapps.tldparser.Taglib, java.lang.String, com.aoapps.tldparser.SummaryCache, java.lang.String, com.aoapps.tldparser.Dates, org.w3c.dom.Document)
+ */
+final class Reuse {
+
+  /** Make no instances. */
+  private Reuse() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Gets the previous value when equal to the current value.
+   *
+   * @param  previous  The previous value or {@code null} when there is no previous version
+   */
+  static <T> T ifEqual(T previous, T current) {
+    return (previous != null && previous.equals(current)) ? previous : current;
+  }
+
+  /**
+   * Gets the previous dates when they have the same values as the current dates.
+   * {@link Dates} does not implement {@link Object#equals(java.lang.Object)}, so the values are compared.
+   *
+   * @param  previous  The previous dates or {@code null} when there is no previous version
+   */
+  static Dates ifEqual(Dates previous, Dates current) {
+    return (
+        previous != null
+            && current != null
+            && Objects.equals(previous.getCreated(), current.getCreated())
+            && Objects.equals(previous.getPublished(), current.getPublished())
+            && Objects.equals(previous.getModified(), current.getModified())
+            && Objects.equals(previous.getReviewed(), current.getReviewed())
+    ) ? previous : current;
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable map split into a fixed number of segments by hash.
+ * Each modification copies only the one segment containing the key, sharing all other segments
+ * with the previous map.
+ *
+ * @param  <K>  The type of keys
+ * @param  <V>  The type of values
+ */
+final class SegmentedMap<K, V> {
+
+  private static final int SEGMENTS = 64;
+
+  private static final SegmentedMap<?, ?> EMPTY;
+
+  static {
+    Map<?, ?>[] segments = new Map<?, ?>[SEGMENTS];
+    for (int i = 0; i < SEGMENTS; i++) {
+      segments[i] = Collections.emptyMap();
+    }
+    EMPTY = new SegmentedMap<>(segments, 0);
+  }
+
+  @SuppressWarnings("unchecked")
+  static <K, V> SegmentedMap<K, V> empty() {
+    return (SegmentedMap<K, V>) EMPTY;
+  }
+
+  private final Map<?, ?>[] segments;
+  private final int size;
+  private final Collection<V> values = new AbstractCollection<V>() {
+    @Override
+    public Iterator<V> iterator() {
+      return new Iterator<V>() {
+        private int segment;
+        private Iterator<V> iter = segment(0).values().iterator();
+
+        @Override
+        public boolean hasNext() {
+          while (!iter.hasNext()) {
+            if (++segment >= SEGMENTS) {
+              return false;
+            }
+            iter = segment(segment).values().iterator();
+          }
+          return true;
+        }
+
+        @Override
+        public V next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          return iter.next();
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  };
+
+  private SegmentedMap(Map<?, ?>[] segments, int size) {
+    this.segments = segments;
+    this.size = size;
+  }
+
+  private static int indexOf(Object key) {
+    int hash = key.hashCode();
+    return (hash ^ (hash >>> 16)) & (SEGMENTS - 1);
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<K, V> segment(int index) {
+    return (Map<K, V>) segments[index];
+  }
+
+  V get(Object key) {
+    return segment(indexOf(key)).get(key);
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * Gets an unmodifiable view of the values, in no particular order.
+   */
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+  Collection<V> values() {
+    return values;
+  }
+
+  /**
+   * Gets a map with the given key set to the given value.
+   */
+  SegmentedMap<K, V> with(K key, V value) {
+    int index = indexOf(key);
+    Map<K, V> segment = segment(index);
+    if (segment.get(key) == value && (value != null || segment.containsKey(key))) {
+      return this;
+    }
+    Map<K, V> newSegment = new HashMap<>(segment);
+    boolean added = !newSegment.containsKey(key);
+    newSegment.put(key, value);
+    Map<?, ?>[] newSegments = segments.clone();
+    newSegments[index] = Collections.unmodifiableMap(newSegment);
+    return new SegmentedMap<>(newSegments, added ? size + 1 : size);
+  }
+
+  /**
+   * Gets a map without the given key.
+   */
+  SegmentedMap<K, V> without(Object key) {
+    int index = indexOf(key);
+    Map<K, V> segment = segment(index);
+    if (!segment.containsKey(key)) {
+      return this;
+    }
+    Map<K, V> newSegment = new HashMap<>(segment);
+    newSegment.remove(key);
+    Map<?, ?>[] newSegments = segments.clone();
+    newSegments[index] = newSegment.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(newSegment);
+    return new SegmentedMap<>(newSegments, size - 1);
+  }
+}
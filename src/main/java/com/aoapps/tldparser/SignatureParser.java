@@ -0,0 +1,211 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Recursive-descent parser for {@link TypeSignature} and {@link MethodSignature}.
+ * Each nested type is {@linkplain TypeSignature#canonicalize(com.aoapps.tldparser.TypeSignature) canonicalized}
+ * as it is parsed.
+ */
+final class SignatureParser {
+
+  private final String signature;
+  private final int len;
+  private int pos;
+
+  SignatureParser(String signature) {
+    this.signature = signature;
+    this.len = signature.length();
+  }
+
+  private IllegalArgumentException error(String message) {
+    return new IllegalArgumentException(message + " at position " + pos + ": \"" + signature + "\"");
+  }
+
+  private void skipWhitespace() {
+    while (pos < len && Character.isWhitespace(signature.charAt(pos))) {
+      pos++;
+    }
+  }
+
+  /**
+   * Skips whitespace then consumes the given character when present.
+   */
+  private boolean consume(char ch) {
+    skipWhitespace();
+    if (pos < len && signature.charAt(pos) == ch) {
+      pos++;
+      return true;
+    }
+    return false;
+  }
+
+  private void expect(char ch) {
+    if (!consume(ch)) {
+      throw error("Expected '" + ch + '\'');
+    }
+  }
+
+  /**
+   * Skips whitespace then consumes the given keyword when present and not followed by another identifier character.
+   */
+  private boolean consumeKeyword(String keyword) {
+    skipWhitespace();
+    int end = pos + keyword.length();
+    if (
+        signature.startsWith(keyword, pos)
+            && (end == len || !Character.isJavaIdentifierPart(signature.charAt(end)))
+    ) {
+      pos = end;
+      return true;
+    }
+    return false;
+  }
+
+  void expectEnd() {
+    skipWhitespace();
+    if (pos != len) {
+      throw error("Unexpected trailing characters");
+    }
+  }
+
+  /**
+   * Parses an identifier, optionally qualified by <code>.</code>.
+   */
+  private String parseName(boolean qualified) {
+    skipWhitespace();
+    int start = pos;
+    while (pos < len) {
+      char ch = signature.charAt(pos);
+      if (
+          Character.isJavaIdentifierPart(ch)
+              // Allow "." between identifiers, but not the start of "..."
+              || (qualified && ch == '.' && pos > start && pos + 1 < len && Character.isJavaIdentifierStart(signature.charAt(pos + 1)))
+      ) {
+        pos++;
+      } else {
+        break;
+      }
+    }
+    if (pos == start || !Character.isJavaIdentifierStart(signature.charAt(start))) {
+      throw error("Expected identifier");
+    }
+    return signature.substring(start, pos);
+  }
+
+  private List<TypeSignature> parseBounds() {
+    List<TypeSignature> bounds = new ArrayList<>();
+    do {
+      bounds.add(parseType());
+    } while (consume('&'));
+    return bounds;
+  }
+
+  /**
+   * Parses a type, including any type arguments, array dimensions, and varargs.
+   */
+  TypeSignature parseType() {
+    skipWhitespace();
+    String name;
+    List<TypeSignature> typeArguments = Collections.emptyList();
+    TypeSignature.BoundKind boundKind = TypeSignature.BoundKind.NONE;
+    List<TypeSignature> bounds = Collections.emptyList();
+    if (consume('?')) {
+      name = TypeSignature.WILDCARD;
+      if (consumeKeyword("extends")) {
+        boundKind = TypeSignature.BoundKind.EXTENDS;
+        bounds = parseBounds();
+      } else if (consumeKeyword("super")) {
+        boundKind = TypeSignature.BoundKind.SUPER;
+        bounds = parseBounds();
+      }
+      return TypeSignature.canonicalize(new TypeSignature(name, typeArguments, boundKind, bounds, 0, false));
+    }
+    name = parseName(true);
+    if (consume('<')) {
+      typeArguments = new ArrayList<>();
+      do {
+        typeArguments.add(parseType());
+      } while (consume(','));
+      expect('>');
+    }
+    int arrayDimensions = 0;
+    boolean varargs = false;
+    while (true) {
+      skipWhitespace();
+      if (consume('[')) {
+        expect(']');
+        arrayDimensions++;
+      } else if (signature.startsWith("...", pos)) {
+        pos += 3;
+        arrayDimensions++;
+        varargs = true;
+        break;
+      } else {
+        break;
+      }
+    }
+    return TypeSignature.canonicalize(new TypeSignature(name, typeArguments, boundKind, bounds, arrayDimensions, varargs));
+  }
+
+  /**
+   * Parses a method, in the form <code>[&lt;<var>typeParameters</var>&gt;] <var>returnType</var> <var>name</var>(<var>parameterTypes</var>)</code>.
+   */
+  MethodSignature parseMethod() {
+    List<TypeSignature> typeParameters = Collections.emptyList();
+    if (consume('<')) {
+      typeParameters = new ArrayList<>();
+      do {
+        String typeVariable = parseName(false);
+        TypeSignature typeParameter;
+        if (consumeKeyword("extends")) {
+          typeParameter = new TypeSignature(typeVariable, Collections.emptyList(), TypeSignature.BoundKind.EXTENDS, parseBounds(), 0, false);
+        } else {
+          typeParameter = new TypeSignature(typeVariable);
+        }
+        typeParameters.add(TypeSignature.canonicalize(typeParameter));
+      } while (consume(','));
+      expect('>');
+    }
+    TypeSignature returnType = parseType();
+    String name = parseName(false);
+    expect('(');
+    List<TypeSignature> parameterTypes = new ArrayList<>();
+    if (!consume(')')) {
+      do {
+        TypeSignature parameterType = parseType();
+        if (!parameterTypes.isEmpty() && parameterTypes.get(parameterTypes.size() - 1).isVarargs()) {
+          throw error("Varargs must be the last parameter");
+        }
+        parameterTypes.add(parameterType);
+      } while (consume(','));
+      expect(')');
+    }
+    return new MethodSignature(typeParameters, returnType, name, parameterTypes);
+  }
+}
@@ -0,0 +1,243 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes <a href="https://www.sitemaps.org/protocol.html">sitemaps</a> and
+ * <a href="https://www.rfc-editor.org/rfc/rfc9309.html">robots.txt</a> rules directly from taglibs,
+ * using {@link Taglib#getEffectiveAllowRobots()}, {@link Tag#getEffectiveAllowRobots()}, and
+ * {@link Function#getEffectiveAllowRobots()}.
+ *
+ * <p>Each taglib is written as soon as it is iterated, so when the taglibs are themselves produced on demand,
+ * such as loaded one at a time, the memory used does not depend on the number of taglibs.</p>
+ *
+ * <p>The <code>lastmod</code> of each URL is the modified date, or the published date when not modified,
+ * or the created date when not published.  The taglib uses {@link Taglib#getTaglibEffectiveDates()},
+ * since its page includes its tags and functions.</p>
+ */
+public final class SitemapWriter {
+
+  /** Make no instances. */
+  private SitemapWriter() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Locates the documentation page of each component.
+   */
+  public interface Locator {
+
+    /**
+     * Gets the absolute URL of the page for a taglib.
+     *
+     * @return  The URL or {@code null} when the taglib has no page
+     */
+    String getUrl(Taglib taglib);
+
+    /**
+     * Gets the absolute URL of the page for a tag.
+     *
+     * @return  The URL or {@code null} when the tag has no page
+     */
+    String getUrl(Tag tag);
+
+    /**
+     * Gets the absolute URL of the page for a function.
+     *
+     * @return  The URL or {@code null} when the function has no page
+     */
+    String getUrl(Function function);
+  }
+
+  private static final String SITEMAP_NAMESPACE = "http://www.sitemaps.org/schemas/sitemap/0.9";
+
+  /**
+   * Gets the last modified time for a sitemap.
+   *
+   * @return  The modified, published, or created date or {@code null} when none known
+   */
+  static ZonedDateTime getLastModified(Dates dates) {
+    if (dates == null) {
+      return null;
+    }
+    ZonedDateTime lastModified = dates.getModified();
+    if (lastModified == null) {
+      lastModified = dates.getPublished();
+      if (lastModified == null) {
+        lastModified = dates.getCreated();
+      }
+    }
+    return lastModified;
+  }
+
+  /**
+   * Writes a complete sitemap, including the XML declaration and <code>&lt;urlset&gt;</code>.
+   * Only components allowed to robots with a page are written.
+   */
+  public static void writeSitemap(Iterable<? extends Taglib> taglibs, Locator locator, Writer out) throws IOException {
+    out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<urlset xmlns=\"" + SITEMAP_NAMESPACE + "\">\n");
+    for (Taglib taglib : taglibs) {
+      writeUrls(taglib, locator, out);
+    }
+    out.write("</urlset>\n");
+  }
+
+  /**
+   * Writes the <code>&lt;url&gt;</code> entries for one taglib, along with its tags and functions.
+   * Only components allowed to robots with a page are written.
+   */
+  public static void writeUrls(Taglib taglib, Locator locator, Writer out) throws IOException {
+    if (taglib.getEffectiveAllowRobots()) {
+      writeUrl(locator.getUrl(taglib), taglib.getTaglibEffectiveDates(), out);
+    }
+    for (Tag tag : taglib.getTags()) {
+      if (tag.getEffectiveAllowRobots()) {
+        writeUrl(locator.getUrl(tag), tag.getDates(), out);
+      }
+    }
+    for (Function function : taglib.getFunctions()) {
+      if (function.getEffectiveAllowRobots()) {
+        writeUrl(locator.getUrl(function), function.getDates(), out);
+      }
+    }
+  }
+
+  private static void writeUrl(String url, Dates dates, Writer out) throws IOException {
+    if (url != null) {
+      out.write("  <url>\n    <loc>");
+      writeXml(url, out);
+      out.write("</loc>\n");
+      ZonedDateTime lastModified = getLastModified(dates);
+      if (lastModified != null) {
+        out.write("    <lastmod>");
+        out.write(DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(lastModified));
+        out.write("</lastmod>\n");
+      }
+      out.write("  </url>\n");
+    }
+  }
+
+  private static void writeXml(String value, Writer out) throws IOException {
+    int start = 0;
+    for (int i = 0, len = value.length(); i < len; i++) {
+      String entity;
+      switch (value.charAt(i)) {
+        case '&':
+          entity = "&amp;";
+          break;
+        case '<':
+          entity = "&lt;";
+          break;
+        case '>':
+          entity = "&gt;";
+          break;
+        case '"':
+          entity = "&quot;";
+          break;
+        case '\'':
+          entity = "&apos;";
+          break;
+        default:
+          continue;
+      }
+      out.write(value, start, i - start);
+      out.write(entity);
+      start = i + 1;
+    }
+    out.write(value, start, value.length() - start);
+  }
+
+  /**
+   * Writes a robots.txt <code>Disallow</code> line for the page of each component not allowed to robots.
+   * This is intended to follow a <code>User-agent</code> line.
+   *
+   * <p>Each rule ends with <code>$</code>, so it matches only the exact page, and not other pages whose paths
+   * start with the same characters, such as a tag named <code>foo</code> and another named <code>foobar</code>.
+   * Any <code>*</code> or <code>$</code> in the page path are percent-encoded, so they are not taken as wildcards.</p>
+   */
+  public static void writeRobotsDisallow(Iterable<? extends Taglib> taglibs, Locator locator, Writer out) throws IOException {
+    for (Taglib taglib : taglibs) {
+      if (!taglib.getEffectiveAllowRobots()) {
+        writeDisallow(locator.getUrl(taglib), out);
+      }
+      for (Tag tag : taglib.getTags()) {
+        if (!tag.getEffectiveAllowRobots()) {
+          writeDisallow(locator.getUrl(tag), out);
+        }
+      }
+      for (Function function : taglib.getFunctions()) {
+        if (!function.getEffectiveAllowRobots()) {
+          writeDisallow(locator.getUrl(function), out);
+        }
+      }
+    }
+  }
+
+  static void writeDisallow(String url, Writer out) throws IOException {
+    if (url != null) {
+      URI uri = URI.create(url);
+      String path = uri.getRawPath();
+      if (path != null && !path.isEmpty()) {
+        out.write("Disallow: ");
+        writeRobotsPath(path, out);
+        String query = uri.getRawQuery();
+        if (query != null) {
+          out.write('?');
+          writeRobotsPath(query, out);
+        }
+        out.write("$\n");
+      }
+    }
+  }
+
+  /**
+   * Writes part of a robots.txt path, percent-encoding the characters that are special in rules.
+   */
+  private static void writeRobotsPath(String value, Writer out) throws IOException {
+    int start = 0;
+    for (int i = 0, len = value.length(); i < len; i++) {
+      String encoded;
+      switch (value.charAt(i)) {
+        case '*':
+          encoded = "%2A";
+          break;
+        case '$':
+          encoded = "%24";
+          break;
+        default:
+          continue;
+      }
+      out.write(value, start, i - start);
+      out.write(encoded);
+      start = i + 1;
+    }
+    out.write(value, start, value.length() - start);
+  }
+}
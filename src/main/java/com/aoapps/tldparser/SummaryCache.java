@@ -0,0 +1,416 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.xml.xpath.XPathExpressionException;
+
+/**
+ * A persistent summary cache shared between builds and between processes.
+ * Summaries are keyed by a SHA-256 hash of the summary class and the description,
+ * so a cache file may be shared by any number of taglibs.
+ *
+ * <p>The file is append-only between compactions.  Each entry is the 32-byte key, the length of the summary,
+ * and the summary in UTF-8.  When the file grows beyond its maximum size, the most recently added or used
+ * entries are kept up to half the maximum size and the generation in the header is incremented,
+ * which causes other processes to reload.  Use is only known to the process that compacts, so entries used
+ * only by other processes are kept by the order they were added.</p>
+ *
+ * <p>All file access is performed under a {@link FileLock}, so parallel builds on the same machine
+ * may safely share a cache file.  Within a single JVM, opening the same file again returns the instance already
+ * open, which is shared between threads and closed once closed as many times as it was opened.</p>
+ *
+ * <p>Failures accessing the file are logged and the cache stops using the file; summaries are still computed
+ * by {@link HtmlSnippet#getSummary(java.lang.String, java.lang.String)}.</p>
+ */
+public final class SummaryCache implements Closeable {
+
+  private static final Logger logger = Logger.getLogger(SummaryCache.class.getName());
+
+  /**
+   * The default maximum size of the cache file.
+   */
+  public static final long DEFAULT_MAX_SIZE = 16L * 1024 * 1024;
+
+  private static final int MAGIC = 0x544c4453; // "TLDS"
+  private static final int VERSION = 1;
+  private static final int HEADER_SIZE = Integer.BYTES + Integer.BYTES + Long.BYTES;
+  private static final int KEY_SIZE = 32;
+  private static final int ENTRY_OVERHEAD = KEY_SIZE + Integer.BYTES;
+
+  /**
+   * The instances currently open, by real path.
+   * A second channel on the same file in this JVM would fail to lock with {@link OverlappingFileLockException}.
+   */
+  private static final Map<Path, SummaryCache> openCaches = new HashMap<>();
+
+  /**
+   * Opens a cache file, creating it when it does not exist.
+   * When the file is already open in this JVM, the open instance is returned, keeping its maximum size.
+   *
+   * @param maxSize  The size the file may grow to before it is compacted
+   */
+  public static SummaryCache open(Path file, long maxSize) throws IOException {
+    if (maxSize < HEADER_SIZE + ENTRY_OVERHEAD) {
+      throw new IllegalArgumentException("maxSize too small: " + maxSize);
+    }
+    synchronized (openCaches) {
+      try {
+        Files.createFile(file);
+      } catch (FileAlreadyExistsException e) {
+        // Already exists
+      }
+      Path realPath = file.toRealPath();
+      SummaryCache cache = openCaches.get(realPath);
+      if (cache == null) {
+        cache = new SummaryCache(
+            realPath,
+            FileChannel.open(realPath, StandardOpenOption.READ, StandardOpenOption.WRITE),
+            maxSize
+        );
+        openCaches.put(realPath, cache);
+      }
+      cache.references++;
+      return cache;
+    }
+  }
+
+  /**
+   * Opens a cache file of {@linkplain #DEFAULT_MAX_SIZE default maximum size},
+   * creating it when it does not exist.
+   */
+  public static SummaryCache open(Path file) throws IOException {
+    return open(file, DEFAULT_MAX_SIZE);
+  }
+
+  private final Path file;
+  private final FileChannel channel;
+  private final long maxSize;
+
+  /**
+   * The number of times opened and not yet closed, guarded by {@link #openCaches}.
+   */
+  private int references;
+
+  /**
+   * The summaries, in the order found in the file, with each hit moved to the end.
+   */
+  private final Map<ByteBuffer, String> summaries = new LinkedHashMap<>(16, 0.75f, true);
+
+  /**
+   * The generation of the file contents currently loaded.
+   */
+  private long generation = -1;
+
+  /**
+   * The position up to which the file has been read.
+   */
+  private long position = HEADER_SIZE;
+
+  /**
+   * Once an I/O error occurs, the file is no longer used.
+   */
+  private boolean failed;
+
+  private SummaryCache(Path file, FileChannel channel, long maxSize) {
+    this.file = file;
+    this.channel = channel;
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Gets the summary from the cache or computes and adds it to the cache.
+   *
+   * @param summaryClass  The CSS class that marks elements to be included in summaries
+   *
+   * @see  HtmlSnippet#getSummary(java.lang.String, java.lang.String)
+   */
+  public String getSummary(String summaryClass, String htmlSnippet) throws XPathExpressionException {
+    ByteBuffer key = getKey(summaryClass, htmlSnippet);
+    synchronized (summaries) {
+      String summary = summaries.get(key);
+      if (summary != null) {
+        return summary;
+      }
+      if (!failed) {
+        try {
+          FileLock lock = channel.lock(0, Long.MAX_VALUE, true);
+          try {
+            refresh();
+          } finally {
+            lock.release();
+          }
+        } catch (IOException | OverlappingFileLockException e) {
+          fail(e);
+        }
+        summary = summaries.get(key);
+        if (summary != null) {
+          return summary;
+        }
+      }
+    }
+    // Compute outside the lock, allowing concurrent summary generation
+    String summary = HtmlSnippet.getSummary(summaryClass, htmlSnippet);
+    synchronized (summaries) {
+      if (!failed) {
+        try {
+          FileLock lock = channel.lock();
+          try {
+            refresh();
+            if (!summaries.containsKey(key)) {
+              append(key, summary);
+            }
+          } finally {
+            lock.release();
+          }
+        } catch (IOException | OverlappingFileLockException e) {
+          fail(e);
+        }
+      }
+      if (failed) {
+        summaries.putIfAbsent(key, summary);
+      }
+    }
+    return summary;
+  }
+
+  private static ByteBuffer getKey(String summaryClass, String htmlSnippet) {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new AssertionError("SHA-256 is required on all Java platforms", e);
+    }
+    digest.update(summaryClass.getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) 0);
+    return ByteBuffer.wrap(digest.digest(htmlSnippet.getBytes(StandardCharsets.UTF_8))).asReadOnlyBuffer();
+  }
+
+  private void fail(Exception e) {
+    failed = true;
+    if (logger.isLoggable(Level.WARNING)) {
+      logger.log(Level.WARNING, "Summary cache disabled after I/O error: " + file, e);
+    }
+  }
+
+  /**
+   * Reads any entries added by other processes, reloading entirely when the generation has changed.
+   * The caller must hold a lock on the file.
+   */
+  private void refresh() throws IOException {
+    long size = channel.size();
+    if (size < HEADER_SIZE) {
+      // New or incomplete file
+      if (generation != -1) {
+        summaries.clear();
+        generation = -1;
+      }
+      position = HEADER_SIZE;
+      return;
+    }
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    readFully(header, 0);
+    header.flip();
+    if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+      throw new IOException("Not a summary cache file: " + file);
+    }
+    long fileGeneration = header.getLong();
+    if (fileGeneration != generation || position > size) {
+      summaries.clear();
+      generation = fileGeneration;
+      position = HEADER_SIZE;
+    }
+    if (position < size) {
+      ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(size - position));
+      readFully(buffer, position);
+      buffer.flip();
+      while (buffer.remaining() >= ENTRY_OVERHEAD) {
+        int start = buffer.position();
+        byte[] key = new byte[KEY_SIZE];
+        buffer.get(key);
+        int len = buffer.getInt();
+        if (len < 0 || len > buffer.remaining()) {
+          // Incomplete entry, such as from a process that stopped mid-write
+          buffer.position(start);
+          break;
+        }
+        String summary = new String(buffer.array(), buffer.position(), len, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + len);
+        ByteBuffer keyBuffer = ByteBuffer.wrap(key).asReadOnlyBuffer();
+        // Move to the end, maintaining the order for eviction
+        summaries.remove(keyBuffer);
+        summaries.put(keyBuffer, summary);
+      }
+      position += buffer.position();
+    }
+  }
+
+  private void readFully(ByteBuffer buffer, long pos) throws IOException {
+    while (buffer.hasRemaining()) {
+      int count = channel.read(buffer, pos);
+      if (count == -1) {
+        throw new IOException("Unexpected end of file: " + file);
+      }
+      pos += count;
+    }
+  }
+
+  private void writeFully(ByteBuffer buffer, long pos) throws IOException {
+    while (buffer.hasRemaining()) {
+      pos += channel.write(buffer, pos);
+    }
+  }
+
+  private static ByteBuffer encode(ByteBuffer key, String summary) {
+    byte[] bytes = summary.getBytes(StandardCharsets.UTF_8);
+    ByteBuffer entry = ByteBuffer.allocate(ENTRY_OVERHEAD + bytes.length);
+    entry.put(key.duplicate());
+    entry.putInt(bytes.length);
+    entry.put(bytes);
+    entry.flip();
+    return entry;
+  }
+
+  /**
+   * Appends a new entry, compacting when the file has grown too large.
+   * The caller must hold an exclusive lock on the file.
+   */
+  private void append(ByteBuffer key, String summary) throws IOException {
+    if (generation == -1) {
+      writeHeader(0);
+    }
+    // Discard any incomplete entry
+    if (channel.size() > position) {
+      channel.truncate(position);
+    }
+    ByteBuffer entry = encode(key, summary);
+    writeFully(entry, position);
+    position += entry.limit();
+    summaries.put(key, summary);
+    if (position > maxSize) {
+      compact();
+    }
+  }
+
+  private void writeHeader(long newGeneration) throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    header.putInt(MAGIC);
+    header.putInt(VERSION);
+    header.putLong(newGeneration);
+    header.flip();
+    writeFully(header, 0);
+    generation = newGeneration;
+  }
+
+  /**
+   * Keeps the most recently added or used entries, up to half the maximum size.
+   * The caller must hold an exclusive lock on the file.
+   */
+  private void compact() throws IOException {
+    long limit = maxSize / 2 - HEADER_SIZE;
+    List<ByteBuffer> keep = new ArrayList<>();
+    long keepSize = 0;
+    List<Map.Entry<ByteBuffer, String>> entries = new ArrayList<>(summaries.entrySet());
+    for (int i = entries.size() - 1; i >= 0; i--) {
+      Map.Entry<ByteBuffer, String> entry = entries.get(i);
+      ByteBuffer encoded = encode(entry.getKey(), entry.getValue());
+      if (keepSize + encoded.limit() > limit) {
+        break;
+      }
+      keep.add(encoded);
+      keepSize += encoded.limit();
+    }
+    // Remove evicted entries from memory, too
+    int evict = entries.size() - keep.size();
+    Iterator<ByteBuffer> iter = summaries.keySet().iterator();
+    for (int i = 0; i < evict; i++) {
+      iter.next();
+      iter.remove();
+    }
+    channel.truncate(HEADER_SIZE);
+    writeHeader(generation + 1);
+    long pos = HEADER_SIZE;
+    for (int i = keep.size() - 1; i >= 0; i--) {
+      ByteBuffer encoded = keep.get(i);
+      writeFully(encoded, pos);
+      pos += encoded.limit();
+    }
+    position = pos;
+  }
+
+  /**
+   * Gets the number of summaries in the file, reading any entries added by other processes.
+   */
+  int size() throws IOException {
+    synchronized (summaries) {
+      FileLock lock = channel.lock(0, Long.MAX_VALUE, true);
+      try {
+        refresh();
+      } finally {
+        lock.release();
+      }
+      return summaries.size();
+    }
+  }
+
+  /**
+   * Closes the file once closed as many times as it was {@linkplain #open(java.nio.file.Path, long) opened}.
+   */
+  @Override
+  public void close() throws IOException {
+    synchronized (openCaches) {
+      if (references == 0) {
+        return;
+      }
+      if (--references > 0) {
+        return;
+      }
+      openCaches.remove(file);
+    }
+    synchronized (summaries) {
+      channel.close();
+      failed = true;
+    }
+  }
+}
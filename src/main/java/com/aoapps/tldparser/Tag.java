@@ -1,6 +1,6 @@
 /*
  * ao-tld-parser - Parses JSP tag library *.tld files.
- * Copyright (C) 2017, 2019, 2020, 2021, 2022  AO Industries, Inc.
+ * Copyright (C) 2017, 2019, 2020, 2021, 2022, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -25,6 +25,7 @@ package com.aoapps.tldparser;
 
 import com.aoapps.collections.AoCollections;
 import com.aoapps.lang.xml.XmlUtils;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -41,6 +42,7 @@ public class Tag {
   private final Taglib taglib;
   private final Dates dates;
   private final Boolean allowRobots;
+  private final boolean effectiveAllowRobots;
   private final List<String> descriptions;
   private final List<String> displayNames;
   private final String name;
@@ -55,6 +57,20 @@ public class Tag {
 
   private final String descriptionSummary;
 
+  private final Fingerprint fingerprint;
+
+  /**
+   * The HTTP validators of the page of this tag, computed on first access.
+   *
+   * @see  #getValidators()
+   */
+  private volatile ConditionalGet.Validators validators;
+
+  /**
+   * The previous version being reused, only set during construction.
+   */
+  private Tag previous;
+
   /**
    * Creates a new tag.
    */
@@ -66,23 +82,26 @@ public class Tag {
     this.taglib = taglib;
 
     this.name = XmlUtils.getChildTextContent(tagElem, "name");
+    Tag previousTag = taglib.getPreviousTag(name);
+    this.previous = previousTag;
 
-    this.dates = Dates.fromComments(tagElem, taglib.getDates());
+    this.dates = Reuse.ifEqual(previousTag == null ? null : previousTag.dates, Dates.fromComments(tagElem, taglib.getDates()));
     this.dates.checkNotBefore(taglib.getTldPath() + "/" + name, taglib.getTldPath(), taglib.getDates());
 
     this.allowRobots = XmlHelper.parseAllowRobots(tagElem);
+    this.effectiveAllowRobots = (allowRobots != null) ? allowRobots : taglib.getEffectiveAllowRobots();
 
     List<String> newDescriptions = new ArrayList<>();
     for (Element descriptionElem : XmlUtils.iterableChildElementsByTagName(tagElem, "description")) {
       newDescriptions.add(descriptionElem.getTextContent());
     }
-    this.descriptions = AoCollections.optimalUnmodifiableList(newDescriptions);
+    this.descriptions = Reuse.ifEqual(previousTag == null ? null : previousTag.descriptions, AoCollections.optimalUnmodifiableList(newDescriptions));
 
     List<String> newDisplayNames = new ArrayList<>();
     for (Element displayNameElem : XmlUtils.iterableChildElementsByTagName(tagElem, "display-name")) {
       newDisplayNames.add(displayNameElem.getTextContent());
     }
-    this.displayNames = AoCollections.optimalUnmodifiableList(newDisplayNames);
+    this.displayNames = Reuse.ifEqual(previousTag == null ? null : previousTag.displayNames, AoCollections.optimalUnmodifiableList(newDisplayNames));
 
     this.tagClass = XmlUtils.getChildTextContent(tagElem, "tag-class");
     this.teiClass = XmlUtils.getChildTextContent(tagElem, "tei-class");
@@ -103,15 +122,78 @@ public class Tag {
     if (XmlUtils.iterableChildElementsByTagName(tagElem, "variable").iterator().hasNext()) {
       throw new NotImplementedException("TODO: Document variables when first needed.  We don't use any variables at this time.");
     }
-    this.example = XmlUtils.getChildTextContent(tagElem, "example");
+    this.example = Reuse.ifEqual(previousTag == null ? null : previousTag.example, XmlUtils.getChildTextContent(tagElem, "example"));
 
     try {
-      this.descriptionSummary = descriptions.isEmpty() ? null : HtmlSnippet.getSummary(summaryClass, descriptions.get(0));
+      if (descriptions.isEmpty()) {
+        this.descriptionSummary = null;
+      } else if (previousTag != null && previousTag.descriptions == descriptions && taglib.canReuseSummaries()) {
+        this.descriptionSummary = previousTag.descriptionSummary;
+      } else {
+        this.descriptionSummary = taglib.getSummary(summaryClass, descriptions.get(0));
+      }
     } catch (XPathExpressionException e) {
       XPathExpressionException wrapped = new XPathExpressionException(taglib.getTldPath() + "/" + name + "/description: " + e.getMessage());
       wrapped.initCause(e);
       throw wrapped;
     }
+
+    Fingerprint.Builder newFingerprint = new Fingerprint.Builder("tag")
+        .add(dates)
+        .add(allowRobots)
+        .add(descriptions)
+        .add(displayNames)
+        .add(name)
+        .add(tagClass)
+        .add(teiClass)
+        .add(bodyContent)
+        .add(dynamicAttributes)
+        .add(example)
+        .add(descriptionSummary)
+        .add(attributes.size());
+    for (Attribute attr : attributes) {
+      newFingerprint.add(attr.getFingerprint());
+    }
+    this.fingerprint = newFingerprint.build();
+    this.previous = null;
+  }
+
+  /**
+   * Gets the previous version of an attribute, when reloading.
+   *
+   * @return  The previous attribute or {@code null} when not reloading or the attribute is new
+   */
+  Attribute getPreviousAttribute(String name) {
+    return (previous == null) ? null : previous.getAttribute().get(name);
+  }
+
+  /**
+   * Creates a tag from a store, without any XML processing.
+   *
+   * @see  PrecompiledTaglibs
+   */
+  Tag(Taglib taglib, MappedTaglibStore.MappedTag mapped) {
+    this.taglib = taglib;
+    this.dates = Reuse.ifEqual(taglib.getDates(), mapped.getDates());
+    this.allowRobots = mapped.getAllowRobots();
+    this.effectiveAllowRobots = (allowRobots != null) ? allowRobots : taglib.getEffectiveAllowRobots();
+    this.descriptions = AoCollections.optimalUnmodifiableList(new ArrayList<>(mapped.getDescriptions()));
+    this.displayNames = AoCollections.optimalUnmodifiableList(new ArrayList<>(mapped.getDisplayNames()));
+    this.name = mapped.getName();
+    this.tagClass = mapped.getTagClass();
+    this.teiClass = mapped.getTeiClass();
+    this.bodyContent = mapped.getBodyContent();
+    Map<String, Attribute> newAttributes = new LinkedHashMap<>();
+    for (MappedTaglibStore.MappedAttribute mappedAttribute : mapped.getAttributes()) {
+      Attribute newAttribute = new Attribute(this, mappedAttribute);
+      newAttributes.put(newAttribute.getName(), newAttribute);
+    }
+    this.attribute = AoCollections.optimalUnmodifiableMap(newAttributes);
+    this.attributes = AoCollections.optimalUnmodifiableList(new ArrayList<>(newAttributes.values()));
+    this.dynamicAttributes = mapped.getDynamicAttributes();
+    this.example = mapped.getExample();
+    this.descriptionSummary = mapped.getDescriptionSummary();
+    this.fingerprint = mapped.getFingerprint();
   }
 
   public Taglib getTaglib() {
@@ -126,6 +208,16 @@ public class Tag {
     return allowRobots;
   }
 
+  /**
+   * Gets the effective allowRobots, which is inherited from the taglib when not specified.
+   *
+   * @see  #getAllowRobots()
+   * @see  Taglib#getEffectiveAllowRobots()
+   */
+  public boolean getEffectiveAllowRobots() {
+    return effectiveAllowRobots;
+  }
+
   @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
   public List<String> getDescriptions() {
     return descriptions;
@@ -180,4 +272,40 @@ public class Tag {
   public String getDescriptionSummary() {
     return descriptionSummary;
   }
+
+  /**
+   * Writes the summary of the description.
+   * If there is more than once description, only the first is used in generating the summary.
+   * If there are no descriptions, writes nothing.
+   *
+   * @see  #getDescriptionSummary()
+   */
+  public void writeDescriptionSummary(Appendable out) throws IOException {
+    if (descriptionSummary != null) {
+      out.append(descriptionSummary);
+    }
+  }
+
+  /**
+   * Gets the content fingerprint of this tag, including its attributes.
+   *
+   * @see  Fingerprint
+   */
+  public Fingerprint getFingerprint() {
+    return fingerprint;
+  }
+
+  /**
+   * Gets the HTTP validators of the page of this tag, computing them on first access.
+   *
+   * @see  ConditionalGet#getValidators(com.aoapps.tldparser.Tag)
+   */
+  ConditionalGet.Validators getValidators() {
+    ConditionalGet.Validators computed = this.validators;
+    if (computed == null) {
+      computed = ConditionalGet.computeValidators(this);
+      this.validators = computed;
+    }
+    return computed;
+  }
 }
@@ -1,6 +1,6 @@
 /*
  * ao-tld-parser - Parses JSP tag library *.tld files.
- * Copyright (C) 2017, 2019, 2020, 2021, 2022, 2024  AO Industries, Inc.
+ * Copyright (C) 2017, 2019, 2020, 2021, 2022, 2024, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -27,13 +27,22 @@ import com.aoapps.collections.AoCollections;
 import com.aoapps.lang.xml.XmlUtils;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPathExpressionException;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
 import org.xml.sax.SAXException;
 
 /**
@@ -49,9 +58,12 @@ import org.xml.sax.SAXException;
  */
 public class Taglib {
 
+  private final String summaryClass;
+  private final SummaryCache summaryCache;
   private final String tldPath;
   private final Dates dates;
   private final Boolean allowRobots;
+  private final boolean effectiveAllowRobots;
   private final List<String> descriptions;
   private final List<String> displayNames;
   private final String tlibVersion;
@@ -64,76 +76,300 @@ public class Taglib {
   private final List<Function> functions;
   private final Dates functionsEffectiveDates;
   private final Dates taglibEffectiveDates;
+  private volatile Fingerprint fingerprint;
+
+  /**
+   * The HTTP validators of the page of this taglib, computed on first access.
+   *
+   * @see  #getValidators()
+   */
+  private volatile ConditionalGet.Validators validators;
+
+  /**
+   * The fingerprint of the document and default dates this taglib was created from or last found unchanged by
+   * {@link #reload(com.aoapps.tldparser.Taglib, java.lang.String, com.aoapps.tldparser.SummaryCache, java.lang.String, com.aoapps.tldparser.Dates, org.w3c.dom.Document)},
+   * or {@code null} when never reloaded.  Only computed when reloading, so other loads do not walk the document again.
+   *
+   * @see  #getDocumentFingerprint(org.w3c.dom.Document, com.aoapps.tldparser.Dates)
+   */
+  private volatile Fingerprint documentFingerprint;
+
+  /**
+   * The previous version being reused, only set during construction.
+   *
+   * @see  #reload(com.aoapps.tldparser.Taglib, java.lang.String, com.aoapps.tldparser.SummaryCache, java.lang.String, com.aoapps.tldparser.Dates, org.w3c.dom.Document)
+   */
+  private Taglib previous;
+
+  /**
+   * The summaries computed in parallel before creating tags and functions, by description,
+   * only set during construction.  Like {@link #previous}, this is confined to the constructing thread:
+   * it is only read by {@link #getSummary(java.lang.String, java.lang.String)} from the constructors of tags and
+   * functions, which are all created eagerly in this case.  Lazily created tags and functions never see it set.
+   *
+   * @see  #Taglib(java.lang.String, com.aoapps.tldparser.SummaryCache, java.lang.String, com.aoapps.tldparser.Dates, org.w3c.dom.Document, java.util.concurrent.ForkJoinPool)
+   */
+  private Map<String, String> precomputedSummaries;
 
   /**
    * Extracts the components of an XML-parsed *.tld file.
    *
+   * <p>When <code>lazy</code>, only the names and dates of tags and functions are read during construction.
+   * Each {@link Tag} and {@link Function} is created on first access, and the document is retained until all are created.
+   * Any error creating a tag or function is thrown on access as an {@link IllegalStateException}, with the location
+   * in its message and the original error as its cause.  A tag or function without a name is rejected during construction.</p>
+   *
    * @param summaryClass  The CSS class that marks elements to be included in summaries
+   * @param summaryCache  The optional cache consulted before generating each summary
    * @param tldPath  The path to the taglib, used for error messages only
    * @param defaultDates  The optional default dates for when no date-comments found
    * @param tldDoc  The document that has already been parsed
+   * @param lazy  Create each tag and function on first access.
+   *              The {@link #getFingerprint() fingerprint} is then computed on first access, creating all tags and functions.
    */
   public Taglib(
       String summaryClass,
+      SummaryCache summaryCache,
       String tldPath,
       Dates defaultDates,
-      Document tldDoc
+      Document tldDoc,
+      boolean lazy
+  ) throws ParserConfigurationException, SAXException, IOException, XPathExpressionException {
+    this(summaryClass, summaryCache, tldPath, defaultDates, tldDoc, null, lazy, null, null);
+  }
+
+  private Taglib(
+      String summaryClass,
+      SummaryCache summaryCache,
+      String tldPath,
+      Dates defaultDates,
+      Document tldDoc,
+      Fingerprint documentFingerprint,
+      boolean lazy,
+      Taglib previous,
+      ForkJoinPool summaryPool
   ) throws ParserConfigurationException, SAXException, IOException, XPathExpressionException {
+    this.summaryClass = summaryClass;
+    this.summaryCache = summaryCache;
     this.tldPath = tldPath;
+    this.documentFingerprint = documentFingerprint;
+    // Lazily created tags and functions do not reuse, since the previous version would be retained until then
+    this.previous = lazy ? null : previous;
 
     Element taglibElem = tldDoc.getDocumentElement();
 
-    this.dates = Dates.fromComments(taglibElem, defaultDates);
+    this.dates = Reuse.ifEqual(previous == null ? null : previous.dates, Dates.fromComments(taglibElem, defaultDates));
 
     this.allowRobots = XmlHelper.parseAllowRobots(taglibElem);
+    this.effectiveAllowRobots = (allowRobots == null) || allowRobots;
 
     List<String> newDescriptions = new ArrayList<>();
     for (Element descriptionElem : XmlUtils.iterableChildElementsByTagName(taglibElem, "description")) {
       newDescriptions.add(descriptionElem.getTextContent());
     }
-    this.descriptions = AoCollections.optimalUnmodifiableList(newDescriptions);
+    this.descriptions = Reuse.ifEqual(previous == null ? null : previous.descriptions, AoCollections.optimalUnmodifiableList(newDescriptions));
 
     List<String> newDisplayNames = new ArrayList<>();
     for (Element displayNameElem : XmlUtils.iterableChildElementsByTagName(taglibElem, "display-name")) {
       newDisplayNames.add(displayNameElem.getTextContent());
     }
-    this.displayNames = AoCollections.optimalUnmodifiableList(newDisplayNames);
+    this.displayNames = Reuse.ifEqual(previous == null ? null : previous.displayNames, AoCollections.optimalUnmodifiableList(newDisplayNames));
 
     this.tlibVersion = XmlUtils.getChildTextContent(taglibElem, "tlib-version");
     this.shortName = XmlUtils.getChildTextContent(taglibElem, "short-name");
     this.uri = XmlUtils.getChildTextContent(taglibElem, "uri");
 
-    Map<String, Tag> newTags = new LinkedHashMap<>();
-    Dates newTagsEffectiveDates = null;
-    for (Element tagElem : XmlUtils.iterableChildElementsByTagName(taglibElem, "tag")) {
-      Tag newTag = new Tag(summaryClass, this, tagElem);
-      String tagName = newTag.getName();
-      if (newTags.put(tagName, newTag) != null) {
-        throw new IllegalArgumentException("Duplicate tag name: " + tagName);
+    if (lazy) {
+      // Not the document itself, which would keep it reachable after all tags and functions are created
+      Object domLock = new Object();
+      Map<String, Element> tagElems = new LinkedHashMap<>();
+      Dates newTagsEffectiveDates = null;
+      for (Element tagElem : XmlUtils.iterableChildElementsByTagName(taglibElem, "tag")) {
+        String tagName = XmlUtils.getChildTextContent(tagElem, "name");
+        if (tagName == null) {
+          throw new IllegalArgumentException(tldPath + ": Missing tag name");
+        }
+        if (tagElems.put(tagName, tagElem) != null) {
+          throw new IllegalArgumentException("Duplicate tag name: " + tagName);
+        }
+        // Matches Tag constructor
+        Dates tagDates = Dates.fromComments(tagElem, this.dates);
+        tagDates.checkNotBefore(tldPath + "/" + tagName, tldPath, this.dates);
+        newTagsEffectiveDates = Dates.merge(newTagsEffectiveDates, tagDates);
       }
-      newTagsEffectiveDates = Dates.merge(newTagsEffectiveDates, newTag.getDates());
-    }
-    this.tag = AoCollections.optimalUnmodifiableMap(newTags);
-    this.tags = AoCollections.optimalUnmodifiableList(new ArrayList<>(newTags.values()));
-    this.tagsEffectiveDates = newTagsEffectiveDates;
+      LazyIndex<Tag> tagIndex = new LazyIndex<>(domLock, tldPath, tagElems, tagElem -> new Tag(summaryClass, this, tagElem));
+      this.tag = tagIndex.asMap();
+      this.tags = tagIndex.asList();
+      this.tagsEffectiveDates = newTagsEffectiveDates;
 
-    Map<String, Function> newFunctions = new LinkedHashMap<>();
-    Dates newFunctionsEffectiveDates = null;
-    for (Element functionElem : XmlUtils.iterableChildElementsByTagName(taglibElem, "function")) {
-      Function newFunction = new Function(summaryClass, this, functionElem);
-      String functionName = newFunction.getName();
-      if (newFunctions.put(functionName, newFunction) != null) {
-        throw new IllegalArgumentException("Duplicate function name: " + functionName);
+      Map<String, Element> functionElems = new LinkedHashMap<>();
+      Dates newFunctionsEffectiveDates = null;
+      for (Element functionElem : XmlUtils.iterableChildElementsByTagName(taglibElem, "function")) {
+        String functionName = XmlUtils.getChildTextContent(functionElem, "name");
+        if (functionName == null) {
+          throw new IllegalArgumentException(tldPath + ": Missing function name");
+        }
+        if (functionElems.put(functionName, functionElem) != null) {
+          throw new IllegalArgumentException("Duplicate function name: " + functionName);
+        }
+        // Matches Function constructor
+        Dates functionDates = Dates.fromComments(functionElem, this.dates);
+        functionDates.checkNotBefore(tldPath + "/" + functionName, tldPath, this.dates);
+        newFunctionsEffectiveDates = Dates.merge(newFunctionsEffectiveDates, functionDates);
       }
-      newFunctionsEffectiveDates = Dates.merge(newFunctionsEffectiveDates, newFunction.getDates());
+      LazyIndex<Function> functionIndex = new LazyIndex<>(domLock, tldPath, functionElems, functionElem -> new Function(summaryClass, this, functionElem));
+      this.function = functionIndex.asMap();
+      this.functions = functionIndex.asList();
+      this.functionsEffectiveDates = newFunctionsEffectiveDates;
+    } else {
+      if (summaryPool != null) {
+        this.precomputedSummaries = precomputeSummaries(summaryClass, taglibElem, summaryPool);
+      }
+      Map<String, Tag> newTags = new LinkedHashMap<>();
+      Dates newTagsEffectiveDates = null;
+      for (Element tagElem : XmlUtils.iterableChildElementsByTagName(taglibElem, "tag")) {
+        Tag newTag = new Tag(summaryClass, this, tagElem);
+        String tagName = newTag.getName();
+        if (newTags.put(tagName, newTag) != null) {
+          throw new IllegalArgumentException("Duplicate tag name: " + tagName);
+        }
+        newTagsEffectiveDates = Dates.merge(newTagsEffectiveDates, newTag.getDates());
+      }
+      this.tag = AoCollections.optimalUnmodifiableMap(newTags);
+      this.tags = AoCollections.optimalUnmodifiableList(new ArrayList<>(newTags.values()));
+      this.tagsEffectiveDates = newTagsEffectiveDates;
+
+      Map<String, Function> newFunctions = new LinkedHashMap<>();
+      Dates newFunctionsEffectiveDates = null;
+      for (Element functionElem : XmlUtils.iterableChildElementsByTagName(taglibElem, "function")) {
+        Function newFunction = new Function(summaryClass, this, functionElem);
+        String functionName = newFunction.getName();
+        if (newFunctions.put(functionName, newFunction) != null) {
+          throw new IllegalArgumentException("Duplicate function name: " + functionName);
+        }
+        newFunctionsEffectiveDates = Dates.merge(newFunctionsEffectiveDates, newFunction.getDates());
+      }
+      this.function = AoCollections.optimalUnmodifiableMap(newFunctions);
+      this.functions = AoCollections.optimalUnmodifiableList(new ArrayList<>(newFunctions.values()));
+      this.functionsEffectiveDates = newFunctionsEffectiveDates;
     }
-    this.function = AoCollections.optimalUnmodifiableMap(newFunctions);
-    this.functions = AoCollections.optimalUnmodifiableList(new ArrayList<>(newFunctions.values()));
-    this.functionsEffectiveDates = newFunctionsEffectiveDates;
     this.taglibEffectiveDates = Dates.merge(
         Dates.merge(this.dates, this.tagsEffectiveDates),
         this.functionsEffectiveDates
     );
+    if (!lazy) {
+      this.fingerprint = computeFingerprint();
+    }
+    this.previous = null;
+    this.precomputedSummaries = null;
+  }
+
+  /**
+   * Computes the summaries of all tags, attributes, and functions in parallel.
+   * The descriptions are first read from the document on this thread, since the document is not thread-safe.
+   * Identical descriptions are only summarized once.
+   *
+   * <p>Any description that fails is left out, to be summarized again in document order while creating its tag or
+   * function, so errors are the same as without parallel summaries.</p>
+   */
+  private Map<String, String> precomputeSummaries(String summaryClass, Element taglibElem, ForkJoinPool summaryPool) {
+    Set<String> descriptions = new LinkedHashSet<>();
+    // Matches Tag, Attribute, and Function constructors
+    for (Element tagElem : XmlUtils.iterableChildElementsByTagName(taglibElem, "tag")) {
+      addFirstDescription(tagElem, descriptions);
+      for (Element attributeElem : XmlUtils.iterableChildElementsByTagName(tagElem, "attribute")) {
+        addFirstDescription(attributeElem, descriptions);
+      }
+    }
+    for (Element functionElem : XmlUtils.iterableChildElementsByTagName(taglibElem, "function")) {
+      addFirstDescription(functionElem, descriptions);
+    }
+    Map<String, String> summaries = new ConcurrentHashMap<>(descriptions.size() * 4 / 3 + 1);
+    List<Callable<Void>> tasks = new ArrayList<>(descriptions.size());
+    for (String description : descriptions) {
+      tasks.add(() -> {
+        try {
+          // Not getSummary, since the precomputed summaries are confined to the constructing thread
+          String summary = computeSummary(summaryClass, description);
+          if (summary != null) {
+            summaries.put(description, summary);
+          }
+        } catch (XPathExpressionException | RuntimeException e) {
+          // Summarized again in document order
+        }
+        return null;
+      });
+    }
+    summaryPool.invokeAll(tasks);
+    return summaries;
+  }
+
+  private static void addFirstDescription(Element elem, Set<String> descriptions) {
+    Iterator<Element> descriptionElems = XmlUtils.iterableChildElementsByTagName(elem, "description").iterator();
+    if (descriptionElems.hasNext()) {
+      descriptions.add(descriptionElems.next().getTextContent());
+    }
+  }
+
+  /**
+   * Extracts the components of an XML-parsed *.tld file.
+   *
+   * @param summaryClass  The CSS class that marks elements to be included in summaries
+   * @param summaryCache  The optional cache consulted before generating each summary
+   * @param tldPath  The path to the taglib, used for error messages only
+   * @param defaultDates  The optional default dates for when no date-comments found
+   * @param tldDoc  The document that has already been parsed
+   */
+  public Taglib(
+      String summaryClass,
+      SummaryCache summaryCache,
+      String tldPath,
+      Dates defaultDates,
+      Document tldDoc
+  ) throws ParserConfigurationException, SAXException, IOException, XPathExpressionException {
+    this(summaryClass, summaryCache, tldPath, defaultDates, tldDoc, false);
+  }
+
+  /**
+   * Extracts the components of an XML-parsed *.tld file, computing all summaries in parallel.
+   *
+   * <p>The description of every tag, attribute, and function is read from the document first, then all the summaries
+   * are computed in parallel on <code>summaryPool</code>.  The tags and functions are then created in document order,
+   * so the result and any error are the same as without parallel summaries.</p>
+   *
+   * @param summaryClass  The CSS class that marks elements to be included in summaries
+   * @param summaryCache  The optional cache consulted before generating each summary
+   * @param tldPath  The path to the taglib, used for error messages only
+   * @param defaultDates  The optional default dates for when no date-comments found
+   * @param tldDoc  The document that has already been parsed
+   * @param summaryPool  The pool that computes the summaries
+   */
+  public Taglib(
+      String summaryClass,
+      SummaryCache summaryCache,
+      String tldPath,
+      Dates defaultDates,
+      Document tldDoc,
+      ForkJoinPool summaryPool
+  ) throws ParserConfigurationException, SAXException, IOException, XPathExpressionException {
+    this(summaryClass, summaryCache, tldPath, defaultDates, tldDoc, null, false, null, Objects.requireNonNull(summaryPool));
+  }
+
+  /**
+   * Extracts the components of an XML-parsed *.tld file.
+   *
+   * @param summaryClass  The CSS class that marks elements to be included in summaries
+   * @param tldPath  The path to the taglib, used for error messages only
+   * @param defaultDates  The optional default dates for when no date-comments found
+   * @param tldDoc  The document that has already been parsed
+   */
+  public Taglib(
+      String summaryClass,
+      String tldPath,
+      Dates defaultDates,
+      Document tldDoc
+  ) throws ParserConfigurationException, SAXException, IOException, XPathExpressionException {
+    this(summaryClass, null, tldPath, defaultDates, tldDoc);
   }
 
   /**
@@ -157,6 +393,205 @@ public class Taglib {
     this(summaryClass, tldPath, defaultDates, tldDoc);
   }
 
+  /**
+   * Creates a taglib from a store, without any XML processing.
+   *
+   * @see  PrecompiledTaglibs
+   */
+  Taglib(MappedTaglibStore.MappedTaglib mapped) {
+    this.summaryClass = mapped.getSummaryClass();
+    this.summaryCache = null;
+    this.tldPath = mapped.getTldPath();
+    this.documentFingerprint = mapped.getDocumentFingerprint();
+    this.dates = mapped.getDates();
+    this.allowRobots = mapped.getAllowRobots();
+    this.effectiveAllowRobots = (allowRobots == null) || allowRobots;
+    this.descriptions = AoCollections.optimalUnmodifiableList(new ArrayList<>(mapped.getDescriptions()));
+    this.displayNames = AoCollections.optimalUnmodifiableList(new ArrayList<>(mapped.getDisplayNames()));
+    this.tlibVersion = mapped.getTlibVersion();
+    this.shortName = mapped.getShortName();
+    this.uri = mapped.getUri();
+    Map<String, Tag> newTags = new LinkedHashMap<>();
+    for (MappedTaglibStore.MappedTag mappedTag : mapped.getTags()) {
+      Tag newTag = new Tag(this, mappedTag);
+      newTags.put(newTag.getName(), newTag);
+    }
+    this.tag = AoCollections.optimalUnmodifiableMap(newTags);
+    this.tags = AoCollections.optimalUnmodifiableList(new ArrayList<>(newTags.values()));
+    this.tagsEffectiveDates = mapped.getTagsEffectiveDates();
+    Map<String, Function> newFunctions = new LinkedHashMap<>();
+    for (MappedTaglibStore.MappedFunction mappedFunction : mapped.getFunctions()) {
+      Function newFunction = new Function(this, mappedFunction);
+      newFunctions.put(newFunction.getName(), newFunction);
+    }
+    this.function = AoCollections.optimalUnmodifiableMap(newFunctions);
+    this.functions = AoCollections.optimalUnmodifiableList(new ArrayList<>(newFunctions.values()));
+    this.functionsEffectiveDates = mapped.getFunctionsEffectiveDates();
+    this.taglibEffectiveDates = mapped.getTaglibEffectiveDates();
+    this.fingerprint = mapped.getFingerprint();
+  }
+
+  /**
+   * Reloads an XML-parsed *.tld file, reusing unchanged values from its previous version.
+   * Descriptions, display names, dates, examples, and summaries that are unchanged are shared with the previous version
+   * instead of being retained twice, and unchanged summaries are not generated again.
+   * When nothing has changed, the previous version itself is returned.
+   *
+   * <p>When the document and default dates are unchanged since the previous version was last created or returned by this
+   * method, the previous version is returned without creating a new model.
+   * Otherwise, the new model is created and the previous version is still returned when the change does not affect the model,
+   * such as a change only to whitespace or to comments other than dates.  The previous version then records the new
+   * document, so reloading it again does not create a new model.</p>
+   *
+   * <p>Each {@link Tag}, {@link Attribute}, and {@link Function} refers to its containing object, so they are all
+   * new whenever anything has changed.</p>
+   *
+   * @param previous  The previous version of the taglib or {@code null} to load without reuse
+   * @param summaryClass  The CSS class that marks elements to be included in summaries
+   * @param summaryCache  The optional cache consulted before generating each summary
+   * @param tldPath  The path to the taglib, used for error messages only
+   * @param defaultDates  The optional default dates for when no date-comments found
+   * @param tldDoc  The document that has already been parsed
+   *
+   * @return  The new version or {@code previous} when unchanged
+   *
+   * @see  #getFingerprint()
+   */
+  public static Taglib reload(
+      Taglib previous,
+      String summaryClass,
+      SummaryCache summaryCache,
+      String tldPath,
+      Dates defaultDates,
+      Document tldDoc
+  ) throws ParserConfigurationException, SAXException, IOException, XPathExpressionException {
+    Fingerprint newDocumentFingerprint = getDocumentFingerprint(tldDoc, defaultDates);
+    if (
+        previous == null
+            || !Objects.equals(previous.tldPath, tldPath)
+            || !Objects.equals(previous.summaryClass, summaryClass)
+    ) {
+      return new Taglib(summaryClass, summaryCache, tldPath, defaultDates, tldDoc, newDocumentFingerprint, false, previous, null);
+    }
+    if (newDocumentFingerprint.equals(previous.documentFingerprint)) {
+      return previous;
+    }
+    Taglib reloaded = new Taglib(summaryClass, summaryCache, tldPath, defaultDates, tldDoc, newDocumentFingerprint, false, previous, null);
+    if (previous.getFingerprint().equals(reloaded.getFingerprint())) {
+      // Unchanged model, so the next reload of this same document returns previous without creating a model
+      previous.documentFingerprint = newDocumentFingerprint;
+      return previous;
+    }
+    return reloaded;
+  }
+
+  /**
+   * Computes a fingerprint of a document and the default dates, which together determine the model.
+   * This is much less costly than creating the model, since no summaries are generated.
+   * Every node is included, so a change to whitespace or comments changes the fingerprint.
+   */
+  static Fingerprint getDocumentFingerprint(Document tldDoc, Dates defaultDates) {
+    Fingerprint.Builder builder = new Fingerprint.Builder("document").add(defaultDates);
+    addNode(builder, tldDoc.getDocumentElement());
+    return builder.build();
+  }
+
+  private static void addNode(Fingerprint.Builder builder, Node node) {
+    builder
+        .add(node.getNodeType())
+        .add(node.getNodeName())
+        .add(node.getNodeValue());
+    NamedNodeMap attributes = node.getAttributes();
+    if (attributes != null) {
+      int length = attributes.getLength();
+      builder.add(length);
+      for (int i = 0; i < length; i++) {
+        Node attribute = attributes.item(i);
+        builder.add(attribute.getNodeName()).add(attribute.getNodeValue());
+      }
+    }
+    for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+      addNode(builder, child);
+    }
+    // End of children, distinct from any node type
+    builder.add(-1);
+  }
+
+  /**
+   * Gets the fingerprint of the document and default dates this taglib was created from or last found unchanged by
+   * {@link #reload(com.aoapps.tldparser.Taglib, java.lang.String, com.aoapps.tldparser.SummaryCache, java.lang.String, com.aoapps.tldparser.Dates, org.w3c.dom.Document)}.
+   *
+   * @return  The fingerprint or {@code null} when never reloaded
+   *
+   * @see  #getDocumentFingerprint(org.w3c.dom.Document, com.aoapps.tldparser.Dates)
+   */
+  Fingerprint getDocumentFingerprint() {
+    return documentFingerprint;
+  }
+
+  /**
+   * Gets the previous version of a tag, when reloading.
+   *
+   * @return  The previous tag or {@code null} when not reloading or the tag is new
+   */
+  Tag getPreviousTag(String name) {
+    return (previous == null) ? null : previous.getTag().get(name);
+  }
+
+  /**
+   * Gets the previous version of a function, when reloading.
+   *
+   * @return  The previous function or {@code null} when not reloading or the function is new
+   */
+  Function getPreviousFunction(String name) {
+    return (previous == null) ? null : previous.getFunction().get(name);
+  }
+
+  /**
+   * Checks if the summaries of the previous version may be reused, when reloading.
+   */
+  boolean canReuseSummaries() {
+    return previous != null && Objects.equals(previous.summaryClass, summaryClass);
+  }
+
+  /**
+   * Gets the CSS class that marks elements to be included in summaries.
+   */
+  String getSummaryClass() {
+    return summaryClass;
+  }
+
+  /**
+   * Gets the summary of a description, using any summary precomputed in parallel during construction.
+   * The precomputed summaries are only used when called on the constructing thread, from the constructors of tags and
+   * functions.
+   *
+   * @see  #computeSummary(java.lang.String, java.lang.String)
+   */
+  String getSummary(String summaryClass, String description) throws XPathExpressionException {
+    Map<String, String> precomputed = precomputedSummaries;
+    if (precomputed != null) {
+      String summary = precomputed.get(description);
+      if (summary != null) {
+        return summary;
+      }
+    }
+    return computeSummary(summaryClass, description);
+  }
+
+  /**
+   * Computes the summary of a description, consulting the {@link SummaryCache} when provided.
+   * This is thread-safe.
+   *
+   * @see  HtmlSnippet#getSummary(java.lang.String, java.lang.String)
+   * @see  SummaryCache#getSummary(java.lang.String, java.lang.String)
+   */
+  private String computeSummary(String summaryClass, String description) throws XPathExpressionException {
+    return (summaryCache == null)
+        ? HtmlSnippet.getSummary(summaryClass, description)
+        : summaryCache.getSummary(summaryClass, description);
+  }
+
   public String getTldPath() {
     return tldPath;
   }
@@ -169,6 +604,15 @@ public class Taglib {
     return allowRobots;
   }
 
+  /**
+   * Gets the effective allowRobots, which is {@code true} when not specified.
+   *
+   * @see  #getAllowRobots()
+   */
+  public boolean getEffectiveAllowRobots() {
+    return effectiveAllowRobots;
+  }
+
   @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
   public List<String> getDescriptions() {
     return descriptions;
@@ -235,4 +679,54 @@ public class Taglib {
   public Dates getTaglibEffectiveDates() {
     return taglibEffectiveDates;
   }
+
+  private Fingerprint computeFingerprint() {
+    Fingerprint.Builder newFingerprint = new Fingerprint.Builder("taglib")
+        .add(dates)
+        .add(allowRobots)
+        .add(descriptions)
+        .add(displayNames)
+        .add(tlibVersion)
+        .add(shortName)
+        .add(uri)
+        .add(tags.size());
+    for (Tag t : tags) {
+      newFingerprint.add(t.getFingerprint());
+    }
+    newFingerprint.add(functions.size());
+    for (Function fn : functions) {
+      newFingerprint.add(fn.getFingerprint());
+    }
+    return newFingerprint.build();
+  }
+
+  /**
+   * Gets the content fingerprint of this taglib, including all its tags and functions.
+   * The path of the taglib is not included, so the same content at a different path has the same fingerprint.
+   *
+   * @see  Fingerprint
+   * @see  TaglibDiff
+   */
+  public Fingerprint getFingerprint() {
+    Fingerprint computed = this.fingerprint;
+    if (computed == null) {
+      computed = computeFingerprint();
+      this.fingerprint = computed;
+    }
+    return computed;
+  }
+
+  /**
+   * Gets the HTTP validators of the page of this taglib, computing them on first access.
+   *
+   * @see  ConditionalGet#getValidators(com.aoapps.tldparser.Taglib)
+   */
+  ConditionalGet.Validators getValidators() {
+    ConditionalGet.Validators computed = this.validators;
+    if (computed == null) {
+      computed = ConditionalGet.computeValidators(this);
+      this.validators = computed;
+    }
+    return computed;
+  }
 }
@@ -0,0 +1,193 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import com.aoapps.collections.AoCollections;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two versions of a {@link Taglib} by {@link Fingerprint}, reporting which tags, attributes,
+ * and functions were added, removed, changed, or unchanged.  Anything generated from an unchanged
+ * component may be reused.
+ *
+ * <p>The page of a tag or function also shows the title and robots setting of its taglib, so tags and functions
+ * are compared along with those, the same as the fingerprints used by {@link HtmlDocRenderer} and
+ * {@link ConditionalGet}.  Every tag and function is changed when they differ, even though its attributes may
+ * be unchanged.</p>
+ *
+ * <p>Components are matched by name.  The current order is used, followed by any removed components
+ * in their previous order.</p>
+ */
+public final class TaglibDiff {
+
+  /**
+   * The type of change to one component.
+   */
+  public enum Change {
+    ADDED,
+    REMOVED,
+    CHANGED,
+    UNCHANGED
+  }
+
+  /**
+   * Compares two versions of a taglib.
+   *
+   * @param  previous  The previous version or {@code null} when newly added
+   * @param  current  The current version or {@code null} when removed
+   */
+  public static TaglibDiff compare(Taglib previous, Taglib current) {
+    return new TaglibDiff(previous, current);
+  }
+
+  private final Change change;
+  private final Map<String, Change> tagChanges;
+  private final Map<String, Map<String, Change>> attributeChanges;
+  private final Map<String, Change> functionChanges;
+
+  private TaglibDiff(Taglib previous, Taglib current) {
+    Map<String, Tag> previousTags = previous == null ? Collections.emptyMap() : previous.getTag();
+    Map<String, Tag> currentTags = current == null ? Collections.emptyMap() : current.getTag();
+    Map<String, Function> previousFunctions = previous == null ? Collections.emptyMap() : previous.getFunction();
+    Map<String, Function> currentFunctions = current == null ? Collections.emptyMap() : current.getFunction();
+    this.change = getChange(
+        previous == null ? null : previous.getFingerprint(),
+        current == null ? null : current.getFingerprint()
+    );
+
+    Map<String, Change> newTagChanges = new LinkedHashMap<>();
+    Map<String, Map<String, Change>> newAttributeChanges = new LinkedHashMap<>();
+    for (Tag currentTag : currentTags.values()) {
+      String tagName = currentTag.getName();
+      Tag previousTag = previousTags.get(tagName);
+      Change tagChange = getChange(
+          previousTag == null ? null : HtmlDocRenderer.getContentFingerprint(previous, previousTag.getFingerprint()),
+          HtmlDocRenderer.getContentFingerprint(current, currentTag.getFingerprint())
+      );
+      newTagChanges.put(tagName, tagChange);
+      newAttributeChanges.put(tagName, compareAttributes(previousTag, currentTag, tagChange));
+    }
+    for (Tag previousTag : previousTags.values()) {
+      String tagName = previousTag.getName();
+      if (!currentTags.containsKey(tagName)) {
+        newTagChanges.put(tagName, Change.REMOVED);
+        newAttributeChanges.put(tagName, compareAttributes(previousTag, null, Change.REMOVED));
+      }
+    }
+    this.tagChanges = AoCollections.optimalUnmodifiableMap(newTagChanges);
+    this.attributeChanges = AoCollections.optimalUnmodifiableMap(newAttributeChanges);
+
+    Map<String, Change> newFunctionChanges = new LinkedHashMap<>();
+    for (Function currentFunction : currentFunctions.values()) {
+      String functionName = currentFunction.getName();
+      Function previousFunction = previousFunctions.get(functionName);
+      newFunctionChanges.put(
+          functionName,
+          getChange(
+              previousFunction == null ? null : HtmlDocRenderer.getContentFingerprint(previous, previousFunction.getFingerprint()),
+              HtmlDocRenderer.getContentFingerprint(current, currentFunction.getFingerprint())
+          )
+      );
+    }
+    for (Function previousFunction : previousFunctions.values()) {
+      String functionName = previousFunction.getName();
+      if (!currentFunctions.containsKey(functionName)) {
+        newFunctionChanges.put(functionName, Change.REMOVED);
+      }
+    }
+    this.functionChanges = AoCollections.optimalUnmodifiableMap(newFunctionChanges);
+  }
+
+  private static Change getChange(Fingerprint previous, Fingerprint current) {
+    if (previous == null) {
+      return current == null ? Change.UNCHANGED : Change.ADDED;
+    }
+    if (current == null) {
+      return Change.REMOVED;
+    }
+    return previous.equals(current) ? Change.UNCHANGED : Change.CHANGED;
+  }
+
+  private static Map<String, Change> compareAttributes(Tag previousTag, Tag currentTag, Change tagChange) {
+    Map<String, Change> changes = new LinkedHashMap<>();
+    if (tagChange != Change.CHANGED) {
+      // All attributes share the change of the tag
+      for (Attribute attribute : (currentTag == null ? previousTag : currentTag).getAttributes()) {
+        changes.put(attribute.getName(), tagChange);
+      }
+    } else {
+      Map<String, Attribute> previousAttributes = previousTag.getAttribute();
+      Map<String, Attribute> currentAttributes = currentTag.getAttribute();
+      for (Attribute currentAttribute : currentAttributes.values()) {
+        String attributeName = currentAttribute.getName();
+        Attribute previousAttribute = previousAttributes.get(attributeName);
+        changes.put(
+            attributeName,
+            getChange(previousAttribute == null ? null : previousAttribute.getFingerprint(), currentAttribute.getFingerprint())
+        );
+      }
+      for (Attribute previousAttribute : previousAttributes.values()) {
+        String attributeName = previousAttribute.getName();
+        if (!currentAttributes.containsKey(attributeName)) {
+          changes.put(attributeName, Change.REMOVED);
+        }
+      }
+    }
+    return AoCollections.optimalUnmodifiableMap(changes);
+  }
+
+  /**
+   * Gets the change to the taglib overall, including all its tags and functions.
+   */
+  public Change getChange() {
+    return change;
+  }
+
+  /**
+   * Gets the change of each tag, by name.
+   */
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+  public Map<String, Change> getTagChanges() {
+    return tagChanges;
+  }
+
+  /**
+   * Gets the change of each attribute of the given tag, by name.
+   *
+   * @return  the changes or {@code null} when the tag is in neither version
+   */
+  public Map<String, Change> getAttributeChanges(String tagName) {
+    return attributeChanges.get(tagName);
+  }
+
+  /**
+   * Gets the change of each function, by name.
+   */
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+  public Map<String, Change> getFunctionChanges() {
+    return functionChanges;
+  }
+}
@@ -0,0 +1,294 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import com.aoapps.collections.AoCollections;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.xpath.XPathExpressionException;
+import org.xml.sax.SAXException;
+
+/**
+ * Finds *.tld files within <code>META-INF/</code> (and its subdirectories) of jar files and directories,
+ * such as those of the class path and module path.
+ *
+ * <p>Jar files are read through their central directory with {@link ZipFile}, without extracting.
+ * Each jar file or directory is searched in parallel, and each *.tld file is read once into memory,
+ * where its bytes are reused for both {@link TldResource#getHeader()} and {@link TldResource#load(java.lang.String, com.aoapps.tldparser.SummaryCache, com.aoapps.tldparser.Dates)}.</p>
+ */
+public final class TaglibDiscovery {
+
+  /** Make no instances. */
+  private TaglibDiscovery() {
+    throw new AssertionError();
+  }
+
+  private static final String META_INF = "META-INF/";
+  private static final String TLD_EXTENSION = ".tld";
+
+  /**
+   * A *.tld file that has been read into memory.
+   */
+  public static final class TldResource {
+
+    private final String tldPath;
+    private final byte[] tld;
+
+    private TldResource(String tldPath, byte[] tld) {
+      this.tldPath = tldPath;
+      this.tld = tld;
+    }
+
+    @Override
+    public String toString() {
+      return tldPath;
+    }
+
+    /**
+     * Gets the path to the *.tld file, in the form <code><var>jarFile</var>!/<var>entryName</var></code>
+     * for jar entries.
+     */
+    public String getTldPath() {
+      return tldPath;
+    }
+
+    /**
+     * Gets a new stream of the bytes of the *.tld file.
+     */
+    public InputStream getInputStream() {
+      return new ByteArrayInputStream(tld);
+    }
+
+    /**
+     * Scans the header elements.
+     *
+     * @see  TaglibHeader#scan(java.lang.String, java.io.InputStream)
+     */
+    public TaglibHeader getHeader() throws XMLStreamException {
+      return TaglibHeader.scan(tldPath, getInputStream());
+    }
+
+    /**
+     * Parses the *.tld file.
+     *
+     * @param summaryClass  The CSS class that marks elements to be included in summaries
+     * @param summaryCache  The optional cache consulted before generating each summary
+     * @param defaultDates  The optional default dates for when no date-comments found
+     */
+    public Taglib load(
+        String summaryClass,
+        SummaryCache summaryCache,
+        Dates defaultDates
+    ) throws ParserConfigurationException, SAXException, IOException, XPathExpressionException {
+      return new Taglib(summaryClass, summaryCache, tldPath, defaultDates, TldParser.parse(tldPath, tld));
+    }
+  }
+
+  /**
+   * Gets the entries of the class path and module path of the current JVM.
+   * Directories on the module path are expanded to the jar files they contain.
+   */
+  public static List<Path> getClassAndModulePath() throws IOException {
+    List<Path> roots = new ArrayList<>();
+    addPath(roots, System.getProperty("java.class.path"), false);
+    addPath(roots, System.getProperty("jdk.module.path"), true);
+    return roots;
+  }
+
+  private static void addPath(List<Path> roots, String path, boolean expandDirectories) throws IOException {
+    if (path != null) {
+      for (String element : path.split(File.pathSeparator)) {
+        if (!element.isEmpty()) {
+          Path root = Paths.get(element);
+          if (expandDirectories && Files.isDirectory(root) && !Files.isDirectory(root.resolve(META_INF))) {
+            try (Stream<Path> list = Files.list(root)) {
+              roots.addAll(
+                  list
+                      .filter(p -> p.getFileName().toString().endsWith(".jar"))
+                      .sorted()
+                      .collect(Collectors.toList())
+              );
+            }
+          } else {
+            roots.add(root);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Finds all *.tld files in the given jar files and directories, searching each in parallel.
+   * Roots that do not exist are skipped.
+   *
+   * @return  The *.tld files, in the order of the roots then the order within each root
+   */
+  public static List<TldResource> find(Iterable<? extends Path> roots, ExecutorService executor) throws IOException, InterruptedException {
+    List<Callable<List<TldResource>>> tasks = new ArrayList<>();
+    for (Path root : roots) {
+      tasks.add(() -> find(root));
+    }
+    List<TldResource> found = new ArrayList<>();
+    for (Future<List<TldResource>> future : executor.invokeAll(tasks)) {
+      try {
+        found.addAll(future.get());
+      } catch (ExecutionException e) {
+        TldParser.throwCause(e, IOException.class, IOException.class);
+      }
+    }
+    return AoCollections.optimalUnmodifiableList(found);
+  }
+
+  /**
+   * Finds all *.tld files in the given jar files and directories, searching up to
+   * {@link TaglibLoader#DEFAULT_MAX_CONCURRENT_READS} at once on threads created for this call.
+   *
+   * @return  The *.tld files, in the order of the roots then the order within each root
+   */
+  public static List<TldResource> find(Iterable<? extends Path> roots) throws IOException, InterruptedException {
+    List<Path> rootList = new ArrayList<>();
+    for (Path root : roots) {
+      rootList.add(root);
+    }
+    int reads = Math.max(1, Math.min(TaglibLoader.DEFAULT_MAX_CONCURRENT_READS, rootList.size()));
+    ExecutorService executor = Executors.newFixedThreadPool(reads, TaglibLoader::newDaemonThread);
+    try {
+      return find(rootList, executor);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Finds all *.tld files in a single jar file or directory.
+   * A root that does not exist is skipped.
+   */
+  public static List<TldResource> find(Path root) throws IOException {
+    List<TldResource> found = new ArrayList<>();
+    if (Files.isDirectory(root)) {
+      Path metaInf = root.resolve(META_INF);
+      if (Files.isDirectory(metaInf)) {
+        try (Stream<Path> walk = Files.walk(metaInf)) {
+          for (Path tldFile : (Iterable<Path>) walk.filter(p -> p.getFileName().toString().endsWith(TLD_EXTENSION)).sorted()::iterator) {
+            if (Files.isRegularFile(tldFile)) {
+              found.add(new TldResource(tldFile.toString(), Files.readAllBytes(tldFile)));
+            }
+          }
+        }
+      }
+    } else if (Files.isRegularFile(root)) {
+      String jarPath = root.toString();
+      try (ZipFile zipFile = new ZipFile(root.toFile())) {
+        Enumeration<? extends ZipEntry> entries = zipFile.entries();
+        while (entries.hasMoreElements()) {
+          ZipEntry entry = entries.nextElement();
+          String name = entry.getName();
+          if (
+              !entry.isDirectory()
+                  && name.startsWith(META_INF)
+                  && name.endsWith(TLD_EXTENSION)
+          ) {
+            try (InputStream in = zipFile.getInputStream(entry)) {
+              found.add(new TldResource(jarPath + "!/" + name, in.readAllBytes()));
+            }
+          }
+        }
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Parses all the given *.tld files in parallel.
+   *
+   * @param summaryClass  The CSS class that marks elements to be included in summaries
+   * @param summaryCache  The optional cache consulted before generating each summary
+   * @param defaultDates  The optional default dates for when no date-comments found
+   *
+   * @return  The taglibs, in the same order as the *.tld files
+   */
+  public static List<Taglib> load(
+      Iterable<? extends TldResource> tlds,
+      String summaryClass,
+      SummaryCache summaryCache,
+      Dates defaultDates,
+      ExecutorService executor
+  ) throws ParserConfigurationException, SAXException, IOException, XPathExpressionException, InterruptedException {
+    List<Callable<Taglib>> tasks = new ArrayList<>();
+    for (TldResource tld : tlds) {
+      tasks.add(() -> tld.load(summaryClass, summaryCache, defaultDates));
+    }
+    List<Taglib> taglibs = new ArrayList<>(tasks.size());
+    for (Future<Taglib> future : executor.invokeAll(tasks)) {
+      try {
+        taglibs.add(future.get());
+      } catch (ExecutionException e) {
+        TldParser.throwCause(e);
+      }
+    }
+    return AoCollections.optimalUnmodifiableList(taglibs);
+  }
+
+  /**
+   * Parses all the given *.tld files in parallel, on one thread per processor created for this call.
+   *
+   * @param summaryClass  The CSS class that marks elements to be included in summaries
+   * @param summaryCache  The optional cache consulted before generating each summary
+   * @param defaultDates  The optional default dates for when no date-comments found
+   *
+   * @return  The taglibs, in the same order as the *.tld files
+   */
+  public static List<Taglib> load(
+      Iterable<? extends TldResource> tlds,
+      String summaryClass,
+      SummaryCache summaryCache,
+      Dates defaultDates
+  ) throws ParserConfigurationException, SAXException, IOException, XPathExpressionException, InterruptedException {
+    ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), TaglibLoader::newDaemonThread);
+    try {
+      return load(tlds, summaryClass, summaryCache, defaultDates, executor);
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * The header elements of a *.tld file, as needed to map a URI to its *.tld file.
+ *
+ * <p>This is obtained by streaming the *.tld file only until the header elements are read,
+ * without building a DOM or any of the {@link Tag}, {@link Attribute}, or {@link Function}.
+ * Full {@link Taglib} parsing may then be deferred until the URI is actually used.
+ * Values are trimmed, matching the full {@link Taglib}.</p>
+ */
+public final class TaglibHeader {
+
+  /**
+   * Children of the root element that come after the header elements.
+   * Once any of these are found, scanning stops.
+   */
+  private static final String[] AFTER_HEADER = {
+      "validator",
+      "listener",
+      "tag",
+      "tag-file",
+      "function",
+      "taglib-extension"
+  };
+
+  private static final XMLInputFactory inputFactory;
+
+  static {
+    // TODO: New XML Processing Limits (JDK-8270504 (not public)), see https://www.oracle.com/java/technologies/javase/8all-relnotes.html
+    inputFactory = XMLInputFactory.newInstance();
+    // Do not fetch the DTD of older *.tld files
+    inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+  }
+
+  /**
+   * Scans the header elements of a *.tld file.  The stream is not closed.
+   *
+   * @param tldPath  The path to the taglib, used for error messages only
+   */
+  public static TaglibHeader scan(String tldPath, InputStream in) throws XMLStreamException {
+    XMLStreamReader reader = inputFactory.createXMLStreamReader(tldPath, in);
+    try {
+      String tlibVersion = null;
+      String shortName = null;
+      String uri = null;
+      int depth = 0;
+      scan:
+      while (reader.hasNext()) {
+        int event = reader.next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+          depth++;
+          if (depth == 2) {
+            String localName = reader.getLocalName();
+            for (String after : AFTER_HEADER) {
+              if (after.equals(localName)) {
+                break scan;
+              }
+            }
+            if ("tlib-version".equals(localName)) {
+              tlibVersion = reader.getElementText().trim();
+              depth--;
+            } else if ("short-name".equals(localName)) {
+              shortName = reader.getElementText().trim();
+              depth--;
+            } else if ("uri".equals(localName)) {
+              uri = reader.getElementText().trim();
+              depth--;
+            }
+            if (tlibVersion != null && shortName != null && uri != null) {
+              break;
+            }
+          }
+        } else if (event == XMLStreamConstants.END_ELEMENT) {
+          depth--;
+        }
+      }
+      return new TaglibHeader(tldPath, tlibVersion, shortName, uri);
+    } finally {
+      reader.close();
+    }
+  }
+
+  /**
+   * Scans the header elements of a *.tld file.
+   */
+  public static TaglibHeader scan(Path tldFile) throws IOException, XMLStreamException {
+    try (InputStream in = Files.newInputStream(tldFile)) {
+      return scan(tldFile.toString(), in);
+    }
+  }
+
+  private final String tldPath;
+  private final String tlibVersion;
+  private final String shortName;
+  private final String uri;
+
+  private TaglibHeader(String tldPath, String tlibVersion, String shortName, String uri) {
+    this.tldPath = tldPath;
+    this.tlibVersion = tlibVersion;
+    this.shortName = shortName;
+    this.uri = uri;
+  }
+
+  @Override
+  public String toString() {
+    return tldPath + ": " + uri;
+  }
+
+  /**
+   * Gets the path to the taglib, as given when scanned.
+   */
+  public String getTldPath() {
+    return tldPath;
+  }
+
+  /**
+   * Gets the <code>tlib-version</code>.
+   *
+   * @see  Taglib#getTlibVersion()
+   */
+  public String getTlibVersion() {
+    return tlibVersion;
+  }
+
+  /**
+   * Gets the <code>short-name</code>.
+   *
+   * @see  Taglib#getShortName()
+   */
+  public String getShortName() {
+    return shortName;
+  }
+
+  /**
+   * Gets the <code>uri</code>.
+   *
+   * @see  Taglib#getUri()
+   */
+  public String getUri() {
+    return uri;
+  }
+}
@@ -0,0 +1,408 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes the {@link Taglib} model as JSON, directly to a {@link Writer} without reflection or an intermediate tree.
+ * Back-references, such as {@link Tag#getTaglib()} and {@link Attribute#getTag()}, are not written: each tag is nested
+ * within its taglib and each attribute within its tag.
+ *
+ * <p>Properties with {@code null} values are omitted.  Dates are written as
+ * {@link DateTimeFormatter#ISO_OFFSET_DATE_TIME}.
+ * Strings are escaped for safe embedding in HTML <code>&lt;script&gt;</code> elements.</p>
+ *
+ * <p>Instances are immutable and thread-safe.</p>
+ */
+public final class TaglibJsonWriter {
+
+  /**
+   * The optional, potentially large, parts of the model.
+   */
+  public enum Option {
+    /**
+     * Includes the descriptions of each component.
+     */
+    DESCRIPTIONS,
+
+    /**
+     * Includes the description summary of each tag, attribute, and function.
+     */
+    SUMMARIES,
+
+    /**
+     * Includes the example of each tag and function.
+     */
+    EXAMPLES
+  }
+
+  private final boolean descriptions;
+  private final boolean summaries;
+  private final boolean examples;
+
+  /**
+   * Creates a writer including the given optional parts.
+   */
+  public TaglibJsonWriter(Set<Option> options) {
+    this.descriptions = options.contains(Option.DESCRIPTIONS);
+    this.summaries = options.contains(Option.SUMMARIES);
+    this.examples = options.contains(Option.EXAMPLES);
+  }
+
+  /**
+   * Creates a writer including all optional parts.
+   */
+  public TaglibJsonWriter() {
+    this(EnumSet.allOf(Option.class));
+  }
+
+  /**
+   * Writes a JSON array of taglibs.  Each taglib is written as iterated.
+   */
+  public void write(Iterable<? extends Taglib> taglibs, Writer out) throws IOException {
+    out.write('[');
+    boolean first = true;
+    for (Taglib taglib : taglibs) {
+      if (first) {
+        first = false;
+      } else {
+        out.write(',');
+      }
+      write(taglib, out);
+    }
+    out.write(']');
+  }
+
+  /**
+   * Writes a JSON array of taglibs in UTF-8.  The stream is flushed but not closed.
+   */
+  public void write(Iterable<? extends Taglib> taglibs, OutputStream out) throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    write(taglibs, writer);
+    writer.flush();
+  }
+
+  /**
+   * Writes one taglib in UTF-8.  The stream is flushed but not closed.
+   */
+  public void write(Taglib taglib, OutputStream out) throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    write(taglib, writer);
+    writer.flush();
+  }
+
+  /**
+   * Writes one taglib, including all its tags and functions.
+   */
+  public void write(Taglib taglib, Writer out) throws IOException {
+    out.write('{');
+    boolean first = property(out, true, "tldPath", taglib.getTldPath());
+    first = property(out, first, "tlibVersion", taglib.getTlibVersion());
+    first = property(out, first, "shortName", taglib.getShortName());
+    first = property(out, first, "uri", taglib.getUri());
+    first = property(out, first, "dates", taglib.getDates());
+    first = property(out, first, "allowRobots", taglib.getAllowRobots());
+    if (descriptions) {
+      first = property(out, first, "descriptions", taglib.getDescriptions());
+    }
+    first = property(out, first, "displayNames", taglib.getDisplayNames());
+    first = name(out, first, "tags");
+    out.write('[');
+    boolean firstTag = true;
+    for (Tag tag : taglib.getTags()) {
+      if (firstTag) {
+        firstTag = false;
+      } else {
+        out.write(',');
+      }
+      write(tag, out);
+    }
+    out.write(']');
+    first = property(out, first, "tagsEffectiveDates", taglib.getTagsEffectiveDates());
+    first = name(out, first, "functions");
+    out.write('[');
+    boolean firstFunction = true;
+    for (Function function : taglib.getFunctions()) {
+      if (firstFunction) {
+        firstFunction = false;
+      } else {
+        out.write(',');
+      }
+      write(function, out);
+    }
+    out.write(']');
+    first = property(out, first, "functionsEffectiveDates", taglib.getFunctionsEffectiveDates());
+    first = property(out, first, "taglibEffectiveDates", taglib.getTaglibEffectiveDates());
+    property(out, first, "fingerprint", taglib.getFingerprint().toString());
+    out.write('}');
+  }
+
+  /**
+   * Writes one tag, including all its attributes.
+   */
+  public void write(Tag tag, Writer out) throws IOException {
+    out.write('{');
+    boolean first = property(out, true, "name", tag.getName());
+    first = property(out, first, "dates", tag.getDates());
+    first = property(out, first, "allowRobots", tag.getAllowRobots());
+    if (descriptions) {
+      first = property(out, first, "descriptions", tag.getDescriptions());
+    }
+    if (summaries) {
+      first = property(out, first, "descriptionSummary", tag.getDescriptionSummary());
+    }
+    first = property(out, first, "displayNames", tag.getDisplayNames());
+    first = property(out, first, "tagClass", tag.getTagClass());
+    first = property(out, first, "teiClass", tag.getTeiClass());
+    first = property(out, first, "bodyContent", tag.getBodyContent());
+    first = name(out, first, "attributes");
+    out.write('[');
+    boolean firstAttribute = true;
+    for (Attribute attribute : tag.getAttributes()) {
+      if (firstAttribute) {
+        firstAttribute = false;
+      } else {
+        out.write(',');
+      }
+      write(attribute, out);
+    }
+    out.write(']');
+    first = property(out, first, "dynamicAttributes", tag.getDynamicAttributes());
+    if (examples) {
+      first = property(out, first, "example", tag.getExample());
+    }
+    property(out, first, "fingerprint", tag.getFingerprint().toString());
+    out.write('}');
+  }
+
+  /**
+   * Writes one attribute.
+   */
+  public void write(Attribute attribute, Writer out) throws IOException {
+    out.write('{');
+    boolean first = property(out, true, "name", attribute.getName());
+    if (descriptions) {
+      first = property(out, first, "descriptions", attribute.getDescriptions());
+    }
+    if (summaries) {
+      first = property(out, first, "descriptionSummary", attribute.getDescriptionSummary());
+    }
+    first = property(out, first, "required", attribute.getRequired());
+    first = property(out, first, "rtexprvalue", attribute.getRtexprvalue());
+    first = property(out, first, "fragment", attribute.getFragment());
+    first = property(out, first, "type", attribute.getType());
+    DeferredMethod deferredMethod = attribute.getDeferredMethod();
+    if (deferredMethod != null) {
+      first = name(out, first, "deferredMethod");
+      write(deferredMethod, out);
+    }
+    DeferredValue deferredValue = attribute.getDeferredValue();
+    if (deferredValue != null) {
+      first = name(out, first, "deferredValue");
+      write(deferredValue, out);
+    }
+    property(out, first, "fingerprint", attribute.getFingerprint().toString());
+    out.write('}');
+  }
+
+  /**
+   * Writes one deferred method.
+   */
+  public void write(DeferredMethod deferredMethod, Writer out) throws IOException {
+    out.write('{');
+    property(out, true, "methodSignature", deferredMethod.getMethodSignature());
+    out.write('}');
+  }
+
+  /**
+   * Writes one deferred value.
+   */
+  public void write(DeferredValue deferredValue, Writer out) throws IOException {
+    out.write('{');
+    property(out, true, "type", deferredValue.getType());
+    out.write('}');
+  }
+
+  /**
+   * Writes one function.
+   */
+  public void write(Function function, Writer out) throws IOException {
+    out.write('{');
+    boolean first = property(out, true, "name", function.getName());
+    first = property(out, first, "dates", function.getDates());
+    first = property(out, first, "allowRobots", function.getAllowRobots());
+    if (descriptions) {
+      first = property(out, first, "descriptions", function.getDescriptions());
+    }
+    if (summaries) {
+      first = property(out, first, "descriptionSummary", function.getDescriptionSummary());
+    }
+    first = property(out, first, "displayNames", function.getDisplayNames());
+    first = property(out, first, "functionClass", function.getFunctionClass());
+    first = property(out, first, "functionSignature", function.getFunctionSignature());
+    if (examples) {
+      first = property(out, first, "example", function.getExample());
+    }
+    property(out, first, "fingerprint", function.getFingerprint().toString());
+    out.write('}');
+  }
+
+  /**
+   * Writes one set of dates.
+   */
+  public void write(Dates dates, Writer out) throws IOException {
+    out.write('{');
+    boolean first = property(out, true, "created", dates.getCreated());
+    first = property(out, first, "published", dates.getPublished());
+    first = property(out, first, "modified", dates.getModified());
+    property(out, first, "reviewed", dates.getReviewed());
+    out.write('}');
+  }
+
+  /**
+   * Writes the name of a property, preceded by a comma when not the first property.
+   *
+   * @return  {@code false}, for the next property
+   */
+  private static boolean name(Writer out, boolean first, String name) throws IOException {
+    if (!first) {
+      out.write(',');
+    }
+    out.write('"');
+    out.write(name);
+    out.write("\":");
+    return false;
+  }
+
+  private static boolean property(Writer out, boolean first, String name, String value) throws IOException {
+    if (value == null) {
+      return first;
+    }
+    name(out, first, name);
+    writeString(value, out);
+    return false;
+  }
+
+  private static boolean property(Writer out, boolean first, String name, Boolean value) throws IOException {
+    if (value == null) {
+      return first;
+    }
+    name(out, first, name);
+    out.write(value ? "true" : "false");
+    return false;
+  }
+
+  private static boolean property(Writer out, boolean first, String name, ZonedDateTime value) throws IOException {
+    return property(out, first, name, (value == null) ? null : DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value));
+  }
+
+  private boolean property(Writer out, boolean first, String name, Dates value) throws IOException {
+    if (value == null) {
+      return first;
+    }
+    name(out, first, name);
+    write(value, out);
+    return false;
+  }
+
+  private static boolean property(Writer out, boolean first, String name, List<String> values) throws IOException {
+    name(out, first, name);
+    out.write('[');
+    for (int i = 0, size = values.size(); i < size; i++) {
+      if (i > 0) {
+        out.write(',');
+      }
+      writeString(values.get(i), out);
+    }
+    out.write(']');
+    return false;
+  }
+
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  /**
+   * Writes a JSON string, escaping for safe embedding in HTML and JavaScript.
+   */
+  static void writeString(String value, Writer out) throws IOException {
+    out.write('"');
+    int start = 0;
+    for (int i = 0, len = value.length(); i < len; i++) {
+      char ch = value.charAt(i);
+      String escape;
+      switch (ch) {
+        case '"':
+          escape = "\\\"";
+          break;
+        case '\\':
+          escape = "\\\\";
+          break;
+        case '\n':
+          escape = "\\n";
+          break;
+        case '\r':
+          escape = "\\r";
+          break;
+        case '\t':
+          escape = "\\t";
+          break;
+        case '<':
+        case '>':
+        case '&':
+        case '\u2028':
+        case '\u2029':
+          escape = null;
+          break;
+        default:
+          if (ch >= ' ') {
+            continue;
+          }
+          escape = null;
+      }
+      out.write(value, start, i - start);
+      if (escape != null) {
+        out.write(escape);
+      } else {
+        out.write("\\u");
+        out.write(HEX[(ch >> 12) & 0xf]);
+        out.write(HEX[(ch >> 8) & 0xf]);
+        out.write(HEX[(ch >> 4) & 0xf]);
+        out.write(HEX[ch & 0xf]);
+      }
+      start = i + 1;
+    }
+    out.write(value, start, value.length() - start);
+    out.write('"');
+  }
+}
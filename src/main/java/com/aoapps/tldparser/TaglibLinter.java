@@ -0,0 +1,274 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import com.aoapps.collections.AoCollections;
+import com.aoapps.lang.xml.XmlUtils;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+import javax.xml.parsers.ParserConfigurationException;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.xml.sax.SAXException;
+
+/**
+ * Validates *.tld files, collecting every problem instead of stopping at the first.
+ *
+ * <p>Performs the same checks as {@link Taglib}, {@link Tag}, {@link Attribute}, {@link Function},
+ * {@link DeferredMethod}, and {@link DeferredValue}, but does not build the model and does not generate summaries.
+ * Each problem is reported as a {@link Diagnostic} with the path of the component, in the same form as used in the
+ * exceptions of the model, such as <code><var>tldPath</var>/<var>tagName</var>/<var>attributeName</var></code>.</p>
+ */
+public final class TaglibLinter {
+
+  /** Make no instances. */
+  private TaglibLinter() {
+    throw new AssertionError();
+  }
+
+  /**
+   * One problem found in a *.tld file.
+   */
+  public static final class Diagnostic {
+
+    private final String location;
+    private final String message;
+
+    Diagnostic(String location, String message) {
+      this.location = location;
+      this.message = message;
+    }
+
+    @Override
+    public String toString() {
+      return location + ": " + message;
+    }
+
+    /**
+     * Gets the path of the component with the problem.
+     */
+    public String getLocation() {
+      return location;
+    }
+
+    /**
+     * Gets the description of the problem.
+     */
+    public String getMessage() {
+      return message;
+    }
+  }
+
+  /**
+   * Validates an XML-parsed *.tld file.
+   *
+   * @param tldPath  The path to the taglib, used for diagnostics only
+   * @param defaultDates  The optional default dates for when no date-comments found
+   *
+   * @return  The diagnostics, in document order, or an empty list when valid
+   */
+  public static List<Diagnostic> lint(String tldPath, Dates defaultDates, Document tldDoc) {
+    List<Diagnostic> diagnostics = new ArrayList<>();
+    Element taglibElem = tldDoc.getDocumentElement();
+    Dates taglibDates = lintDates(diagnostics, tldPath, taglibElem, defaultDates, null, null);
+    lintAllowRobots(diagnostics, tldPath, taglibElem);
+    Set<String> tagNames = new HashSet<>();
+    // Matches Taglib and Tag constructors
+    for (Element tagElem : XmlUtils.iterableChildElementsByTagName(taglibElem, "tag")) {
+      String tagName = XmlUtils.getChildTextContent(tagElem, "name");
+      String tagPath = tldPath + "/" + tagName;
+      if (!tagNames.add(tagName)) {
+        diagnostics.add(new Diagnostic(tldPath, "Duplicate tag name: " + tagName));
+      }
+      lintDates(diagnostics, tagPath, tagElem, taglibDates, tldPath, taglibDates);
+      lintAllowRobots(diagnostics, tagPath, tagElem);
+      Set<String> attributeNames = new HashSet<>();
+      for (Element attributeElem : XmlUtils.iterableChildElementsByTagName(tagElem, "attribute")) {
+        String attributeName = XmlUtils.getChildTextContent(attributeElem, "name");
+        String attributePath = tagPath + "/" + attributeName;
+        if (!attributeNames.add(attributeName)) {
+          diagnostics.add(new Diagnostic(tagPath, "Duplicate attribute name: " + attributeName));
+        }
+        lintGenerics(diagnostics, attributePath, attributeElem, "type", Attribute.TYPE_PATTERN, "type");
+        Element deferredMethodElem = XmlUtils.getChildElementByTagName(attributeElem, "deferred-method");
+        if (deferredMethodElem != null) {
+          lintGenerics(diagnostics, attributePath + "/deferred-method", deferredMethodElem,
+              "method-signature", DeferredMethod.METHOD_SIGNATURE_PATTERN, "methodSignature");
+        }
+        Element deferredValueElem = XmlUtils.getChildElementByTagName(attributeElem, "deferred-value");
+        if (deferredValueElem != null) {
+          lintGenerics(diagnostics, attributePath + "/deferred-value", deferredValueElem,
+              "type", DeferredValue.TYPE_PATTERN, "type");
+        }
+      }
+      if (XmlUtils.iterableChildElementsByTagName(tagElem, "variable").iterator().hasNext()) {
+        diagnostics.add(new Diagnostic(tagPath, "Variables are not supported"));
+      }
+    }
+    Set<String> functionNames = new HashSet<>();
+    // Matches Taglib and Function constructors
+    for (Element functionElem : XmlUtils.iterableChildElementsByTagName(taglibElem, "function")) {
+      String functionName = XmlUtils.getChildTextContent(functionElem, "name");
+      String functionPath = tldPath + "/" + functionName;
+      if (!functionNames.add(functionName)) {
+        diagnostics.add(new Diagnostic(tldPath, "Duplicate function name: " + functionName));
+      }
+      lintDates(diagnostics, functionPath, functionElem, taglibDates, tldPath, taglibDates);
+      lintAllowRobots(diagnostics, functionPath, functionElem);
+      lintGenerics(diagnostics, functionPath, functionElem, "function-signature", Function.FUNCTION_SIGNATURE_PATTERN, "functionSignature");
+    }
+    return AoCollections.optimalUnmodifiableList(diagnostics);
+  }
+
+  /**
+   * Parses and validates the dates of one element.
+   *
+   * @param otherPath  The path of the parent to not be before or {@code null} for none
+   *
+   * @return  The dates or {@code defaultDates} when unable to parse
+   */
+  private static Dates lintDates(List<Diagnostic> diagnostics, String path, Element elem, Dates defaultDates,
+      String otherPath, Dates other) {
+    Dates dates;
+    try {
+      dates = Dates.fromComments(elem, defaultDates);
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      diagnostics.add(new Diagnostic(path, e.getMessage()));
+      return defaultDates;
+    }
+    if (otherPath != null && other != null) {
+      try {
+        dates.checkNotBefore(path, otherPath, other);
+      } catch (IllegalArgumentException e) {
+        diagnostics.add(new Diagnostic(path, e.getMessage()));
+      }
+    }
+    return dates;
+  }
+
+  private static void lintAllowRobots(List<Diagnostic> diagnostics, String path, Element elem) {
+    try {
+      XmlHelper.parseAllowRobots(elem);
+    } catch (IllegalArgumentException e) {
+      diagnostics.add(new Diagnostic(path, e.getMessage()));
+    }
+  }
+
+  private static void lintGenerics(List<Diagnostic> diagnostics, String path, Element elem, String childTagName,
+      Pattern pattern, String varName) {
+    try {
+      XmlHelper.getChildWithGenerics(elem, childTagName, pattern, varName);
+    } catch (IllegalArgumentException e) {
+      diagnostics.add(new Diagnostic(path, e.getMessage()));
+    }
+  }
+
+  /**
+   * Parses and validates a *.tld file.  A file that is not well-formed XML is reported as a single diagnostic.
+   *
+   * @param tldPath  The path to the taglib, used for diagnostics only
+   * @param defaultDates  The optional default dates for when no date-comments found
+   *
+   * @return  The diagnostics, in document order, or an empty list when valid
+   */
+  public static List<Diagnostic> lint(String tldPath, Dates defaultDates, InputStream in)
+      throws ParserConfigurationException, IOException {
+    Document tldDoc;
+    try {
+      tldDoc = TldParser.parse(tldPath, in);
+    } catch (SAXException e) {
+      return Collections.singletonList(new Diagnostic(tldPath, e.getMessage()));
+    }
+    return lint(tldPath, defaultDates, tldDoc);
+  }
+
+  /**
+   * Parses and validates a *.tld file.  A file that is not well-formed XML is reported as a single diagnostic.
+   *
+   * @param defaultDates  The optional default dates for when no date-comments found
+   *
+   * @return  The diagnostics, in document order, or an empty list when valid
+   */
+  public static List<Diagnostic> lint(Path tldFile, Dates defaultDates) throws ParserConfigurationException, IOException {
+    try (InputStream in = Files.newInputStream(tldFile)) {
+      return lint(tldFile.toString(), defaultDates, in);
+    }
+  }
+
+  /**
+   * Parses and validates all the given *.tld files in parallel.
+   *
+   * @param defaultDates  The optional default dates for when no date-comments found
+   *
+   * @return  The diagnostics, in the order of the *.tld files then document order, or an empty list when all valid
+   */
+  public static List<Diagnostic> lint(
+      Iterable<? extends TaglibDiscovery.TldResource> tlds,
+      Dates defaultDates,
+      ExecutorService executor
+  ) throws ParserConfigurationException, IOException, InterruptedException {
+    List<Callable<List<Diagnostic>>> tasks = new ArrayList<>();
+    for (TaglibDiscovery.TldResource tld : tlds) {
+      tasks.add(() -> lint(tld.getTldPath(), defaultDates, tld.getInputStream()));
+    }
+    List<Diagnostic> diagnostics = new ArrayList<>();
+    for (Future<List<Diagnostic>> future : executor.invokeAll(tasks)) {
+      try {
+        diagnostics.addAll(future.get());
+      } catch (ExecutionException e) {
+        TldParser.throwCause(e, ParserConfigurationException.class, IOException.class);
+      }
+    }
+    return AoCollections.optimalUnmodifiableList(diagnostics);
+  }
+
+  /**
+   * Parses and validates all the given *.tld files in parallel on the
+   * {@linkplain ForkJoinPool#commonPool() common pool}.
+   *
+   * @param defaultDates  The optional default dates for when no date-comments found
+   *
+   * @return  The diagnostics, in the order of the *.tld files then document order, or an empty list when all valid
+   */
+  public static List<Diagnostic> lint(
+      Iterable<? extends TaglibDiscovery.TldResource> tlds,
+      Dates defaultDates
+  ) throws ParserConfigurationException, IOException, InterruptedException {
+    return lint(tlds, defaultDates, ForkJoinPool.commonPool());
+  }
+}
@@ -0,0 +1,526 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import com.aoapps.collections.AoCollections;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.xpath.XPathExpressionException;
+import org.w3c.dom.Document;
+import org.xml.sax.SAXException;
+
+/**
+ * Loads *.tld files from the filesystem, either directly, asynchronously, or in bulk.
+ */
+public final class TaglibLoader {
+
+  /** Make no instances. */
+  private TaglibLoader() {
+    throw new AssertionError();
+  }
+
+  private static final String TLD_EXTENSION = ".tld";
+
+  /**
+   * Finds all *.tld files in a directory and its subdirectories.
+   *
+   * @return  The *.tld files, sorted by path
+   */
+  public static List<Path> findTldFiles(Path directory) throws IOException {
+    try (Stream<Path> walk = Files.walk(directory)) {
+      return walk
+          .filter(p -> p.getFileName().toString().endsWith(TLD_EXTENSION) && Files.isRegularFile(p))
+          .sorted()
+          .collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * Loads a *.tld file.
+   *
+   * @param summaryClass  The CSS class that marks elements to be included in summaries
+   * @param summaryCache  The optional cache consulted before generating each summary
+   * @param defaultDates  The optional default dates for when no date-comments found
+   */
+  public static Taglib load(
+      Path tldFile,
+      String summaryClass,
+      SummaryCache summaryCache,
+      Dates defaultDates
+  ) throws ParserConfigurationException, SAXException, IOException, XPathExpressionException {
+    String tldPath = tldFile.toString();
+    try (InputStream in = Files.newInputStream(tldFile)) {
+      return new Taglib(summaryClass, summaryCache, tldPath, defaultDates, TldParser.parse(tldPath, in));
+    }
+  }
+
+  /**
+   * Loads a *.tld file, computing all summaries in parallel.
+   *
+   * @param summaryClass  The CSS class that marks elements to be included in summaries
+   * @param summaryCache  The optional cache consulted before generating each summary
+   * @param defaultDates  The optional default dates for when no date-comments found
+   * @param summaryPool  The pool that computes the summaries
+   *
+   * @see  Taglib#Taglib(java.lang.String, com.aoapps.tldparser.SummaryCache, java.lang.String, com.aoapps.tldparser.Dates, org.w3c.dom.Document, java.util.concurrent.ForkJoinPool)
+   */
+  public static Taglib load(
+      Path tldFile,
+      String summaryClass,
+      SummaryCache summaryCache,
+      Dates defaultDates,
+      ForkJoinPool summaryPool
+  ) throws ParserConfigurationException, SAXException, IOException, XPathExpressionException {
+    String tldPath = tldFile.toString();
+    try (InputStream in = Files.newInputStream(tldFile)) {
+      return new Taglib(summaryClass, summaryCache, tldPath, defaultDates, TldParser.parse(tldPath, in), summaryPool);
+    }
+  }
+
+  /**
+   * Reloads a *.tld file, reusing unchanged values from its previous version.
+   *
+   * @param previous  The previous version of the taglib or {@code null} to load without reuse
+   * @param summaryClass  The CSS class that marks elements to be included in summaries
+   * @param summaryCache  The optional cache consulted before generating each summary
+   * @param defaultDates  The optional default dates for when no date-comments found
+   *
+   * @return  The new version or {@code previous} when unchanged
+   *
+   * @see  Taglib#reload(com.aoapps.tldparser.Taglib, java.lang.String, com.aoapps.tldparser.SummaryCache, java.lang.String, com.aoapps.tldparser.Dates, org.w3c.dom.Document)
+   */
+  public static Taglib reload(
+      Taglib previous,
+      Path tldFile,
+      String summaryClass,
+      SummaryCache summaryCache,
+      Dates defaultDates
+  ) throws ParserConfigurationException, SAXException, IOException, XPathExpressionException {
+    String tldPath = tldFile.toString();
+    try (InputStream in = Files.newInputStream(tldFile)) {
+      return Taglib.reload(previous, summaryClass, summaryCache, tldPath, defaultDates, TldParser.parse(tldPath, in));
+    }
+  }
+
+  /**
+   * Loads a *.tld file asynchronously.
+   * Cancelling the future before the load has started prevents the load.
+   *
+   * @param summaryClass  The CSS class that marks elements to be included in summaries
+   * @param summaryCache  The optional cache consulted before generating each summary
+   * @param defaultDates  The optional default dates for when no date-comments found
+   * @param executor  The executor that reads and parses the file
+   */
+  public static CompletableFuture<Taglib> loadAsync(
+      Path tldFile,
+      String summaryClass,
+      SummaryCache summaryCache,
+      Dates defaultDates,
+      Executor executor
+  ) {
+    CompletableFuture<Taglib> future = new CompletableFuture<>();
+    try {
+      executor.execute(() -> {
+        if (!future.isDone()) {
+          try {
+            future.complete(load(tldFile, summaryClass, summaryCache, defaultDates));
+          } catch (Throwable t) {
+            future.completeExceptionally(t);
+          }
+        }
+      });
+    } catch (RuntimeException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  /**
+   * The default maximum number of files read concurrently by
+   * {@link #loadAll(java.util.Collection, java.lang.String, com.aoapps.tldparser.SummaryCache, com.aoapps.tldparser.Dates)}.
+   */
+  public static final int DEFAULT_MAX_CONCURRENT_READS = 64;
+
+  /**
+   * Loads many *.tld files, separating the I/O-bound reading of each file from the CPU-bound parsing.
+   * This is intended for large numbers of files on high-latency storage, where the total time should approach
+   * the latency of the slowest file instead of the sum of all latencies.
+   *
+   * <p>Each file is read in its own task on <code>ioExecutor</code>, with no more than <code>maxConcurrentReads</code>
+   * reads in progress at once.  On Java 21 and newer, a virtual thread per task executor is ideal for <code>ioExecutor</code>.
+   * Each file is then parsed on <code>cpuExecutor</code>, which should be bounded to about the number of processors.</p>
+   *
+   * <p>When any load fails, the first failure in the order of the *.tld files is thrown after all loads have completed.</p>
+   *
+   * @param summaryClass  The CSS class that marks elements to be included in summaries
+   * @param summaryCache  The optional cache consulted before generating each summary
+   * @param defaultDates  The optional default dates for when no date-comments found
+   * @param ioExecutor  The executor that reads the files
+   * @param cpuExecutor  The executor that parses the files
+   * @param maxConcurrentReads  The maximum number of files read at once
+   *
+   * @return  The taglibs, in the same order as the *.tld files
+   */
+  public static List<Taglib> loadAll(
+      Collection<? extends Path> tldFiles,
+      String summaryClass,
+      SummaryCache summaryCache,
+      Dates defaultDates,
+      Executor ioExecutor,
+      Executor cpuExecutor,
+      int maxConcurrentReads
+  ) throws ParserConfigurationException, SAXException, IOException, XPathExpressionException, InterruptedException {
+    return loadAll(tldFiles, summaryClass, summaryCache, defaultDates, ioExecutor, cpuExecutor, maxConcurrentReads, Files::readAllBytes);
+  }
+
+  /**
+   * Reads the contents of a file.
+   */
+  @FunctionalInterface
+  interface TldReader {
+    byte[] read(Path file) throws IOException;
+  }
+
+  /**
+   * Loads many *.tld files, reading each with the given reader.
+   *
+   * @see  #loadAll(java.util.Collection, java.lang.String, com.aoapps.tldparser.SummaryCache, com.aoapps.tldparser.Dates, java.util.concurrent.Executor, java.util.concurrent.Executor, int)
+   */
+  static List<Taglib> loadAll(
+      Collection<? extends Path> tldFiles,
+      String summaryClass,
+      SummaryCache summaryCache,
+      Dates defaultDates,
+      Executor ioExecutor,
+      Executor cpuExecutor,
+      int maxConcurrentReads,
+      TldReader reader
+  ) throws ParserConfigurationException, SAXException, IOException, XPathExpressionException, InterruptedException {
+    if (maxConcurrentReads < 1) {
+      throw new IllegalArgumentException("maxConcurrentReads < 1: " + maxConcurrentReads);
+    }
+    Semaphore reads = new Semaphore(maxConcurrentReads);
+    List<CompletableFuture<Taglib>> futures = new ArrayList<>(tldFiles.size());
+    for (Path tldFile : tldFiles) {
+      String tldPath = tldFile.toString();
+      futures.add(
+          CompletableFuture.supplyAsync(
+              () -> {
+                try {
+                  reads.acquire();
+                  try {
+                    return reader.read(tldFile);
+                  } finally {
+                    reads.release();
+                  }
+                } catch (IOException e) {
+                  throw new CompletionException(e);
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                  throw new CompletionException(e);
+                }
+              },
+              ioExecutor
+          ).thenApplyAsync(
+              tld -> {
+                try {
+                  Document tldDoc = TldParser.parse(tldPath, tld);
+                  return new Taglib(summaryClass, summaryCache, tldPath, defaultDates, tldDoc);
+                } catch (ParserConfigurationException | SAXException | IOException | XPathExpressionException e) {
+                  throw new CompletionException(e);
+                }
+              },
+              cpuExecutor
+          )
+      );
+    }
+    List<Taglib> taglibs = new ArrayList<>(futures.size());
+    ExecutionException firstFailure = null;
+    for (CompletableFuture<Taglib> future : futures) {
+      try {
+        Taglib taglib = future.get();
+        if (firstFailure == null) {
+          taglibs.add(taglib);
+        }
+      } catch (ExecutionException e) {
+        if (firstFailure == null) {
+          firstFailure = e;
+        }
+      }
+    }
+    if (firstFailure != null) {
+      if (firstFailure.getCause() instanceof InterruptedException) {
+        throw (InterruptedException) firstFailure.getCause();
+      }
+      TldParser.throwCause(firstFailure);
+    }
+    return AoCollections.optimalUnmodifiableList(taglibs);
+  }
+
+  /**
+   * Loads many *.tld files, reading up to {@link #DEFAULT_MAX_CONCURRENT_READS} files at once
+   * and parsing on one thread per processor.
+   *
+   * @param summaryClass  The CSS class that marks elements to be included in summaries
+   * @param summaryCache  The optional cache consulted before generating each summary
+   * @param defaultDates  The optional default dates for when no date-comments found
+   *
+   * @return  The taglibs, in the same order as the *.tld files
+   *
+   * @see  #loadAll(java.util.Collection, java.lang.String, com.aoapps.tldparser.SummaryCache, com.aoapps.tldparser.Dates, java.util.concurrent.Executor, java.util.concurrent.Executor, int)
+   */
+  public static List<Taglib> loadAll(
+      Collection<? extends Path> tldFiles,
+      String summaryClass,
+      SummaryCache summaryCache,
+      Dates defaultDates
+  ) throws ParserConfigurationException, SAXException, IOException, XPathExpressionException, InterruptedException {
+    int reads = Math.max(1, Math.min(DEFAULT_MAX_CONCURRENT_READS, tldFiles.size()));
+    ExecutorService ioExecutor = Executors.newFixedThreadPool(reads, TaglibLoader::newDaemonThread);
+    try {
+      ExecutorService cpuExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), TaglibLoader::newDaemonThread);
+      try {
+        return loadAll(tldFiles, summaryClass, summaryCache, defaultDates, ioExecutor, cpuExecutor, reads);
+      } finally {
+        cpuExecutor.shutdown();
+      }
+    } finally {
+      ioExecutor.shutdown();
+    }
+  }
+
+  static Thread newDaemonThread(Runnable runnable) {
+    Thread thread = new Thread(runnable, TaglibLoader.class.getName());
+    thread.setDaemon(true);
+    return thread;
+  }
+
+  /**
+   * Publishes the taglibs of the given *.tld files, each as soon as it is loaded.
+   * The order of the taglibs is the order their loads complete.
+   *
+   * <p>Each subscriber loads the files independently.  Loads are only started for outstanding demand,
+   * so the number of taglibs loaded but not yet delivered never exceeds what the subscriber has requested.
+   * Cancelling the subscription prevents all loads not yet started, and discards the results of any in progress.
+   * The first failed load is delivered to {@link Flow.Subscriber#onError(java.lang.Throwable)}.</p>
+   *
+   * @param summaryClass  The CSS class that marks elements to be included in summaries
+   * @param summaryCache  The optional cache consulted before generating each summary
+   * @param defaultDates  The optional default dates for when no date-comments found
+   * @param executor  The executor that reads and parses the files
+   *
+   * @see  #findTldFiles(java.nio.file.Path)
+   */
+  public static Flow.Publisher<Taglib> publish(
+      Iterable<? extends Path> tldFiles,
+      String summaryClass,
+      SummaryCache summaryCache,
+      Dates defaultDates,
+      Executor executor
+  ) {
+    List<Callable<Taglib>> loads = new ArrayList<>();
+    for (Path tldFile : tldFiles) {
+      loads.add(() -> load(tldFile, summaryClass, summaryCache, defaultDates));
+    }
+    return subscriber -> new LoadSubscription(subscriber, executor, loads).start();
+  }
+
+  /**
+   * Publishes the taglibs of the given *.tld files already read into memory, such as from a set of jar files,
+   * each as soon as it is loaded.
+   *
+   * @param summaryClass  The CSS class that marks elements to be included in summaries
+   * @param summaryCache  The optional cache consulted before generating each summary
+   * @param defaultDates  The optional default dates for when no date-comments found
+   * @param executor  The executor that parses the files
+   *
+   * @see  #publish(java.lang.Iterable, java.lang.String, com.aoapps.tldparser.SummaryCache, com.aoapps.tldparser.Dates, java.util.concurrent.Executor)
+   * @see  TaglibDiscovery#find(java.lang.Iterable)
+   */
+  public static Flow.Publisher<Taglib> publishResources(
+      Iterable<? extends TaglibDiscovery.TldResource> tlds,
+      String summaryClass,
+      SummaryCache summaryCache,
+      Dates defaultDates,
+      Executor executor
+  ) {
+    List<Callable<Taglib>> loads = new ArrayList<>();
+    for (TaglibDiscovery.TldResource tld : tlds) {
+      loads.add(() -> tld.load(summaryClass, summaryCache, defaultDates));
+    }
+    return subscriber -> new LoadSubscription(subscriber, executor, loads).start();
+  }
+
+  /**
+   * A failed load, queued for delivery.
+   */
+  private static final class Failure {
+    private final Throwable cause;
+
+    private Failure(Throwable cause) {
+      this.cause = cause;
+    }
+  }
+
+  /**
+   * Starts loads for outstanding demand and serializes delivery to the subscriber.
+   */
+  private static final class LoadSubscription implements Flow.Subscription {
+
+    private final Flow.Subscriber<? super Taglib> subscriber;
+    private final Executor executor;
+    private final List<Callable<Taglib>> loads;
+
+    /**
+     * Loaded {@link Taglib} and {@link Failure}, waiting for delivery.
+     */
+    private final Queue<Object> completed = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Work-in-progress counter, allowing only one thread to deliver at a time.
+     */
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private volatile boolean cancelled;
+
+    // All guarded by this
+    private long requested;
+    private int started;
+
+    // Only accessed while delivering
+    private int delivered;
+    private boolean terminated;
+
+    private LoadSubscription(Flow.Subscriber<? super Taglib> subscriber, Executor executor, List<Callable<Taglib>> loads) {
+      this.subscriber = subscriber;
+      this.executor = executor;
+      this.loads = loads;
+    }
+
+    private void start() {
+      subscriber.onSubscribe(this);
+      // Completes immediately when there is nothing to load
+      deliver();
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        completed.add(new Failure(new IllegalArgumentException("non-positive request: " + n)));
+        deliver();
+        return;
+      }
+      List<Callable<Taglib>> toStart = new ArrayList<>();
+      synchronized (this) {
+        requested += n;
+        if (requested < 0) {
+          // Overflow: unbounded
+          requested = Long.MAX_VALUE;
+        }
+        while (requested > 0 && started < loads.size() && !cancelled) {
+          requested--;
+          toStart.add(loads.get(started++));
+        }
+      }
+      for (Callable<Taglib> load : toStart) {
+        try {
+          executor.execute(() -> run(load));
+        } catch (RuntimeException e) {
+          completed.add(new Failure(e));
+          deliver();
+        }
+      }
+    }
+
+    private void run(Callable<Taglib> load) {
+      if (!cancelled) {
+        Object result;
+        try {
+          result = load.call();
+        } catch (Throwable t) {
+          result = new Failure(t);
+        }
+        if (!cancelled) {
+          completed.add(result);
+          deliver();
+        }
+      }
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+      completed.clear();
+    }
+
+    private void deliver() {
+      if (wip.getAndIncrement() != 0) {
+        return;
+      }
+      do {
+        Object next;
+        while (!terminated && (next = completed.poll()) != null) {
+          if (cancelled) {
+            completed.clear();
+            break;
+          }
+          if (next instanceof Failure) {
+            terminated = true;
+            cancelled = true;
+            completed.clear();
+            subscriber.onError(((Failure) next).cause);
+          } else {
+            delivered++;
+            subscriber.onNext((Taglib) next);
+          }
+        }
+        if (!terminated && !cancelled && delivered == loads.size()) {
+          terminated = true;
+          subscriber.onComplete();
+        }
+      } while (wip.decrementAndGet() != 0);
+    }
+  }
+}
@@ -0,0 +1,192 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import com.aoapps.collections.AoCollections;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A thread-safe registry of {@link Taglib}, indexed by {@link Taglib#getTldPath()} and {@link Taglib#getUri()}.
+ *
+ * <p>Readers never lock: each read is against an immutable {@link Snapshot}, and a snapshot obtained by
+ * {@link #getSnapshot()} is consistent across any number of reads.  Writers publish a new snapshot by
+ * compare-and-set.  Each snapshot shares nearly all of its indexes with the previous snapshot, so adding,
+ * replacing, or removing one taglib does not copy the indexes of all the others.</p>
+ *
+ * <p>When more than one taglib has the same URI, {@link Snapshot#getByUri(java.lang.String)}
+ * returns the most recently added.  When that taglib is removed, the most recently added of the remaining
+ * taglibs with the URI is returned.</p>
+ */
+public final class TaglibRegistry {
+
+  /**
+   * An immutable, consistent view of the registry at one point in time.
+   */
+  public static final class Snapshot {
+
+    private static final Snapshot EMPTY = new Snapshot(SegmentedMap.empty(), SegmentedMap.empty());
+
+    private final SegmentedMap<String, Taglib> byTldPath;
+
+    /**
+     * All taglibs of each URI, in the order added.
+     */
+    private final SegmentedMap<String, List<Taglib>> byUri;
+
+    private Snapshot(SegmentedMap<String, Taglib> byTldPath, SegmentedMap<String, List<Taglib>> byUri) {
+      this.byTldPath = byTldPath;
+      this.byUri = byUri;
+    }
+
+    /**
+     * Gets a taglib by its path.
+     *
+     * @return  The taglib or {@code null} when not found
+     */
+    public Taglib getByTldPath(String tldPath) {
+      return byTldPath.get(tldPath);
+    }
+
+    /**
+     * Gets a taglib by its URI.
+     *
+     * @return  The taglib or {@code null} when not found
+     */
+    public Taglib getByUri(String uri) {
+      List<Taglib> taglibs = byUri.get(uri);
+      return taglibs == null ? null : taglibs.get(taglibs.size() - 1);
+    }
+
+    /**
+     * Gets an unmodifiable view of all taglibs, in no particular order.
+     */
+    public Collection<Taglib> getTaglibs() {
+      return byTldPath.values();
+    }
+
+    /**
+     * Gets the number of taglibs.
+     */
+    public int size() {
+      return byTldPath.size();
+    }
+
+    private Snapshot put(Taglib taglib) {
+      String tldPath = taglib.getTldPath();
+      Snapshot removed = remove(tldPath);
+      SegmentedMap<String, List<Taglib>> newByUri = removed.byUri;
+      String uri = taglib.getUri();
+      if (uri != null) {
+        List<Taglib> taglibs = newByUri.get(uri);
+        List<Taglib> newTaglibs = new ArrayList<>((taglibs == null ? 0 : taglibs.size()) + 1);
+        if (taglibs != null) {
+          newTaglibs.addAll(taglibs);
+        }
+        newTaglibs.add(taglib);
+        newByUri = newByUri.with(uri, AoCollections.optimalUnmodifiableList(newTaglibs));
+      }
+      return new Snapshot(removed.byTldPath.with(tldPath, taglib), newByUri);
+    }
+
+    private Snapshot remove(String tldPath) {
+      Taglib existing = byTldPath.get(tldPath);
+      if (existing == null) {
+        return this;
+      }
+      SegmentedMap<String, Taglib> newByTldPath = byTldPath.without(tldPath);
+      SegmentedMap<String, List<Taglib>> newByUri = byUri;
+      String uri = existing.getUri();
+      if (uri != null) {
+        List<Taglib> newTaglibs = new ArrayList<>(byUri.get(uri));
+        newTaglibs.removeIf(taglib -> taglib == existing);
+        newByUri = newTaglibs.isEmpty()
+            ? newByUri.without(uri)
+            : newByUri.with(uri, AoCollections.optimalUnmodifiableList(newTaglibs));
+      }
+      return new Snapshot(newByTldPath, newByUri);
+    }
+  }
+
+  private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+
+  /**
+   * Gets the current snapshot.  Use the same snapshot for reads that must be consistent with each other.
+   */
+  public Snapshot getSnapshot() {
+    return snapshot.get();
+  }
+
+  /**
+   * Gets a taglib by its path from the current snapshot.
+   *
+   * @return  The taglib or {@code null} when not found
+   */
+  public Taglib getByTldPath(String tldPath) {
+    return snapshot.get().getByTldPath(tldPath);
+  }
+
+  /**
+   * Gets a taglib by its URI from the current snapshot.
+   *
+   * @return  The taglib or {@code null} when not found
+   */
+  public Taglib getByUri(String uri) {
+    return snapshot.get().getByUri(uri);
+  }
+
+  /**
+   * Adds a taglib, replacing any existing taglib of the same path.
+   *
+   * @return  The taglib replaced or {@code null} when none
+   */
+  public Taglib put(Taglib taglib) {
+    Objects.requireNonNull(taglib);
+    while (true) {
+      Snapshot current = snapshot.get();
+      Snapshot updated = current.put(taglib);
+      if (snapshot.compareAndSet(current, updated)) {
+        return current.getByTldPath(taglib.getTldPath());
+      }
+    }
+  }
+
+  /**
+   * Removes a taglib by its path.
+   *
+   * @return  The taglib removed or {@code null} when not found
+   */
+  public Taglib remove(String tldPath) {
+    while (true) {
+      Snapshot current = snapshot.get();
+      Snapshot updated = current.remove(tldPath);
+      if (updated == current || snapshot.compareAndSet(current, updated)) {
+        return current.getByTldPath(tldPath);
+      }
+    }
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+/**
+ * Receives the components of a *.tld file directly from the document, without building
+ * the {@link Taglib} model.  This is much lighter when only a projection of the data is needed.
+ *
+ * <p>The taglib is visited first, followed by each tag with its attributes, then each function.
+ * All methods default to {@link Result#CONTINUE}.</p>
+ *
+ * <p>Summaries are not generated.  Dates are resolved the same as the model, with each tag and function
+ * defaulting to the dates of the taglib.</p>
+ *
+ * @see  TaglibWalker
+ */
+public interface TaglibVisitor {
+
+  /**
+   * Controls how the walk continues after each visit.
+   */
+  enum Result {
+    /**
+     * Continue, including the children of the element just visited.
+     */
+    CONTINUE,
+
+    /**
+     * Continue, but skip the children of the element just visited.
+     * After {@link #visitTaglib(java.lang.String, java.lang.String, java.lang.String, java.lang.String, com.aoapps.tldparser.Dates, java.lang.Boolean)},
+     * skips all tags and functions.  After {@link #visitTag(java.lang.String, java.lang.String, java.lang.String, java.lang.String, boolean, com.aoapps.tldparser.Dates, java.lang.Boolean)},
+     * skips its attributes.
+     */
+    SKIP_CHILDREN,
+
+    /**
+     * Stop the walk entirely.
+     */
+    TERMINATE
+  }
+
+  /**
+   * Visits the taglib overall.
+   *
+   * @see  Taglib
+   */
+  default Result visitTaglib(
+      String tldPath,
+      String tlibVersion,
+      String shortName,
+      String uri,
+      Dates dates,
+      Boolean allowRobots
+  ) {
+    return Result.CONTINUE;
+  }
+
+  /**
+   * Visits one tag.
+   *
+   * @see  Tag
+   */
+  default Result visitTag(
+      String name,
+      String tagClass,
+      String teiClass,
+      String bodyContent,
+      boolean dynamicAttributes,
+      Dates dates,
+      Boolean allowRobots
+  ) {
+    return Result.CONTINUE;
+  }
+
+  /**
+   * Visits one attribute of the most recently visited tag.
+   *
+   * @param type  The type, including any generics
+   *
+   * @see  Attribute
+   */
+  default Result visitAttribute(
+      String name,
+      boolean required,
+      boolean rtexprvalue,
+      boolean fragment,
+      String type
+  ) {
+    return Result.CONTINUE;
+  }
+
+  /**
+   * Visits one function.
+   *
+   * @param functionSignature  The function signature, including any generics
+   *
+   * @see  Function
+   */
+  default Result visitFunction(
+      String name,
+      String functionClass,
+      String functionSignature,
+      Dates dates,
+      Boolean allowRobots
+  ) {
+    return Result.CONTINUE;
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import com.aoapps.lang.xml.XmlUtils;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * Walks an XML-parsed *.tld file, calling a {@link TaglibVisitor} for each component.
+ */
+public final class TaglibWalker {
+
+  /** Make no instances. */
+  private TaglibWalker() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Walks an XML-parsed *.tld file.
+   *
+   * @param tldPath  The path to the taglib, used for error messages only
+   * @param defaultDates  The optional default dates for when no date-comments found
+   * @param tldDoc  The document that has already been parsed
+   *
+   * @return  {@code true} when the walk completed or {@code false} when terminated by the visitor
+   */
+  public static boolean walk(
+      String tldPath,
+      Dates defaultDates,
+      Document tldDoc,
+      TaglibVisitor visitor
+  ) {
+    Element taglibElem = tldDoc.getDocumentElement();
+    Dates taglibDates = Dates.fromComments(taglibElem, defaultDates);
+    TaglibVisitor.Result result = visitor.visitTaglib(
+        tldPath,
+        XmlUtils.getChildTextContent(taglibElem, "tlib-version"),
+        XmlUtils.getChildTextContent(taglibElem, "short-name"),
+        XmlUtils.getChildTextContent(taglibElem, "uri"),
+        taglibDates,
+        XmlHelper.parseAllowRobots(taglibElem)
+    );
+    if (result == TaglibVisitor.Result.TERMINATE) {
+      return false;
+    }
+    if (result == TaglibVisitor.Result.SKIP_CHILDREN) {
+      return true;
+    }
+    for (Element tagElem : XmlUtils.iterableChildElementsByTagName(taglibElem, "tag")) {
+      String tagName = XmlUtils.getChildTextContent(tagElem, "name");
+      // Matches Tag constructor
+      Dates tagDates = Dates.fromComments(tagElem, taglibDates);
+      tagDates.checkNotBefore(tldPath + "/" + tagName, tldPath, taglibDates);
+      result = visitor.visitTag(
+          tagName,
+          XmlUtils.getChildTextContent(tagElem, "tag-class"),
+          XmlUtils.getChildTextContent(tagElem, "tei-class"),
+          XmlUtils.getChildTextContent(tagElem, "body-content"),
+          Boolean.parseBoolean(XmlUtils.getChildTextContent(tagElem, "dynamic-attributes")),
+          tagDates,
+          XmlHelper.parseAllowRobots(tagElem)
+      );
+      if (result == TaglibVisitor.Result.TERMINATE) {
+        return false;
+      }
+      if (result == TaglibVisitor.Result.CONTINUE) {
+        for (Element attributeElem : XmlUtils.iterableChildElementsByTagName(tagElem, "attribute")) {
+          // Matches Attribute constructor
+          if (
+              visitor.visitAttribute(
+                  XmlUtils.getChildTextContent(attributeElem, "name"),
+                  Boolean.parseBoolean(XmlUtils.getChildTextContent(attributeElem, "required")),
+                  Boolean.parseBoolean(XmlUtils.getChildTextContent(attributeElem, "rtexprvalue")),
+                  Boolean.parseBoolean(XmlUtils.getChildTextContent(attributeElem, "fragment")),
+                  XmlHelper.getChildWithGenerics(attributeElem, "type", Attribute.TYPE_PATTERN, "type")
+              ) == TaglibVisitor.Result.TERMINATE
+          ) {
+            return false;
+          }
+        }
+      }
+    }
+    for (Element functionElem : XmlUtils.iterableChildElementsByTagName(taglibElem, "function")) {
+      String functionName = XmlUtils.getChildTextContent(functionElem, "name");
+      // Matches Function constructor
+      Dates functionDates = Dates.fromComments(functionElem, taglibDates);
+      functionDates.checkNotBefore(tldPath + "/" + functionName, tldPath, taglibDates);
+      if (
+          visitor.visitFunction(
+              functionName,
+              XmlUtils.getChildTextContent(functionElem, "function-class"),
+              XmlHelper.getChildWithGenerics(functionElem, "function-signature", Function.FUNCTION_SIGNATURE_PATTERN, "functionSignature"),
+              functionDates,
+              XmlHelper.parseAllowRobots(functionElem)
+          ) == TaglibVisitor.Result.TERMINATE
+      ) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
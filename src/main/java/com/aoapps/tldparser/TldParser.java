@@ -0,0 +1,142 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ExecutionException;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.xpath.XPathExpressionException;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * Parses *.tld files into {@link Document} for the loaders within this package.
+ * A {@link DocumentBuilder} is reused per thread.
+ */
+final class TldParser {
+
+  /** Make no instances. */
+  private TldParser() {
+    throw new AssertionError();
+  }
+
+  private static final ThreadLocal<DocumentBuilder> documentBuilder = ThreadLocal.withInitial(() -> {
+    // TODO: New XML Processing Limits (JDK-8270504 (not public)), see https://www.oracle.com/java/technologies/javase/8all-relnotes.html
+    DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+    try {
+      // Do not fetch the DTD of older *.tld files
+      factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+      return factory.newDocumentBuilder();
+    } catch (ParserConfigurationException e) {
+      throw new IllegalStateException(e);
+    }
+  });
+
+  /**
+   * Parses a *.tld file.  The stream is not closed.
+   *
+   * @param tldPath  The path to the taglib, used as the system ID
+   */
+  static Document parse(String tldPath, InputStream in) throws ParserConfigurationException, SAXException, IOException {
+    DocumentBuilder builder;
+    try {
+      builder = documentBuilder.get();
+    } catch (IllegalStateException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof ParserConfigurationException) {
+        throw (ParserConfigurationException) cause;
+      }
+      throw e;
+    }
+    InputSource source = new InputSource(in);
+    source.setSystemId(tldPath);
+    try {
+      return builder.parse(source);
+    } finally {
+      builder.reset();
+    }
+  }
+
+  /**
+   * Parses a *.tld file.
+   *
+   * @param tldPath  The path to the taglib, used as the system ID
+   */
+  static Document parse(String tldPath, byte[] tld) throws ParserConfigurationException, SAXException, IOException {
+    return parse(tldPath, new ByteArrayInputStream(tld));
+  }
+
+  /**
+   * Throws the cause of an {@link ExecutionException} from a task that parsed a {@link Taglib}.
+   */
+  static void throwCause(ExecutionException e) throws ParserConfigurationException, SAXException, IOException, XPathExpressionException {
+    Throwable cause = e.getCause();
+    if (cause instanceof ParserConfigurationException) {
+      throw (ParserConfigurationException) cause;
+    }
+    if (cause instanceof SAXException) {
+      throw (SAXException) cause;
+    }
+    if (cause instanceof IOException) {
+      throw (IOException) cause;
+    }
+    if (cause instanceof XPathExpressionException) {
+      throw (XPathExpressionException) cause;
+    }
+    if (cause instanceof RuntimeException) {
+      throw (RuntimeException) cause;
+    }
+    if (cause instanceof Error) {
+      throw (Error) cause;
+    }
+    throw new IllegalStateException(cause);
+  }
+
+  /**
+   * Throws the cause of an {@link ExecutionException} from a task that may only throw the given checked exceptions.
+   * Pass the same type twice when the task may only throw one checked exception.
+   */
+  static <E1 extends Exception, E2 extends Exception> void throwCause(ExecutionException e, Class<E1> checked1, Class<E2> checked2)
+      throws E1, E2 {
+    Throwable cause = e.getCause();
+    if (checked1.isInstance(cause)) {
+      throw checked1.cast(cause);
+    }
+    if (checked2.isInstance(cause)) {
+      throw checked2.cast(cause);
+    }
+    if (cause instanceof RuntimeException) {
+      throw (RuntimeException) cause;
+    }
+    if (cause instanceof Error) {
+      throw (Error) cause;
+    }
+    throw new IllegalStateException(cause);
+  }
+}
@@ -0,0 +1,290 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import com.aoapps.collections.AoCollections;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A parsed type, such as from {@link Attribute#getType()} or {@link DeferredValue#getType()},
+ * including any generics provided in the special comments.
+ *
+ * <p>Instances are canonical: parsing the same type again returns the same instance, and
+ * nested type arguments are shared between all the types that use them.</p>
+ *
+ * @see  MethodSignature
+ */
+public final class TypeSignature {
+
+  /**
+   * The kind of bound on a wildcard or type parameter.
+   */
+  public enum BoundKind {
+    /**
+     * No bound given.
+     */
+    NONE,
+
+    /**
+     * An upper bound, given by <code>extends</code>.
+     */
+    EXTENDS,
+
+    /**
+     * A lower bound, given by <code>super</code>.
+     */
+    SUPER
+  }
+
+  /**
+   * The name used for wildcards.
+   */
+  public static final String WILDCARD = "?";
+
+  /**
+   * The maximum number of instances kept canonical.
+   * Once reached, further types are still parsed but not cached.
+   */
+  static final int MAX_CACHE_SIZE = 10000;
+
+  private static final Map<String, TypeSignature> cache = new ConcurrentHashMap<>();
+
+  /**
+   * Gets the canonical instance of the given type.
+   */
+  static TypeSignature canonicalize(TypeSignature type) {
+    TypeSignature existing = cache.get(type.signature);
+    if (existing != null) {
+      return existing;
+    }
+    if (cache.size() >= MAX_CACHE_SIZE) {
+      return type;
+    }
+    existing = cache.putIfAbsent(type.signature, type);
+    return (existing == null) ? type : existing;
+  }
+
+  /**
+   * Parses a type.
+   *
+   * @return  the parsed type or {@code null} when {@code type} is {@code null}
+   *
+   * @throws IllegalArgumentException when unable to parse
+   */
+  public static TypeSignature valueOf(String type) throws IllegalArgumentException {
+    if (type == null) {
+      return null;
+    }
+    TypeSignature existing = cache.get(type);
+    if (existing != null) {
+      return existing;
+    }
+    SignatureParser parser = new SignatureParser(type);
+    TypeSignature parsed = parser.parseType();
+    parser.expectEnd();
+    return canonicalize(parsed);
+  }
+
+  private final String name;
+  private final List<TypeSignature> typeArguments;
+  private final BoundKind boundKind;
+  private final List<TypeSignature> bounds;
+  private final int arrayDimensions;
+  private final boolean varargs;
+  private final String signature;
+
+  TypeSignature(
+      String name,
+      List<TypeSignature> typeArguments,
+      BoundKind boundKind,
+      List<TypeSignature> bounds,
+      int arrayDimensions,
+      boolean varargs
+  ) {
+    this.name = name;
+    this.typeArguments = AoCollections.optimalUnmodifiableList(typeArguments);
+    this.boundKind = boundKind;
+    this.bounds = AoCollections.optimalUnmodifiableList(bounds);
+    this.arrayDimensions = arrayDimensions;
+    this.varargs = varargs;
+    StringBuilder sb = new StringBuilder();
+    appendSignature(sb);
+    this.signature = sb.toString();
+  }
+
+  TypeSignature(String name) {
+    this(name, Collections.emptyList(), BoundKind.NONE, Collections.emptyList(), 0, false);
+  }
+
+  private void appendSignature(StringBuilder sb) {
+    sb.append(name);
+    if (!typeArguments.isEmpty()) {
+      sb.append('<');
+      for (int i = 0, size = typeArguments.size(); i < size; i++) {
+        if (i > 0) {
+          sb.append(", ");
+        }
+        sb.append(typeArguments.get(i));
+      }
+      sb.append('>');
+    }
+    if (boundKind != BoundKind.NONE) {
+      sb.append(boundKind == BoundKind.EXTENDS ? " extends " : " super ");
+      for (int i = 0, size = bounds.size(); i < size; i++) {
+        if (i > 0) {
+          sb.append(" & ");
+        }
+        sb.append(bounds.get(i));
+      }
+    }
+    int dims = varargs ? arrayDimensions - 1 : arrayDimensions;
+    for (int i = 0; i < dims; i++) {
+      sb.append("[]");
+    }
+    if (varargs) {
+      sb.append("...");
+    }
+  }
+
+  /**
+   * Gets the canonical form of this type, with a single space after each comma.
+   */
+  @Override
+  public String toString() {
+    return signature;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return
+        obj == this
+            || (
+            obj instanceof TypeSignature
+                && signature.equals(((TypeSignature) obj).signature)
+          );
+  }
+
+  @Override
+  public int hashCode() {
+    return signature.hashCode();
+  }
+
+  /**
+   * Gets the name of the type without any type arguments or array dimensions, such as <code>java.util.Map</code>,
+   * a primitive type, a type variable, or {@link #WILDCARD}.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Gets the type arguments, which will be empty for raw or non-generic types.
+   */
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+  public List<TypeSignature> getTypeArguments() {
+    return typeArguments;
+  }
+
+  /**
+   * Gets the kind of bound of a wildcard or type parameter.
+   */
+  public BoundKind getBoundKind() {
+    return boundKind;
+  }
+
+  /**
+   * Gets the bounds of a wildcard or type parameter, which will be empty when {@link #getBoundKind()}
+   * is {@link BoundKind#NONE}.
+   */
+  @SuppressWarnings("ReturnOfCollectionOrArrayField") // Returning unmodifiable
+  public List<TypeSignature> getBounds() {
+    return bounds;
+  }
+
+  /**
+   * Gets the number of array dimensions, including varargs.
+   */
+  public int getArrayDimensions() {
+    return arrayDimensions;
+  }
+
+  /**
+   * Is this the final parameter of a variable arity method, given by <code>...</code>?
+   */
+  public boolean isVarargs() {
+    return varargs;
+  }
+
+  /**
+   * Is this a wildcard?
+   */
+  public boolean isWildcard() {
+    return WILDCARD.equals(name);
+  }
+
+  /**
+   * Is this a primitive type or <code>void</code>, not including arrays of primitives?
+   */
+  public boolean isPrimitive() {
+    if (arrayDimensions != 0) {
+      return false;
+    }
+    switch (name) {
+      case "boolean":
+      case "byte":
+      case "char":
+      case "short":
+      case "int":
+      case "long":
+      case "float":
+      case "double":
+      case "void":
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Gets the type without any type arguments, such as used in the *.tld elements
+   * without generics.
+   */
+  public String getErasure() {
+    if (typeArguments.isEmpty() && boundKind == BoundKind.NONE && !varargs) {
+      return signature;
+    }
+    StringBuilder sb = new StringBuilder(name);
+    int dims = varargs ? arrayDimensions - 1 : arrayDimensions;
+    for (int i = 0; i < dims; i++) {
+      sb.append("[]");
+    }
+    if (varargs) {
+      sb.append("...");
+    }
+    return sb.toString();
+  }
+}
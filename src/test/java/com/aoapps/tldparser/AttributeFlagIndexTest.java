@@ -0,0 +1,237 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoapps.tldparser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import com.aoapps.tldparser.AttributeFlagIndex.Flag;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Tests {@link AttributeFlagIndex}.
+ */
+public class AttributeFlagIndexTest {
+
+  private static Taglib newTaglib(String tldPath, String shortName, String tags) throws Exception {
+    String tld = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+        + "<taglib xmlns=\"http://java.sun.com/xml/ns/javaee\" version=\"2.1\">\n"
+        + "  <tlib-version>1.0</tlib-version>\n"
+        + "  <short-name>" + shortName + "</short-name>\n"
+        + "  <uri>urn:" + shortName + "</uri>\n"
+        + tags
+        + "</taglib>\n";
+    return new Taglib(SyntheticTld.SUMMARY_CLASS, null, tldPath, null, TldParser.parse(tldPath, tld.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private static String newTag(String name, boolean dynamicAttributes, String... attributes) {
+    StringBuilder tag = new StringBuilder();
+    tag.append("  <tag>\n"
+        + "    <name>").append(name).append("</name>\n"
+        + "    <tag-class>com.example.Tag</tag-class>\n"
+        + "    <body-content>empty</body-content>\n");
+    for (String attribute : attributes) {
+      tag.append(attribute);
+    }
+    tag.append("    <dynamic-attributes>").append(dynamicAttributes).append("</dynamic-attributes>\n");
+    return tag.append("  </tag>\n").toString();
+  }
+
+  private static String newAttribute(String name, String elements) {
+    return "    <attribute>\n"
+        + "      <name>" + name + "</name>\n"
+        + elements
+        + "    </attribute>\n";
+  }
+
+  /**
+   * Attribute IDs, by name:
+   * <ol start="0">
+   *   <li>a0: required, rtexprvalue (tag 0)</li>
+   *   <li>a1: rtexprvalue (tag 0)</li>
+   *   <li>a2: fragment (tag 0)</li>
+   *   <li>a3: deferred value (tag 2, dynamic attributes)</li>
+   *   <li>a4: required, deferred method (tag 2, dynamic attributes)</li>
+   *   <li>a5: none (tag 3, second taglib)</li>
+   * </ol>
+   * Tag 1 allows dynamic attributes without any attributes of its own.
+   */
+  private static List<Taglib> newTaglibs() throws Exception {
+    return Arrays.asList(
+        newTaglib(
+            "/first.tld",
+            "first",
+            newTag(
+                "t0",
+                false,
+                newAttribute("a0", "      <required>true</required>\n      <rtexprvalue>true</rtexprvalue>\n"),
+                newAttribute("a1", "      <rtexprvalue>true</rtexprvalue>\n"),
+                newAttribute("a2", "      <fragment>true</fragment>\n")
+            )
+                + newTag("t1", true)
+                + newTag(
+                    "t2",
+                    true,
+                    newAttribute("a3", "      <deferred-value>\n        <type>java.lang.String</type>\n      </deferred-value>\n"),
+                    newAttribute(
+                        "a4",
+                        "      <required>true</required>\n"
+                            + "      <deferred-method>\n        <method-signature>void run()</method-signature>\n      </deferred-method>\n"
+                    )
+                )
+        ),
+        newTaglib(
+            "/second.tld",
+            "second",
+            newTag("t3", false, newAttribute("a5", ""))
+        )
+    );
+  }
+
+  private static BitSet bits(int... ids) {
+    BitSet bits = new BitSet();
+    for (int id : ids) {
+      bits.set(id);
+    }
+    return bits;
+  }
+
+  private static List<String> attributeNames(List<Attribute> attributes) {
+    List<String> names = new ArrayList<>(attributes.size());
+    for (Attribute attribute : attributes) {
+      names.add(attribute.getName());
+    }
+    return names;
+  }
+
+  private static List<String> tagNames(List<Tag> tags) {
+    List<String> names = new ArrayList<>(tags.size());
+    for (Tag tag : tags) {
+      names.add(tag.getName());
+    }
+    return names;
+  }
+
+  @Test
+  public void testIds() throws Exception {
+    AttributeFlagIndex index = new AttributeFlagIndex(newTaglibs());
+    assertEquals(6, index.size());
+    assertEquals(Arrays.asList("a0", "a1", "a2", "a3", "a4", "a5"), attributeNames(index.getAttributes()));
+    assertEquals(Arrays.asList("t0", "t1", "t2", "t3"), tagNames(index.getTags()));
+    int[] expectedTagIds = {0, 0, 0, 2, 2, 3};
+    for (int id = 0; id < index.size(); id++) {
+      assertSame(index.getAttributes().get(id), index.getAttribute(id));
+      assertEquals(expectedTagIds[id], index.getTagId(id));
+      assertSame(index.getTags().get(index.getTagId(id)), index.getAttribute(id).getTag());
+    }
+  }
+
+  @Test
+  public void testIdsStable() throws Exception {
+    List<Taglib> taglibs = newTaglibs();
+    AttributeFlagIndex index1 = new AttributeFlagIndex(taglibs);
+    AttributeFlagIndex index2 = new AttributeFlagIndex(taglibs);
+    BitSet ids = bits(1, 3, 5);
+    assertEquals(Arrays.asList("a1", "a3", "a5"), attributeNames(index1.getAttributes(ids)));
+    assertEquals(index1.getAttributes(ids), index2.getAttributes(ids));
+    BitSet tagIds = bits(0, 2);
+    assertEquals(Arrays.asList("t0", "t2"), tagNames(index1.getTags(tagIds)));
+    assertEquals(index1.getTags(tagIds), index2.getTags(tagIds));
+  }
+
+  @Test
+  public void testColumns() throws Exception {
+    AttributeFlagIndex index = new AttributeFlagIndex(newTaglibs());
+    assertEquals(bits(0, 4), index.get(Flag.REQUIRED));
+    assertEquals(bits(0, 1), index.get(Flag.RTEXPRVALUE));
+    assertEquals(bits(2), index.get(Flag.FRAGMENT));
+    assertEquals(bits(3), index.get(Flag.DEFERRED_VALUE));
+    assertEquals(bits(4), index.get(Flag.DEFERRED_METHOD));
+    assertEquals(bits(3, 4), index.get(Flag.TAG_DYNAMIC_ATTRIBUTES));
+  }
+
+  @Test
+  public void testGetReturnsCopy() throws Exception {
+    AttributeFlagIndex index = new AttributeFlagIndex(newTaglibs());
+    BitSet required = index.get(Flag.REQUIRED);
+    assertNotSame(required, index.get(Flag.REQUIRED));
+    required.clear();
+    assertEquals(bits(0, 4), index.get(Flag.REQUIRED));
+    BitSet dynamicAttributesTags = index.getDynamicAttributesTags();
+    dynamicAttributesTags.clear();
+    assertEquals(bits(1, 2), index.getDynamicAttributesTags());
+  }
+
+  @Test
+  public void testQuery() throws Exception {
+    AttributeFlagIndex index = new AttributeFlagIndex(newTaglibs());
+    assertEquals(bits(4), index.query(EnumSet.of(Flag.REQUIRED), EnumSet.of(Flag.RTEXPRVALUE)));
+    assertEquals(bits(0), index.query(EnumSet.of(Flag.REQUIRED, Flag.RTEXPRVALUE), EnumSet.noneOf(Flag.class)));
+    assertEquals(bits(2, 3, 5), index.query(EnumSet.noneOf(Flag.class), EnumSet.of(Flag.REQUIRED, Flag.RTEXPRVALUE)));
+    assertEquals(bits(0, 1, 2, 3, 4, 5), index.query(EnumSet.noneOf(Flag.class), EnumSet.noneOf(Flag.class)));
+    assertEquals(bits(), index.query(EnumSet.of(Flag.FRAGMENT), EnumSet.of(Flag.FRAGMENT)));
+  }
+
+  @Test
+  public void testAll() throws Exception {
+    AttributeFlagIndex index = new AttributeFlagIndex(newTaglibs());
+    assertEquals(bits(0, 1, 2, 3, 4, 5), index.all());
+    assertEquals(bits(0, 4), index.all(Flag.REQUIRED));
+    assertEquals(bits(4), index.all(Flag.REQUIRED, Flag.TAG_DYNAMIC_ATTRIBUTES));
+    assertEquals(bits(), index.all(Flag.FRAGMENT, Flag.DEFERRED_VALUE));
+  }
+
+  @Test
+  public void testAny() throws Exception {
+    AttributeFlagIndex index = new AttributeFlagIndex(newTaglibs());
+    assertEquals(bits(), index.any());
+    assertEquals(bits(2, 3), index.any(Flag.FRAGMENT, Flag.DEFERRED_VALUE));
+    assertEquals(bits(0, 1, 4), index.any(Flag.REQUIRED, Flag.RTEXPRVALUE));
+  }
+
+  @Test
+  public void testDynamicAttributesTags() throws Exception {
+    AttributeFlagIndex index = new AttributeFlagIndex(newTaglibs());
+    BitSet dynamicAttributesTags = index.getDynamicAttributesTags();
+    // Includes t1, which has no attributes
+    assertEquals(bits(1, 2), dynamicAttributesTags);
+    assertEquals(Arrays.asList("t1", "t2"), tagNames(index.getTags(dynamicAttributesTags)));
+  }
+
+  @Test
+  public void testEmpty() throws Exception {
+    AttributeFlagIndex index = new AttributeFlagIndex(Arrays.asList());
+    assertEquals(0, index.size());
+    assertEquals(bits(), index.all());
+    assertEquals(bits(), index.getDynamicAttributesTags());
+  }
+}
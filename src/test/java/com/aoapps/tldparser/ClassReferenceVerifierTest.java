@@ -0,0 +1,177 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoapps.tldparser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.Test;
+
+/**
+ * Tests {@link ClassReferenceVerifier}.
+ */
+public class ClassReferenceVerifierTest {
+
+  /**
+   * Declares a method inherited by {@link Functions}.
+   */
+  public static class Base {
+    public static String join(String[] values) {
+      return String.join(",", values);
+    }
+  }
+
+  /**
+   * The function class of the test taglib.
+   */
+  public static class Functions extends Base {
+    public static <T extends Comparable<T>> T max(List<T> values) {
+      return Collections.max(values);
+    }
+
+    /**
+     * Referenced with <code>.</code> between nested classes.
+     */
+    public static class Nested {
+      // Nothing
+    }
+  }
+
+  private static final String TLD_PATH = "/test.tld";
+
+  private static final String PREFIX = ClassReferenceVerifierTest.class.getName();
+
+  private static final String TLD = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+      + "<taglib xmlns=\"http://java.sun.com/xml/ns/javaee\" version=\"2.1\">\n"
+      + "  <tlib-version>1.0</tlib-version>\n"
+      + "  <short-name>test</short-name>\n"
+      + "  <uri>urn:test</uri>\n"
+      + "  <tag>\n"
+      + "    <name>present</name>\n"
+      + "    <tag-class>" + PREFIX + "</tag-class>\n"
+      + "    <tei-class>com.example.MissingTei</tei-class>\n"
+      + "    <body-content>empty</body-content>\n"
+      + "    <attribute>\n"
+      + "      <!-- type=\"java.util.List<" + PREFIX + ".Functions.Nested>\" -->\n"
+      + "      <name>nested</name>\n"
+      + "      <type>java.util.List</type>\n"
+      + "    </attribute>\n"
+      + "    <attribute>\n"
+      + "      <name>missing</name>\n"
+      + "      <type>" + PREFIX + ".Missing</type>\n"
+      + "    </attribute>\n"
+      + "  </tag>\n"
+      + "  <function>\n"
+      + "    <name>join</name>\n"
+      + "    <function-class>" + PREFIX + ".Functions</function-class>\n"
+      + "    <function-signature>java.lang.String join(java.lang.String[])</function-signature>\n"
+      + "  </function>\n"
+      + "  <function>\n"
+      + "    <!-- functionSignature=\"<T extends java.lang.Comparable<T>>T max(java.util.List<T>)\" -->\n"
+      + "    <name>max</name>\n"
+      + "    <function-class>" + PREFIX + ".Functions</function-class>\n"
+      + "    <function-signature>T max(java.util.List)</function-signature>\n"
+      + "  </function>\n"
+      + "  <function>\n"
+      + "    <name>missing</name>\n"
+      + "    <function-class>" + PREFIX + ".Functions</function-class>\n"
+      + "    <function-signature>java.lang.String missing(java.lang.String)</function-signature>\n"
+      + "  </function>\n"
+      + "</taglib>\n";
+
+  private static Taglib newTaglib() throws Exception {
+    return new Taglib(SyntheticTld.SUMMARY_CLASS, null, TLD_PATH, null, TldParser.parse(TLD_PATH, TLD.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private static Path getTestClasses() throws Exception {
+    return Paths.get(ClassReferenceVerifierTest.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+  }
+
+  private static List<String> toStrings(List<TaglibLinter.Diagnostic> diagnostics) {
+    List<String> strings = new ArrayList<>();
+    for (TaglibLinter.Diagnostic diagnostic : diagnostics) {
+      strings.add(diagnostic.toString());
+    }
+    return strings;
+  }
+
+  private static void assertVerified(ClassReferenceVerifier verifier) throws Exception {
+    List<Taglib> taglibs = Collections.singletonList(newTaglib());
+    assertEquals(
+        Arrays.asList(
+            TLD_PATH + "/present: TEI class not found: com.example.MissingTei",
+            TLD_PATH + "/present/missing: Class not found: " + PREFIX + ".Missing"
+        ),
+        toStrings(verifier.verify(taglibs, false))
+    );
+    assertEquals(
+        Arrays.asList(
+            TLD_PATH + "/present: TEI class not found: com.example.MissingTei",
+            TLD_PATH + "/present/missing: Class not found: " + PREFIX + ".Missing",
+            TLD_PATH + "/missing: Method not found: public static java.lang.String missing(java.lang.String) in " + PREFIX + ".Functions"
+        ),
+        toStrings(verifier.verify(taglibs, true))
+    );
+  }
+
+  @Test
+  public void testDirectory() throws Exception {
+    ClassReferenceVerifier verifier = ClassReferenceVerifier.index(Collections.singletonList(getTestClasses()));
+    assertTrue(verifier.size() >= 4);
+    assertVerified(verifier);
+  }
+
+  @Test
+  public void testJar() throws Exception {
+    Path testClasses = getTestClasses();
+    Path jar = Files.createTempFile("ClassReferenceVerifierTest", ".jar");
+    try {
+      try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(jar))) {
+        for (Class<?> clazz : Arrays.asList(ClassReferenceVerifierTest.class, Base.class, Functions.class, Functions.Nested.class)) {
+          String entryName = clazz.getName().replace('.', '/') + ".class";
+          out.putNextEntry(new ZipEntry(entryName));
+          Files.copy(testClasses.resolve(entryName), out);
+          out.closeEntry();
+        }
+      }
+      // Roots that do not exist are skipped
+      ClassReferenceVerifier verifier = ClassReferenceVerifier.index(Arrays.asList(jar.resolveSibling(jar.getFileName() + ".missing"), jar));
+      assertEquals(4, verifier.size());
+      assertVerified(verifier);
+    } finally {
+      Files.deleteIfExists(jar);
+    }
+  }
+}
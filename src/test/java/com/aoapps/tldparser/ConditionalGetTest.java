@@ -0,0 +1,198 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+/**
+ * Tests {@link ConditionalGet}.
+ */
+public class ConditionalGetTest {
+
+  private static final String ETAG = "\"0123456789abcdef0123456789abcdef\"";
+
+  private static final String TLD_PATH = "/test.tld";
+
+  private static Taglib newTaglib(String taglibComments) throws Exception {
+    String tld = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+        + "<taglib xmlns=\"http://java.sun.com/xml/ns/javaee\" version=\"2.1\">\n"
+        + "  <!-- datePublished=\"2022-05-01T12:00:00-05:00\" -->\n"
+        + taglibComments
+        + "  <tlib-version>1.0</tlib-version>\n"
+        + "  <short-name>test</short-name>\n"
+        + "  <uri>urn:test</uri>\n"
+        + "  <tag>\n"
+        + "    <!-- dateModified=\"2022-06-01T12:34:56.789-05:00\" -->\n"
+        + "    <name>foo</name>\n"
+        + "    <tag-class>com.example.FooTag</tag-class>\n"
+        + "    <body-content>empty</body-content>\n"
+        + "  </tag>\n"
+        + "  <function>\n"
+        + "    <name>join</name>\n"
+        + "    <function-class>com.example.Functions</function-class>\n"
+        + "    <function-signature>java.lang.String join(java.lang.String[])</function-signature>\n"
+        + "  </function>\n"
+        + "</taglib>\n";
+    return new Taglib(SyntheticTld.SUMMARY_CLASS, null, TLD_PATH, null, TldParser.parse(TLD_PATH, tld.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private static final ConditionalGet.Validators VALIDATORS = new ConditionalGet.Validators(
+      ETAG,
+      ZonedDateTime.parse("2022-05-01T12:34:56.789-05:00")
+  );
+
+  /**
+   * A stand-in for an HTTP server, counting the number of times the page is rendered.
+   */
+  private static class Server {
+
+    private int renders;
+
+    private int get(String method, Map<String, String> headers) {
+      if (VALIDATORS.isNotModified(method, headers.get("If-None-Match"), headers.get("If-Modified-Since"))) {
+        return 304;
+      }
+      renders++;
+      return 200;
+    }
+  }
+
+  @Test
+  public void testLastModifiedHeader() {
+    assertEquals("Sun, 1 May 2022 17:34:56 GMT", VALIDATORS.getLastModifiedHeader());
+  }
+
+  @Test
+  public void testNoLastModified() {
+    ConditionalGet.Validators validators = new ConditionalGet.Validators(ETAG, null);
+    assertNull(validators.getLastModified());
+    assertNull(validators.getLastModifiedHeader());
+    assertFalse(validators.isNotModified("GET", null, "Sun, 1 May 2022 17:34:56 GMT"));
+  }
+
+  @Test
+  public void testRevalidate() {
+    Server server = new Server();
+    Map<String, String> headers = new HashMap<>();
+    assertEquals(200, server.get("GET", headers));
+    headers.put("If-None-Match", VALIDATORS.getETag());
+    assertEquals(304, server.get("GET", headers));
+    assertEquals(304, server.get("HEAD", headers));
+    assertEquals(200, server.get("POST", headers));
+    headers.clear();
+    headers.put("If-Modified-Since", VALIDATORS.getLastModifiedHeader());
+    assertEquals(304, server.get("GET", headers));
+    assertEquals(2, server.renders);
+  }
+
+  @Test
+  public void testIfNoneMatchList() {
+    assertTrue(VALIDATORS.isNotModified("GET", "\"other\", W/" + ETAG, null));
+    assertTrue(VALIDATORS.isNotModified("GET", "*", null));
+    assertFalse(VALIDATORS.isNotModified("GET", "\"other\"", null));
+  }
+
+  @Test
+  public void testIfNoneMatchOverridesIfModifiedSince() {
+    assertFalse(VALIDATORS.isNotModified("GET", "\"other\"", "Sun, 1 May 2022 17:34:56 GMT"));
+  }
+
+  @Test
+  public void testIfModifiedSince() {
+    assertTrue(VALIDATORS.isNotModified("GET", null, "Sun, 1 May 2022 17:34:57 GMT"));
+    assertFalse(VALIDATORS.isNotModified("GET", null, "Sun, 1 May 2022 17:34:55 GMT"));
+    assertFalse(VALIDATORS.isNotModified("GET", null, "not a date"));
+  }
+
+  @Test
+  public void testModelValidators() throws Exception {
+    Taglib taglib = newTaglib("");
+    Tag tag = taglib.getTag().get("foo");
+    ConditionalGet.Validators validators = ConditionalGet.getValidators(tag);
+    assertEquals("Wed, 1 Jun 2022 17:34:56 GMT", validators.getLastModifiedHeader());
+    assertTrue(validators.isNotModified("GET", validators.getETag(), null));
+    assertTrue(validators.isNotModified("GET", null, validators.getLastModifiedHeader()));
+    // The same as parsed again
+    Taglib reparsed = newTaglib("");
+    assertEquals(validators.getETag(), ConditionalGet.getValidators(reparsed.getTag().get("foo")).getETag());
+    assertEquals(
+        ConditionalGet.getValidators(taglib.getFunction().get("join")).getETag(),
+        ConditionalGet.getValidators(reparsed.getFunction().get("join")).getETag()
+    );
+    assertEquals(ConditionalGet.getValidators(taglib).getETag(), ConditionalGet.getValidators(reparsed).getETag());
+    // Tag and function pages differ
+    assertNotEquals(validators.getETag(), ConditionalGet.getValidators(taglib.getFunction().get("join")).getETag());
+  }
+
+  @Test
+  public void testModelValidatorsCached() throws Exception {
+    Taglib taglib = newTaglib("");
+    assertSame(ConditionalGet.getValidators(taglib), ConditionalGet.getValidators(taglib));
+    Tag tag = taglib.getTag().get("foo");
+    assertSame(ConditionalGet.getValidators(tag), ConditionalGet.getValidators(tag));
+    Function function = taglib.getFunction().get("join");
+    assertSame(ConditionalGet.getValidators(function), ConditionalGet.getValidators(function));
+  }
+
+  @Test
+  public void testTaglibTitleChanged() throws Exception {
+    Taglib taglib = newTaglib("");
+    Taglib titled = newTaglib("  <display-name>Test Taglib</display-name>\n");
+    Tag tag = taglib.getTag().get("foo");
+    Tag titledTag = titled.getTag().get("foo");
+    // The tag itself is unchanged, but its page links to the taglib by title
+    assertEquals(tag.getFingerprint(), titledTag.getFingerprint());
+    assertNotEquals(ConditionalGet.getValidators(tag).getETag(), ConditionalGet.getValidators(titledTag).getETag());
+    assertNotEquals(
+        ConditionalGet.getValidators(taglib.getFunction().get("join")).getETag(),
+        ConditionalGet.getValidators(titled.getFunction().get("join")).getETag()
+    );
+  }
+
+  @Test
+  public void testTaglibRobotsChanged() throws Exception {
+    Taglib taglib = newTaglib("");
+    Taglib noRobots = newTaglib("  <!-- allowRobots=\"false\" -->\n");
+    Tag tag = taglib.getTag().get("foo");
+    Tag noRobotsTag = noRobots.getTag().get("foo");
+    assertTrue(tag.getEffectiveAllowRobots());
+    assertFalse(noRobotsTag.getEffectiveAllowRobots());
+    assertNotEquals(ConditionalGet.getValidators(tag).getETag(), ConditionalGet.getValidators(noRobotsTag).getETag());
+    assertNotEquals(
+        ConditionalGet.getValidators(taglib.getFunction().get("join")).getETag(),
+        ConditionalGet.getValidators(noRobots.getFunction().get("join")).getETag()
+    );
+  }
+}
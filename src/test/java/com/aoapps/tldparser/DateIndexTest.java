@@ -0,0 +1,166 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoapps.tldparser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Tests {@link DateIndex}.
+ */
+public class DateIndexTest {
+
+  private static final ZonedDateTime JAN = ZonedDateTime.parse("2022-01-01T00:00:00Z");
+  private static final ZonedDateTime FEB = ZonedDateTime.parse("2022-02-01T00:00:00Z");
+  private static final ZonedDateTime MAR = ZonedDateTime.parse("2022-03-01T00:00:00Z");
+  private static final ZonedDateTime APR = ZonedDateTime.parse("2022-04-01T00:00:00Z");
+
+  private static Taglib newTaglib(String tldPath, ZonedDateTime modified, ZonedDateTime tagModified) throws Exception {
+    String tld = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+        + "<taglib xmlns=\"http://java.sun.com/xml/ns/javaee\" version=\"2.1\">\n"
+        + "  <!-- dateCreated=\"" + JAN + "\" -->\n"
+        + (modified == null ? "" : ("  <!-- dateModified=\"" + modified + "\" -->\n"))
+        + "  <tlib-version>1.0</tlib-version>\n"
+        + "  <short-name>test</short-name>\n"
+        + "  <tag>\n"
+        + (tagModified == null ? "" : ("    <!-- dateModified=\"" + tagModified + "\" -->\n"))
+        + "    <name>tag</name>\n"
+        + "    <tag-class>com.example.ExampleTag</tag-class>\n"
+        + "    <body-content>empty</body-content>\n"
+        + "  </tag>\n"
+        + "</taglib>\n";
+    return new Taglib(null, null, tldPath, null, TldParser.parse(tldPath, tld.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private static List<String> toStrings(Iterable<DateIndex.Entry> entries) {
+    List<String> strings = new ArrayList<>();
+    for (DateIndex.Entry entry : entries) {
+      strings.add(entry.toString());
+    }
+    return strings;
+  }
+
+  private static DateIndex newIndex() throws Exception {
+    return new DateIndex(Arrays.asList(
+        newTaglib("/a.tld", FEB, MAR),
+        newTaglib("/b.tld", null, APR)
+    ));
+  }
+
+  @Test
+  public void testRange() throws Exception {
+    DateIndex index = newIndex();
+    assertEquals(
+        Arrays.asList(
+            "MODIFIED " + FEB + " /a.tld",
+            "MODIFIED " + MAR + " /a.tld/tag"
+        ),
+        toStrings(index.getRange(DateIndex.Field.MODIFIED, FEB, APR))
+    );
+    assertEquals(
+        Arrays.asList("MODIFIED " + MAR + " /a.tld/tag"),
+        toStrings(index.getRange(DateIndex.Field.MODIFIED, MAR, APR))
+    );
+  }
+
+  @Test
+  public void testOpenBounds() throws Exception {
+    DateIndex index = newIndex();
+    List<String> all = Arrays.asList(
+        "MODIFIED " + FEB + " /a.tld",
+        "MODIFIED " + MAR + " /a.tld/tag",
+        "MODIFIED " + APR + " /b.tld/tag"
+    );
+    assertEquals(all, toStrings(index.getRange(DateIndex.Field.MODIFIED, null, null)));
+    assertEquals(all.subList(1, 3), toStrings(index.getRange(DateIndex.Field.MODIFIED, MAR, null)));
+    assertEquals(all.subList(0, 2), toStrings(index.getRange(DateIndex.Field.MODIFIED, null, APR)));
+    assertEquals(all.subList(0, 0), toStrings(index.getRange(DateIndex.Field.MODIFIED, null, JAN)));
+  }
+
+  @Test
+  public void testEqualBounds() throws Exception {
+    DateIndex index = newIndex();
+    assertTrue(index.getRange(DateIndex.Field.MODIFIED, MAR, MAR).isEmpty());
+    // Equal instants in different zones
+    assertTrue(index.getRange(DateIndex.Field.MODIFIED, MAR, MAR.withZoneSameInstant(ZoneOffset.ofHours(-5))).isEmpty());
+  }
+
+  @Test
+  public void testInvertedBounds() throws Exception {
+    DateIndex index = newIndex();
+    assertTrue(index.getRange(DateIndex.Field.MODIFIED, APR, FEB).isEmpty());
+  }
+
+  @Test
+  public void testUndated() throws Exception {
+    DateIndex index = newIndex();
+    assertEquals(
+        Arrays.asList("MODIFIED null /b.tld"),
+        toStrings(index.getUndated(DateIndex.Field.MODIFIED))
+    );
+  }
+
+  @Test
+  public void testNewestOldest() throws Exception {
+    DateIndex index = newIndex();
+    assertEquals(
+        Arrays.asList("MODIFIED " + APR + " /b.tld/tag", "MODIFIED " + MAR + " /a.tld/tag"),
+        toStrings(index.getNewest(DateIndex.Field.MODIFIED, 2))
+    );
+    assertEquals(
+        Arrays.asList("MODIFIED " + FEB + " /a.tld"),
+        toStrings(index.getOldest(DateIndex.Field.MODIFIED, 1))
+    );
+  }
+
+  @Test
+  public void testReplaceRemove() throws Exception {
+    DateIndex index = newIndex();
+    index.put(newTaglib("/a.tld", MAR, null));
+    assertEquals(
+        Arrays.asList(
+            "MODIFIED " + MAR + " /a.tld",
+            "MODIFIED " + MAR + " /a.tld/tag",
+            "MODIFIED " + APR + " /b.tld/tag"
+        ),
+        toStrings(index.getRange(DateIndex.Field.MODIFIED, null, null))
+    );
+    assertTrue(index.remove("/a.tld"));
+    assertFalse(index.remove("/a.tld"));
+    assertEquals(
+        Arrays.asList("MODIFIED " + APR + " /b.tld/tag"),
+        toStrings(index.getRange(DateIndex.Field.MODIFIED, null, null))
+    );
+  }
+}
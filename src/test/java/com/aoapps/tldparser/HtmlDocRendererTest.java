@@ -0,0 +1,173 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoapps.tldparser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Properties;
+import java.util.stream.Stream;
+import org.junit.Test;
+
+/**
+ * Tests {@link HtmlDocRenderer#render(com.aoapps.tldparser.Taglib, java.nio.file.Path)}.
+ */
+public class HtmlDocRendererTest {
+
+  private static final String SUMMARY_CLASS = SyntheticTld.SUMMARY_CLASS;
+
+  private static final String TLD_PATH = "/test.tld";
+
+  private static String newTag(String name, String description) {
+    return "  <tag>\n"
+        + "    <description><![CDATA[<p class=\"" + SUMMARY_CLASS + "\">" + description + "</p>]]></description>\n"
+        + "    <name>" + name + "</name>\n"
+        + "    <tag-class>com.example.Tag</tag-class>\n"
+        + "    <body-content>empty</body-content>\n"
+        + "  </tag>\n";
+  }
+
+  private static Taglib newTaglib(String tags) throws Exception {
+    String tld = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+        + "<taglib xmlns=\"http://java.sun.com/xml/ns/javaee\" version=\"2.1\">\n"
+        + "  <tlib-version>1.0</tlib-version>\n"
+        + "  <short-name>test</short-name>\n"
+        + "  <uri>urn:test</uri>\n"
+        + tags
+        + "</taglib>\n";
+    return new Taglib(SUMMARY_CLASS, null, TLD_PATH, null, TldParser.parse(TLD_PATH, tld.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @FunctionalInterface
+  private static interface DirTest {
+    void test(Path dir) throws Exception;
+  }
+
+  private static void withDir(DirTest test) throws Exception {
+    Path dir = Files.createTempDirectory("HtmlDocRendererTest");
+    try {
+      test.test(dir);
+    } finally {
+      try (Stream<Path> paths = Files.walk(dir)) {
+        for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+          Files.delete(path);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testUnchangedSkipped() throws Exception {
+    withDir(dir -> {
+      HtmlDocRenderer renderer = new HtmlDocRenderer();
+      Taglib taglib = newTaglib(newTag("first", "First tag.") + newTag("second", "Second tag."));
+      assertEquals(3, renderer.render(taglib, dir));
+      assertTrue(Files.isRegularFile(dir.resolve("test/index.html")));
+      assertTrue(Files.isRegularFile(dir.resolve("test/tags/first.html")));
+      assertTrue(Files.isRegularFile(dir.resolve("test/tags/second.html")));
+      assertEquals(0, renderer.render(taglib, dir));
+      // Reparsed, but unchanged
+      assertEquals(0, renderer.render(newTaglib(newTag("first", "First tag.") + newTag("second", "Second tag.")), dir));
+    });
+  }
+
+  @Test
+  public void testChangedTagOnly() throws Exception {
+    withDir(dir -> {
+      HtmlDocRenderer renderer = new HtmlDocRenderer();
+      assertEquals(3, renderer.render(newTaglib(newTag("first", "First tag.") + newTag("second", "Second tag.")), dir));
+      long firstModified = Files.getLastModifiedTime(dir.resolve("test/tags/first.html")).toMillis();
+      // The index lists the summary, so is rendered along with the changed tag
+      assertEquals(2, renderer.render(newTaglib(newTag("first", "First tag.") + newTag("second", "Changed tag.")), dir));
+      assertTrue(new String(Files.readAllBytes(dir.resolve("test/tags/second.html")), StandardCharsets.UTF_8).contains("Changed tag."));
+      assertEquals(firstModified, Files.getLastModifiedTime(dir.resolve("test/tags/first.html")).toMillis());
+    });
+  }
+
+  @Test
+  public void testTemplatesChanged() throws Exception {
+    withDir(dir -> {
+      Taglib taglib = newTaglib(newTag("first", "First tag."));
+      assertEquals(2, new HtmlDocRenderer().render(taglib, dir));
+      assertEquals(
+          2,
+          new HtmlDocRenderer(Collections.singletonMap(HtmlDocRenderer.Template.TAG, "<p>${title}</p>")).render(taglib, dir)
+      );
+    });
+  }
+
+  @Test
+  public void testRemovedTagDeleted() throws Exception {
+    withDir(dir -> {
+      HtmlDocRenderer renderer = new HtmlDocRenderer();
+      assertEquals(3, renderer.render(newTaglib(newTag("first", "First tag.") + newTag("second", "Second tag.")), dir));
+      assertEquals(1, renderer.render(newTaglib(newTag("first", "First tag.")), dir));
+      assertTrue(Files.isRegularFile(dir.resolve("test/tags/first.html")));
+      assertFalse(Files.exists(dir.resolve("test/tags/second.html")));
+    });
+  }
+
+  @Test
+  public void testFingerprintsOutsideIgnored() throws Exception {
+    withDir(dir -> {
+      HtmlDocRenderer renderer = new HtmlDocRenderer();
+      Taglib taglib = newTaglib(newTag("first", "First tag."));
+      assertEquals(2, renderer.render(taglib, dir));
+      Path outside = dir.resolve("outside.html");
+      Files.write(outside, new byte[0]);
+      Path fingerprintsFile = dir.resolve("test/.fingerprints");
+      Properties fingerprints = new Properties();
+      try (Reader in = Files.newBufferedReader(fingerprintsFile, StandardCharsets.UTF_8)) {
+        fingerprints.load(in);
+      }
+      fingerprints.setProperty("../outside.html", "0");
+      fingerprints.setProperty(outside.toAbsolutePath().toString(), "0");
+      fingerprints.setProperty("tags/../../outside.html", "0");
+      fingerprints.setProperty(".", "0");
+      fingerprints.setProperty(".fingerprints", "0");
+      try (Writer out = Files.newBufferedWriter(fingerprintsFile, StandardCharsets.UTF_8)) {
+        fingerprints.store(out, null);
+      }
+      assertEquals(0, renderer.render(taglib, dir));
+      assertTrue(Files.exists(outside));
+      assertTrue(Files.isRegularFile(dir.resolve("test/tags/first.html")));
+      assertTrue(Files.isRegularFile(fingerprintsFile));
+      // Ignored keys are dropped
+      fingerprints = new Properties();
+      try (Reader in = Files.newBufferedReader(fingerprintsFile, StandardCharsets.UTF_8)) {
+        fingerprints.load(in);
+      }
+      assertEquals(2, fingerprints.size());
+    });
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoapps.tldparser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+
+/**
+ * Tests {@link HtmlSnippet}.
+ */
+public class HtmlSnippetTest {
+
+  private static final String SUMMARY_CLASS = "semanticcms-tag-reference-summary";
+
+  private static final String MATCH = "<p>Before</p>"
+      + "<p class=\"" + SUMMARY_CLASS + "\">First <b>bold</b> summary.</p>"
+      + "<div><span class=\"" + SUMMARY_CLASS + "\">Second &amp; nested</span></div>"
+      + "<p>After</p>";
+
+  private static final String NO_MATCH = "<p>No <i>summary</i> class &amp; here.</p>";
+
+  private static void assertWriteMatchesGet(String htmlSnippet) throws Exception {
+    String expected = HtmlSnippet.getSummary(SUMMARY_CLASS, htmlSnippet);
+    StringBuilder builder = new StringBuilder();
+    HtmlSnippet.writeSummary(SUMMARY_CLASS, htmlSnippet, builder);
+    assertEquals(expected, builder.toString());
+    StringWriter writer = new StringWriter();
+    HtmlSnippet.writeSummary(SUMMARY_CLASS, htmlSnippet, writer);
+    assertEquals(expected, writer.toString());
+    // Also through the Appendable overload, which delegates to the Writer overload
+    StringWriter appendable = new StringWriter();
+    HtmlSnippet.writeSummary(SUMMARY_CLASS, htmlSnippet, (Appendable) appendable);
+    assertEquals(expected, appendable.toString());
+  }
+
+  @Test
+  public void testWriteSummaryMatch() throws Exception {
+    String summary = HtmlSnippet.getSummary(SUMMARY_CLASS, MATCH);
+    assertTrue(summary, summary.contains("First"));
+    assertTrue(summary, summary.contains("Second"));
+    assertFalse(summary, summary.contains("Before"));
+    assertFalse(summary, summary.contains("After"));
+    assertWriteMatchesGet(MATCH);
+  }
+
+  @Test
+  public void testWriteSummaryNoMatch() throws Exception {
+    assertEquals(NO_MATCH, HtmlSnippet.getSummary(SUMMARY_CLASS, NO_MATCH));
+    assertWriteMatchesGet(NO_MATCH);
+  }
+
+  private static String newTld(String description) {
+    String descriptionElem = description == null ? "" : "<description><![CDATA[" + description + "]]></description>\n";
+    return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+        + "<taglib xmlns=\"http://java.sun.com/xml/ns/javaee\" version=\"2.1\">\n"
+        + "  <tlib-version>1.0</tlib-version>\n"
+        + "  <short-name>test</short-name>\n"
+        + "  <uri>urn:test</uri>\n"
+        + "  <tag>\n"
+        + "    " + descriptionElem
+        + "    <name>foo</name>\n"
+        + "    <tag-class>com.example.FooTag</tag-class>\n"
+        + "    <body-content>empty</body-content>\n"
+        + "    <attribute>\n"
+        + "      " + descriptionElem
+        + "      <name>bar</name>\n"
+        + "    </attribute>\n"
+        + "  </tag>\n"
+        + "  <function>\n"
+        + "    " + descriptionElem
+        + "    <name>join</name>\n"
+        + "    <function-class>com.example.Functions</function-class>\n"
+        + "    <function-signature>java.lang.String join(java.lang.String)</function-signature>\n"
+        + "  </function>\n"
+        + "</taglib>\n";
+  }
+
+  private static void assertDescriptionSummaries(String description) throws Exception {
+    Taglib taglib = new Taglib(SUMMARY_CLASS, null, "/test.tld", null, TldParser.parse("/test.tld", newTld(description).getBytes(StandardCharsets.UTF_8)));
+    Tag tag = taglib.getTag().get("foo");
+    Attribute attribute = tag.getAttribute().get("bar");
+    Function function = taglib.getFunction().get("join");
+    String expected = description == null ? null : HtmlSnippet.getSummary(SUMMARY_CLASS, description);
+    assertEquals(expected, tag.getDescriptionSummary());
+    assertEquals(expected, attribute.getDescriptionSummary());
+    assertEquals(expected, function.getDescriptionSummary());
+    String written = expected == null ? "" : expected;
+    StringBuilder builder = new StringBuilder();
+    tag.writeDescriptionSummary(builder);
+    assertEquals(written, builder.toString());
+    StringWriter writer = new StringWriter();
+    tag.writeDescriptionSummary(writer);
+    assertEquals(written, writer.toString());
+    builder.setLength(0);
+    attribute.writeDescriptionSummary(builder);
+    assertEquals(written, builder.toString());
+    writer = new StringWriter();
+    attribute.writeDescriptionSummary(writer);
+    assertEquals(written, writer.toString());
+    builder.setLength(0);
+    function.writeDescriptionSummary(builder);
+    assertEquals(written, builder.toString());
+    writer = new StringWriter();
+    function.writeDescriptionSummary(writer);
+    assertEquals(written, writer.toString());
+  }
+
+  @Test
+  public void testWriteDescriptionSummaryMatch() throws Exception {
+    assertDescriptionSummaries(MATCH);
+  }
+
+  @Test
+  public void testWriteDescriptionSummaryNoMatch() throws Exception {
+    assertDescriptionSummaries(NO_MATCH);
+  }
+
+  @Test
+  public void testWriteDescriptionSummaryNone() throws Exception {
+    assertDescriptionSummaries(null);
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoapps.tldparser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.apache.commons.lang3.NotImplementedException;
+import org.junit.Test;
+
+/**
+ * Tests {@link LazyIndex} through lazily created {@link Taglib}.
+ */
+public class LazyIndexTest {
+
+  private static final SyntheticTld.Shape SHAPE = new SyntheticTld.Shape(5, 3, 3, 100, 0.5, 2);
+
+  private static Taglib parse(byte[] tld, boolean lazy) throws Exception {
+    return new Taglib(SyntheticTld.SUMMARY_CLASS, null, "/synthetic.tld", null, TldParser.parse("/synthetic.tld", tld), lazy);
+  }
+
+  private static Taglib parseTags(String tags) throws Exception {
+    String tld = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+        + "<taglib xmlns=\"http://java.sun.com/xml/ns/javaee\" version=\"2.1\">\n"
+        + "  <tlib-version>1.0</tlib-version>\n"
+        + "  <short-name>test</short-name>\n"
+        + "  <uri>urn:test</uri>\n"
+        + tags
+        + "</taglib>\n";
+    return new Taglib(SyntheticTld.SUMMARY_CLASS, null, "/test.tld", null, TldParser.parse("/test.tld", tld.getBytes(StandardCharsets.UTF_8)), true);
+  }
+
+  private static String newTag(String name, String content) {
+    return "  <tag>\n"
+        + "    <name>" + name + "</name>\n"
+        + "    <tag-class>com.example.Tag</tag-class>\n"
+        + "    <body-content>empty</body-content>\n"
+        + content
+        + "  </tag>\n";
+  }
+
+  private static void assertCreateFails(Taglib lazy, String name, Class<? extends RuntimeException> causeClass) {
+    for (int i = 0; i < 2; i++) {
+      try {
+        lazy.getTag().get(name);
+        fail("Tag created: " + name);
+      } catch (IllegalStateException e) {
+        assertTrue(e.getMessage(), e.getMessage().startsWith("/test.tld/" + name + ": "));
+        assertSame(causeClass, e.getCause().getClass());
+      }
+    }
+  }
+
+  @Test
+  public void testFingerprintMatchesEager() throws Exception {
+    for (long seed = 0; seed < 3; seed++) {
+      byte[] tld = SyntheticTld.generate(seed, SHAPE).getBytes(StandardCharsets.UTF_8);
+      Taglib eager = parse(tld, false);
+      Taglib lazy = parse(tld, true);
+      // Create some before the rest are created by the fingerprint
+      lazy.getTag().get("tag1");
+      lazy.getFunctions().get(2);
+      assertEquals(eager.getFingerprint(), lazy.getFingerprint());
+      Dates eagerDates = eager.getTaglibEffectiveDates();
+      Dates lazyDates = lazy.getTaglibEffectiveDates();
+      assertEquals(eagerDates.getCreated(), lazyDates.getCreated());
+      assertEquals(eagerDates.getPublished(), lazyDates.getPublished());
+      assertEquals(eagerDates.getModified(), lazyDates.getModified());
+      assertEquals(eagerDates.getReviewed(), lazyDates.getReviewed());
+    }
+  }
+
+  @Test
+  public void testNamesAfterAllCreated() throws Exception {
+    Taglib lazy = parse(SyntheticTld.generate(1, SHAPE).getBytes(StandardCharsets.UTF_8), true);
+    assertTrue(lazy.getTag().containsKey("tag0"));
+    assertNull(lazy.getTag().get("missing"));
+    Tag first = lazy.getTags().get(0);
+    for (Tag tag : lazy.getTags()) {
+      assertSame(tag, lazy.getTag().get(tag.getName()));
+    }
+    // Names remain available once the elements have been released
+    assertEquals(Arrays.asList("tag0", "tag1", "tag2", "tag3", "tag4"), Arrays.asList(lazy.getTag().keySet().toArray()));
+    assertTrue(lazy.getTag().containsKey("tag0"));
+    assertFalse(lazy.getTag().containsKey("missing"));
+    assertNull(lazy.getTag().get("missing"));
+    assertSame(first, lazy.getTag().get("tag0"));
+    assertEquals(5, lazy.getTag().size());
+  }
+
+  @Test
+  public void testRuntimeExceptionWrapped() throws Exception {
+    String attribute = "    <attribute>\n      <name>duplicate</name>\n    </attribute>\n";
+    Taglib lazy = parseTags(
+        newTag("good", "")
+            + newTag("duplicateAttribute", attribute + attribute)
+            + newTag("variable", "    <variable>\n      <name-given>var</name-given>\n    </variable>\n")
+    );
+    assertCreateFails(lazy, "duplicateAttribute", IllegalArgumentException.class);
+    assertCreateFails(lazy, "variable", NotImplementedException.class);
+    // Other tags are unaffected
+    assertEquals("good", lazy.getTag().get("good").getName());
+  }
+
+  @Test
+  public void testNullName() throws Exception {
+    Taglib lazy = parseTags(newTag("good", ""));
+    assertNull(lazy.getTag().get(null));
+    assertFalse(lazy.getTag().containsKey(null));
+  }
+
+  @Test
+  public void testMissingNameRejected() throws Exception {
+    String tag = "  <tag>\n    <tag-class>com.example.Tag</tag-class>\n    <body-content>empty</body-content>\n  </tag>\n";
+    try {
+      parseTags(tag);
+      fail("Missing name not rejected");
+    } catch (IllegalArgumentException e) {
+      assertEquals("/test.tld: Missing tag name", e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,333 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoapps.tldparser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Tests {@link MappedTaglibStore}.
+ */
+public class MappedTaglibStoreTest {
+
+  private static final String SUMMARY_CLASS = SyntheticTld.SUMMARY_CLASS;
+
+  private static final String TLD = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+      + "<taglib xmlns=\"http://java.sun.com/xml/ns/javaee\" version=\"2.1\">\n"
+      + "  <!-- dateCreated=\"2022-05-01T12:00:00-05:00\" -->\n"
+      + "  <!-- allowRobots=\"true\" -->\n"
+      + "  <description><![CDATA[<p class=\"" + SUMMARY_CLASS + "\">Example taglib.</p>]]></description>\n"
+      + "  <display-name>Example</display-name>\n"
+      + "  <tlib-version>1.0</tlib-version>\n"
+      + "  <short-name>example</short-name>\n"
+      + "  <uri>urn:example</uri>\n"
+      + "  <tag>\n"
+      + "    <!-- datePublished=\"2022-06-01T12:00:00-05:00\" -->\n"
+      + "    <!-- allowRobots=\"false\" -->\n"
+      + "    <description><![CDATA[<p class=\"" + SUMMARY_CLASS + "\">Renders ünïcödé.</p><p>More.</p>]]></description>\n"
+      + "    <display-name>Render</display-name>\n"
+      + "    <name>render</name>\n"
+      + "    <tag-class>com.example.RenderTag</tag-class>\n"
+      + "    <tei-class>com.example.RenderTei</tei-class>\n"
+      + "    <body-content>scriptless</body-content>\n"
+      + "    <attribute>\n"
+      + "      <description><![CDATA[<p class=\"" + SUMMARY_CLASS + "\">The value.</p>]]></description>\n"
+      + "      <name>value</name>\n"
+      + "      <required>true</required>\n"
+      + "      <deferred-value>\n"
+      + "        <type>java.lang.Object</type>\n"
+      + "      </deferred-value>\n"
+      + "    </attribute>\n"
+      + "    <attribute>\n"
+      + "      <name>onclick</name>\n"
+      + "      <deferred-method>\n"
+      + "        <method-signature>void onclick()</method-signature>\n"
+      + "      </deferred-method>\n"
+      + "    </attribute>\n"
+      + "    <attribute>\n"
+      + "      <name>body</name>\n"
+      + "      <fragment>true</fragment>\n"
+      + "    </attribute>\n"
+      + "    <attribute>\n"
+      + "      <name>count</name>\n"
+      + "      <rtexprvalue>true</rtexprvalue>\n"
+      + "      <type>int</type>\n"
+      + "    </attribute>\n"
+      + "    <dynamic-attributes>true</dynamic-attributes>\n"
+      + "    <example><![CDATA[<ex:render value=\"#{bean}\" />]]></example>\n"
+      + "  </tag>\n"
+      + "  <tag>\n"
+      + "    <name>empty</name>\n"
+      + "    <tag-class>com.example.EmptyTag</tag-class>\n"
+      + "    <body-content>empty</body-content>\n"
+      + "  </tag>\n"
+      + "  <function>\n"
+      + "    <!-- dateModified=\"2022-07-01T12:00:00-05:00\" -->\n"
+      + "    <description><![CDATA[<p class=\"" + SUMMARY_CLASS + "\">Joins.</p>]]></description>\n"
+      + "    <display-name>Join</display-name>\n"
+      + "    <name>join</name>\n"
+      + "    <function-class>com.example.Functions</function-class>\n"
+      + "    <function-signature>java.lang.String join(java.lang.String[], java.lang.String)</function-signature>\n"
+      + "    <example><![CDATA[${ex:join(values, ', ')}]]></example>\n"
+      + "  </function>\n"
+      + "</taglib>\n";
+
+  private static List<Taglib> newTaglibs() throws Exception {
+    return Arrays.asList(
+        new Taglib(SUMMARY_CLASS, null, "/example.tld", null, TldParser.parse("/example.tld", TLD.getBytes(StandardCharsets.UTF_8))),
+        new Taglib(SUMMARY_CLASS, null, "/synthetic.tld", null, TldParser.parse(
+            "/synthetic.tld",
+            SyntheticTld.generate(1, new SyntheticTld.Shape(5, 3, 3, 100, 0.5, 2)).getBytes(StandardCharsets.UTF_8)
+        ))
+    );
+  }
+
+  private static byte[] toBytes(List<Taglib> taglibs) throws IOException {
+    Path file = Files.createTempFile("MappedTaglibStoreTest", ".store");
+    try {
+      MappedTaglibStore.write(taglibs, file);
+      return Files.readAllBytes(file);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  private static MappedTaglibStore read(byte[] bytes) throws IOException {
+    return MappedTaglibStore.read("test", new ByteArrayInputStream(bytes));
+  }
+
+  private static void assertDatesEquals(Dates expected, Dates actual) {
+    if (expected == null) {
+      assertNull(actual);
+    } else {
+      assertEquals(expected.getCreated(), actual.getCreated());
+      assertEquals(expected.getPublished(), actual.getPublished());
+      assertEquals(expected.getModified(), actual.getModified());
+      assertEquals(expected.getReviewed(), actual.getReviewed());
+    }
+  }
+
+  private static void assertAttributeEquals(Attribute expected, MappedTaglibStore.MappedAttribute actual) {
+    assertEquals(expected.getName(), actual.getName());
+    assertEquals(expected.getDescriptions(), actual.getDescriptions());
+    assertEquals(expected.getRequired(), actual.getRequired());
+    assertEquals(expected.getRtexprvalue(), actual.getRtexprvalue());
+    assertEquals(expected.getFragment(), actual.getFragment());
+    assertEquals(expected.getType(), actual.getType());
+    assertEquals(expected.getDeferredMethod() != null, actual.hasDeferredMethod());
+    assertEquals(expected.getDeferredMethod() == null ? null : expected.getDeferredMethod().getMethodSignature(), actual.getDeferredMethodSignature());
+    assertEquals(expected.getDeferredValue() != null, actual.hasDeferredValue());
+    assertEquals(expected.getDeferredValue() == null ? null : expected.getDeferredValue().getType(), actual.getDeferredValueType());
+    assertEquals(expected.getDescriptionSummary(), actual.getDescriptionSummary());
+    assertEquals(expected.getFingerprint(), actual.getFingerprint());
+  }
+
+  private static void assertTagEquals(Tag expected, MappedTaglibStore.MappedTag actual) {
+    assertDatesEquals(expected.getDates(), actual.getDates());
+    assertEquals(expected.getAllowRobots(), actual.getAllowRobots());
+    assertEquals(expected.getDescriptions(), actual.getDescriptions());
+    assertEquals(expected.getDisplayNames(), actual.getDisplayNames());
+    assertEquals(expected.getName(), actual.getName());
+    assertEquals(expected.getTagClass(), actual.getTagClass());
+    assertEquals(expected.getTeiClass(), actual.getTeiClass());
+    assertEquals(expected.getBodyContent(), actual.getBodyContent());
+    assertEquals(expected.getDynamicAttributes(), actual.getDynamicAttributes());
+    assertEquals(expected.getExample(), actual.getExample());
+    assertEquals(expected.getDescriptionSummary(), actual.getDescriptionSummary());
+    assertEquals(expected.getFingerprint(), actual.getFingerprint());
+    List<Attribute> attributes = expected.getAttributes();
+    assertEquals(attributes.size(), actual.getAttributes().size());
+    assertEquals(expected.getAttribute().keySet(), actual.getAttribute().keySet());
+    for (int i = 0; i < attributes.size(); i++) {
+      assertAttributeEquals(attributes.get(i), actual.getAttributes().get(i));
+    }
+  }
+
+  private static void assertFunctionEquals(Function expected, MappedTaglibStore.MappedFunction actual) {
+    assertDatesEquals(expected.getDates(), actual.getDates());
+    assertEquals(expected.getAllowRobots(), actual.getAllowRobots());
+    assertEquals(expected.getDescriptions(), actual.getDescriptions());
+    assertEquals(expected.getDisplayNames(), actual.getDisplayNames());
+    assertEquals(expected.getName(), actual.getName());
+    assertEquals(expected.getFunctionClass(), actual.getFunctionClass());
+    assertEquals(expected.getFunctionSignature(), actual.getFunctionSignature());
+    assertEquals(expected.getExample(), actual.getExample());
+    assertEquals(expected.getDescriptionSummary(), actual.getDescriptionSummary());
+    assertEquals(expected.getFingerprint(), actual.getFingerprint());
+  }
+
+  private static void assertTaglibEquals(Taglib expected, MappedTaglibStore.MappedTaglib actual) {
+    assertEquals(expected.getTldPath(), actual.getTldPath());
+    assertDatesEquals(expected.getDates(), actual.getDates());
+    assertEquals(expected.getAllowRobots(), actual.getAllowRobots());
+    assertEquals(expected.getDescriptions(), actual.getDescriptions());
+    assertEquals(expected.getDisplayNames(), actual.getDisplayNames());
+    assertEquals(expected.getTlibVersion(), actual.getTlibVersion());
+    assertEquals(expected.getShortName(), actual.getShortName());
+    assertEquals(expected.getUri(), actual.getUri());
+    assertDatesEquals(expected.getTagsEffectiveDates(), actual.getTagsEffectiveDates());
+    assertDatesEquals(expected.getFunctionsEffectiveDates(), actual.getFunctionsEffectiveDates());
+    assertDatesEquals(expected.getTaglibEffectiveDates(), actual.getTaglibEffectiveDates());
+    assertEquals(expected.getFingerprint(), actual.getFingerprint());
+    assertEquals(expected.getSummaryClass(), actual.getSummaryClass());
+    assertEquals(expected.getDocumentFingerprint(), actual.getDocumentFingerprint());
+    List<Tag> tags = expected.getTags();
+    assertEquals(tags.size(), actual.getTags().size());
+    assertEquals(expected.getTag().keySet(), actual.getTag().keySet());
+    for (int i = 0; i < tags.size(); i++) {
+      assertTagEquals(tags.get(i), actual.getTags().get(i));
+    }
+    List<Function> functions = expected.getFunctions();
+    assertEquals(functions.size(), actual.getFunctions().size());
+    assertEquals(expected.getFunction().keySet(), actual.getFunction().keySet());
+    for (int i = 0; i < functions.size(); i++) {
+      assertFunctionEquals(functions.get(i), actual.getFunctions().get(i));
+    }
+  }
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    List<Taglib> taglibs = newTaglibs();
+    Path file = Files.createTempFile("MappedTaglibStoreTest", ".store");
+    try {
+      MappedTaglibStore.write(taglibs, file);
+      MappedTaglibStore store = MappedTaglibStore.open(file);
+      assertEquals(taglibs.size(), store.size());
+      for (int i = 0; i < taglibs.size(); i++) {
+        assertTaglibEquals(taglibs.get(i), store.getTaglibs().get(i));
+      }
+      // The model created from the store is the same
+      List<Taglib> precompiled = PrecompiledTaglibs.toTaglibs(store);
+      for (int i = 0; i < taglibs.size(); i++) {
+        assertEquals(taglibs.get(i).getFingerprint(), precompiled.get(i).getFingerprint());
+      }
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void testReadMatchesOpen() throws Exception {
+    List<Taglib> taglibs = newTaglibs();
+    MappedTaglibStore store = read(toBytes(taglibs));
+    for (int i = 0; i < taglibs.size(); i++) {
+      assertTaglibEquals(taglibs.get(i), store.getTaglibs().get(i));
+    }
+  }
+
+  @Test
+  public void testLookupByName() throws Exception {
+    List<Taglib> taglibs = newTaglibs();
+    MappedTaglibStore store = read(toBytes(taglibs));
+    for (Taglib taglib : taglibs) {
+      MappedTaglibStore.MappedTaglib mapped = store.getTaglib(taglib.getTldPath());
+      assertNotNull(mapped);
+      assertEquals(taglib.getTldPath(), mapped.getTldPath());
+      for (Tag tag : taglib.getTags()) {
+        assertTrue(mapped.getTag().containsKey(tag.getName()));
+        MappedTaglibStore.MappedTag mappedTag = mapped.getTag().get(tag.getName());
+        assertTagEquals(tag, mappedTag);
+        for (Attribute attribute : tag.getAttributes()) {
+          assertAttributeEquals(attribute, mappedTag.getAttribute().get(attribute.getName()));
+        }
+        assertNull(mappedTag.getAttribute().get("missing"));
+      }
+      for (Function function : taglib.getFunctions()) {
+        assertFunctionEquals(function, mapped.getFunction().get(function.getName()));
+      }
+      assertNull(mapped.getTag().get("missing"));
+      assertFalse(mapped.getTag().containsKey("missing"));
+      assertNull(mapped.getFunction().get("missing"));
+      // Before and after every name in UTF-8 order
+      assertNull(mapped.getTag().get(""));
+      assertNull(mapped.getTag().get("\uffff"));
+    }
+    assertNull(store.getTaglib("/missing.tld"));
+    assertNull(store.getTaglib(null));
+  }
+
+  private static void assertRejected(byte[] bytes) {
+    try {
+      read(bytes);
+      fail("Store not rejected");
+    } catch (IOException e) {
+      // Expected
+    }
+  }
+
+  @Test
+  public void testCorruptHeader() throws Exception {
+    byte[] bytes = toBytes(newTaglibs());
+    // Each field of the header: magic, version, length, checksum, taglibs, and strings
+    for (int offset = 0; offset < Integer.BYTES * 6; offset += Integer.BYTES) {
+      byte[] corrupt = bytes.clone();
+      corrupt[offset + Integer.BYTES - 1] ^= 1;
+      assertRejected(corrupt);
+    }
+  }
+
+  @Test
+  public void testCorruptBody() throws Exception {
+    byte[] bytes = toBytes(newTaglibs());
+    for (int offset : new int[] {Integer.BYTES * 6, bytes.length / 2, bytes.length - 1}) {
+      byte[] corrupt = bytes.clone();
+      corrupt[offset] ^= 0x40;
+      assertRejected(corrupt);
+    }
+  }
+
+  @Test
+  public void testTruncated() throws Exception {
+    byte[] bytes = toBytes(newTaglibs());
+    for (int length : new int[] {0, 3, Integer.BYTES * 6 - 1, Integer.BYTES * 6, bytes.length / 2, bytes.length - 1}) {
+      assertRejected(Arrays.copyOf(bytes, length));
+    }
+    Path file = Files.createTempFile("MappedTaglibStoreTest", ".store");
+    try {
+      Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+      try {
+        MappedTaglibStore.open(file);
+        fail("Store not rejected");
+      } catch (IOException e) {
+        // Expected
+      }
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+}
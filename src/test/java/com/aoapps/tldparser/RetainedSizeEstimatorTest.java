@@ -0,0 +1,186 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoapps.tldparser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import org.junit.Test;
+
+/**
+ * Tests {@link RetainedSizeEstimator}.
+ */
+public class RetainedSizeEstimatorTest {
+
+  private static final String TLD_PATH = "/test.tld";
+
+  /**
+   * A layout with an alignment large enough that rounding is visible in every array.
+   */
+  private static final RetainedSizeEstimator.Layout LAYOUT = new RetainedSizeEstimator.Layout(12, 4, 16, 16);
+
+  private static String newTld(String shortName, String tags) {
+    return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+        + "<taglib xmlns=\"http://java.sun.com/xml/ns/javaee\" version=\"2.1\">\n"
+        + "  <tlib-version>1.0</tlib-version>\n"
+        + "  <short-name>" + shortName + "</short-name>\n"
+        + "  <uri>urn:test</uri>\n"
+        + tags
+        + "</taglib>\n";
+  }
+
+  private static String newTag(String name, String description) {
+    return "  <tag>\n"
+        + "    <description><![CDATA[<p class=\"" + SyntheticTld.SUMMARY_CLASS + "\">" + description + "</p>]]></description>\n"
+        + "    <name>" + name + "</name>\n"
+        + "    <tag-class>com.example.Tag</tag-class>\n"
+        + "    <body-content>empty</body-content>\n"
+        + "  </tag>\n";
+  }
+
+  private static Taglib newTaglib(Dates defaultDates, String tld) throws Exception {
+    return new Taglib(SyntheticTld.SUMMARY_CLASS, null, TLD_PATH, defaultDates, TldParser.parse(TLD_PATH, tld.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  /**
+   * Computes the shallow size of a class independently, as the aligned sum of its header and instance fields.
+   */
+  private static long shallowSize(Class<?> clazz) {
+    long size = LAYOUT.getObjectHeaderSize();
+    for (Class<?> c = clazz; c != null; c = c.getSuperclass()) {
+      for (Field field : c.getDeclaredFields()) {
+        if (!Modifier.isStatic(field.getModifiers())) {
+          Class<?> type = field.getType();
+          if (!type.isPrimitive()) {
+            size += LAYOUT.getReferenceSize();
+          } else if (type == long.class || type == double.class) {
+            size += Long.BYTES;
+          } else if (type == int.class || type == float.class) {
+            size += Integer.BYTES;
+          } else if (type == short.class || type == char.class) {
+            size += Short.BYTES;
+          } else {
+            size += Byte.BYTES;
+          }
+        }
+      }
+    }
+    return align(size);
+  }
+
+  private static long align(long size) {
+    return (size + LAYOUT.getObjectAlignment() - 1) / LAYOUT.getObjectAlignment() * LAYOUT.getObjectAlignment();
+  }
+
+  private static long stringSize(String value, int bytesPerChar) {
+    return shallowSize(String.class) + align(LAYOUT.getArrayHeaderSize() + (long) value.length() * bytesPerChar);
+  }
+
+  /**
+   * Time zones are shared, so are not included.
+   */
+  private static long getTimeSize() {
+    return shallowSize(ZonedDateTime.class) + shallowSize(LocalDateTime.class) + shallowSize(LocalDate.class) + shallowSize(LocalTime.class);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testLayoutNotPositive() {
+    new RetainedSizeEstimator.Layout(12, 0, 16, 8);
+  }
+
+  @Test
+  public void testEmptyTaglib() throws Exception {
+    Taglib taglib = newTaglib(null, newTld("test", ""));
+    RetainedSizeEstimator.Estimate estimate = new RetainedSizeEstimator(LAYOUT).estimate(taglib);
+    assertEquals(
+        stringSize(TLD_PATH, 1) + stringSize("1.0", 1) + stringSize("test", 1) + stringSize("urn:test", 1),
+        estimate.get(RetainedSizeEstimator.Category.STRINGS)
+    );
+    assertEquals(shallowSize(Taglib.class) + shallowSize(Fingerprint.class), estimate.get(RetainedSizeEstimator.Category.MODEL));
+    // Empty collections are shared
+    assertEquals(0, estimate.get(RetainedSizeEstimator.Category.COLLECTIONS));
+    assertEquals(0, estimate.get(RetainedSizeEstimator.Category.DESCRIPTIONS));
+    assertEquals(0, estimate.get(RetainedSizeEstimator.Category.SUMMARIES));
+    assertEquals(0, estimate.get(RetainedSizeEstimator.Category.GENERICS));
+    assertEquals(estimate.get(RetainedSizeEstimator.Category.STRINGS) + estimate.get(RetainedSizeEstimator.Category.MODEL), estimate.getTotal());
+  }
+
+  @Test
+  public void testStringArrays() throws Exception {
+    RetainedSizeEstimator estimator = new RetainedSizeEstimator(LAYOUT);
+    long base = estimator.estimate(newTaglib(null, newTld("a", ""))).getTotal();
+    // 16 + 1 and 16 + 16 bytes both align to 32
+    assertEquals(base, estimator.estimate(newTaglib(null, newTld("abcdefghijklmnop", ""))).getTotal());
+    // 16 + 17 bytes aligns to 48
+    assertEquals(base + 16, estimator.estimate(newTaglib(null, newTld("abcdefghijklmnopq", ""))).getTotal());
+    // Latin-1 is compact, but any other character takes two bytes for each
+    assertEquals(base, estimator.estimate(newTaglib(null, newTld("ééééééééé", ""))).getTotal());
+    assertEquals(base + 16, estimator.estimate(newTaglib(null, newTld("ĀĀĀĀĀĀĀĀĀ", ""))).getTotal());
+  }
+
+  @Test
+  public void testDates() throws Exception {
+    Dates defaultDates = Dates.valueOf(ZonedDateTime.parse("2022-05-01T12:00:00-05:00"), null, ZonedDateTime.parse("2022-06-01T12:00:00-05:00"), null);
+    RetainedSizeEstimator.Estimate estimate = new RetainedSizeEstimator(LAYOUT).estimate(newTaglib(defaultDates, newTld("test", "")));
+    assertEquals(shallowSize(Dates.class) + 2 * getTimeSize(), estimate.get(RetainedSizeEstimator.Category.DATES));
+  }
+
+  @Test
+  public void testSharedCountedOnce() throws Exception {
+    RetainedSizeEstimator estimator = new RetainedSizeEstimator(LAYOUT);
+    Dates defaultDates = Dates.valueOf(ZonedDateTime.parse("2022-05-01T12:00:00-05:00"), null, null, null);
+    Taglib taglib1 = newTaglib(defaultDates, newTld("test", newTag("first", "First tag.") + newTag("second", "Second tag.")));
+    // Reloading shares the unchanged tag with the previous version
+    Taglib taglib2 = Taglib.reload(
+        taglib1, SyntheticTld.SUMMARY_CLASS, null, TLD_PATH, defaultDates,
+        TldParser.parse(TLD_PATH, newTld("test", newTag("first", "First tag.") + newTag("second", "Changed tag.")).getBytes(StandardCharsets.UTF_8))
+    );
+    RetainedSizeEstimator.Estimate estimate1 = estimator.estimate(taglib1);
+    RetainedSizeEstimator.Estimate estimate2 = estimator.estimate(taglib2);
+    RetainedSizeEstimator.Estimate both = estimator.estimate(Arrays.asList(taglib1, taglib2));
+    // The default dates and their time are used by both taglibs, while each has its own merged effective dates
+    long sharedDates = shallowSize(Dates.class) + getTimeSize();
+    assertEquals(
+        estimate1.get(RetainedSizeEstimator.Category.DATES) + estimate2.get(RetainedSizeEstimator.Category.DATES) - sharedDates,
+        both.get(RetainedSizeEstimator.Category.DATES)
+    );
+    for (RetainedSizeEstimator.Category category : new RetainedSizeEstimator.Category[] {
+        RetainedSizeEstimator.Category.DESCRIPTIONS, RetainedSizeEstimator.Category.SUMMARIES}) {
+      long shared = estimator.estimate(taglib1.getTag().get("first")).get(category);
+      assertTrue(shared > 0);
+      assertEquals(category.name(), estimate1.get(category) + estimate2.get(category) - shared, both.get(category));
+    }
+    // The same taglib twice
+    assertEquals(estimate1.getBytes(), estimator.estimate(Arrays.asList(taglib1, taglib1)).getBytes());
+  }
+}
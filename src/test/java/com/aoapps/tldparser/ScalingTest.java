@@ -0,0 +1,224 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Tests that parsing scales linearly with the shape of synthetic *.tld files from {@link SyntheticTld}.
+ *
+ * <p>Each size is parsed several times, keeping the fastest time and the fewest allocated bytes, which are much
+ * less noisy than averages.  Allocated bytes are measured by the <code>com.sun.management.ThreadMXBean</code>
+ * extension, when available.</p>
+ *
+ * <p>Time is too noisy on shared build machines, so is only checked when the system property
+ * <code>com.aoapps.tldparser.ScalingTest.checkTime</code> is <code>true</code>.</p>
+ */
+public class ScalingTest {
+
+  private static final long SEED = 20260101L;
+
+  private static final SyntheticTld.Shape BASE = new SyntheticTld.Shape(10, 4, 4, 200, 0.5, 3);
+
+  /**
+   * The sizes, as multiples of the base shape.
+   */
+  private static final int[] MULTIPLES = {1, 2, 4};
+
+  private static final int RUNS = 3;
+
+  /**
+   * The maximum growth of allocated bytes relative to size, which should be nearly linear.
+   */
+  private static final double MAX_ALLOCATION_GROWTH = 1.5;
+
+  /**
+   * The maximum growth of time relative to size, generous since time is noisy.
+   */
+  private static final double MAX_TIME_GROWTH = 3.0;
+
+  private static final boolean CHECK_TIME = Boolean.getBoolean(ScalingTest.class.getName() + ".checkTime");
+
+  private static final Method getThreadAllocatedBytes;
+
+  static {
+    Method method;
+    try {
+      method = Class.forName("com.sun.management.ThreadMXBean").getMethod("getThreadAllocatedBytes", long.class);
+    } catch (ClassNotFoundException | NoSuchMethodException e) {
+      method = null;
+    }
+    getThreadAllocatedBytes = method;
+  }
+
+  /**
+   * Gets the bytes allocated by the current thread so far.
+   *
+   * @return  The bytes or {@code -1} when not supported
+   */
+  private static long getAllocatedBytes() {
+    ThreadMXBean threadMxBean = ManagementFactory.getThreadMXBean();
+    if (getThreadAllocatedBytes == null || !getThreadAllocatedBytes.getDeclaringClass().isInstance(threadMxBean)) {
+      return -1;
+    }
+    try {
+      return (Long) getThreadAllocatedBytes.invoke(threadMxBean, Thread.currentThread().getId());
+    } catch (IllegalAccessException | InvocationTargetException e) {
+      return -1;
+    }
+  }
+
+  /**
+   * The fastest parse time and fewest allocated bytes for one size.
+   */
+  private static class Measurement {
+
+    private final int multiple;
+    private final int tldLength;
+    private long nanos = Long.MAX_VALUE;
+    private long allocatedBytes = Long.MAX_VALUE;
+
+    private Measurement(int multiple, int tldLength) {
+      this.multiple = multiple;
+      this.tldLength = tldLength;
+    }
+
+    @Override
+    public String toString() {
+      return multiple + "x (" + tldLength + " chars): " + (nanos / 1000) + " µs, "
+          + (allocatedBytes == -1 ? "?" : allocatedBytes) + " bytes allocated";
+    }
+  }
+
+  private static Taglib parse(byte[] tld) throws Exception {
+    String tldPath = "/synthetic.tld";
+    return new Taglib(SyntheticTld.SUMMARY_CLASS, null, tldPath, null, TldParser.parse(tldPath, tld));
+  }
+
+  private interface ShapeForMultiple {
+    SyntheticTld.Shape getShape(int multiple);
+  }
+
+  private static List<Measurement> measure(ShapeForMultiple shapes) throws Exception {
+    List<byte[]> tlds = new ArrayList<>(MULTIPLES.length);
+    for (int multiple : MULTIPLES) {
+      byte[] tld = SyntheticTld.generate(SEED, shapes.getShape(multiple)).getBytes(StandardCharsets.UTF_8);
+      tlds.add(tld);
+      // Warm-up
+      parse(tld);
+    }
+    List<Measurement> measurements = new ArrayList<>(MULTIPLES.length);
+    for (int i = 0; i < MULTIPLES.length; i++) {
+      byte[] tld = tlds.get(i);
+      Measurement measurement = new Measurement(MULTIPLES[i], tld.length);
+      for (int run = 0; run < RUNS; run++) {
+        long startBytes = getAllocatedBytes();
+        long startNanos = System.nanoTime();
+        parse(tld);
+        long nanos = System.nanoTime() - startNanos;
+        long endBytes = getAllocatedBytes();
+        measurement.nanos = Math.min(measurement.nanos, nanos);
+        measurement.allocatedBytes = (startBytes == -1 || endBytes == -1)
+            ? -1
+            : Math.min(measurement.allocatedBytes, endBytes - startBytes);
+      }
+      measurements.add(measurement);
+    }
+    return measurements;
+  }
+
+  private static void assertLinear(List<Measurement> measurements) {
+    Measurement first = measurements.get(0);
+    for (Measurement measurement : measurements.subList(1, measurements.size())) {
+      double sizeGrowth = (double) measurement.tldLength / first.tldLength;
+      if (first.allocatedBytes > 0 && measurement.allocatedBytes > 0) {
+        double allocationGrowth = (double) measurement.allocatedBytes / first.allocatedBytes;
+        assertTrue(
+            "Allocated bytes grew super-linearly: " + measurements,
+            allocationGrowth <= sizeGrowth * MAX_ALLOCATION_GROWTH
+        );
+      }
+      if (CHECK_TIME) {
+        double timeGrowth = (double) measurement.nanos / first.nanos;
+        assertTrue(
+            "Parse time grew super-linearly: " + measurements,
+            timeGrowth <= sizeGrowth * MAX_TIME_GROWTH
+        );
+      }
+    }
+  }
+
+  @Test
+  public void testGenerateIsDeterministic() {
+    assertEquals(SyntheticTld.generate(SEED, BASE), SyntheticTld.generate(SEED, BASE));
+  }
+
+  @Test
+  public void testGenerateIsValid() throws Exception {
+    SyntheticTld.Shape shape = BASE.withTags(10);
+    byte[] tld = SyntheticTld.generate(SEED, shape).getBytes(StandardCharsets.UTF_8);
+    assertEquals(0, TaglibLinter.lint("/synthetic.tld", null, TldParser.parse("/synthetic.tld", tld)).size());
+    Taglib taglib = parse(tld);
+    assertEquals(shape.tags, taglib.getTags().size());
+    assertEquals(shape.attributesPerTag, taglib.getTags().get(0).getAttributes().size());
+    assertEquals(shape.functions, taglib.getFunctions().size());
+    assertTrue(taglib.getTags().get(0).getAttributes().get(0).getType().startsWith("java.util.Map<"));
+  }
+
+  @Test
+  public void testTagCountScaling() throws Exception {
+    assertLinear(measure(multiple -> BASE.withTags(BASE.tags * multiple)));
+  }
+
+  @Test
+  public void testAttributesPerTagScaling() throws Exception {
+    assertLinear(measure(multiple -> BASE.withAttributesPerTag(BASE.attributesPerTag * multiple)));
+  }
+
+  @Test
+  public void testDescriptionSizeScaling() throws Exception {
+    assertLinear(measure(multiple -> BASE.withDescriptionSize(BASE.descriptionSize * multiple)));
+  }
+
+  @Test
+  public void testDateCommentDensityScaling() throws Exception {
+    // From a quarter to all of the tags and functions
+    assertLinear(measure(multiple -> BASE.withDateCommentDensity(0.25 * multiple)));
+  }
+
+  @Test
+  public void testGenericsDepthScaling() throws Exception {
+    assertLinear(measure(multiple -> BASE.withGenericsDepth(BASE.genericsDepth * multiple)));
+  }
+}
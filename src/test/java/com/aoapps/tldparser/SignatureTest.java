@@ -0,0 +1,137 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link TypeSignature} and {@link MethodSignature}.
+ */
+public class SignatureTest {
+
+  @Test
+  public void testNull() {
+    assertNull(TypeSignature.valueOf(null));
+    assertNull(MethodSignature.valueOf(null));
+  }
+
+  @Test
+  public void testSimpleType() {
+    TypeSignature type = TypeSignature.valueOf("java.lang.String");
+    assertEquals("java.lang.String", type.getName());
+    assertTrue(type.getTypeArguments().isEmpty());
+    assertEquals(0, type.getArrayDimensions());
+    assertFalse(type.isPrimitive());
+  }
+
+  @Test
+  public void testPrimitive() {
+    assertTrue(TypeSignature.valueOf("int").isPrimitive());
+    assertFalse(TypeSignature.valueOf("int[]").isPrimitive());
+  }
+
+  @Test
+  public void testNestedGenerics() {
+    TypeSignature type = TypeSignature.valueOf("java.util.Map<java.lang.String,java.util.List<? extends java.lang.Number>>");
+    assertEquals("java.util.Map<java.lang.String, java.util.List<? extends java.lang.Number>>", type.toString());
+    assertEquals("java.util.Map", type.getErasure());
+    assertEquals(2, type.getTypeArguments().size());
+    TypeSignature list = type.getTypeArguments().get(1);
+    assertEquals("java.util.List", list.getName());
+    TypeSignature wildcard = list.getTypeArguments().get(0);
+    assertTrue(wildcard.isWildcard());
+    assertEquals(TypeSignature.BoundKind.EXTENDS, wildcard.getBoundKind());
+    assertEquals("java.lang.Number", wildcard.getBounds().get(0).getName());
+  }
+
+  @Test
+  public void testCanonical() {
+    TypeSignature type1 = TypeSignature.valueOf("java.util.List<java.lang.String>");
+    TypeSignature type2 = TypeSignature.valueOf("java.util.List< java.lang.String >");
+    assertSame(type1, type2);
+    assertSame(TypeSignature.valueOf("java.lang.String"), type1.getTypeArguments().get(0));
+  }
+
+  @Test
+  public void testArrays() {
+    TypeSignature type = TypeSignature.valueOf("java.lang.String[][]");
+    assertEquals("java.lang.String", type.getName());
+    assertEquals(2, type.getArrayDimensions());
+    assertEquals("java.lang.String[][]", type.getErasure());
+  }
+
+  @Test
+  public void testMethod() {
+    MethodSignature method = MethodSignature.valueOf("java.lang.String join(java.lang.Iterable<? extends java.lang.CharSequence>, java.lang.String)");
+    assertEquals("join", method.getName());
+    assertEquals("java.lang.String", method.getReturnType().getName());
+    assertEquals(2, method.getArity());
+    assertEquals("java.lang.Iterable", method.getParameterTypes().get(0).getName());
+  }
+
+  @Test
+  public void testMethodNoParameters() {
+    MethodSignature method = MethodSignature.valueOf("void run()");
+    assertEquals("void", method.getReturnType().getName());
+    assertEquals(0, method.getArity());
+  }
+
+  @Test
+  public void testMethodTypeParameters() {
+    MethodSignature method = MethodSignature.valueOf("<T extends java.lang.Comparable<? super T>> T max(java.util.Collection<? extends T>)");
+    assertEquals(1, method.getTypeParameters().size());
+    assertEquals("T extends java.lang.Comparable<? super T>", method.getTypeParameters().get(0).toString());
+    assertEquals("T", method.getReturnType().getName());
+  }
+
+  @Test
+  public void testVarargs() {
+    MethodSignature method = MethodSignature.valueOf("java.lang.String format(java.lang.String, java.lang.Object...)");
+    TypeSignature varargs = method.getParameterTypes().get(1);
+    assertTrue(varargs.isVarargs());
+    assertEquals(1, varargs.getArrayDimensions());
+    assertEquals("java.lang.Object...", varargs.toString());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testVarargsNotLast() {
+    MethodSignature.valueOf("void m(java.lang.Object..., int)");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnclosedGenerics() {
+    TypeSignature.valueOf("java.util.List<java.lang.String");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTrailing() {
+    TypeSignature.valueOf("java.lang.String foo");
+  }
+}
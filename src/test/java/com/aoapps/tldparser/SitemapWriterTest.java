@@ -0,0 +1,128 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoapps.tldparser;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import org.junit.Test;
+
+/**
+ * Tests {@link SitemapWriter}.
+ */
+public class SitemapWriterTest {
+
+  private static final String TLD = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+      + "<taglib xmlns=\"http://java.sun.com/xml/ns/javaee\" version=\"2.1\">\n"
+      + "  <!-- datePublished=\"2022-05-01T12:00:00-05:00\" -->\n"
+      + "  <tlib-version>1.0</tlib-version>\n"
+      + "  <short-name>example</short-name>\n"
+      + "  <uri>urn:example</uri>\n"
+      + "  <tag>\n"
+      + "    <!-- allowRobots=\"false\" -->\n"
+      + "    <name>foo</name>\n"
+      + "    <tag-class>com.example.FooTag</tag-class>\n"
+      + "    <body-content>empty</body-content>\n"
+      + "  </tag>\n"
+      + "  <tag>\n"
+      + "    <!-- dateModified=\"2022-06-01T12:00:00-05:00\" -->\n"
+      + "    <name>foobar</name>\n"
+      + "    <tag-class>com.example.FooBarTag</tag-class>\n"
+      + "    <body-content>empty</body-content>\n"
+      + "  </tag>\n"
+      + "  <function>\n"
+      + "    <!-- allowRobots=\"false\" -->\n"
+      + "    <name>join</name>\n"
+      + "    <function-class>com.example.Functions</function-class>\n"
+      + "    <function-signature>java.lang.String join(java.lang.String[])</function-signature>\n"
+      + "  </function>\n"
+      + "</taglib>\n";
+
+  private static final SitemapWriter.Locator LOCATOR = new SitemapWriter.Locator() {
+    @Override
+    public String getUrl(Taglib taglib) {
+      return "https://example.com/" + taglib.getShortName() + "/?a=1&b=2";
+    }
+
+    @Override
+    public String getUrl(Tag tag) {
+      return "https://example.com/" + tag.getTaglib().getShortName() + "/tags/" + tag.getName();
+    }
+
+    @Override
+    public String getUrl(Function function) {
+      return "https://example.com/" + function.getTaglib().getShortName() + "/functions/" + function.getName() + ".html";
+    }
+  };
+
+  private static Taglib newTaglib() throws Exception {
+    return new Taglib(null, null, "/example.tld", null, TldParser.parse("/example.tld", TLD.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  public void testSitemap() throws Exception {
+    StringWriter out = new StringWriter();
+    SitemapWriter.writeSitemap(Collections.singletonList(newTaglib()), LOCATOR, out);
+    assertEquals(
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n"
+            + "  <url>\n"
+            + "    <loc>https://example.com/example/?a=1&amp;b=2</loc>\n"
+            + "    <lastmod>2022-06-01T12:00:00-05:00</lastmod>\n"
+            + "  </url>\n"
+            + "  <url>\n"
+            + "    <loc>https://example.com/example/tags/foobar</loc>\n"
+            + "    <lastmod>2022-06-01T12:00:00-05:00</lastmod>\n"
+            + "  </url>\n"
+            + "</urlset>\n",
+        out.toString()
+    );
+  }
+
+  /**
+   * The rule for a disallowed tag must not match an allowed tag whose name starts with the same characters.
+   */
+  @Test
+  public void testRobotsDisallowSharedPrefix() throws Exception {
+    StringWriter out = new StringWriter();
+    SitemapWriter.writeRobotsDisallow(Collections.singletonList(newTaglib()), LOCATOR, out);
+    assertEquals(
+        "Disallow: /example/tags/foo$\n"
+            + "Disallow: /example/functions/join.html$\n",
+        out.toString()
+    );
+  }
+
+  @Test
+  public void testRobotsDisallowEncoding() throws Exception {
+    StringWriter out = new StringWriter();
+    SitemapWriter.writeDisallow("https://example.com/a*b$c/%2F?q=*$", out);
+    SitemapWriter.writeDisallow("https://example.com", out);
+    SitemapWriter.writeDisallow(null, out);
+    assertEquals("Disallow: /a%2Ab%24c/%2F?q=%2A%24$\n", out.toString());
+  }
+}
@@ -0,0 +1,206 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.Test;
+
+/**
+ * Tests {@link SummaryCache}.
+ */
+public class SummaryCacheTest {
+
+  private static final String SUMMARY_CLASS = "semanticcms-tag-reference-summary";
+
+  /**
+   * A test run against a new, empty cache file.
+   */
+  @FunctionalInterface
+  private interface FileTest {
+    void run(Path file) throws Exception;
+  }
+
+  private static void withFile(FileTest test) throws Exception {
+    Path file = Files.createTempFile("SummaryCacheTest", ".cache");
+    try {
+      test.run(file);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  private static String description(int i) {
+    return "<p class=\"" + SUMMARY_CLASS + "\">Summary " + i + ".</p><p>Details " + i + ".</p>";
+  }
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    withFile(file -> {
+      try (SummaryCache cache = SummaryCache.open(file)) {
+        for (int i = 0; i < 10; i++) {
+          assertEquals(HtmlSnippet.getSummary(SUMMARY_CLASS, description(i)), cache.getSummary(SUMMARY_CLASS, description(i)));
+        }
+        assertEquals(10, cache.size());
+        long size = Files.size(file);
+        // Hits do not write
+        for (int i = 0; i < 10; i++) {
+          assertEquals(HtmlSnippet.getSummary(SUMMARY_CLASS, description(i)), cache.getSummary(SUMMARY_CLASS, description(i)));
+        }
+        assertEquals(size, Files.size(file));
+      }
+    });
+  }
+
+  @Test
+  public void testReopen() throws Exception {
+    withFile(file -> {
+      try (SummaryCache cache = SummaryCache.open(file)) {
+        for (int i = 0; i < 10; i++) {
+          cache.getSummary(SUMMARY_CLASS, description(i));
+        }
+      }
+      long size = Files.size(file);
+      try (SummaryCache cache = SummaryCache.open(file)) {
+        assertEquals(10, cache.size());
+        for (int i = 0; i < 10; i++) {
+          assertEquals(HtmlSnippet.getSummary(SUMMARY_CLASS, description(i)), cache.getSummary(SUMMARY_CLASS, description(i)));
+        }
+      }
+      assertEquals(size, Files.size(file));
+    });
+  }
+
+  @Test
+  public void testCompaction() throws Exception {
+    withFile(file -> {
+      final long maxSize = 1024;
+      final int count = 100;
+      try (SummaryCache cache = SummaryCache.open(file, maxSize)) {
+        for (int i = 0; i < count; i++) {
+          cache.getSummary(SUMMARY_CLASS, description(i));
+          assertTrue(Files.size(file) <= maxSize);
+        }
+      }
+      try (SummaryCache cache = SummaryCache.open(file, maxSize)) {
+        int kept = cache.size();
+        assertTrue(kept > 0);
+        assertTrue(kept < count);
+        // The most recently added entries are kept
+        long size = Files.size(file);
+        for (int i = count - kept; i < count; i++) {
+          cache.getSummary(SUMMARY_CLASS, description(i));
+        }
+        assertEquals(size, Files.size(file));
+        // Compaction to half the maximum size
+        while (Files.size(file) >= size) {
+          cache.getSummary(SUMMARY_CLASS, description(count + kept++));
+        }
+        assertTrue(Files.size(file) <= maxSize / 2);
+      }
+    });
+  }
+
+  @Test
+  public void testCompactionKeepsHits() throws Exception {
+    withFile(file -> {
+      final long maxSize = 1024;
+      try (SummaryCache cache = SummaryCache.open(file, maxSize)) {
+        cache.getSummary(SUMMARY_CLASS, description(0));
+        long size = Files.size(file);
+        for (int i = 1; Files.size(file) >= size; i++) {
+          size = Files.size(file);
+          // The oldest entry, but used most recently
+          cache.getSummary(SUMMARY_CLASS, description(0));
+          cache.getSummary(SUMMARY_CLASS, description(i));
+        }
+        // Compacted, and still a hit that does not write
+        size = Files.size(file);
+        assertEquals(HtmlSnippet.getSummary(SUMMARY_CLASS, description(0)), cache.getSummary(SUMMARY_CLASS, description(0)));
+        assertEquals(size, Files.size(file));
+      }
+    });
+  }
+
+  @Test
+  public void testTruncatedLastEntry() throws Exception {
+    withFile(file -> {
+      try (SummaryCache cache = SummaryCache.open(file)) {
+        for (int i = 0; i < 3; i++) {
+          cache.getSummary(SUMMARY_CLASS, description(i));
+        }
+      }
+      long size = Files.size(file);
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+        channel.truncate(size - 2);
+      }
+      try (SummaryCache cache = SummaryCache.open(file)) {
+        assertEquals(2, cache.size());
+        // The incomplete entry is replaced
+        assertEquals(HtmlSnippet.getSummary(SUMMARY_CLASS, description(2)), cache.getSummary(SUMMARY_CLASS, description(2)));
+        assertEquals(3, cache.size());
+      }
+      assertEquals(size, Files.size(file));
+    });
+  }
+
+  @Test
+  public void testSharedInstance() throws Exception {
+    withFile(file -> {
+      try (SummaryCache cache1 = SummaryCache.open(file)) {
+        try (SummaryCache cache2 = SummaryCache.open(file.getParent().resolve(".").resolve(file.getFileName()))) {
+          assertSame(cache1, cache2);
+          cache2.getSummary(SUMMARY_CLASS, description(0));
+        }
+        // Still open after the second close
+        cache1.getSummary(SUMMARY_CLASS, description(1));
+        assertEquals(2, cache1.size());
+      }
+      try (SummaryCache cache = SummaryCache.open(file)) {
+        assertEquals(2, cache.size());
+      }
+    });
+  }
+
+  @Test
+  public void testReopenAfterClose() throws Exception {
+    withFile(file -> {
+      SummaryCache cache1 = SummaryCache.open(file);
+      cache1.close();
+      try (SummaryCache cache2 = SummaryCache.open(file)) {
+        assertNotSame(cache1, cache2);
+        cache2.getSummary(SUMMARY_CLASS, description(0));
+        assertEquals(1, cache2.size());
+      }
+    });
+  }
+}
@@ -0,0 +1,225 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import java.time.ZonedDateTime;
+import java.util.Random;
+
+/**
+ * Generates valid, synthetic *.tld files of a configurable shape.
+ * The same seed and shape always generate the same file.
+ */
+final class SyntheticTld {
+
+  /** Make no instances. */
+  private SyntheticTld() {
+    throw new AssertionError();
+  }
+
+  static final String SUMMARY_CLASS = "semanticcms-tag-reference-summary";
+
+  /**
+   * The shape of a generated taglib.
+   */
+  static final class Shape {
+
+    final int tags;
+    final int attributesPerTag;
+    final int functions;
+    final int descriptionSize;
+    final double dateCommentDensity;
+    final int genericsDepth;
+
+    /**
+     * @param tags  The number of tags
+     * @param attributesPerTag  The number of attributes in each tag
+     * @param functions  The number of functions
+     * @param descriptionSize  The approximate number of characters in each description, or {@code 0} for none
+     * @param dateCommentDensity  The fraction of tags and functions with date-comments, from {@code 0} to {@code 1}
+     * @param genericsDepth  The depth of nested type arguments in attribute types and function signatures
+     */
+    Shape(int tags, int attributesPerTag, int functions, int descriptionSize, double dateCommentDensity, int genericsDepth) {
+      this.tags = tags;
+      this.attributesPerTag = attributesPerTag;
+      this.functions = functions;
+      this.descriptionSize = descriptionSize;
+      this.dateCommentDensity = dateCommentDensity;
+      this.genericsDepth = genericsDepth;
+    }
+
+    @Override
+    public String toString() {
+      return "Shape(tags=" + tags + ", attributesPerTag=" + attributesPerTag + ", functions=" + functions
+          + ", descriptionSize=" + descriptionSize + ", dateCommentDensity=" + dateCommentDensity
+          + ", genericsDepth=" + genericsDepth + ')';
+    }
+
+    Shape withTags(int newTags) {
+      return new Shape(newTags, attributesPerTag, functions, descriptionSize, dateCommentDensity, genericsDepth);
+    }
+
+    Shape withAttributesPerTag(int newAttributesPerTag) {
+      return new Shape(tags, newAttributesPerTag, functions, descriptionSize, dateCommentDensity, genericsDepth);
+    }
+
+    Shape withDescriptionSize(int newDescriptionSize) {
+      return new Shape(tags, attributesPerTag, functions, newDescriptionSize, dateCommentDensity, genericsDepth);
+    }
+
+    Shape withDateCommentDensity(double newDateCommentDensity) {
+      return new Shape(tags, attributesPerTag, functions, descriptionSize, newDateCommentDensity, genericsDepth);
+    }
+
+    Shape withGenericsDepth(int newGenericsDepth) {
+      return new Shape(tags, attributesPerTag, functions, descriptionSize, dateCommentDensity, newGenericsDepth);
+    }
+  }
+
+  private static final ZonedDateTime TAGLIB_PUBLISHED = ZonedDateTime.parse("2020-01-01T00:00:00Z");
+
+  private static final String[] WORDS = {
+    "tag", "attribute", "value", "page", "request", "body", "content", "element", "render", "output",
+    "the", "a", "of", "to", "when", "with", "is", "for", "and", "not"
+  };
+
+  /**
+   * Generates a *.tld file.
+   */
+  static String generate(long seed, Shape shape) {
+    Random random = new Random(seed);
+    StringBuilder tld = new StringBuilder();
+    tld.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+        + "<taglib xmlns=\"http://java.sun.com/xml/ns/javaee\" version=\"2.1\">\n");
+    appendDate(tld, "  ", "dateCreated", TAGLIB_PUBLISHED);
+    appendDate(tld, "  ", "datePublished", TAGLIB_PUBLISHED);
+    appendDescription(tld, "  ", random, shape.descriptionSize);
+    tld.append("  <display-name>Synthetic</display-name>\n"
+        + "  <tlib-version>1.0</tlib-version>\n"
+        + "  <short-name>synthetic</short-name>\n"
+        + "  <uri>https://example.com/synthetic/").append(seed).append("</uri>\n");
+    for (int t = 0; t < shape.tags; t++) {
+      tld.append("  <tag>\n");
+      appendDates(tld, "    ", random, shape.dateCommentDensity);
+      appendDescription(tld, "    ", random, shape.descriptionSize);
+      tld.append("    <name>tag").append(t).append("</name>\n"
+          + "    <tag-class>com.example.synthetic.Tag").append(t).append("</tag-class>\n"
+          + "    <body-content>").append(random.nextBoolean() ? "empty" : "scriptless").append("</body-content>\n");
+      for (int a = 0; a < shape.attributesPerTag; a++) {
+        tld.append("    <attribute>\n");
+        appendDescription(tld, "      ", random, shape.descriptionSize);
+        tld.append("      <name>attr").append(a).append("</name>\n"
+            + "      <required>").append(random.nextInt(4) == 0).append("</required>\n"
+            + "      <rtexprvalue>").append(random.nextBoolean()).append("</rtexprvalue>\n");
+        if (shape.genericsDepth > 0) {
+          tld.append("      <!-- type=\"");
+          appendGenericType(tld, random, shape.genericsDepth);
+          tld.append("\" -->\n");
+        }
+        tld.append("      <type>java.util.Map</type>\n"
+            + "    </attribute>\n");
+      }
+      tld.append("    <dynamic-attributes>").append(random.nextInt(8) == 0).append("</dynamic-attributes>\n"
+          + "  </tag>\n");
+    }
+    for (int f = 0; f < shape.functions; f++) {
+      tld.append("  <function>\n");
+      appendDates(tld, "    ", random, shape.dateCommentDensity);
+      appendDescription(tld, "    ", random, shape.descriptionSize);
+      tld.append("    <name>function").append(f).append("</name>\n"
+          + "    <function-class>com.example.synthetic.Functions</function-class>\n");
+      if (shape.genericsDepth > 0) {
+        tld.append("    <!-- functionSignature=\"java.lang.String function").append(f).append('(');
+        appendGenericType(tld, random, shape.genericsDepth);
+        tld.append(")\" -->\n");
+      }
+      tld.append("    <function-signature>java.lang.String function").append(f).append("(java.util.Map)</function-signature>\n"
+          + "  </function>\n");
+    }
+    tld.append("</taglib>\n");
+    return tld.toString();
+  }
+
+  private static void appendDate(StringBuilder tld, String indent, String name, ZonedDateTime date) {
+    tld.append(indent).append("<!-- ").append(name).append("=\"").append(date).append("\" -->\n");
+  }
+
+  /**
+   * Dates are never before those of the taglib.
+   */
+  private static void appendDates(StringBuilder tld, String indent, Random random, double density) {
+    if (random.nextDouble() < density) {
+      ZonedDateTime created = TAGLIB_PUBLISHED.plusDays(random.nextInt(365));
+      ZonedDateTime published = created.plusDays(random.nextInt(30));
+      appendDate(tld, indent, "dateCreated", created);
+      appendDate(tld, indent, "datePublished", published);
+      if (random.nextBoolean()) {
+        appendDate(tld, indent, "dateModified", published.plusDays(1 + random.nextInt(365)));
+      }
+    }
+  }
+
+  /**
+   * An HTML description of about the given size, starting with a summary paragraph.
+   */
+  private static void appendDescription(StringBuilder tld, String indent, Random random, int size) {
+    if (size > 0) {
+      tld.append(indent).append("<description><![CDATA[<p class=\"" + SUMMARY_CLASS + "\">");
+      int start = tld.length();
+      appendWords(tld, random, Math.min(size, 80));
+      tld.append("</p>");
+      while (tld.length() - start < size) {
+        tld.append("<p>");
+        appendWords(tld, random, Math.min(size - (tld.length() - start), 200));
+        tld.append("</p>");
+      }
+      tld.append("]]></description>\n");
+    }
+  }
+
+  private static void appendWords(StringBuilder tld, Random random, int size) {
+    int start = tld.length();
+    do {
+      if (tld.length() > start) {
+        tld.append(' ');
+      }
+      tld.append(WORDS[random.nextInt(WORDS.length)]);
+    } while (tld.length() - start < size);
+    tld.append('.');
+  }
+
+  /**
+   * A <code>java.util.Map</code> with type arguments nested to the given depth.
+   */
+  private static void appendGenericType(StringBuilder tld, Random random, int depth) {
+    tld.append("java.util.Map<java.lang.String, ");
+    for (int d = 1; d < depth; d++) {
+      tld.append(random.nextBoolean() ? "java.util.List<? extends " : "java.util.Set<");
+    }
+    tld.append("java.lang.Number");
+    for (int d = 1; d < depth; d++) {
+      tld.append(">");
+    }
+    tld.append(">");
+  }
+}
@@ -0,0 +1,191 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoapps.tldparser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.aoapps.tldparser.TaglibDiff.Change;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.Test;
+
+/**
+ * Tests {@link TaglibDiff}.
+ */
+public class TaglibDiffTest {
+
+  private static final String TLD_PATH = "/test.tld";
+
+  private static String newTld(String taglibHead, String components) {
+    return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+        + "<taglib xmlns=\"http://java.sun.com/xml/ns/javaee\" version=\"2.1\">\n"
+        + taglibHead
+        + "  <tlib-version>1.0</tlib-version>\n"
+        + "  <short-name>test</short-name>\n"
+        + "  <uri>urn:test</uri>\n"
+        + components
+        + "</taglib>\n";
+  }
+
+  private static String newTag(String name, String tagClass, String... attributes) {
+    StringBuilder tag = new StringBuilder();
+    tag.append("  <tag>\n"
+        + "    <name>").append(name).append("</name>\n"
+        + "    <tag-class>").append(tagClass).append("</tag-class>\n"
+        + "    <body-content>empty</body-content>\n");
+    for (String attribute : attributes) {
+      tag.append(attribute);
+    }
+    return tag.append("  </tag>\n").toString();
+  }
+
+  private static String newAttribute(String name, boolean required) {
+    return "    <attribute>\n"
+        + "      <name>" + name + "</name>\n"
+        + "      <required>" + required + "</required>\n"
+        + "    </attribute>\n";
+  }
+
+  private static String newFunction(String name, String functionClass) {
+    return "  <function>\n"
+        + "    <name>" + name + "</name>\n"
+        + "    <function-class>" + functionClass + "</function-class>\n"
+        + "    <function-signature>java.lang.String " + name + "(java.lang.String)</function-signature>\n"
+        + "  </function>\n";
+  }
+
+  private static Taglib newTaglib(String tld) throws Exception {
+    return new Taglib(SyntheticTld.SUMMARY_CLASS, null, TLD_PATH, null, TldParser.parse(TLD_PATH, tld.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private static Map<String, Change> changes(Object... namesAndChanges) {
+    Map<String, Change> changes = new LinkedHashMap<>();
+    for (int i = 0; i < namesAndChanges.length; i += 2) {
+      changes.put((String) namesAndChanges[i], (Change) namesAndChanges[i + 1]);
+    }
+    return changes;
+  }
+
+  private static final String PREVIOUS = newTld(
+      "",
+      newTag("removed1", "com.example.Removed1")
+          + newTag("changed", "com.example.Changed", newAttribute("same", false), newAttribute("flipped", false), newAttribute("gone", false))
+          + newTag("removed2", "com.example.Removed2")
+          + newTag("unchanged", "com.example.Unchanged", newAttribute("same", false))
+          + newFunction("unchangedFn", "com.example.Functions")
+          + newFunction("changedFn", "com.example.Functions")
+          + newFunction("removedFn", "com.example.Functions")
+  );
+
+  private static final String CURRENT = newTld(
+      "",
+      newTag("added", "com.example.Added", newAttribute("new", true))
+          + newTag("unchanged", "com.example.Unchanged", newAttribute("same", false))
+          + newTag("changed", "com.example.Changed", newAttribute("same", false), newAttribute("flipped", true), newAttribute("added", false))
+          + newFunction("changedFn", "com.example.OtherFunctions")
+          + newFunction("unchangedFn", "com.example.Functions")
+          + newFunction("addedFn", "com.example.Functions")
+  );
+
+  @Test
+  public void testChanges() throws Exception {
+    TaglibDiff diff = TaglibDiff.compare(newTaglib(PREVIOUS), newTaglib(CURRENT));
+    assertEquals(Change.CHANGED, diff.getChange());
+    // The current order, followed by removed in their previous order
+    assertEquals(
+        Arrays.asList("added", "unchanged", "changed", "removed1", "removed2"),
+        Arrays.asList(diff.getTagChanges().keySet().toArray())
+    );
+    assertEquals(
+        changes("added", Change.ADDED, "unchanged", Change.UNCHANGED, "changed", Change.CHANGED, "removed1", Change.REMOVED, "removed2", Change.REMOVED),
+        diff.getTagChanges()
+    );
+    assertEquals(changes("new", Change.ADDED), diff.getAttributeChanges("added"));
+    assertEquals(changes("same", Change.UNCHANGED), diff.getAttributeChanges("unchanged"));
+    assertEquals(
+        Arrays.asList("same", "flipped", "added", "gone"),
+        Arrays.asList(diff.getAttributeChanges("changed").keySet().toArray())
+    );
+    assertEquals(
+        changes("same", Change.UNCHANGED, "flipped", Change.CHANGED, "added", Change.ADDED, "gone", Change.REMOVED),
+        diff.getAttributeChanges("changed")
+    );
+    assertEquals(changes(), diff.getAttributeChanges("removed1"));
+    assertNull(diff.getAttributeChanges("missing"));
+    assertEquals(
+        changes("changedFn", Change.CHANGED, "unchangedFn", Change.UNCHANGED, "addedFn", Change.ADDED, "removedFn", Change.REMOVED),
+        diff.getFunctionChanges()
+    );
+  }
+
+  @Test
+  public void testUnchanged() throws Exception {
+    TaglibDiff diff = TaglibDiff.compare(newTaglib(PREVIOUS), newTaglib(PREVIOUS));
+    assertEquals(Change.UNCHANGED, diff.getChange());
+    for (Change change : diff.getTagChanges().values()) {
+      assertEquals(Change.UNCHANGED, change);
+    }
+    assertEquals(changes("same", Change.UNCHANGED, "flipped", Change.UNCHANGED, "gone", Change.UNCHANGED), diff.getAttributeChanges("changed"));
+    for (Change change : diff.getFunctionChanges().values()) {
+      assertEquals(Change.UNCHANGED, change);
+    }
+  }
+
+  @Test
+  public void testAddedAndRemovedTaglib() throws Exception {
+    TaglibDiff added = TaglibDiff.compare(null, newTaglib(PREVIOUS));
+    assertEquals(Change.ADDED, added.getChange());
+    assertEquals(changes("same", Change.ADDED, "flipped", Change.ADDED, "gone", Change.ADDED), added.getAttributeChanges("changed"));
+    assertEquals(Change.ADDED, added.getFunctionChanges().get("removedFn"));
+    TaglibDiff removed = TaglibDiff.compare(newTaglib(PREVIOUS), null);
+    assertEquals(Change.REMOVED, removed.getChange());
+    assertEquals(
+        Arrays.asList("removed1", "changed", "removed2", "unchanged"),
+        Arrays.asList(removed.getTagChanges().keySet().toArray())
+    );
+    assertEquals(Change.REMOVED, removed.getTagChanges().get("unchanged"));
+    assertEquals(changes("same", Change.REMOVED), removed.getAttributeChanges("unchanged"));
+  }
+
+  /**
+   * Every tag and function page shows the title and robots setting of the taglib.
+   */
+  @Test
+  public void testTaglibTitleAndRobots() throws Exception {
+    String components = newTag("tag", "com.example.Tag", newAttribute("attr", false)) + newFunction("fn", "com.example.Functions");
+    Taglib taglib = newTaglib(newTld("", components));
+    for (String taglibHead : new String[] {"  <display-name>Titled</display-name>\n", "  <!-- allowRobots=\"false\" -->\n"}) {
+      TaglibDiff diff = TaglibDiff.compare(taglib, newTaglib(newTld(taglibHead, components)));
+      assertEquals(Change.CHANGED, diff.getChange());
+      assertEquals(changes("tag", Change.CHANGED), diff.getTagChanges());
+      // The attributes themselves are unchanged
+      assertEquals(changes("attr", Change.UNCHANGED), diff.getAttributeChanges("tag"));
+      assertEquals(changes("fn", Change.CHANGED), diff.getFunctionChanges());
+    }
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoapps.tldparser;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.Test;
+
+/**
+ * Tests {@link TaglibDiscovery}.
+ */
+public class TaglibDiscoveryTest {
+
+  private static String newTld(String shortName) {
+    return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+        + "<taglib xmlns=\"http://java.sun.com/xml/ns/javaee\" version=\"2.1\">\n"
+        + "  <tlib-version>1.0</tlib-version>\n"
+        + "  <short-name>" + shortName + "</short-name>\n"
+        + "  <uri>urn:" + shortName + "</uri>\n"
+        + "</taglib>\n";
+  }
+
+  private static void write(Path file, String content) throws IOException {
+    Files.createDirectories(file.getParent());
+    Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static void writeJar(Path jar, String... namesAndContents) throws IOException {
+    try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(jar))) {
+      for (int i = 0; i < namesAndContents.length; i += 2) {
+        out.putNextEntry(new ZipEntry(namesAndContents[i]));
+        out.write(namesAndContents[i + 1].getBytes(StandardCharsets.UTF_8));
+        out.closeEntry();
+      }
+    }
+  }
+
+  private static void delete(Path dir) throws IOException {
+    try (Stream<Path> walk = Files.walk(dir)) {
+      for (Path path : (Iterable<Path>) walk.sorted(Comparator.reverseOrder())::iterator) {
+        Files.delete(path);
+      }
+    }
+  }
+
+  @Test
+  public void testFind() throws Exception {
+    Path temp = Files.createTempDirectory("TaglibDiscoveryTest");
+    try {
+      Path classes = temp.resolve("classes");
+      write(classes.resolve("META-INF/a.tld"), newTld("a"));
+      write(classes.resolve("META-INF/tags/b.tld"), newTld("b"));
+      write(classes.resolve("META-INF/readme.txt"), "Not a taglib");
+      write(classes.resolve("other.tld"), newTld("outside"));
+      Path jar = temp.resolve("lib.jar");
+      writeJar(
+          jar,
+          "META-INF/MANIFEST.MF", "Manifest-Version: 1.0\n",
+          "META-INF/c.tld", newTld("c"),
+          "com/example/d.tld", newTld("outside")
+      );
+      List<TaglibDiscovery.TldResource> found = TaglibDiscovery.find(Arrays.asList(classes, temp.resolve("missing"), jar));
+      assertEquals(3, found.size());
+      assertEquals(classes.resolve("META-INF/a.tld").toString(), found.get(0).getTldPath());
+      assertEquals(classes.resolve("META-INF/tags/b.tld").toString(), found.get(1).getTldPath());
+      assertEquals(jar + "!/META-INF/c.tld", found.get(2).getTldPath());
+      assertEquals("urn:a", found.get(0).getHeader().getUri());
+      assertEquals("urn:c", found.get(2).getHeader().getUri());
+      List<Taglib> taglibs = TaglibDiscovery.load(found, null, null, null);
+      assertEquals(3, taglibs.size());
+      assertEquals("a", taglibs.get(0).getShortName());
+      assertEquals("b", taglibs.get(1).getShortName());
+      assertEquals("c", taglibs.get(2).getShortName());
+      assertEquals(jar + "!/META-INF/c.tld", taglibs.get(2).getTldPath());
+    } finally {
+      delete(temp);
+    }
+  }
+
+  @Test
+  public void testFindNone() throws Exception {
+    assertEquals(0, TaglibDiscovery.find(Collections.emptyList()).size());
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+
+/**
+ * Tests {@link TaglibHeader}.
+ */
+public class TaglibHeaderTest {
+
+  private static void assertMatchesModel(String tldPath, String tld) throws Exception {
+    byte[] bytes = tld.getBytes(StandardCharsets.UTF_8);
+    TaglibHeader header = TaglibHeader.scan(tldPath, new ByteArrayInputStream(bytes));
+    Taglib taglib = new Taglib(null, tldPath, null, TldParser.parse(tldPath, bytes));
+    assertEquals(tldPath, header.getTldPath());
+    assertEquals(taglib.getTlibVersion(), header.getTlibVersion());
+    assertEquals(taglib.getShortName(), header.getShortName());
+    assertEquals(taglib.getUri(), header.getUri());
+  }
+
+  @Test
+  public void testMatchesModel() throws Exception {
+    assertMatchesModel(
+        "/test.tld",
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<taglib xmlns=\"http://java.sun.com/xml/ns/javaee\" version=\"2.1\">\n"
+            + "  <description>Not part of the header</description>\n"
+            + "  <tlib-version>1.0</tlib-version>\n"
+            + "  <short-name>test</short-name>\n"
+            + "  <uri>urn:test</uri>\n"
+            + "  <tag>\n"
+            + "    <name>example</name>\n"
+            + "    <tag-class>com.example.ExampleTag</tag-class>\n"
+            + "    <body-content>empty</body-content>\n"
+            + "  </tag>\n"
+            + "</taglib>\n"
+    );
+  }
+
+  @Test
+  public void testWhitespaceMatchesModel() throws Exception {
+    assertMatchesModel(
+        "/whitespace.tld",
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<taglib xmlns=\"http://java.sun.com/xml/ns/javaee\" version=\"2.1\">\n"
+            + "  <tlib-version>\n    1.0\n  </tlib-version>\n"
+            + "  <short-name> test </short-name>\n"
+            + "  <uri>\n    urn:test\n  </uri>\n"
+            + "</taglib>\n"
+    );
+  }
+
+  @Test
+  public void testSynthetic() throws Exception {
+    assertMatchesModel("/synthetic.tld", SyntheticTld.generate(1, new SyntheticTld.Shape(10, 4, 4, 200, 0.5, 3)));
+  }
+
+  @Test
+  public void testStopsAtFirstTag() throws Exception {
+    TaglibHeader header = TaglibHeader.scan(
+        "/late.tld",
+        new ByteArrayInputStream((
+            "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<taglib xmlns=\"http://java.sun.com/xml/ns/javaee\" version=\"2.1\">\n"
+                + "  <tlib-version>1.0</tlib-version>\n"
+                + "  <short-name>late</short-name>\n"
+                + "  <tag>\n"
+                + "    <name>example</name>\n"
+                + "  </tag>\n"
+                + "  <uri>urn:late</uri>\n"
+                + "</taglib>\n"
+        ).getBytes(StandardCharsets.UTF_8))
+    );
+    assertEquals("late", header.getShortName());
+    assertNull(header.getUri());
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoapps.tldparser;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import org.junit.Test;
+
+/**
+ * Tests {@link TaglibJsonWriter}.
+ */
+public class TaglibJsonWriterTest {
+
+  private static final String TLD = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+      + "<taglib xmlns=\"http://java.sun.com/xml/ns/javaee\" version=\"2.1\">\n"
+      + "  <!-- dateCreated=\"2022-05-01T12:00:00-05:00\" -->\n"
+      + "  <description>Say \"hi\" \\ &lt;b&gt; &amp; &#x2028;&#x2029;&#9;end</description>\n"
+      + "  <tlib-version>1.0</tlib-version>\n"
+      + "  <short-name>json</short-name>\n"
+      + "  <tag>\n"
+      + "    <!-- allowRobots=\"false\" -->\n"
+      + "    <description><![CDATA[<p class=\"summary\">Tag.</p>]]></description>\n"
+      + "    <name>tag</name>\n"
+      + "    <tag-class>com.example.Tag</tag-class>\n"
+      + "    <body-content>empty</body-content>\n"
+      + "    <attribute>\n"
+      + "      <name>value</name>\n"
+      + "      <deferred-value>\n"
+      + "        <type>java.lang.Object</type>\n"
+      + "      </deferred-value>\n"
+      + "    </attribute>\n"
+      + "    <example>&lt;x:tag/&gt;</example>\n"
+      + "  </tag>\n"
+      + "</taglib>\n";
+
+  private static Taglib newTaglib() throws Exception {
+    return new Taglib("summary", null, "/json.tld", null, TldParser.parse("/json.tld", TLD.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private static String escape(String value) throws Exception {
+    StringWriter out = new StringWriter();
+    TaglibJsonWriter.writeString(value, out);
+    return out.toString();
+  }
+
+  @Test
+  public void testEscaping() throws Exception {
+    assertEquals("\"plain\"", escape("plain"));
+    assertEquals("\"\"", escape(""));
+    assertEquals("\"\\\"\\\\\"", escape("\"\\"));
+    assertEquals("\"\\n\\r\\t\"", escape("\n\r\t"));
+    assertEquals("\"\\u0000\\u0001\\u001f \"", escape("\u0000\u0001\u001f "));
+    assertEquals("\"\\u003c/script\\u003e\\u0026\"", escape("</script>&"));
+    assertEquals("\"\\u2028\\u2029\"", escape("\u2028\u2029"));
+    assertEquals("\"'/\u00e9\u20ac\ud83d\ude00\u007f\"", escape("'/\u00e9\u20ac\ud83d\ude00\u007f"));
+  }
+
+  @Test
+  public void testGolden() throws Exception {
+    Taglib taglib = newTaglib();
+    String fingerprint = taglib.getFingerprint().toString();
+    String tagFingerprint = taglib.getTag().get("tag").getFingerprint().toString();
+    String attributeFingerprint = taglib.getTag().get("tag").getAttribute().get("value").getFingerprint().toString();
+    StringWriter out = new StringWriter();
+    new TaglibJsonWriter().write(taglib, out);
+    assertEquals(
+        "{\"tldPath\":\"/json.tld\",\"tlibVersion\":\"1.0\",\"shortName\":\"json\""
+            + ",\"dates\":{\"created\":\"2022-05-01T12:00:00-05:00\"}"
+            + ",\"descriptions\":[\"Say \\\"hi\\\" \\\\ \\u003cb\\u003e \\u0026 \\u2028\\u2029\\tend\"]"
+            + ",\"displayNames\":[]"
+            + ",\"tags\":[{\"name\":\"tag\",\"dates\":{\"created\":\"2022-05-01T12:00:00-05:00\"},\"allowRobots\":false"
+            + ",\"descriptions\":[\"\\u003cp class=\\\"summary\\\"\\u003eTag.\\u003c/p\\u003e\"]"
+            + ",\"descriptionSummary\":\"\\u003cp class=\\\"summary\\\"\\u003eTag.\\u003c/p\\u003e\""
+            + ",\"displayNames\":[],\"tagClass\":\"com.example.Tag\",\"bodyContent\":\"empty\""
+            + ",\"attributes\":[{\"name\":\"value\",\"descriptions\":[],\"required\":false,\"rtexprvalue\":false,\"fragment\":false"
+            + ",\"deferredValue\":{\"type\":\"java.lang.Object\"}"
+            + ",\"fingerprint\":\"" + attributeFingerprint + "\"}]"
+            + ",\"dynamicAttributes\":false,\"example\":\"\\u003cx:tag/\\u003e\",\"fingerprint\":\"" + tagFingerprint + "\"}]"
+            + ",\"tagsEffectiveDates\":{\"created\":\"2022-05-01T12:00:00-05:00\"}"
+            + ",\"functions\":[]"
+            + ",\"taglibEffectiveDates\":{\"created\":\"2022-05-01T12:00:00-05:00\"}"
+            + ",\"fingerprint\":\"" + fingerprint + "\"}",
+        out.toString()
+    );
+  }
+
+  /**
+   * Null properties and the optional parts are omitted.
+   */
+  @Test
+  public void testNoOptions() throws Exception {
+    Taglib taglib = newTaglib();
+    StringWriter out = new StringWriter();
+    new TaglibJsonWriter(EnumSet.noneOf(TaglibJsonWriter.Option.class)).write(taglib.getTag().get("tag"), out);
+    assertEquals(
+        "{\"name\":\"tag\",\"dates\":{\"created\":\"2022-05-01T12:00:00-05:00\"},\"allowRobots\":false"
+            + ",\"displayNames\":[],\"tagClass\":\"com.example.Tag\",\"bodyContent\":\"empty\""
+            + ",\"attributes\":[{\"name\":\"value\",\"required\":false,\"rtexprvalue\":false,\"fragment\":false"
+            + ",\"deferredValue\":{\"type\":\"java.lang.Object\"}"
+            + ",\"fingerprint\":\"" + taglib.getTag().get("tag").getAttribute().get("value").getFingerprint() + "\"}]"
+            + ",\"dynamicAttributes\":false"
+            + ",\"fingerprint\":\"" + taglib.getTag().get("tag").getFingerprint() + "\"}",
+        out.toString()
+    );
+  }
+
+  @Test
+  public void testArrayOutputStream() throws Exception {
+    Taglib taglib = newTaglib();
+    StringWriter expected = new StringWriter();
+    TaglibJsonWriter writer = new TaglibJsonWriter();
+    writer.write(taglib, expected);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    writer.write(Arrays.asList(taglib, taglib), out);
+    assertEquals("[" + expected + "," + expected + "]", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    out.reset();
+    writer.write(Collections.emptyList(), out);
+    assertEquals("[]", new String(out.toByteArray(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testDates() throws Exception {
+    StringWriter out = new StringWriter();
+    new TaglibJsonWriter().write(Dates.valueOf(null, null, null, null), out);
+    assertEquals("{}", out.toString());
+  }
+}
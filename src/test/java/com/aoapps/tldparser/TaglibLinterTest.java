@@ -0,0 +1,150 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoapps.tldparser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Tests {@link TaglibLinter}.
+ */
+public class TaglibLinterTest {
+
+  private static final String TLD_PATH = "/test.tld";
+
+  private static final String HEAD = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+      + "<taglib xmlns=\"http://java.sun.com/xml/ns/javaee\" version=\"2.1\">\n";
+
+  private static final String VALID = HEAD
+      + "  <!-- dateCreated=\"2022-05-01T12:00:00-05:00\" -->\n"
+      + "  <tlib-version>1.0</tlib-version>\n"
+      + "  <short-name>test</short-name>\n"
+      + "  <uri>urn:test</uri>\n"
+      + "  <tag>\n"
+      + "    <name>foo</name>\n"
+      + "    <tag-class>com.example.FooTag</tag-class>\n"
+      + "    <body-content>empty</body-content>\n"
+      + "    <attribute>\n"
+      + "      <!-- type=\"java.util.List<java.lang.String>\" -->\n"
+      + "      <name>bar</name>\n"
+      + "      <type>java.util.List</type>\n"
+      + "    </attribute>\n"
+      + "  </tag>\n"
+      + "  <function>\n"
+      + "    <name>join</name>\n"
+      + "    <function-class>com.example.Functions</function-class>\n"
+      + "    <function-signature>java.lang.String join(java.lang.String[])</function-signature>\n"
+      + "  </function>\n"
+      + "</taglib>\n";
+
+  private static final String INVALID = HEAD
+      + "  <!-- dateCreated=\"2022-05-01T12:00:00-05:00\" -->\n"
+      + "  <!-- allowRobots=\"maybe\" -->\n"
+      + "  <tlib-version>1.0</tlib-version>\n"
+      + "  <short-name>test</short-name>\n"
+      + "  <uri>urn:test</uri>\n"
+      + "  <tag>\n"
+      + "    <!-- dateCreated=\"2022-04-01T12:00:00-05:00\" -->\n"
+      + "    <name>foo</name>\n"
+      + "    <tag-class>com.example.FooTag</tag-class>\n"
+      + "    <body-content>empty</body-content>\n"
+      + "    <attribute>\n"
+      + "      <!-- type=\"java.util.Map<java.lang.String,java.lang.String>\" -->\n"
+      + "      <name>bar</name>\n"
+      + "      <type>java.util.List</type>\n"
+      + "      <deferred-value>\n"
+      + "        <!-- type=\"java.util.List<java.lang.String>\" -->\n"
+      + "      </deferred-value>\n"
+      + "    </attribute>\n"
+      + "  </tag>\n"
+      + "  <tag>\n"
+      + "    <name>foo</name>\n"
+      + "    <tag-class>com.example.FooTag</tag-class>\n"
+      + "    <body-content>empty</body-content>\n"
+      + "  </tag>\n"
+      + "  <function>\n"
+      + "    <!-- allowRobots=\"sometimes\" -->\n"
+      + "    <!-- functionSignature=\"java.lang.String join(java.util.List<java.lang.String>)\" -->\n"
+      + "    <name>join</name>\n"
+      + "    <function-class>com.example.Functions</function-class>\n"
+      + "    <function-signature>java.lang.String join(java.lang.String[])</function-signature>\n"
+      + "  </function>\n"
+      + "</taglib>\n";
+
+  private static List<TaglibLinter.Diagnostic> lint(String tld) throws Exception {
+    return TaglibLinter.lint(TLD_PATH, null, new ByteArrayInputStream(tld.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  public void testValid() throws Exception {
+    assertEquals(0, lint(VALID).size());
+    // The model accepts the same file
+    new Taglib(SyntheticTld.SUMMARY_CLASS, null, TLD_PATH, null, TldParser.parse(TLD_PATH, VALID.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  public void testAllProblemsInDocumentOrder() throws Exception {
+    List<TaglibLinter.Diagnostic> diagnostics = lint(INVALID);
+    List<String> locations = new ArrayList<>();
+    for (TaglibLinter.Diagnostic diagnostic : diagnostics) {
+      locations.add(diagnostic.getLocation());
+    }
+    assertEquals(
+        Arrays.asList(
+            TLD_PATH,
+            TLD_PATH + "/foo",
+            TLD_PATH + "/foo/bar",
+            TLD_PATH + "/foo/bar/deferred-value",
+            TLD_PATH,
+            TLD_PATH + "/join",
+            TLD_PATH + "/join"
+        ),
+        locations
+    );
+    assertTrue(diagnostics.get(0).getMessage(), diagnostics.get(0).getMessage().contains("allowRobots"));
+    assertTrue(diagnostics.get(0).getMessage(), diagnostics.get(0).getMessage().contains("maybe"));
+    assertTrue(diagnostics.get(1).getMessage(), diagnostics.get(1).getMessage().contains(TLD_PATH));
+    assertTrue(diagnostics.get(2).getMessage(), diagnostics.get(2).getMessage().contains("mismatch"));
+    assertTrue(diagnostics.get(3).getMessage(), diagnostics.get(3).getMessage().contains("without child element (type)"));
+    assertEquals("Duplicate tag name: foo", diagnostics.get(4).getMessage());
+    assertTrue(diagnostics.get(5).getMessage(), diagnostics.get(5).getMessage().contains("sometimes"));
+    assertTrue(diagnostics.get(6).getMessage(), diagnostics.get(6).getMessage().contains("mismatch"));
+    assertEquals(TLD_PATH + "/join: " + diagnostics.get(6).getMessage(), diagnostics.get(6).toString());
+  }
+
+  @Test
+  public void testNotWellFormed() throws Exception {
+    List<TaglibLinter.Diagnostic> diagnostics = lint(HEAD + "  <tag>\n</taglib>\n");
+    assertEquals(1, diagnostics.size());
+    assertEquals(TLD_PATH, diagnostics.get(0).getLocation());
+  }
+}
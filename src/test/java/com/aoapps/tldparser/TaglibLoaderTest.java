@@ -0,0 +1,454 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoapps.tldparser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.Test;
+
+/**
+ * Tests {@link TaglibLoader}.
+ */
+public class TaglibLoaderTest {
+
+  private static final String SUMMARY_CLASS = "summary";
+
+  private static final Executor DIRECT = Runnable::run;
+
+  /**
+   * Queues tasks until run by the test, in any order.
+   */
+  private static class QueuedExecutor implements Executor {
+
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    @Override
+    public synchronized void execute(Runnable task) {
+      tasks.add(task);
+    }
+
+    private synchronized int size() {
+      return tasks.size();
+    }
+
+    private void run(int index) {
+      Runnable task;
+      synchronized (this) {
+        task = tasks.remove(index);
+      }
+      task.run();
+    }
+
+    private void runAll() {
+      while (size() > 0) {
+        run(0);
+      }
+    }
+  }
+
+  /**
+   * Records each signal as a string, such as <code>onNext:a</code>.
+   */
+  private static class RecordingSubscriber implements Flow.Subscriber<Taglib> {
+
+    private final List<String> signals = Collections.synchronizedList(new ArrayList<>());
+    private Flow.Subscription subscription;
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+      signals.add("onSubscribe");
+    }
+
+    @Override
+    public void onNext(Taglib taglib) {
+      signals.add("onNext:" + taglib.getShortName());
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      signals.add("onError:" + throwable.getClass().getSimpleName());
+    }
+
+    @Override
+    public void onComplete() {
+      signals.add("onComplete");
+    }
+
+    private List<String> getSignals() {
+      synchronized (signals) {
+        return new ArrayList<>(signals);
+      }
+    }
+  }
+
+  /**
+   * A test run against a new directory.
+   */
+  @FunctionalInterface
+  private interface DirTest {
+    void run(Path dir) throws Exception;
+  }
+
+  private static void withDir(DirTest test) throws Exception {
+    Path dir = Files.createTempDirectory("TaglibLoaderTest");
+    try {
+      test.run(dir);
+    } finally {
+      try (Stream<Path> paths = Files.walk(dir)) {
+        for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+          Files.delete(path);
+        }
+      }
+    }
+  }
+
+  /**
+   * Writes a *.tld file with the given short name, with one tag with a description.
+   */
+  private static Path writeTld(Path dir, String shortName) throws Exception {
+    return writeFile(dir, shortName, "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+        + "<taglib xmlns=\"http://java.sun.com/xml/ns/javaee\" version=\"2.1\">\n"
+        + "  <tlib-version>1.0</tlib-version>\n"
+        + "  <short-name>" + shortName + "</short-name>\n"
+        + "  <uri>urn:" + shortName + "</uri>\n"
+        + "  <tag>\n"
+        + "    <description><![CDATA[<p class=\"" + SUMMARY_CLASS + "\">Tag of " + shortName + ".</p>]]></description>\n"
+        + "    <name>tag</name>\n"
+        + "    <tag-class>com.example.Tag</tag-class>\n"
+        + "    <body-content>empty</body-content>\n"
+        + "  </tag>\n"
+        + "</taglib>\n");
+  }
+
+  /**
+   * Writes a *.tld file that is not well-formed.
+   */
+  private static Path writeBadTld(Path dir, String name) throws Exception {
+    return writeFile(dir, name, "<taglib>\n");
+  }
+
+  private static Path writeFile(Path dir, String name, String content) throws Exception {
+    Path file = dir.resolve(name + ".tld");
+    Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    return file;
+  }
+
+  private static RecordingSubscriber subscribe(List<Path> tldFiles, Executor executor) {
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    TaglibLoader.publish(tldFiles, SUMMARY_CLASS, null, null, executor).subscribe(subscriber);
+    assertNotNull(subscriber.subscription);
+    return subscriber;
+  }
+
+  @Test
+  public void testPublishEmptyCompletesImmediately() throws Exception {
+    RecordingSubscriber subscriber = subscribe(Collections.emptyList(), DIRECT);
+    assertEquals(Arrays.asList("onSubscribe", "onComplete"), subscriber.getSignals());
+  }
+
+  @Test
+  public void testPublishRequestOneStartsOne() throws Exception {
+    withDir(dir -> {
+      QueuedExecutor executor = new QueuedExecutor();
+      RecordingSubscriber subscriber = subscribe(Arrays.asList(writeTld(dir, "a"), writeTld(dir, "b"), writeTld(dir, "c")), executor);
+      // Nothing is loaded without demand
+      assertEquals(0, executor.size());
+      subscriber.subscription.request(1);
+      assertEquals(1, executor.size());
+      executor.runAll();
+      assertEquals(Arrays.asList("onSubscribe", "onNext:a"), subscriber.getSignals());
+      // Demand was used by the first load
+      assertEquals(0, executor.size());
+      subscriber.subscription.request(2);
+      assertEquals(2, executor.size());
+      executor.runAll();
+      assertEquals(Arrays.asList("onSubscribe", "onNext:a", "onNext:b", "onNext:c", "onComplete"), subscriber.getSignals());
+    });
+  }
+
+  @Test
+  public void testPublishRequestOverflow() throws Exception {
+    withDir(dir -> {
+      QueuedExecutor executor = new QueuedExecutor();
+      RecordingSubscriber subscriber = subscribe(Arrays.asList(writeTld(dir, "a"), writeTld(dir, "b"), writeTld(dir, "c")), executor);
+      subscriber.subscription.request(1);
+      // Overflows to unbounded instead of negative
+      subscriber.subscription.request(Long.MAX_VALUE);
+      assertEquals(3, executor.size());
+      subscriber.subscription.request(Long.MAX_VALUE);
+      assertEquals(3, executor.size());
+      executor.runAll();
+      assertEquals(Arrays.asList("onSubscribe", "onNext:a", "onNext:b", "onNext:c", "onComplete"), subscriber.getSignals());
+    });
+  }
+
+  @Test
+  public void testPublishNonPositiveRequest() throws Exception {
+    withDir(dir -> {
+      QueuedExecutor executor = new QueuedExecutor();
+      RecordingSubscriber subscriber = subscribe(Arrays.asList(writeTld(dir, "a"), writeTld(dir, "b")), executor);
+      subscriber.subscription.request(0);
+      assertEquals(Arrays.asList("onSubscribe", "onError:IllegalArgumentException"), subscriber.getSignals());
+      // No later signals
+      subscriber.subscription.request(-1);
+      subscriber.subscription.request(2);
+      executor.runAll();
+      assertEquals(Arrays.asList("onSubscribe", "onError:IllegalArgumentException"), subscriber.getSignals());
+    });
+  }
+
+  @Test
+  public void testPublishCancel() throws Exception {
+    withDir(dir -> {
+      QueuedExecutor executor = new QueuedExecutor();
+      RecordingSubscriber subscriber = subscribe(Arrays.asList(writeTld(dir, "a"), writeTld(dir, "b"), writeTld(dir, "c")), executor);
+      subscriber.subscription.request(2);
+      executor.run(0);
+      assertEquals(Arrays.asList("onSubscribe", "onNext:a"), subscriber.getSignals());
+      subscriber.subscription.cancel();
+      // The load already started is discarded, and no more are started
+      executor.runAll();
+      subscriber.subscription.request(1);
+      assertEquals(0, executor.size());
+      assertEquals(Arrays.asList("onSubscribe", "onNext:a"), subscriber.getSignals());
+    });
+  }
+
+  @Test
+  public void testPublishFirstError() throws Exception {
+    withDir(dir -> {
+      QueuedExecutor executor = new QueuedExecutor();
+      RecordingSubscriber subscriber = subscribe(
+          Arrays.asList(writeTld(dir, "a"), writeBadTld(dir, "bad1"), writeBadTld(dir, "bad2"), writeTld(dir, "d")),
+          executor
+      );
+      subscriber.subscription.request(4);
+      assertEquals(4, executor.size());
+      executor.run(0);
+      // Delivered in the order of completion
+      executor.run(1);
+      assertEquals(Arrays.asList("onSubscribe", "onNext:a", "onError:SAXParseException"), subscriber.getSignals());
+      // Only one error and no onNext or onComplete after it
+      executor.runAll();
+      assertEquals(Arrays.asList("onSubscribe", "onNext:a", "onError:SAXParseException"), subscriber.getSignals());
+    });
+  }
+
+  @Test
+  public void testPublishResources() throws Exception {
+    withDir(dir -> {
+      Path metaInf = Files.createDirectory(dir.resolve("META-INF"));
+      writeTld(metaInf, "a");
+      writeTld(metaInf, "b");
+      RecordingSubscriber subscriber = new RecordingSubscriber();
+      TaglibLoader.publishResources(TaglibDiscovery.find(dir), SUMMARY_CLASS, null, null, DIRECT).subscribe(subscriber);
+      subscriber.subscription.request(Long.MAX_VALUE);
+      List<String> signals = subscriber.getSignals();
+      assertEquals(4, signals.size());
+      assertTrue(signals.contains("onNext:a"));
+      assertTrue(signals.contains("onNext:b"));
+      assertEquals("onComplete", signals.get(3));
+    });
+  }
+
+  @Test
+  public void testLoadAsync() throws Exception {
+    withDir(dir -> {
+      CompletableFuture<Taglib> future = TaglibLoader.loadAsync(writeTld(dir, "a"), SUMMARY_CLASS, null, null, DIRECT);
+      assertEquals("a", future.get().getShortName());
+      // Failures complete the future
+      CompletableFuture<Taglib> failed = TaglibLoader.loadAsync(writeBadTld(dir, "bad"), SUMMARY_CLASS, null, null, DIRECT);
+      try {
+        failed.get();
+        throw new AssertionError("ExecutionException expected");
+      } catch (ExecutionException e) {
+        assertEquals("SAXParseException", e.getCause().getClass().getSimpleName());
+      }
+      // As do rejections
+      CompletableFuture<Taglib> rejected = TaglibLoader.loadAsync(writeTld(dir, "b"), SUMMARY_CLASS, null, null, task -> {
+        throw new RejectedExecutionException();
+      });
+      assertTrue(rejected.isCompletedExceptionally());
+    });
+  }
+
+  @Test
+  public void testLoadAsyncCancelBeforeRun() throws Exception {
+    withDir(dir -> {
+      Path tldFile = writeTld(dir, "a");
+      // The summary cache records whether the load ran
+      try (SummaryCache summaryCache = SummaryCache.open(dir.resolve("summaries.cache"))) {
+        QueuedExecutor executor = new QueuedExecutor();
+        CompletableFuture<Taglib> cancelled = TaglibLoader.loadAsync(tldFile, SUMMARY_CLASS, summaryCache, null, executor);
+        assertTrue(cancelled.cancel(false));
+        executor.runAll();
+        assertTrue(cancelled.isCancelled());
+        assertEquals(0, summaryCache.size());
+        CompletableFuture<Taglib> loaded = TaglibLoader.loadAsync(tldFile, SUMMARY_CLASS, summaryCache, null, executor);
+        assertFalse(loaded.isDone());
+        executor.runAll();
+        assertEquals("a", loaded.get().getShortName());
+        assertEquals(1, summaryCache.size());
+      }
+    });
+  }
+
+  /**
+   * Runs each task on a new thread.
+   */
+  private static final Executor THREAD_PER_TASK = task -> new Thread(task).start();
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static List<String> getShortNames(List<Taglib> taglibs) {
+    List<String> shortNames = new ArrayList<>();
+    for (Taglib taglib : taglibs) {
+      shortNames.add(taglib.getShortName());
+    }
+    return shortNames;
+  }
+
+  @Test
+  public void testLoadAllInInputOrder() throws Exception {
+    withDir(dir -> {
+      List<Path> tldFiles = Arrays.asList(writeTld(dir, "a"), writeTld(dir, "b"), writeTld(dir, "c"), writeTld(dir, "d"));
+      List<String> readOrder = Collections.synchronizedList(new ArrayList<>());
+      List<Taglib> taglibs = TaglibLoader.loadAll(tldFiles, SUMMARY_CLASS, null, null, THREAD_PER_TASK, THREAD_PER_TASK, tldFiles.size(), file -> {
+        // Earlier files are slower
+        sleep(50L * (tldFiles.size() - tldFiles.indexOf(file)));
+        readOrder.add(file.getFileName().toString());
+        return Files.readAllBytes(file);
+      });
+      assertEquals(Arrays.asList("d.tld", "c.tld", "b.tld", "a.tld"), readOrder);
+      assertEquals(Arrays.asList("a", "b", "c", "d"), getShortNames(taglibs));
+    });
+  }
+
+  @Test
+  public void testLoadAllMaxConcurrentReads() throws Exception {
+    withDir(dir -> {
+      List<Path> tldFiles = new ArrayList<>();
+      for (int i = 0; i < 12; i++) {
+        tldFiles.add(writeTld(dir, "t" + i));
+      }
+      AtomicInteger reading = new AtomicInteger();
+      AtomicInteger maxReading = new AtomicInteger();
+      List<Taglib> taglibs = TaglibLoader.loadAll(tldFiles, SUMMARY_CLASS, null, null, THREAD_PER_TASK, DIRECT, 3, file -> {
+        int current = reading.incrementAndGet();
+        maxReading.accumulateAndGet(current, Math::max);
+        try {
+          sleep(20);
+          return Files.readAllBytes(file);
+        } finally {
+          reading.decrementAndGet();
+        }
+      });
+      assertEquals(12, taglibs.size());
+      assertEquals(3, maxReading.get());
+    });
+  }
+
+  @Test
+  public void testLoadAllFirstFailure() throws Exception {
+    withDir(dir -> {
+      List<Path> tldFiles = Arrays.asList(writeTld(dir, "a"), writeTld(dir, "bad1"), writeTld(dir, "bad2"), writeTld(dir, "d"));
+      AtomicInteger completed = new AtomicInteger();
+      try {
+        TaglibLoader.loadAll(tldFiles, SUMMARY_CLASS, null, null, THREAD_PER_TASK, DIRECT, tldFiles.size(), file -> {
+          String name = file.getFileName().toString();
+          try {
+            switch (name) {
+              case "bad1.tld":
+                // Fails after the second failure and all other loads
+                sleep(200);
+                throw new IOException(name);
+              case "bad2.tld":
+                throw new IOException(name);
+              default:
+                sleep(100);
+                return Files.readAllBytes(file);
+            }
+          } finally {
+            completed.incrementAndGet();
+          }
+        });
+        throw new AssertionError("IOException expected");
+      } catch (IOException e) {
+        assertEquals("bad1.tld", e.getMessage());
+      }
+      assertEquals(4, completed.get());
+    });
+  }
+
+  private static int countLoaderThreads() {
+    int count = 0;
+    for (Thread thread : Thread.getAllStackTraces().keySet()) {
+      if (thread.getName().equals(TaglibLoader.class.getName()) && thread.isAlive()) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @Test
+  public void testLoadAllDefaultShutdown() throws Exception {
+    withDir(dir -> {
+      List<Path> tldFiles = Arrays.asList(writeTld(dir, "a"), writeTld(dir, "b"));
+      assertEquals(Arrays.asList("a", "b"), getShortNames(TaglibLoader.loadAll(tldFiles, SUMMARY_CLASS, null, null)));
+      // The threads of the executors end once shut down
+      long deadline = System.currentTimeMillis() + 10000;
+      while (countLoaderThreads() > 0 && System.currentTimeMillis() < deadline) {
+        sleep(10);
+      }
+      assertEquals(0, countLoaderThreads());
+    });
+  }
+}
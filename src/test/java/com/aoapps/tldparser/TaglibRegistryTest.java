@@ -0,0 +1,271 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoapps.tldparser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Test;
+
+/**
+ * Tests {@link TaglibRegistry}, including concurrent readers and writers.
+ */
+public class TaglibRegistryTest {
+
+  private static Taglib newTaglib(String tldPath, String uri, String version) throws Exception {
+    String tld = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+        + "<taglib xmlns=\"http://java.sun.com/xml/ns/javaee\" version=\"2.1\">\n"
+        + "  <tlib-version>" + version + "</tlib-version>\n"
+        + "  <short-name>test</short-name>\n"
+        + "  <uri>" + uri + "</uri>\n"
+        + "</taglib>\n";
+    return new Taglib(null, tldPath, null, TldParser.parse(tldPath, tld.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  public void testPutReplaceRemove() throws Exception {
+    TaglibRegistry registry = new TaglibRegistry();
+    TaglibRegistry.Snapshot empty = registry.getSnapshot();
+    Taglib a1 = newTaglib("/a.tld", "urn:a", "1.0");
+    Taglib a2 = newTaglib("/a.tld", "urn:a", "2.0");
+    assertNull(registry.put(a1));
+    assertSame(a1, registry.getByTldPath("/a.tld"));
+    assertSame(a1, registry.getByUri("urn:a"));
+    TaglibRegistry.Snapshot before = registry.getSnapshot();
+    assertSame(a1, registry.put(a2));
+    assertSame(a2, registry.getByUri("urn:a"));
+    // Earlier snapshots are unchanged
+    assertEquals(0, empty.size());
+    assertSame(a1, before.getByTldPath("/a.tld"));
+    assertSame(a2, registry.remove("/a.tld"));
+    assertNull(registry.remove("/a.tld"));
+    assertNull(registry.getByUri("urn:a"));
+    assertEquals(0, registry.getSnapshot().size());
+  }
+
+  @Test
+  public void testSharedUri() throws Exception {
+    TaglibRegistry registry = new TaglibRegistry();
+    Taglib a = newTaglib("/a.tld", "urn:shared", "1.0");
+    Taglib b = newTaglib("/b.tld", "urn:shared", "1.0");
+    registry.put(a);
+    registry.put(b);
+    assertSame(b, registry.getByUri("urn:shared"));
+    registry.remove("/b.tld");
+    assertSame(a, registry.getByUri("urn:shared"));
+    registry.remove("/a.tld");
+    assertNull(registry.getByUri("urn:shared"));
+  }
+
+  @Test
+  public void testSharedUriInsertionOrder() throws Exception {
+    TaglibRegistry registry = new TaglibRegistry();
+    Taglib a = newTaglib("/a.tld", "urn:shared", "1.0");
+    Taglib b = newTaglib("/b.tld", "urn:shared", "1.0");
+    Taglib c = newTaglib("/c.tld", "urn:shared", "1.0");
+    Taglib d = newTaglib("/d.tld", "urn:other", "1.0");
+    // Added in the reverse of path order, so iteration order does not match insertion order
+    registry.put(c);
+    registry.put(d);
+    registry.put(a);
+    registry.put(b);
+    assertSame(b, registry.getByUri("urn:shared"));
+    registry.remove("/b.tld");
+    assertSame(a, registry.getByUri("urn:shared"));
+    // Replacing makes it the most recently added
+    Taglib c2 = newTaglib("/c.tld", "urn:shared", "2.0");
+    registry.put(c2);
+    assertSame(c2, registry.getByUri("urn:shared"));
+    registry.remove("/c.tld");
+    assertSame(a, registry.getByUri("urn:shared"));
+    // Removing one that is not the most recent keeps the most recent
+    registry.put(c);
+    registry.remove("/a.tld");
+    assertSame(c, registry.getByUri("urn:shared"));
+    // Changing the URI of a path
+    registry.put(newTaglib("/c.tld", "urn:other", "3.0"));
+    assertNull(registry.getByUri("urn:shared"));
+    assertSame(registry.getByTldPath("/c.tld"), registry.getByUri("urn:other"));
+    registry.remove("/c.tld");
+    assertSame(d, registry.getByUri("urn:other"));
+  }
+
+  @Test
+  public void testGetTaglibs() throws Exception {
+    TaglibRegistry registry = new TaglibRegistry();
+    Set<String> expected = new HashSet<>();
+    for (int i = 0; i < 500; i++) {
+      registry.put(newTaglib("/t" + i + ".tld", "urn:t" + i, "1.0"));
+      expected.add("/t" + i + ".tld");
+    }
+    TaglibRegistry.Snapshot snapshot = registry.getSnapshot();
+    assertEquals(500, snapshot.size());
+    assertEquals(500, snapshot.getTaglibs().size());
+    Set<String> actual = new HashSet<>();
+    for (Taglib taglib : snapshot.getTaglibs()) {
+      actual.add(taglib.getTldPath());
+    }
+    assertEquals(expected, actual);
+  }
+
+  private static final int KEYS = 200;
+  private static final int VERSIONS = 4;
+  private static final int WRITERS = 4;
+  private static final int READERS = 4;
+  private static final int WRITES_PER_WRITER = 20000;
+
+  /**
+   * Writers randomly put and remove while readers verify that every snapshot is internally consistent.
+   */
+  @Test
+  public void testConcurrentStress() throws Exception {
+    // Pre-build all versions so the stress is on the registry, not the parser
+    Taglib[][] taglibs = new Taglib[KEYS][VERSIONS];
+    for (int key = 0; key < KEYS; key++) {
+      for (int version = 0; version < VERSIONS; version++) {
+        taglibs[key][version] = newTaglib("/t" + key + ".tld", "urn:t" + key, version + ".0");
+      }
+    }
+    TaglibRegistry registry = new TaglibRegistry();
+    ExecutorService executor = Executors.newFixedThreadPool(WRITERS + READERS);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      AtomicBoolean writing = new AtomicBoolean(true);
+      List<Future<?>> writers = new ArrayList<>();
+      for (int w = 0; w < WRITERS; w++) {
+        writers.add(executor.submit(() -> {
+          start.await();
+          ThreadLocalRandom random = ThreadLocalRandom.current();
+          for (int i = 0; i < WRITES_PER_WRITER; i++) {
+            int key = random.nextInt(KEYS);
+            if (random.nextInt(4) == 0) {
+              registry.remove("/t" + key + ".tld");
+            } else {
+              Taglib taglib = taglibs[key][random.nextInt(VERSIONS)];
+              Taglib previous = registry.put(taglib);
+              assertTrue(previous == null || previous.getTldPath().equals(taglib.getTldPath()));
+            }
+          }
+          return null;
+        }));
+      }
+      List<Future<Integer>> readers = new ArrayList<>();
+      for (int r = 0; r < READERS; r++) {
+        readers.add(executor.submit(() -> {
+          start.await();
+          int checked = 0;
+          do {
+            TaglibRegistry.Snapshot snapshot = registry.getSnapshot();
+            int count = 0;
+            for (Taglib taglib : snapshot.getTaglibs()) {
+              count++;
+              assertSame(taglib, snapshot.getByTldPath(taglib.getTldPath()));
+              assertSame(taglib, snapshot.getByUri(taglib.getUri()));
+            }
+            assertEquals(snapshot.size(), count);
+            for (int key = 0; key < KEYS; key++) {
+              Taglib byUri = snapshot.getByUri("urn:t" + key);
+              assertSame(snapshot.getByTldPath("/t" + key + ".tld"), byUri);
+            }
+            checked++;
+          } while (writing.get());
+          return checked;
+        }));
+      }
+      start.countDown();
+      for (Future<?> writer : writers) {
+        writer.get(1, TimeUnit.MINUTES);
+      }
+      writing.set(false);
+      for (Future<Integer> reader : readers) {
+        assertTrue(reader.get(1, TimeUnit.MINUTES) > 0);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    // Final state is consistent after all writers finish
+    TaglibRegistry.Snapshot snapshot = registry.getSnapshot();
+    int count = 0;
+    for (int key = 0; key < KEYS; key++) {
+      Taglib taglib = snapshot.getByTldPath("/t" + key + ".tld");
+      if (taglib != null) {
+        count++;
+        assertSame(taglib, snapshot.getByUri("urn:t" + key));
+      }
+    }
+    assertEquals(count, snapshot.size());
+  }
+
+  /**
+   * Concurrent writers of distinct keys must never lose an update.
+   */
+  @Test
+  public void testNoLostUpdates() throws Exception {
+    TaglibRegistry registry = new TaglibRegistry();
+    int perWriter = 250;
+    ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<?>> writers = new ArrayList<>();
+      for (int w = 0; w < WRITERS; w++) {
+        int writer = w;
+        writers.add(executor.submit(() -> {
+          start.await();
+          for (int i = 0; i < perWriter; i++) {
+            String name = "/w" + writer + "-" + i + ".tld";
+            assertNull(registry.put(newTaglib(name, "urn:" + name, "1.0")));
+          }
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> writer : writers) {
+        writer.get(1, TimeUnit.MINUTES);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(WRITERS * perWriter, registry.getSnapshot().size());
+    for (int w = 0; w < WRITERS; w++) {
+      for (int i = 0; i < perWriter; i++) {
+        assertNotNull(registry.getByTldPath("/w" + w + "-" + i + ".tld"));
+      }
+    }
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoapps.tldparser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+/**
+ * Tests {@link Taglib#reload(com.aoapps.tldparser.Taglib, java.lang.String, com.aoapps.tldparser.SummaryCache, java.lang.String, com.aoapps.tldparser.Dates, org.w3c.dom.Document)}.
+ */
+public class TaglibReloadTest {
+
+  private static final String SUMMARY_CLASS = SyntheticTld.SUMMARY_CLASS;
+
+  private static final String TLD_PATH = "/test.tld";
+
+  private static String newTld(String secondDescription, String whitespace) {
+    return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+        + "<taglib xmlns=\"http://java.sun.com/xml/ns/javaee\" version=\"2.1\">\n"
+        + "  <tlib-version>1.0</tlib-version>\n"
+        + "  <short-name>test</short-name>\n"
+        + "  <uri>urn:test</uri>\n"
+        + "  <tag>\n"
+        + "    <description><![CDATA[<p class=\"" + SUMMARY_CLASS + "\">First tag.</p>]]></description>\n"
+        + "    <name>first</name>\n"
+        + "    <tag-class>com.example.FirstTag</tag-class>\n"
+        + "    <body-content>empty</body-content>\n"
+        + "  </tag>\n" + whitespace
+        + "  <tag>\n"
+        + "    <description><![CDATA[<p class=\"" + SUMMARY_CLASS + "\">" + secondDescription + "</p>]]></description>\n"
+        + "    <name>second</name>\n"
+        + "    <tag-class>com.example.SecondTag</tag-class>\n"
+        + "    <body-content>empty</body-content>\n"
+        + "  </tag>\n"
+        + "</taglib>\n";
+  }
+
+  private static Document parse(String tld) throws Exception {
+    return TldParser.parse(TLD_PATH, tld.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static Taglib reload(Taglib previous, String summaryClass, Dates defaultDates, String tld) throws Exception {
+    return Taglib.reload(previous, summaryClass, null, TLD_PATH, defaultDates, parse(tld));
+  }
+
+  @Test
+  public void testUnchanged() throws Exception {
+    String tld = newTld("Second tag.", "");
+    Taglib previous = new Taglib(SUMMARY_CLASS, null, TLD_PATH, null, parse(tld));
+    assertSame(previous, reload(previous, SUMMARY_CLASS, null, tld));
+  }
+
+  @Test
+  public void testWhitespaceOnly() throws Exception {
+    Taglib previous = new Taglib(SUMMARY_CLASS, null, TLD_PATH, null, parse(newTld("Second tag.", "")));
+    // Document fingerprint differs, but the model does not
+    assertNotEquals(
+        Taglib.getDocumentFingerprint(parse(newTld("Second tag.", "")), null),
+        Taglib.getDocumentFingerprint(parse(newTld("Second tag.", "\n\n")), null)
+    );
+    assertSame(previous, reload(previous, SUMMARY_CLASS, null, newTld("Second tag.", "\n\n")));
+  }
+
+  @Test
+  public void testWhitespaceOnlyTwice() throws Exception {
+    Taglib previous = new Taglib(SUMMARY_CLASS, null, TLD_PATH, null, parse(newTld("Second tag.", "")));
+    // Not computed without reloading
+    assertNull(previous.getDocumentFingerprint());
+    String edited = newTld("Second tag.", "\n\n");
+    assertSame(previous, reload(previous, SUMMARY_CLASS, null, edited));
+    // The edited document is recorded, so the second reload returns before creating a model
+    assertEquals(Taglib.getDocumentFingerprint(parse(edited), null), previous.getDocumentFingerprint());
+    assertSame(previous, reload(previous, SUMMARY_CLASS, null, edited));
+  }
+
+  @Test
+  public void testChanged() throws Exception {
+    Taglib previous = new Taglib(SUMMARY_CLASS, null, TLD_PATH, null, parse(newTld("Second tag.", "")));
+    Taglib reloaded = reload(previous, SUMMARY_CLASS, null, newTld("Changed tag.", ""));
+    assertNotSame(previous, reloaded);
+    assertNotEquals(previous.getFingerprint(), reloaded.getFingerprint());
+    assertTrue(reloaded.getTag().get("second").getDescriptionSummary().contains("Changed tag."));
+    // Unchanged values are shared
+    assertSame(previous.getTag().get("first").getDescriptions(), reloaded.getTag().get("first").getDescriptions());
+    assertSame(previous.getTag().get("first").getDescriptionSummary(), reloaded.getTag().get("first").getDescriptionSummary());
+    // The same as loading without reuse
+    assertEquals(
+        new Taglib(SUMMARY_CLASS, null, TLD_PATH, null, parse(newTld("Changed tag.", ""))).getFingerprint(),
+        reloaded.getFingerprint()
+    );
+  }
+
+  @Test
+  public void testDefaultDatesChanged() throws Exception {
+    String tld = newTld("Second tag.", "");
+    Taglib previous = new Taglib(SUMMARY_CLASS, null, TLD_PATH, null, parse(tld));
+    Dates defaultDates = Dates.valueOf(ZonedDateTime.parse("2022-05-01T12:00:00-05:00"), null, null, null);
+    Taglib reloaded = reload(previous, SUMMARY_CLASS, defaultDates, tld);
+    assertNotSame(previous, reloaded);
+    assertEquals(defaultDates.getCreated(), reloaded.getDates().getCreated());
+    assertSame(reloaded, reload(reloaded, SUMMARY_CLASS, defaultDates, tld));
+  }
+
+  @Test
+  public void testSummaryClassChanged() throws Exception {
+    String tld = newTld("Second tag.", "");
+    Taglib previous = new Taglib(SUMMARY_CLASS, null, TLD_PATH, null, parse(tld));
+    Taglib reloaded = reload(previous, "other-summary", null, tld);
+    assertNotSame(previous, reloaded);
+    assertEquals("other-summary", reloaded.getSummaryClass());
+  }
+
+  @Test
+  public void testFromPrecompiled() throws Exception {
+    String tld = newTld("Second tag.", "");
+    Path file = Files.createTempFile("TaglibReloadTest", ".store");
+    try {
+      MappedTaglibStore.write(Collections.singletonList(new Taglib(SUMMARY_CLASS, null, TLD_PATH, null, parse(tld))), file);
+      Taglib precompiled = PrecompiledTaglibs.toTaglibs(MappedTaglibStore.open(file)).get(0);
+      assertEquals(SUMMARY_CLASS, precompiled.getSummaryClass());
+      assertSame(precompiled, reload(precompiled, SUMMARY_CLASS, null, tld));
+      Taglib reloaded = reload(precompiled, SUMMARY_CLASS, null, newTld("Changed tag.", ""));
+      assertNotSame(precompiled, reloaded);
+      // Summaries are reused from the precompiled taglib
+      assertSame(precompiled.getTag().get("first").getDescriptionSummary(), reloaded.getTag().get("first").getDescriptionSummary());
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+}
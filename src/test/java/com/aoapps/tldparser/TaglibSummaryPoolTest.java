@@ -0,0 +1,127 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoapps.tldparser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+
+/**
+ * Tests {@link Taglib#Taglib(java.lang.String, com.aoapps.tldparser.SummaryCache, java.lang.String, com.aoapps.tldparser.Dates, org.w3c.dom.Document, java.util.concurrent.ForkJoinPool)}.
+ */
+public class TaglibSummaryPoolTest {
+
+  private static final String SUMMARY_CLASS = SyntheticTld.SUMMARY_CLASS;
+
+  private static final String TLD_PATH = "/test.tld";
+
+  private static final SyntheticTld.Shape SHAPE = new SyntheticTld.Shape(20, 4, 10, 200, 0.5, 2);
+
+  private static String newTag(String name, String description) {
+    return "  <tag>\n"
+        + "    <description><![CDATA[" + description + "]]></description>\n"
+        + "    <name>" + name + "</name>\n"
+        + "    <tag-class>com.example.Tag</tag-class>\n"
+        + "    <body-content>empty</body-content>\n"
+        + "  </tag>\n";
+  }
+
+  private static String newTld(String tags) {
+    return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+        + "<taglib xmlns=\"http://java.sun.com/xml/ns/javaee\" version=\"2.1\">\n"
+        + "  <tlib-version>1.0</tlib-version>\n"
+        + "  <short-name>test</short-name>\n"
+        + "  <uri>urn:test</uri>\n"
+        + tags
+        + "</taglib>\n";
+  }
+
+  private static Taglib newTaglib(String tld, ForkJoinPool summaryPool) throws Exception {
+    byte[] bytes = tld.getBytes(StandardCharsets.UTF_8);
+    return (summaryPool == null)
+        ? new Taglib(SUMMARY_CLASS, null, TLD_PATH, null, TldParser.parse(TLD_PATH, bytes))
+        : new Taglib(SUMMARY_CLASS, null, TLD_PATH, null, TldParser.parse(TLD_PATH, bytes), summaryPool);
+  }
+
+  /**
+   * Gets the exception thrown while creating a taglib.
+   */
+  private static Exception getException(String tld, ForkJoinPool summaryPool) {
+    try {
+      newTaglib(tld, summaryPool);
+    } catch (Exception e) {
+      return e;
+    }
+    throw new AssertionError("Exception expected");
+  }
+
+  @Test
+  public void testSameAsSequential() throws Exception {
+    ForkJoinPool summaryPool = new ForkJoinPool(4);
+    try {
+      for (long seed = 0; seed < 4; seed++) {
+        String tld = SyntheticTld.generate(seed, SHAPE);
+        Taglib sequential = newTaglib(tld, null);
+        Taglib parallel = newTaglib(tld, summaryPool);
+        assertEquals(sequential.getFingerprint(), parallel.getFingerprint());
+        assertEquals(
+            sequential.getTags().get(0).getDescriptionSummary(),
+            parallel.getTags().get(0).getDescriptionSummary()
+        );
+      }
+    } finally {
+      summaryPool.shutdown();
+    }
+  }
+
+  @Test
+  public void testSameFirstException() throws Exception {
+    // Both descriptions are not well-formed, so fail to summarize
+    String tld = newTld(
+        newTag("valid", "<p class=\"" + SUMMARY_CLASS + "\">Valid.</p>")
+            + newTag("first", "<p>First")
+            + newTag("second", "<b>Second")
+    );
+    Exception sequential = getException(tld, null);
+    ForkJoinPool summaryPool = new ForkJoinPool(4);
+    try {
+      for (int i = 0; i < 10; i++) {
+        Exception parallel = getException(tld, summaryPool);
+        assertEquals(sequential.getClass(), parallel.getClass());
+        assertNotNull(parallel.getMessage());
+        assertEquals(sequential.getMessage(), parallel.getMessage());
+      }
+    } finally {
+      summaryPool.shutdown();
+    }
+    // The first in document order
+    assertEquals(getException(newTld(newTag("first", "<p>First")), null).getMessage(), sequential.getMessage());
+    assertNotEquals(getException(newTld(newTag("second", "<b>Second")), null).getMessage(), sequential.getMessage());
+  }
+}
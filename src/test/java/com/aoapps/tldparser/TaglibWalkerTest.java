@@ -0,0 +1,292 @@
+/*
+ * ao-tld-parser - Parses JSP tag library *.tld files.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of ao-tld-parser.
+ *
+ * ao-tld-parser is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ao-tld-parser is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ao-tld-parser.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoapps.tldparser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+/**
+ * Tests {@link TaglibWalker}.
+ */
+public class TaglibWalkerTest {
+
+  private static final String TLD_PATH = "/test.tld";
+
+  private static final String TLD = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+      + "<taglib xmlns=\"http://java.sun.com/xml/ns/javaee\" version=\"2.1\">\n"
+      + "  <!-- dateCreated=\"2020-01-01T00:00:00Z\" -->\n"
+      + "  <!-- datePublished=\"2020-01-02T00:00:00Z\" -->\n"
+      + "  <tlib-version>1.0</tlib-version>\n"
+      + "  <short-name>test</short-name>\n"
+      + "  <uri>urn:test</uri>\n"
+      + "  <tag>\n"
+      + "    <!-- dateCreated=\"2021-01-01T00:00:00Z\" -->\n"
+      + "    <!-- datePublished=\"2021-01-02T00:00:00Z\" -->\n"
+      + "    <!-- dateModified=\"2021-06-01T00:00:00Z\" -->\n"
+      + "    <!-- allowRobots=\"false\" -->\n"
+      + "    <name>first</name>\n"
+      + "    <tag-class>com.example.FirstTag</tag-class>\n"
+      + "    <tei-class>com.example.FirstTei</tei-class>\n"
+      + "    <body-content>scriptless</body-content>\n"
+      + "    <attribute>\n"
+      + "      <name>items</name>\n"
+      + "      <required>true</required>\n"
+      + "      <rtexprvalue>true</rtexprvalue>\n"
+      + "      <type>java.util.Map&lt;java.lang.String, java.util.List&lt;java.lang.Integer&gt;&gt;</type>\n"
+      + "    </attribute>\n"
+      + "    <attribute>\n"
+      + "      <name>body</name>\n"
+      + "      <fragment>true</fragment>\n"
+      + "    </attribute>\n"
+      + "    <dynamic-attributes>true</dynamic-attributes>\n"
+      + "  </tag>\n"
+      + "  <tag>\n"
+      + "    <name>second</name>\n"
+      + "    <tag-class>com.example.SecondTag</tag-class>\n"
+      + "    <body-content>empty</body-content>\n"
+      + "    <attribute>\n"
+      + "      <name>value</name>\n"
+      + "    </attribute>\n"
+      + "  </tag>\n"
+      + "  <function>\n"
+      + "    <!-- allowRobots=\"true\" -->\n"
+      + "    <!-- dateModified=\"2022-01-01T00:00:00Z\" -->\n"
+      + "    <name>join</name>\n"
+      + "    <function-class>com.example.Functions</function-class>\n"
+      + "    <function-signature>java.lang.String join(java.util.List&lt;java.lang.String&gt;)</function-signature>\n"
+      + "  </function>\n"
+      + "  <function>\n"
+      + "    <name>trim</name>\n"
+      + "    <function-class>com.example.Functions</function-class>\n"
+      + "    <function-signature>java.lang.String trim(java.lang.String)</function-signature>\n"
+      + "  </function>\n"
+      + "</taglib>\n";
+
+  private static Document parse() throws Exception {
+    return TldParser.parse(TLD_PATH, TLD.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static String toString(Dates dates) {
+    return dates.getCreated() + "," + dates.getPublished() + "," + dates.getModified() + "," + dates.getReviewed();
+  }
+
+  /**
+   * Records every visit, returning a configurable result.
+   */
+  private static class RecordingVisitor implements TaglibVisitor {
+
+    private final List<String> visits = new ArrayList<>();
+
+    Result onTaglib(String shortName) {
+      return Result.CONTINUE;
+    }
+
+    Result onTag(String name) {
+      return Result.CONTINUE;
+    }
+
+    Result onAttribute(String name) {
+      return Result.CONTINUE;
+    }
+
+    Result onFunction(String name) {
+      return Result.CONTINUE;
+    }
+
+    @Override
+    public Result visitTaglib(String tldPath, String tlibVersion, String shortName, String uri, Dates dates, Boolean allowRobots) {
+      visits.add("taglib:" + tldPath + ":" + tlibVersion + ":" + shortName + ":" + uri + ":" + TaglibWalkerTest.toString(dates) + ":" + allowRobots);
+      return onTaglib(shortName);
+    }
+
+    @Override
+    public Result visitTag(String name, String tagClass, String teiClass, String bodyContent, boolean dynamicAttributes, Dates dates, Boolean allowRobots) {
+      visits.add("tag:" + name + ":" + tagClass + ":" + teiClass + ":" + bodyContent + ":" + dynamicAttributes + ":" + TaglibWalkerTest.toString(dates) + ":" + allowRobots);
+      return onTag(name);
+    }
+
+    @Override
+    public Result visitAttribute(String name, boolean required, boolean rtexprvalue, boolean fragment, String type) {
+      visits.add("attribute:" + name + ":" + required + ":" + rtexprvalue + ":" + fragment + ":" + type);
+      return onAttribute(name);
+    }
+
+    @Override
+    public Result visitFunction(String name, String functionClass, String functionSignature, Dates dates, Boolean allowRobots) {
+      visits.add("function:" + name + ":" + functionClass + ":" + functionSignature + ":" + TaglibWalkerTest.toString(dates) + ":" + allowRobots);
+      return onFunction(name);
+    }
+  }
+
+  /**
+   * Gets the visits expected from the model.
+   */
+  private static List<String> getModelVisits(Taglib taglib) {
+    List<String> visits = new ArrayList<>();
+    visits.add("taglib:" + taglib.getTldPath() + ":" + taglib.getTlibVersion() + ":" + taglib.getShortName() + ":" + taglib.getUri()
+        + ":" + toString(taglib.getDates()) + ":" + taglib.getAllowRobots());
+    for (Tag tag : taglib.getTags()) {
+      visits.add("tag:" + tag.getName() + ":" + tag.getTagClass() + ":" + tag.getTeiClass() + ":" + tag.getBodyContent()
+          + ":" + tag.getDynamicAttributes() + ":" + toString(tag.getDates()) + ":" + tag.getAllowRobots());
+      for (Attribute attribute : tag.getAttributes()) {
+        visits.add("attribute:" + attribute.getName() + ":" + attribute.getRequired() + ":" + attribute.getRtexprvalue()
+            + ":" + attribute.getFragment() + ":" + attribute.getType());
+      }
+    }
+    for (Function function : taglib.getFunctions()) {
+      visits.add("function:" + function.getName() + ":" + function.getFunctionClass() + ":" + function.getFunctionSignature()
+          + ":" + toString(function.getDates()) + ":" + function.getAllowRobots());
+    }
+    return visits;
+  }
+
+  @Test
+  public void testMatchesModel() throws Exception {
+    RecordingVisitor visitor = new RecordingVisitor();
+    assertTrue(TaglibWalker.walk(TLD_PATH, null, parse(), visitor));
+    List<String> expected = getModelVisits(new Taglib(null, TLD_PATH, null, parse()));
+    assertEquals(expected, visitor.visits);
+    // Guard against both sides losing the same details
+    assertEquals(
+        "attribute:items:true:true:false:java.util.Map<java.lang.String, java.util.List<java.lang.Integer>>",
+        visitor.visits.get(2)
+    );
+    assertEquals(
+        "tag:first:com.example.FirstTag:com.example.FirstTei:scriptless:true"
+            + ":2021-01-01T00:00Z,2021-01-02T00:00Z,2021-06-01T00:00Z,null:false",
+        visitor.visits.get(1)
+    );
+    assertEquals(
+        "function:join:com.example.Functions:java.lang.String join(java.util.List<java.lang.String>)"
+            + ":null,null,2022-01-01T00:00Z,null:true",
+        visitor.visits.get(6)
+    );
+  }
+
+  @Test
+  public void testMatchesSyntheticModel() throws Exception {
+    byte[] tld = SyntheticTld.generate(1, new SyntheticTld.Shape(10, 4, 4, 0, 0.5, 3)).getBytes(StandardCharsets.UTF_8);
+    RecordingVisitor visitor = new RecordingVisitor();
+    assertTrue(TaglibWalker.walk("/synthetic.tld", null, TldParser.parse("/synthetic.tld", tld), visitor));
+    assertEquals(
+        getModelVisits(new Taglib(null, "/synthetic.tld", null, TldParser.parse("/synthetic.tld", tld))),
+        visitor.visits
+    );
+  }
+
+  @Test
+  public void testSkipTagChildren() throws Exception {
+    RecordingVisitor visitor = new RecordingVisitor() {
+      @Override
+      Result onTag(String name) {
+        return "first".equals(name) ? Result.SKIP_CHILDREN : Result.CONTINUE;
+      }
+    };
+    assertTrue(TaglibWalker.walk(TLD_PATH, null, parse(), visitor));
+    List<String> names = new ArrayList<>();
+    for (String visit : visitor.visits) {
+      names.add(visit.substring(0, visit.indexOf(':', visit.indexOf(':') + 1)));
+    }
+    assertEquals(
+        Arrays.asList("taglib:/test.tld", "tag:first", "tag:second", "attribute:value", "function:join", "function:trim"),
+        names
+    );
+  }
+
+  @Test
+  public void testSkipTaglibChildren() throws Exception {
+    RecordingVisitor visitor = new RecordingVisitor() {
+      @Override
+      Result onTaglib(String shortName) {
+        return Result.SKIP_CHILDREN;
+      }
+    };
+    assertTrue(TaglibWalker.walk(TLD_PATH, null, parse(), visitor));
+    assertEquals(1, visitor.visits.size());
+    assertTrue(visitor.visits.get(0).startsWith("taglib:"));
+  }
+
+  @Test
+  public void testTerminateTaglib() throws Exception {
+    RecordingVisitor visitor = new RecordingVisitor() {
+      @Override
+      Result onTaglib(String shortName) {
+        return Result.TERMINATE;
+      }
+    };
+    assertFalse(TaglibWalker.walk(TLD_PATH, null, parse(), visitor));
+    assertEquals(1, visitor.visits.size());
+  }
+
+  @Test
+  public void testTerminateTag() throws Exception {
+    RecordingVisitor visitor = new RecordingVisitor() {
+      @Override
+      Result onTag(String name) {
+        return Result.TERMINATE;
+      }
+    };
+    assertFalse(TaglibWalker.walk(TLD_PATH, null, parse(), visitor));
+    // Stops before the attributes of the first tag
+    assertEquals(2, visitor.visits.size());
+    assertTrue(visitor.visits.get(1).startsWith("tag:first:"));
+  }
+
+  @Test
+  public void testTerminateAttribute() throws Exception {
+    RecordingVisitor visitor = new RecordingVisitor() {
+      @Override
+      Result onAttribute(String name) {
+        return Result.TERMINATE;
+      }
+    };
+    assertFalse(TaglibWalker.walk(TLD_PATH, null, parse(), visitor));
+    // Stops after the first attribute
+    assertEquals(3, visitor.visits.size());
+    assertTrue(visitor.visits.get(2).startsWith("attribute:items:"));
+  }
+
+  @Test
+  public void testTerminateFunction() throws Exception {
+    RecordingVisitor visitor = new RecordingVisitor() {
+      @Override
+      Result onFunction(String name) {
+        return Result.TERMINATE;
+      }
+    };
+    assertFalse(TaglibWalker.walk(TLD_PATH, null, parse(), visitor));
+    // Stops at the first function
+    assertEquals(7, visitor.visits.size());
+    assertTrue(visitor.visits.get(6).startsWith("function:join:"));
+  }
+}